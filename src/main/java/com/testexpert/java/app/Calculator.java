@@ -1,5 +1,7 @@
 package com.testexpert.java.app;
 
+import java.math.RoundingMode;
+
 /**
  * Main application class
  */
@@ -23,4 +25,22 @@ public class Calculator {
         }
         return (double) a / b;
     }
+
+    /**
+     * Decimal quotient rounded to {@code scale} fractional digits, exact where {@link #divide(int, int)} drifts
+     * Computed on a scaled {@code long} unless {@code a * 10^scale} overflows it, then with BigDecimal.
+     */
+    public Decimal divide(int a, int b, int scale, RoundingMode roundingMode) {
+        return Decimal.divide(a, b, scale, roundingMode);
+    }
+
+    /**
+     * Same quotient as {@link #divide(int, int, int, RoundingMode)} as a scaled long (12.34 at scale 2 is 1234),
+     * without allocating; always fits up to scale 9
+     *
+     * @throws ArithmeticException if the scaled quotient does not fit in a {@code long}
+     */
+    public long divideUnscaled(int a, int b, int scale, RoundingMode roundingMode) {
+        return Decimal.divideUnscaled(a, b, scale, roundingMode);
+    }
 }
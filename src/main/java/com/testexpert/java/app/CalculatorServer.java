@@ -0,0 +1,245 @@
+package com.testexpert.java.app;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.testexpert.java.utils.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP service exposing Calculator and StringUtils as a local load-test target
+ * Single operations: {@code GET /calc/{add|subtract|multiply|divide}?a=&b=} and
+ * {@code GET /string/{isEmpty|capitalize|reverse}?s=}. Batches: {@code POST /batch} with one operation per line,
+ * e.g. {@code add 2 3} or {@code reverse some text} (the string operand is the rest of the line), answered with one
+ * result per line in the same order; a failing operation yields {@code error: <message>} without failing the batch.
+ */
+public class CalculatorServer implements AutoCloseable {
+
+    static final int MAX_BATCH_BYTES = 16 << 20;
+
+    private final HttpServer server;
+    private final Calculator calculator = new Calculator();
+
+    /**
+     * @param port port to bind on localhost, 0 for an ephemeral port
+     */
+    public CalculatorServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/calc/", this::single);
+        server.createContext("/string/", this::single);
+        server.createContext("/batch", this::batch);
+    }
+
+    public CalculatorServer start() {
+        server.start();
+        return this;
+    }
+
+    public URI baseUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * {@code serve <port>} runs the service until the JVM is stopped;
+     * {@code await <port> [seconds]} waits until something accepts connections on the port
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || !(args[0].equals("serve") || args[0].equals("await"))) {
+            System.err.println("Usage: CalculatorServer serve <port> | await <port> [seconds]");
+            System.exit(2);
+        }
+        int port = Integer.parseInt(args[1]);
+        if (args[0].equals("serve")) {
+            // Headers and body are separate writes; without TCP_NODELAY small responses wait ~40 ms for delayed ACKs
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+            CalculatorServer server = new CalculatorServer(port).start();
+            System.out.println("Calculator service listening on " + server.baseUri());
+            return;
+        }
+        long deadline = System.nanoTime() + Long.parseLong(args.length > 2 ? args[2] : "30") * 1_000_000_000L;
+        while (true) {
+            try {
+                new Socket("127.0.0.1", port).close();
+                System.out.println("Calculator service is up on port " + port);
+                return;
+            } catch (ConnectException e) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Calculator service did not start on port " + port, e);
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private void single(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, "Use GET");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String operation = path.substring(path.lastIndexOf('/') + 1);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            boolean calculation = path.startsWith("/calc/");
+            if (calculation ? !isCalculation(operation) : !isTransformation(operation)) {
+                send(exchange, 404, "Unknown operation: " + operation);
+                return;
+            }
+            try {
+                String result = calculation
+                        ? calculate(operation, Integer.parseInt(parameter(query, "a")),
+                                Integer.parseInt(parameter(query, "b")))
+                        : transform(operation, parameter(query, "s"));
+                send(exchange, 200, result);
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, e.getMessage());
+            }
+        }
+    }
+
+    private void batch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                send(exchange, 405, "Use POST");
+                return;
+            }
+            String length = exchange.getRequestHeaders().getFirst("Content-Length");
+            if (length != null) {
+                long declared;
+                try {
+                    declared = Long.parseLong(length.strip());
+                } catch (NumberFormatException e) {
+                    send(exchange, 400, "Malformed Content-Length: " + length);
+                    return;
+                }
+                if (declared > MAX_BATCH_BYTES) {
+                    send(exchange, 413, "Batch larger than " + MAX_BATCH_BYTES + " bytes");
+                    return;
+                }
+            }
+            byte[] body = exchange.getRequestBody().readNBytes(MAX_BATCH_BYTES + 1);
+            if (body.length > MAX_BATCH_BYTES) {
+                send(exchange, 413, "Batch larger than " + MAX_BATCH_BYTES + " bytes");
+                return;
+            }
+            String text = new String(body, StandardCharsets.UTF_8);
+            StringBuilder results = new StringBuilder(text.length());
+            int start = 0;
+            while (start < text.length()) {
+                int newline = text.indexOf('\n', start);
+                int end = newline < 0 ? text.length() : newline;
+                if (end > start && text.charAt(end - 1) == '\r') {
+                    end--;
+                }
+                if (end > start) {
+                    results.append(execute(text, start, end)).append('\n');
+                }
+                start = newline < 0 ? text.length() : newline + 1;
+            }
+            send(exchange, 200, results.toString());
+        }
+    }
+
+    /**
+     * Result of the operation on {@code text[start, end)}, or an {@code error:} line
+     */
+    private String execute(String text, int start, int end) {
+        int space = text.indexOf(' ', start);
+        int opEnd = space < 0 || space > end ? end : space;
+        String operation = text.substring(start, opEnd);
+        try {
+            if (isCalculation(operation)) {
+                int secondSpace = opEnd < end ? text.indexOf(' ', opEnd + 1) : -1;
+                if (opEnd == end || secondSpace < 0 || secondSpace > end) {
+                    return "error: " + operation + " needs two integer operands";
+                }
+                int a = Integer.parseInt(text, opEnd + 1, secondSpace, 10);
+                int b = Integer.parseInt(text, secondSpace + 1, end, 10);
+                return calculate(operation, a, b);
+            }
+            if (!isTransformation(operation)) {
+                return "error: unknown operation " + operation;
+            }
+            return transform(operation, opEnd < end ? text.substring(opEnd + 1, end) : "");
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    private static boolean isCalculation(String operation) {
+        return switch (operation) {
+            case "add", "subtract", "multiply", "divide" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isTransformation(String operation) {
+        return switch (operation) {
+            case "isEmpty", "capitalize", "reverse" -> true;
+            default -> false;
+        };
+    }
+
+    private String calculate(String operation, int a, int b) {
+        return switch (operation) {
+            case "add" -> Integer.toString(calculator.add(a, b));
+            case "subtract" -> Integer.toString(calculator.subtract(a, b));
+            case "multiply" -> Integer.toString(calculator.multiply(a, b));
+            default -> Double.toString(calculator.divide(a, b));
+        };
+    }
+
+    private static String transform(String operation, String value) {
+        return switch (operation) {
+            case "isEmpty" -> Boolean.toString(StringUtils.isEmpty(value));
+            case "capitalize" -> StringUtils.capitalize(value);
+            default -> StringUtils.reverse(value);
+        };
+    }
+
+    private static String parameter(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            parameters.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length == 2 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return parameters;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.testexpert.java.app;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Exact decimal value with a fixed scale, held as a scaled {@code long} (value = unscaled / 10^scale)
+ * Values whose unscaled form does not fit in a {@code long} fall back to {@link BigDecimal}. Like BigDecimal,
+ * {@link #equals} compares value and scale (2.50 is not 2.5) and {@link #compareTo} compares value only.
+ */
+public final class Decimal implements Comparable<Decimal> {
+
+    static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final long unscaled;
+    private final int scale;
+    /** Only set when the value is out of {@code long} range */
+    private final BigDecimal big;
+
+    private Decimal(long unscaled, int scale, BigDecimal big) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.big = big;
+    }
+
+    public static Decimal of(long unscaled, int scale) {
+        return new Decimal(unscaled, scale, null);
+    }
+
+    public static Decimal of(BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        return unscaled.bitLength() < Long.SIZE
+                ? new Decimal(unscaled.longValue(), value.scale(), null)
+                : new Decimal(0, value.scale(), value);
+    }
+
+    /**
+     * {@code dividend / divisor} rounded to {@code scale} fractional digits, in {@code long} arithmetic whenever
+     * {@code dividend * 10^scale} fits, otherwise through {@link BigDecimal#divide(BigDecimal, int, RoundingMode)}
+     *
+     * @throws IllegalArgumentException if {@code divisor} is zero
+     * @throws ArithmeticException      for {@link RoundingMode#UNNECESSARY} when the quotient is inexact
+     */
+    static Decimal divide(long dividend, long divisor, int scale, RoundingMode roundingMode) {
+        checkArguments(divisor, scale);
+        if (fitsCompact(dividend, divisor, scale)) {
+            return of(compactQuotient(dividend * POWERS_OF_TEN[scale], divisor, roundingMode), scale);
+        }
+        return of(BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), scale, roundingMode));
+    }
+
+    /**
+     * Unscaled value of {@link #divide}, without creating a Decimal
+     *
+     * @throws ArithmeticException if the unscaled quotient does not fit in a {@code long}
+     */
+    static long divideUnscaled(long dividend, long divisor, int scale, RoundingMode roundingMode) {
+        checkArguments(divisor, scale);
+        if (fitsCompact(dividend, divisor, scale)) {
+            return compactQuotient(dividend * POWERS_OF_TEN[scale], divisor, roundingMode);
+        }
+        return BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), scale, roundingMode)
+                .unscaledValue().longValueExact();
+    }
+
+    private static void checkArguments(long divisor, int scale) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("Division by zero not allowed");
+        }
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must not be negative: " + scale);
+        }
+    }
+
+    /**
+     * Whether {@code dividend * 10^scale} and its quotient by {@code divisor} can be computed in a {@code long}
+     */
+    private static boolean fitsCompact(long dividend, long divisor, int scale) {
+        if (scale >= POWERS_OF_TEN.length) {
+            return false;
+        }
+        long power = POWERS_OF_TEN[scale];
+        long numerator = dividend * power;
+        // The product fits when the high word is just the sign extension of the low word
+        return Math.multiplyHigh(dividend, power) == (numerator >> 63)
+                && !(numerator == Long.MIN_VALUE && divisor == -1);
+    }
+
+    private static long compactQuotient(long numerator, long divisor, RoundingMode roundingMode) {
+        long quotient = numerator / divisor;
+        long remainder = numerator - quotient * divisor;
+        return remainder == 0 ? quotient : round(quotient, remainder, divisor, roundingMode);
+    }
+
+    /**
+     * Adjust the truncated {@code quotient} by at most one unit according to the remainder and rounding mode
+     */
+    private static long round(long quotient, long remainder, long divisor, RoundingMode roundingMode) {
+        int sign = (remainder < 0) == (divisor < 0) ? 1 : -1;
+        boolean increment = switch (roundingMode) {
+            case DOWN -> false;
+            case UP -> true;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            default -> {
+                // |remainder| < |divisor| <= 2^63, so compare |remainder| with |divisor| - |remainder| instead of 2x
+                long absRemainder = Math.abs(remainder);
+                long rest = Math.abs(divisor) - absRemainder;
+                if (absRemainder != rest) {
+                    yield Long.compareUnsigned(absRemainder, rest) > 0;
+                }
+                yield roundingMode == RoundingMode.HALF_UP
+                        || (roundingMode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+            }
+        };
+        return increment ? quotient + sign : quotient;
+    }
+
+    public boolean isCompact() {
+        return big == null;
+    }
+
+    /**
+     * The scaled value, e.g. 1234 for 12.34 at scale 2
+     *
+     * @throws ArithmeticException if the value does not fit in a {@code long}
+     */
+    public long unscaledValue() {
+        if (big != null) {
+            throw new ArithmeticException("Unscaled value out of long range: " + big);
+        }
+        return unscaled;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Exact sum at the larger of the two scales, staying in {@code long} arithmetic while it fits
+     */
+    public Decimal add(Decimal other) {
+        if (big == null && other.big == null && scale == other.scale) {
+            long sum = unscaled + other.unscaled;
+            // Overflow only when both operands have the same sign and the sum's sign differs
+            if (((unscaled ^ sum) & (other.unscaled ^ sum)) >= 0) {
+                return of(sum, scale);
+            }
+        }
+        return of(toBigDecimal().add(other.toBigDecimal()));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return big != null ? big : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    public double doubleValue() {
+        if (big == null && Math.abs(unscaled) < (1L << 53) && scale < POWERS_OF_TEN.length) {
+            // Both operands are exact doubles, so the division rounds only once
+            return unscaled / (double) POWERS_OF_TEN[scale];
+        }
+        return toBigDecimal().doubleValue();
+    }
+
+    @Override
+    public int compareTo(Decimal other) {
+        if (big == null && other.big == null && scale == other.scale) {
+            return Long.compare(unscaled, other.unscaled);
+        }
+        return toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Decimal other)) {
+            return false;
+        }
+        return scale == other.scale && unscaled == other.unscaled
+                && (big == null ? other.big == null : big.equals(other.big));
+    }
+
+    @Override
+    public int hashCode() {
+        return big != null ? big.hashCode() : 31 * Long.hashCode(unscaled) + scale;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
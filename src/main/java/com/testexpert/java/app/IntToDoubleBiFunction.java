@@ -0,0 +1,11 @@
+package com.testexpert.java.app;
+
+/**
+ * Function of two {@code int} operands with a {@code double} result, the primitive form of
+ * {@code ToDoubleBiFunction<Integer, Integer>} missing from {@code java.util.function}
+ */
+@FunctionalInterface
+public interface IntToDoubleBiFunction {
+
+    double applyAsDouble(int left, int right);
+}
@@ -0,0 +1,145 @@
+package com.testexpert.java.app;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Calculator operations as primitive functional interfaces, so they can be passed to {@code IntStream.reduce}
+ * and similar without lambdas or boxing
+ * The {@code int} and {@code double} forms give the same results as {@link Calculator}; the {@code long} form is the
+ * same arithmetic on 64 bits. Integer division truncates and, like {@link Calculator#divide}, rejects a zero divisor.
+ * Only {@link #ADD} and {@link #MULTIPLY} are associative, so only they can reduce (parallel) streams.
+ */
+public enum Operation implements IntBinaryOperator, LongBinaryOperator, IntToDoubleBiFunction {
+
+    ADD(0) {
+        @Override
+        public int applyAsInt(int left, int right) {
+            return CALCULATOR.add(left, right);
+        }
+
+        @Override
+        public long applyAsLong(long left, long right) {
+            return left + right;
+        }
+    },
+    SUBTRACT(null) {
+        @Override
+        public int applyAsInt(int left, int right) {
+            return CALCULATOR.subtract(left, right);
+        }
+
+        @Override
+        public long applyAsLong(long left, long right) {
+            return left - right;
+        }
+    },
+    MULTIPLY(1) {
+        @Override
+        public int applyAsInt(int left, int right) {
+            return CALCULATOR.multiply(left, right);
+        }
+
+        @Override
+        public long applyAsLong(long left, long right) {
+            return left * right;
+        }
+    },
+    DIVIDE(null) {
+        @Override
+        public int applyAsInt(int left, int right) {
+            checkDivisor(right);
+            return left / right;
+        }
+
+        @Override
+        public long applyAsLong(long left, long right) {
+            checkDivisor(right);
+            return left / right;
+        }
+
+        @Override
+        public double applyAsDouble(int left, int right) {
+            return CALCULATOR.divide(left, right);
+        }
+    };
+
+    private static final Calculator CALCULATOR = new Calculator();
+
+    private final Integer identity;
+
+    Operation(Integer identity) {
+        this.identity = identity;
+    }
+
+    @Override
+    public double applyAsDouble(int left, int right) {
+        return applyAsInt(left, right);
+    }
+
+    public IntBinaryOperator asIntOperator() {
+        return this;
+    }
+
+    public LongBinaryOperator asLongOperator() {
+        return this;
+    }
+
+    public IntToDoubleBiFunction asDoubleFunction() {
+        return this;
+    }
+
+    public boolean isAssociative() {
+        return identity != null;
+    }
+
+    /**
+     * Combine all values; the result wraps on overflow exactly as repeated {@link Calculator} calls would
+     */
+    public int reduce(IntStream values) {
+        return values.reduce(identity(), this);
+    }
+
+    public long reduce(LongStream values) {
+        return values.reduce(identity(), this);
+    }
+
+    /**
+     * Combine {@code int} values in 64-bit arithmetic, e.g. to sum more values than an {@code int} can hold
+     */
+    public long reduceToLong(IntStream values) {
+        return values.asLongStream().reduce(identity(), this);
+    }
+
+    /**
+     * Collector combining {@code mapper}'s primitive values in a {@code long[]} accumulator; only the result is boxed
+     */
+    public <T> Collector<T, long[], Long> collecting(ToLongFunction<? super T> mapper) {
+        long start = identity();
+        return Collector.of(
+                () -> new long[]{start},
+                (accumulator, element) -> accumulator[0] = applyAsLong(accumulator[0], mapper.applyAsLong(element)),
+                (left, right) -> {
+                    left[0] = applyAsLong(left[0], right[0]);
+                    return left;
+                },
+                accumulator -> accumulator[0]);
+    }
+
+    private int identity() {
+        if (identity == null) {
+            throw new IllegalStateException(this + " is not associative and cannot reduce a stream");
+        }
+        return identity;
+    }
+
+    private static void checkDivisor(long divisor) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("Division by zero not allowed");
+        }
+    }
+}
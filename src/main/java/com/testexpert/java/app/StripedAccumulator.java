@@ -0,0 +1,218 @@
+package com.testexpert.java.app;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Thread-safe running total for many writer threads, without a shared lock
+ * Like {@link java.util.concurrent.atomic.LongAdder}, updates go to one of several padded cells chosen by thread, so
+ * threads rarely touch the same cache line, and reads combine the cells. Unlike LongAdder, arithmetic is exact. Reads
+ * combine the cells in 128 bits and throw {@link ArithmeticException}, as {@link Math#addExact(long, long)} does,
+ * only when the total itself does not fit a {@code long}, whatever the order of the cells. An update that would
+ * overflow its cell goes to the next cell with room for it and is rejected only when no cell has room; the total may
+ * leave the {@code long} range for a while (reads throw until later updates bring it back). The accumulator also tracks the count, minimum and maximum of the values
+ * passed to {@link #add} and {@link #subtract}. As with LongAdder, reads taken while updates are running are not a
+ * single point-in-time view: an update in flight may already show in the total but not yet in the count.
+ */
+public final class StripedAccumulator {
+
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /** 16 longs per cell keep each cell on its own 128-byte line pair, out of reach of adjacent-line prefetch */
+    private static final int STRIDE = 16;
+    private static final int SUM = 0;
+    private static final int COUNT = 1;
+    private static final int MIN = 2;
+    private static final int MAX = 3;
+
+    private final long[] cells;
+    private final int mask;
+
+    public StripedAccumulator() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param stripes number of cells, rounded up to a power of two; more than the number of concurrently running
+     *                writers avoids most collisions
+     */
+    public StripedAccumulator(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripes must be positive: " + stripes);
+        }
+        int size = Integer.highestOneBit(Math.min(stripes, 1 << 16) * 2 - 1);
+        this.cells = new long[size * STRIDE];
+        this.mask = size - 1;
+        reset();
+    }
+
+    /**
+     * Add {@code value} to the total
+     * Only the cells are checked, not the total: with {@link Long#MAX_VALUE} in one cell and 0 in another, adding 5
+     * succeeds and {@link #sum()} throws until the total is back in range.
+     *
+     * @throws ArithmeticException if no cell has room for {@code value}; the update is then not applied
+     */
+    public void add(long value) {
+        int cell = deposit(value);
+        CELLS.getAndAdd(cells, cell + COUNT, 1L);
+        long min;
+        while (value < (min = (long) CELLS.getVolatile(cells, cell + MIN))
+                && !CELLS.weakCompareAndSet(cells, cell + MIN, min, value)) {
+            Thread.onSpinWait();
+        }
+        long max;
+        while (value > (max = (long) CELLS.getVolatile(cells, cell + MAX))
+                && !CELLS.weakCompareAndSet(cells, cell + MAX, max, value)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Subtract {@code value} from the total, recorded as the value {@code -value}
+     *
+     * @throws ArithmeticException if {@code value} is {@link Long#MIN_VALUE} or no cell has room for it
+     */
+    public void subtract(long value) {
+        add(Math.negateExact(value));
+    }
+
+    /**
+     * Multiply the total by {@code factor}; the count, minimum and maximum are not affected
+     * The cells are emptied and the product goes into a single cell, so this succeeds whenever the product fits a
+     * {@code long}, however the total is spread over the cells. Meant for occasional rescaling such as unit
+     * conversion: updates racing with it may land before or after the multiplication, and reads racing with it may
+     * miss part of the total.
+     *
+     * @throws ArithmeticException if the product overflows a {@code long}; the cells are then left as they were
+     */
+    public void multiplyBy(long factor) {
+        long[] drained = new long[cells.length / STRIDE];
+        Total total = new Total();
+        for (int i = 0; i < drained.length; i++) {
+            drained[i] = (long) CELLS.getAndSet(cells, i * STRIDE + SUM, 0L);
+            total.add(drained[i]);
+        }
+        long product;
+        try {
+            product = factor == 0 ? 0 : Math.multiplyExact(total.toLongExact(), factor);
+        } catch (ArithmeticException e) {
+            for (int i = 0; i < drained.length; i++) {
+                // The cell is empty unless an update raced with this call
+                CELLS.getAndAdd(cells, i * STRIDE + SUM, drained[i]);
+            }
+            throw e;
+        }
+        deposit(product);
+    }
+
+    /**
+     * Current total
+     *
+     * @throws ArithmeticException if the total does not fit a {@code long}
+     */
+    public long sum() {
+        Total total = new Total();
+        for (int cell = 0; cell < cells.length; cell += STRIDE) {
+            total.add((long) CELLS.getVolatile(cells, cell + SUM));
+        }
+        return total.toLongExact();
+    }
+
+    /**
+     * Total, count, minimum and maximum combined from all cells
+     *
+     * @throws ArithmeticException if the total does not fit a {@code long}
+     */
+    public Snapshot snapshot() {
+        long count = 0;
+        Total total = new Total();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int cell = 0; cell < cells.length; cell += STRIDE) {
+            count += (long) CELLS.getVolatile(cells, cell + COUNT);
+            total.add((long) CELLS.getVolatile(cells, cell + SUM));
+            min = Math.min(min, (long) CELLS.getVolatile(cells, cell + MIN));
+            max = Math.max(max, (long) CELLS.getVolatile(cells, cell + MAX));
+        }
+        return new Snapshot(count, total.toLongExact(), min, max);
+    }
+
+    /**
+     * Return every cell to zero; only meaningful while no updates are running
+     */
+    public void reset() {
+        for (int cell = 0; cell < cells.length; cell += STRIDE) {
+            CELLS.setVolatile(cells, cell + SUM, 0L);
+            CELLS.setVolatile(cells, cell + COUNT, 0L);
+            CELLS.setVolatile(cells, cell + MIN, Long.MAX_VALUE);
+            CELLS.setVolatile(cells, cell + MAX, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Add {@code value} to this thread's cell, or to the next one that has room for it
+     * A writer that loses a race for a cell also moves along, so two writers sharing a cell stop colliding for the
+     * rest of the update.
+     *
+     * @return index of the cell the value went into
+     * @throws ArithmeticException if every cell would overflow
+     */
+    private int deposit(long value) {
+        int cell = cellIndex();
+        for (int full = 0; full <= mask; ) {
+            long sum = (long) CELLS.getVolatile(cells, cell + SUM);
+            long result = sum + value;
+            if (((sum ^ result) & (value ^ result)) < 0) {
+                full++;
+            } else if (CELLS.weakCompareAndSet(cells, cell + SUM, sum, result)) {
+                return cell;
+            } else {
+                // The cells seen full so far may have changed meanwhile
+                full = 0;
+            }
+            cell = (cell + STRIDE) & (cells.length - 1);
+        }
+        throw new ArithmeticException("long overflow");
+    }
+
+    /**
+     * Platform and virtual thread ids are handed out sequentially, so consecutive threads land on distinct cells
+     */
+    private int cellIndex() {
+        return ((int) Thread.currentThread().threadId() & mask) * STRIDE;
+    }
+
+    /**
+     * Exact sum of cell values as a 128-bit two's complement number: a high word and an unsigned low word
+     */
+    private static final class Total {
+
+        private long high;
+        private long low;
+
+        void add(long value) {
+            long sum = low + value;
+            // Sign extension of value into the high word, plus the carry out of the unsigned low word
+            high += (value >> 63) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+            low = sum;
+        }
+
+        long toLongExact() {
+            if (high != low >> 63) {
+                throw new ArithmeticException("long overflow");
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Count, total, minimum and maximum of the values added; min and max are the identities while count is zero
+     */
+    public record Snapshot(long count, long sum, long min, long max) {
+
+        public double mean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.testexpert.java.pipeline;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parallel line-by-line transformation of a UTF-8 file through a chain of {@link LineStage}s
+ * The input is memory-mapped in line-aligned chunks of about {@code chunkSize} bytes. Each worker maps, transforms
+ * and unmaps one chunk at a time, and the calling thread writes finished chunks in file order, gathering all that are
+ * ready into one write. At most {@value #CHUNKS_PER_THREAD} chunks per thread are in flight and their buffers are
+ * reused, so memory depends on chunk size, thread count and the longest line, not on file size.
+ * Lines end at {@code \n}; a preceding {@code \r} is treated as part of the terminator, which is copied unchanged.
+ */
+public final class FilePipeline {
+
+    private static final long DEFAULT_CHUNK_SIZE = 8L << 20;
+    private static final int CHUNKS_PER_THREAD = 2;
+    private static final int PROBE_SIZE = 8192;
+    private static final ValueLayout.OfLong WORD = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final long NEWLINES = 0x0a0a0a0a0a0a0a0aL;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final int MAX_DIGITS = 18;
+
+    private final List<LineStage> stages;
+    private final int summaryField;
+    private final long chunkSize;
+    private final int threads;
+
+    /**
+     * Count, sum, minimum and maximum of the integer values found in the summarized field
+     */
+    public record Summary(long count, long sum, long min, long max) {
+
+        static final Summary EMPTY = new Summary(0, 0, Long.MAX_VALUE, Long.MIN_VALUE);
+
+        public double mean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        Summary merge(Summary other) {
+            return new Summary(count + other.count, Math.addExact(sum, other.sum),
+                    Math.min(min, other.min), Math.max(max, other.max));
+        }
+    }
+
+    /**
+     * Line and byte counts of a run, with the field summary when one was requested
+     */
+    public record Result(long linesIn, long linesOut, long bytesIn, long bytesOut, Summary summary) {
+    }
+
+    private record Chunk(MemorySegment output, long length, long linesIn, long linesOut, Summary summary) {
+    }
+
+    private FilePipeline(List<LineStage> stages, int summaryField, long chunkSize, int threads) {
+        this.stages = stages;
+        this.summaryField = summaryField;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    /**
+     * Pipeline applying {@code stages} in order, on one thread per available processor
+     */
+    public static FilePipeline of(LineStage... stages) {
+        return new FilePipeline(List.of(stages), -1, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Also summarize the whitespace-separated {@code field} (0-based) of every line the stages keep
+     * The field is read from the input line; values that are not integers of up to 18 digits are ignored.
+     */
+    public FilePipeline withSummary(int field) {
+        if (field < 0) {
+            throw new IllegalArgumentException("Field index must not be negative: " + field);
+        }
+        return new FilePipeline(stages, field, chunkSize, threads);
+    }
+
+    public FilePipeline withChunkSize(long bytes) {
+        if (bytes < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + bytes);
+        }
+        return new FilePipeline(stages, summaryField, bytes, threads);
+    }
+
+    public FilePipeline withThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        return new FilePipeline(stages, summaryField, chunkSize, threads);
+    }
+
+    /**
+     * Transform {@code input} into {@code output}, replacing any existing output file
+     */
+    public Result run(Path input, Path output) throws IOException {
+        ThreadLocal<MemorySegment[]> scratch = ThreadLocal.withInitial(() -> new MemorySegment[2]);
+        ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+        ArrayDeque<MemorySegment> buffers = new ArrayDeque<>();
+        long linesIn = 0;
+        long linesOut = 0;
+        long bytesOut = 0;
+        Summary summary = Summary.EMPTY;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                ExecutorService executor = Executors.newFixedThreadPool(threads,
+                        Thread.ofPlatform().daemon().name("file-pipeline-", 0).factory())) {
+            long size = in.size();
+            ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+            long start = 0;
+            try {
+                while (start < size || !pending.isEmpty()) {
+                    if (start < size && pending.size() < threads * CHUNKS_PER_THREAD) {
+                        long end = lineEnd(in, probe, start + chunkSize, size);
+                        long position = start;
+                        MemorySegment buffer = buffers.poll();
+                        pending.add(executor.submit(() -> transform(in, position, end - position, buffer, scratch)));
+                        start = end;
+                        continue;
+                    }
+                    // Write the oldest chunk together with any later ones that are already done
+                    List<Chunk> ready = new ArrayList<>();
+                    ready.add(pending.remove().get());
+                    while (!pending.isEmpty() && pending.peek().isDone()) {
+                        ready.add(pending.remove().get());
+                    }
+                    ByteBuffer[] gather = new ByteBuffer[ready.size()];
+                    long remaining = 0;
+                    for (int i = 0; i < gather.length; i++) {
+                        Chunk chunk = ready.get(i);
+                        gather[i] = chunk.output().asSlice(0, chunk.length()).asByteBuffer();
+                        remaining += chunk.length();
+                        linesIn += chunk.linesIn();
+                        linesOut += chunk.linesOut();
+                        summary = summary.merge(chunk.summary());
+                    }
+                    bytesOut += remaining;
+                    while (remaining > 0) {
+                        remaining -= out.write(gather);
+                    }
+                    ready.forEach(chunk -> buffers.push(chunk.output()));
+                }
+            } finally {
+                pending.forEach(task -> task.cancel(true));
+            }
+            return new Result(linesIn, linesOut, size, bytesOut, summaryField < 0 ? null : summary);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while transforming " + input, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to transform " + input, e.getCause());
+        }
+    }
+
+    /**
+     * Position just after the first {@code \n} at or after {@code nominal - 1}, or the end of the file
+     */
+    private static long lineEnd(FileChannel channel, ByteBuffer probe, long nominal, long size) throws IOException {
+        long position = nominal - 1;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private Chunk transform(FileChannel channel, long position, long length, MemorySegment buffer,
+            ThreadLocal<MemorySegment[]> scratch) throws IOException {
+        MemorySegment[] temp = scratch.get();
+        MemorySegment output = buffer != null && buffer.byteSize() >= length ? buffer : allocate(length + length / 4);
+        long written = 0;
+        long linesIn = 0;
+        long linesOut = 0;
+        long count = 0;
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment text = channel.map(FileChannel.MapMode.READ_ONLY, position, length, arena);
+            long offset = 0;
+            while (offset < length) {
+                long newline = indexOfNewline(text, offset, length);
+                long next = newline < 0 ? length : newline + 1;
+                long contentEnd = newline < 0 ? length : newline;
+                if (contentEnd > offset && text.get(ValueLayout.JAVA_BYTE, contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+                linesIn++;
+
+                MemorySegment line = text;
+                long lineOffset = offset;
+                long lineLength = contentEnd - offset;
+                boolean dropped = false;
+                int target = 0;
+                for (LineStage stage : stages) {
+                    MemorySegment dst = temp[target];
+                    long needed = stage.maxLength(lineLength);
+                    if (dst == null || dst.byteSize() < needed) {
+                        dst = temp[target] = allocate(needed);
+                    }
+                    long result = stage.apply(line, lineOffset, lineLength, dst, 0);
+                    if (result == LineStage.DROP) {
+                        dropped = true;
+                        break;
+                    }
+                    if (result != LineStage.UNCHANGED) {
+                        line = dst;
+                        lineOffset = 0;
+                        lineLength = result;
+                        target ^= 1;
+                    }
+                }
+                if (!dropped) {
+                    long terminator = next - contentEnd;
+                    output = ensureCapacity(output, written, lineLength + terminator);
+                    MemorySegment.copy(line, lineOffset, output, written, lineLength);
+                    MemorySegment.copy(text, contentEnd, output, written + lineLength, terminator);
+                    written += lineLength + terminator;
+                    linesOut++;
+                    if (summaryField >= 0) {
+                        long value = field(text, offset, contentEnd);
+                        if (value != Long.MIN_VALUE) {
+                            count++;
+                            sum = Math.addExact(sum, value);
+                            min = Math.min(min, value);
+                            max = Math.max(max, value);
+                        }
+                    }
+                }
+                offset = next;
+            }
+        }
+        return new Chunk(output, written, linesIn, linesOut, new Summary(count, sum, min, max));
+    }
+
+    /**
+     * Integer value of the summarized field in {@code [from, to)}, or {@code Long.MIN_VALUE} when it has none
+     */
+    private long field(MemorySegment text, long from, long to) {
+        long offset = from;
+        for (int field = 0; ; field++) {
+            while (offset < to && text.get(ValueLayout.JAVA_BYTE, offset) <= ' ') {
+                offset++;
+            }
+            if (offset == to) {
+                return Long.MIN_VALUE;
+            }
+            if (field == summaryField) {
+                break;
+            }
+            while (offset < to && text.get(ValueLayout.JAVA_BYTE, offset) > ' ') {
+                offset++;
+            }
+        }
+        boolean negative = text.get(ValueLayout.JAVA_BYTE, offset) == '-';
+        long digits = negative ? offset + 1 : offset;
+        long end = digits;
+        long value = 0;
+        while (end < to && text.get(ValueLayout.JAVA_BYTE, end) > ' ') {
+            int digit = text.get(ValueLayout.JAVA_BYTE, end) - '0';
+            if (digit < 0 || digit > 9 || end - digits == MAX_DIGITS) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+            end++;
+        }
+        if (end == digits) {
+            return Long.MIN_VALUE;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Index of the first {@code \n} in {@code [from, limit)}, eight bytes at a time, or -1
+     */
+    private static long indexOfNewline(MemorySegment text, long from, long limit) {
+        long offset = from;
+        for (; offset + Long.BYTES <= limit; offset += Long.BYTES) {
+            long word = text.get(WORD, offset) ^ NEWLINES;
+            long found = (word - LOW_BITS) & ~word & HIGH_BITS;
+            if (found != 0) {
+                return offset + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; offset < limit; offset++) {
+            if (text.get(ValueLayout.JAVA_BYTE, offset) == '\n') {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@code output}, or a copy of its first {@code written} bytes in a larger segment, with {@code needed} bytes free
+     */
+    private static MemorySegment ensureCapacity(MemorySegment output, long written, long needed) {
+        if (output.byteSize() - written >= needed) {
+            return output;
+        }
+        MemorySegment grown = allocate(Math.max(output.byteSize() * 2, written + needed));
+        MemorySegment.copy(output, 0, grown, 0, written);
+        return grown;
+    }
+
+    private static MemorySegment allocate(long size) {
+        return Arena.ofAuto().allocate(Math.max(size, PROBE_SIZE));
+    }
+}
@@ -0,0 +1,65 @@
+package com.testexpert.java.pipeline;
+
+import com.testexpert.java.utils.Utf8StringUtils;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * One step of a {@link FilePipeline}, applied to the UTF-8 bytes of a line without its terminator
+ * Implementations must be stateless: the same stage runs concurrently on every worker thread.
+ */
+@FunctionalInterface
+public interface LineStage {
+
+    /** Returned by {@link #apply} to remove the line from the output */
+    long DROP = -1;
+
+    /** Returned by {@link #apply} to pass the line on unchanged, without copying it */
+    long UNCHANGED = -2;
+
+    /**
+     * Transform {@code length} bytes of {@code src} at {@code offset} into {@code dst} at {@code dstOffset}
+     *
+     * @return bytes written, {@link #DROP} or {@link #UNCHANGED}
+     */
+    long apply(MemorySegment src, long offset, long length, MemorySegment dst, long dstOffset);
+
+    /**
+     * Upper bound on the bytes {@link #apply} writes for a line of {@code length} bytes
+     */
+    default long maxLength(long length) {
+        return length;
+    }
+
+    /**
+     * Drop lines that {@link com.testexpert.java.utils.StringUtils#isEmpty} considers blank
+     */
+    static LineStage skipBlank() {
+        return (src, offset, length, dst, dstOffset) ->
+                Utf8StringUtils.isEmpty(src, offset, length) ? DROP : UNCHANGED;
+    }
+
+    /**
+     * Upper-case the first code point, see {@link Utf8StringUtils#capitalize(MemorySegment, MemorySegment)}
+     */
+    static LineStage capitalize() {
+        return new LineStage() {
+            @Override
+            public long apply(MemorySegment src, long offset, long length, MemorySegment dst, long dstOffset) {
+                return Utf8StringUtils.capitalize(src, offset, length, dst, dstOffset);
+            }
+
+            @Override
+            public long maxLength(long length) {
+                return Utf8StringUtils.maxCapitalizedSize(length);
+            }
+        };
+    }
+
+    /**
+     * Reverse the line code point by code point
+     */
+    static LineStage reverse() {
+        return Utf8StringUtils::reverse;
+    }
+}
@@ -0,0 +1,77 @@
+package com.testexpert.java.utils;
+
+/**
+ * Opt-in memoizing front end for the {@link StringUtils} transformations
+ * Meant for highly repetitive inputs: each transformation has its own bounded {@link MemoCache}, so a hot token's
+ * result is computed and allocated once. Results, including {@code null} handling, are identical to StringUtils.
+ */
+public class CachedStringUtils {
+
+    /**
+     * Rough per-entry cost of the cache node and hash map node, excluding the strings themselves
+     */
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final MemoCache<String, String> capitalized;
+    private final MemoCache<String, String> reversed;
+
+    private CachedStringUtils(MemoCache<String, String> capitalized, MemoCache<String, String> reversed) {
+        this.capitalized = capitalized;
+        this.reversed = reversed;
+    }
+
+    /**
+     * Each transformation caches up to {@code maximumEntries} results
+     */
+    public static CachedStringUtils ofEntries(long maximumEntries) {
+        return new CachedStringUtils(MemoCache.ofEntries(maximumEntries), MemoCache.ofEntries(maximumEntries));
+    }
+
+    /**
+     * Both caches together stay within about {@code maximumBytes} of heap, split evenly
+     */
+    public static CachedStringUtils ofBytes(long maximumBytes) {
+        long half = Math.max(1, maximumBytes / 2);
+        return new CachedStringUtils(MemoCache.ofWeight(half, CachedStringUtils::estimatedBytes),
+                MemoCache.ofWeight(half, CachedStringUtils::estimatedBytes));
+    }
+
+    public String capitalize(String str) {
+        if (str == null) {
+            return null;
+        }
+        return capitalized.get(str, StringUtils::capitalize);
+    }
+
+    public String reverse(String str) {
+        if (str == null) {
+            // Keep StringUtils' behaviour (NullPointerException) rather than inventing a new one
+            return StringUtils.reverse(null);
+        }
+        return reversed.get(str, StringUtils::reverse);
+    }
+
+    public MemoCache.Stats capitalizeStats() {
+        return capitalized.stats();
+    }
+
+    public MemoCache.Stats reverseStats() {
+        return reversed.stats();
+    }
+
+    public void clear() {
+        capitalized.clear();
+        reversed.clear();
+    }
+
+    /**
+     * Upper bound assuming two bytes per char; Latin-1 strings take about half of the character part
+     */
+    static long estimatedBytes(String key, String value) {
+        long keyBytes = STRING_OVERHEAD_BYTES + 2L * key.length();
+        // Unchanged inputs (e.g. blank strings) return the key itself, which costs nothing extra
+        long valueBytes = value == key ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+        return ENTRY_OVERHEAD_BYTES + keyBytes + valueBytes;
+    }
+}
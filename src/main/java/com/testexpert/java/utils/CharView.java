@@ -0,0 +1,300 @@
+package com.testexpert.java.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * Read-only {@link CharSequence} computed from a source string on access, as returned by
+ * {@link StringUtils#reverseView(String)} and {@link StringUtils#capitalizeView(String)}
+ * Nothing is copied until {@link #toString()}, which materializes the content once. {@link #hashCode()} equals the
+ * hash of that string, {@link #equals(Object)} compares content with other views and {@link #contentEquals} with any
+ * {@code CharSequence}, all without materializing. {@code Writer.append(CharSequence)} calls {@code toString()}, so
+ * write views with {@link #appendTo(Appendable)} instead. Sub-sequences are views of the same source.
+ */
+public abstract class CharView implements CharSequence {
+
+    /** Chars copied per write when a view goes to a Writer through a buffer */
+    private static final int CHUNK = 512;
+
+    final String source;
+    /** Window of the full view this instance covers, for sub-sequences */
+    final int start;
+    private final int length;
+    private String string;
+    /** Cached like String.hash: 0 with hashIsZero false means not computed yet */
+    private int hash;
+    private boolean hashIsZero;
+
+    CharView(String source, int start, int length) {
+        this.source = source;
+        this.start = start;
+        this.length = length;
+    }
+
+    static CharView reversed(String source) {
+        return new Reversed(source, 0, source.length());
+    }
+
+    static CharView capitalized(String head, String source, int from) {
+        return new Capitalized(head, source, from, 0, head.length() + source.length() - from);
+    }
+
+    @Override
+    public final int length() {
+        return length;
+    }
+
+    @Override
+    public final char charAt(int index) {
+        Objects.checkIndex(index, length);
+        return charAtFull(start + index);
+    }
+
+    /**
+     * Char {@code index} of the whole view, ignoring the window
+     */
+    abstract char charAtFull(int index);
+
+    /**
+     * Copy chars {@code [srcBegin, srcEnd)} to {@code dst}, like {@link String#getChars}
+     */
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        Objects.checkFromToIndex(srcBegin, srcEnd, length);
+        Objects.checkFromIndexSize(dstBegin, srcEnd - srcBegin, dst.length);
+        for (int i = srcBegin; i < srcEnd; i++) {
+            dst[dstBegin++] = charAtFull(start + i);
+        }
+    }
+
+    @Override
+    public final CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return window(this.start + start, end - start);
+    }
+
+    abstract CharView window(int start, int length);
+
+    /**
+     * Write the content to {@code out}: Writers get bulk writes, StringBuilders a char loop, neither materializes
+     *
+     * @return {@code out}
+     */
+    public <A extends Appendable> A appendTo(A out) {
+        try {
+            if (string != null) {
+                out.append(string);
+            } else if (out instanceof Writer writer) {
+                write(writer);
+            } else if (out instanceof StringBuilder builder) {
+                builder.append(this);
+            } else {
+                char[] buffer = new char[Math.min(length, CHUNK)];
+                for (int i = 0; i < length; i += buffer.length) {
+                    int n = Math.min(buffer.length, length - i);
+                    getChars(i, i + n, buffer, 0);
+                    out.append(CharBuffer.wrap(buffer, 0, n));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    void write(Writer writer) throws IOException {
+        char[] buffer = new char[Math.min(length, CHUNK)];
+        for (int i = 0; i < length; i += buffer.length) {
+            int n = Math.min(buffer.length, length - i);
+            getChars(i, i + n, buffer, 0);
+            writer.write(buffer, 0, n);
+        }
+    }
+
+    /**
+     * Same content as {@code other}, compared char by char
+     */
+    public boolean contentEquals(CharSequence other) {
+        if (other == this) {
+            return true;
+        }
+        if (other == null || other.length() != length) {
+            return false;
+        }
+        if (string != null) {
+            return string.contentEquals(other);
+        }
+        for (int i = 0; i < length; i++) {
+            if (charAtFull(start + i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof CharView view)) {
+            return false;
+        }
+        if (hash != 0 && view.hash != 0 && hash != view.hash) {
+            return false;
+        }
+        return contentEquals(view);
+    }
+
+    /**
+     * {@code toString().hashCode()}, computed from the chars and cached
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = hash(0);
+            if (h == 0) {
+                hashIsZero = true;
+            } else {
+                hash = h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Continues String's polynomial hash {@code h} over the chars
+     */
+    int hash(int h) {
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + charAtFull(start + i);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        if (string == null) {
+            char[] chars = new char[length];
+            getChars(0, length, chars, 0);
+            string = new String(chars);
+        }
+        return string;
+    }
+
+    /**
+     * {@code new StringBuilder(source).reverse()}: chars in reverse order, valid surrogate pairs kept in order
+     * A high surrogate can only pair with the char after it and a low surrogate with the one before, so pairs never
+     * overlap and each char can be mapped on its own.
+     */
+    private static final class Reversed extends CharView {
+
+        Reversed(String source, int start, int length) {
+            super(source, start, length);
+        }
+
+        @Override
+        char charAtFull(int index) {
+            int j = source.length() - 1 - index;
+            char c = source.charAt(j);
+            if (Character.isLowSurrogate(c) && j > 0 && Character.isHighSurrogate(source.charAt(j - 1))) {
+                return source.charAt(j - 1);
+            }
+            if (Character.isHighSurrogate(c) && j + 1 < source.length()
+                    && Character.isLowSurrogate(source.charAt(j + 1))) {
+                return source.charAt(j + 1);
+            }
+            return c;
+        }
+
+        @Override
+        public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+            Objects.checkFromToIndex(srcBegin, srcEnd, length());
+            Objects.checkFromIndexSize(dstBegin, srcEnd - srcBegin, dst.length);
+            int n = source.length();
+            source.getChars(n - (start + srcEnd), n - (start + srcBegin), dst, dstBegin);
+            for (int lo = dstBegin, hi = dstBegin + srcEnd - srcBegin - 1; lo < hi; lo++, hi--) {
+                char c = dst[lo];
+                dst[lo] = dst[hi];
+                dst[hi] = c;
+            }
+            for (int i = 0; i < srcEnd - srcBegin; i++) {
+                if (Character.isSurrogate(dst[dstBegin + i])) {
+                    dst[dstBegin + i] = charAtFull(start + srcBegin + i);
+                }
+            }
+        }
+
+        /**
+         * Walks the source backwards; only surrogates need the pair check
+         */
+        @Override
+        int hash(int h) {
+            int last = source.length() - 1 - start;
+            for (int j = last; j > last - length(); j--) {
+                char c = source.charAt(j);
+                h = 31 * h + (Character.isSurrogate(c) ? charAtFull(source.length() - 1 - j) : c);
+            }
+            return h;
+        }
+
+        @Override
+        CharView window(int start, int length) {
+            return new Reversed(source, start, length);
+        }
+    }
+
+    /**
+     * {@code head} followed by {@code source} from {@code from}: StringUtils.capitalize without the concatenation
+     */
+    private static final class Capitalized extends CharView {
+
+        private final String head;
+        private final int from;
+
+        Capitalized(String head, String source, int from, int start, int length) {
+            super(source, start, length);
+            this.head = head;
+            this.from = from;
+        }
+
+        @Override
+        char charAtFull(int index) {
+            return index < head.length() ? head.charAt(index) : source.charAt(from + index - head.length());
+        }
+
+        @Override
+        public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+            Objects.checkFromToIndex(srcBegin, srcEnd, length());
+            Objects.checkFromIndexSize(dstBegin, srcEnd - srcBegin, dst.length);
+            int begin = start + srcBegin;
+            int end = start + srcEnd;
+            int split = Math.clamp(head.length(), begin, end);
+            if (begin < split) {
+                head.getChars(begin, split, dst, dstBegin);
+            }
+            if (split < end) {
+                source.getChars(from + split - head.length(), from + end - head.length(), dst,
+                        dstBegin + split - begin);
+            }
+        }
+
+        @Override
+        void write(Writer writer) throws IOException {
+            int begin = start;
+            int end = start + length();
+            int split = Math.clamp(head.length(), begin, end);
+            if (begin < split) {
+                writer.write(head, begin, split - begin);
+            }
+            if (split < end) {
+                writer.write(source, from + split - head.length(), end - split);
+            }
+        }
+
+        @Override
+        CharView window(int start, int length) {
+            return new Capitalized(head, source, from, start, length);
+        }
+    }
+}
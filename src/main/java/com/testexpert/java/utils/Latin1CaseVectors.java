@@ -0,0 +1,88 @@
+package com.testexpert.java.utils;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernel of the Latin-1 byte path of {@link StringUtils}, one preferred-size vector (32 bytes with AVX2,
+ * 64 with AVX-512) per step
+ * Latin-1 letters differ from their other case only in bit 5, so a lane is a letter when its value with bit 5
+ * cleared is in A-Z or À-Þ other than ×, and converting it is an XOR. Word starts compare the vector loaded one
+ * byte earlier against the whitespace ranges. Only referenced when jdk.incubator.vector is in the boot layer.
+ */
+final class Latin1CaseVectors {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    /** Smaller vectors mean no SIMD support, where the Vector API falls back to slow Java code */
+    static final boolean SUPPORTED = SPECIES.vectorBitSize() >= 128;
+
+    private static final byte CASE_BIT = 0x20;
+
+    private Latin1CaseVectors() {
+    }
+
+    /**
+     * Same contract as {@link StringUtils#convertLatin1(byte[], int, int, StringUtils.Case)} up to the end of
+     * {@code bytes}
+     */
+    static int convert(byte[] bytes, int from, StringUtils.Case mode) {
+        int i = from;
+        if (i == 0) {
+            // The word-start check reads the byte before each lane
+            if (StringUtils.convertLatin1(bytes, 0, 1, mode) == 0) {
+                return 0;
+            }
+            i = 1;
+        }
+        int bound = bytes.length - SPECIES.length();
+        for (; i <= bound; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, bytes, i);
+            ByteVector folded = v.and((byte) ~CASE_BIT);
+            VectorMask<Byte> letter = folded.sub((byte) 'A').compare(VectorOperators.UNSIGNED_LT, 26)
+                    .or(folded.sub((byte) 0xC0).compare(VectorOperators.UNSIGNED_LT, 31)
+                            .and(folded.compare(VectorOperators.NE, (byte) 0xD7)));
+            VectorMask<Byte> lowerCase = v.and(CASE_BIT).compare(VectorOperators.NE, 0);
+            VectorMask<Byte> upperable = letter.and(lowerCase);
+            // ÿ and µ upper-case to characters outside Latin-1
+            VectorMask<Byte> outside = v.compare(VectorOperators.EQ, (byte) 0xFF)
+                    .or(v.compare(VectorOperators.EQ, (byte) 0xB5));
+            VectorMask<Byte> stop = v.compare(VectorOperators.EQ, (byte) '?');
+            VectorMask<Byte> flip;
+            switch (mode) {
+                case UPPER -> {
+                    flip = upperable;
+                    stop = stop.or(outside);
+                }
+                case LOWER -> flip = letter.andNot(lowerCase);
+                case CAPITALIZE_WORDS -> {
+                    VectorMask<Byte> wordStart = wordStarts(bytes, i);
+                    flip = upperable.and(wordStart);
+                    stop = stop.or(outside.and(wordStart));
+                }
+                case TITLE -> {
+                    VectorMask<Byte> wordStart = wordStarts(bytes, i);
+                    flip = upperable.and(wordStart).or(letter.andNot(lowerCase).andNot(wordStart));
+                    stop = stop.or(outside.and(wordStart));
+                }
+                default -> throw new IllegalArgumentException("Unknown case " + mode);
+            }
+            if (stop.anyTrue()) {
+                return StringUtils.convertLatin1(bytes, i, i + stop.firstTrue(), mode);
+            }
+            v.lanewise(VectorOperators.XOR, CASE_BIT, flip).intoArray(bytes, i);
+        }
+        return StringUtils.convertLatin1(bytes, i, bytes.length, mode);
+    }
+
+    /**
+     * Lanes whose previous byte is whitespace; conversion never changes whether a byte is whitespace, so it does
+     * not matter that the byte before lane 0 is already converted
+     */
+    private static VectorMask<Byte> wordStarts(byte[] bytes, int i) {
+        ByteVector previous = ByteVector.fromArray(SPECIES, bytes, i - 1);
+        return previous.sub((byte) 0x09).compare(VectorOperators.UNSIGNED_LT, 5)
+                .or(previous.sub((byte) 0x1C).compare(VectorOperators.UNSIGNED_LT, 5));
+    }
+}
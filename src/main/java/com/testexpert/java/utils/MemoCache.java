@@ -0,0 +1,469 @@
+package com.testexpert.java.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Bounded, concurrent memoizing cache with W-TinyLFU style eviction
+ * Keys are spread over independently locked stripes. Each stripe keeps a small LRU admission window in front of
+ * a segmented LRU main area (probation + protected); an entry leaving the window only displaces the main area's
+ * victim when a count-min frequency sketch says it is used more often, so one-off keys cannot flush hot ones.
+ * Hits never take a lock: one in {@value #READ_SAMPLE_RATE} is recorded in a small lossy buffer that is replayed
+ * into the policy every few reads, and dropped when the stripe is busy, since for cheap values the bookkeeping
+ * would otherwise cost more than recomputing. Values are computed outside the stripe lock and must be pure
+ * functions of the key.
+ */
+public class MemoCache<K, V> {
+
+    private static final int MAX_STRIPES = 64;
+    private static final int MIN_STRIPE_WEIGHT = 16;
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_SAMPLE_RATE = 4;
+
+    private final Stripe<K, V>[] stripes;
+    private final ToLongBiFunction<K, V> weigher;
+    private final long maximumWeight;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Point-in-time counters; size and weight are summed stripe by stripe, not atomically
+     */
+    public record Stats(long hits, long misses, long evictions, long size, long weight) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * Cache holding at most {@code maximumEntries} entries
+     */
+    public static <K, V> MemoCache<K, V> ofEntries(long maximumEntries) {
+        return new MemoCache<>(maximumEntries, (key, value) -> 1L);
+    }
+
+    /**
+     * Cache whose entries' summed {@code weigher} estimates (e.g. bytes) stay within {@code maximumWeight}
+     */
+    public static <K, V> MemoCache<K, V> ofWeight(long maximumWeight, ToLongBiFunction<K, V> weigher) {
+        return new MemoCache<>(maximumWeight, weigher);
+    }
+
+    private MemoCache(long maximumWeight, ToLongBiFunction<K, V> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum cache size must be positive: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = Objects.requireNonNull(weigher, "weigher");
+        int count = stripeCount(maximumWeight);
+        @SuppressWarnings("unchecked")
+        Stripe<K, V>[] created = (Stripe<K, V>[]) new Stripe<?, ?>[count];
+        stripes = created;
+        long perStripe = maximumWeight / count;
+        for (int i = 0; i < count; i++) {
+            // The remainder goes to the first stripes so the total matches the configured maximum
+            stripes[i] = new Stripe<>(perStripe + (i < maximumWeight % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Cached value for {@code key}, computing and (if admitted) storing it on a miss
+     * A value heavier than a whole stripe is returned without being cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> compute) {
+        Objects.requireNonNull(key, "key");
+        int hash = spread(key.hashCode());
+        Stripe<K, V> stripe = stripes[(hash >>> 16) & (stripes.length - 1)];
+        V value = stripe.getIfPresent(key, hash);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = Objects.requireNonNull(compute.apply(key), "computed value");
+        long weight = weigher.applyAsLong(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight for key " + key + ": " + weight);
+        }
+        evictions.add(stripe.put(key, hash, value, weight));
+        return value;
+    }
+
+    public Stats stats() {
+        long size = 0;
+        long weight = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.map.size();
+                weight += stripe.weight();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size, weight);
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Drop all entries and frequency history; statistics are kept
+     */
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * Power of two, about four stripes per core, but never so many that a stripe becomes too small to be useful
+     */
+    private static int stripeCount(long maximumWeight) {
+        int wanted = Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors() * 4);
+        long bySize = Math.max(1, maximumWeight / MIN_STRIPE_WEIGHT);
+        int count = (int) Math.min(wanted, bySize);
+        return Integer.highestOneBit(Math.max(1, count));
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+
+    private enum Area { WINDOW, PROBATION, PROTECTED }
+
+    private static final class Node<K, V> {
+        final K key;
+        final int hash;
+        final V value;
+        final long weight;
+        /** Null once removed; only read and written under the stripe lock */
+        Area area;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, int hash, V value, long weight) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked LRU list; head is the eldest entry
+     */
+    private static final class Queue<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        long weight;
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+    }
+
+    private static final class Stripe<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<K, Node<K, V>> map = new ConcurrentHashMap<>();
+        final Queue<K, V> window = new Queue<>();
+        final Queue<K, V> probation = new Queue<>();
+        final Queue<K, V> protectedQueue = new Queue<>();
+        final FrequencySketch sketch;
+        final long maximum;
+        final long windowMaximum;
+        final long protectedMaximum;
+        /**
+         * Deliberately unsynchronized: racing readers may overwrite each other's slots or count, which only loses
+         * some samples. Slots are consumed under the lock.
+         */
+        final Object[] readBuffer = new Object[READ_BUFFER_SIZE];
+        int reads;
+
+        Stripe(long maximum) {
+            this.maximum = maximum;
+            this.windowMaximum = Math.max(1, (long) (maximum * WINDOW_RATIO));
+            this.protectedMaximum = (long) ((maximum - windowMaximum) * PROTECTED_RATIO);
+            this.sketch = new FrequencySketch(maximum);
+        }
+
+        V getIfPresent(K key, int hash) {
+            Node<K, V> node = map.get(key);
+            if (node == null) {
+                if (lock.tryLock()) {
+                    try {
+                        drainReads();
+                        sketch.increment(hash);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                return null;
+            }
+            // Sampled at random rather than every n-th read, so periodic access patterns cannot hide keys from the
+            // policy. The node may be evicted after this lookup; its value is still correct to return.
+            if (ThreadLocalRandom.current().nextInt(READ_SAMPLE_RATE) != 0) {
+                return node.value;
+            }
+            int slot = reads++ & (READ_BUFFER_SIZE - 1);
+            readBuffer[slot] = node;
+            if (slot == READ_BUFFER_SIZE - 1 && lock.tryLock()) {
+                try {
+                    drainReads();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return node.value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drainReads() {
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                Node<K, V> node = (Node<K, V>) readBuffer[i];
+                if (node != null) {
+                    readBuffer[i] = null;
+                    sketch.increment(node.hash);
+                    if (node.area != null) {
+                        onHit(node);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return number of entries evicted to make room
+         */
+        int put(K key, int hash, V value, long weight) {
+            if (weight > maximum) {
+                return 0;
+            }
+            lock.lock();
+            try {
+                if (map.containsKey(key)) {
+                    // Another thread computed the same value first
+                    return 0;
+                }
+                drainReads();
+                Node<K, V> node = new Node<>(key, hash, value, weight);
+                node.area = Area.WINDOW;
+                map.put(key, node);
+                window.addLast(node);
+                return evict();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void onHit(Node<K, V> node) {
+            switch (node.area) {
+                case WINDOW -> window.moveToLast(node);
+                case PROBATION -> {
+                    probation.remove(node);
+                    node.area = Area.PROTECTED;
+                    protectedQueue.addLast(node);
+                    // Protected overflow is demoted back to probation, not evicted
+                    while (protectedQueue.weight > protectedMaximum && protectedQueue.head != node) {
+                        Node<K, V> demoted = protectedQueue.head;
+                        protectedQueue.remove(demoted);
+                        demoted.area = Area.PROBATION;
+                        probation.addLast(demoted);
+                    }
+                }
+                case PROTECTED -> protectedQueue.moveToLast(node);
+            }
+        }
+
+        private int evict() {
+            int evicted = 0;
+            // Window overflow turns its eldest entries into admission candidates for the main area
+            while (window.weight > windowMaximum && window.head != null) {
+                Node<K, V> candidate = window.head;
+                window.remove(candidate);
+                candidate.area = Area.PROBATION;
+                probation.addLast(candidate);
+                while (weight() > maximum) {
+                    Node<K, V> victim = probation.head;
+                    // TinyLFU admission: the candidate only displaces a victim it is seen more often than
+                    if (victim == candidate || sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+                        remove(candidate);
+                        evicted++;
+                        break;
+                    }
+                    remove(victim);
+                    evicted++;
+                }
+            }
+            // Still over when heavy entries sit in the window or protected area
+            while (weight() > maximum) {
+                Node<K, V> victim = probation.head != null ? probation.head
+                        : protectedQueue.head != null ? protectedQueue.head : window.head;
+                remove(victim);
+                evicted++;
+            }
+            return evicted;
+        }
+
+        long weight() {
+            return window.weight + probation.weight + protectedQueue.weight;
+        }
+
+        private void remove(Node<K, V> node) {
+            switch (node.area) {
+                case WINDOW -> window.remove(node);
+                case PROBATION -> probation.remove(node);
+                case PROTECTED -> protectedQueue.remove(node);
+            }
+            node.area = null;
+            map.remove(node.key);
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                // Readers may still hold these nodes; mark them removed so a late hit does not relink them
+                map.values().forEach(node -> node.area = null);
+                map.clear();
+                Arrays.fill(readBuffer, null);
+                window.clear();
+                probation.clear();
+                protectedQueue.clear();
+                sketch.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch of 4 rows of saturating 4-bit counters, halved periodically so old popularity fades
+     */
+    static final class FrequencySketch {
+        private static final int MAX_WIDTH = 1 << 14;
+        private static final long[] SEEDS = {0x97cb3127L, 0xc2b2ae35L, 0x27d4eb2fL, 0x165667b1L};
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(long expectedEntries) {
+            // A few counters per entry keeps collisions (and so accidental admissions) rare in small stripes
+            int width = (int) Math.min(MAX_WIDTH, Math.max(64, expectedEntries * 4));
+            width = Integer.highestOneBit(width - 1) << 1;
+            // 16 counters per long, 4 rows
+            table = new long[Math.max(4, width / 4)];
+            mask = table.length - 1;
+            sampleSize = 10 * width;
+        }
+
+        int frequency(int hash) {
+            hash = rehash(hash);
+            int frequency = Integer.MAX_VALUE;
+            for (int row = 0; row < 4; row++) {
+                int index = indexOf(hash, row);
+                int offset = counterOffset(hash, row);
+                frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xfL));
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            hash = rehash(hash);
+            boolean added = false;
+            for (int row = 0; row < 4; row++) {
+                int index = indexOf(hash, row);
+                int offset = counterOffset(hash, row);
+                if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        void clear() {
+            Arrays.fill(table, 0L);
+            additions = 0;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+            }
+            additions /= 2;
+        }
+
+        /**
+         * The stripe index already consumed some bits of the key hash, so counters use a re-mixed one
+         */
+        private static int rehash(int hash) {
+            hash *= 0x31848bab;
+            return hash ^ (hash >>> 14);
+        }
+
+        private int indexOf(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & mask;
+        }
+
+        private static int counterOffset(int hash, int row) {
+            return (((hash >>> (row * 8)) & 0xf) << 2);
+        }
+    }
+}
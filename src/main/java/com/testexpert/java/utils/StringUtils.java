@@ -1,10 +1,34 @@
 package com.testexpert.java.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
 /**
  * Utility class for common operations
+ * The case conversions map every code point with {@link Character} (no locale, no length-changing special cases
+ * such as ß to SS). Strings whose characters are all Latin-1 are converted as bytes, with the Vector API when the
+ * JVM runs with {@code --add-modules jdk.incubator.vector}; other strings take a per-code-point path.
  */
 public class StringUtils {
 
+    /** Case conversions; a word starts at the beginning of the string or after a whitespace character */
+    enum Case {
+        UPPER,
+        LOWER,
+        /** Title-case the first letter of each word, leave the rest */
+        CAPITALIZE_WORDS,
+        /** Title-case the first letter of each word, lower-case the rest */
+        TITLE
+    }
+
+    /** Latin-1 conversion tables for the byte path; -1 marks bytes it stops at */
+    private static final int[] UPPER_LATIN1 = latin1Table(Case.UPPER);
+    private static final int[] LOWER_LATIN1 = latin1Table(Case.LOWER);
+    private static final int[] SAME_LATIN1 = latin1Table(Case.CAPITALIZE_WORDS);
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && Latin1CaseVectors.SUPPORTED;
+
     public static boolean isEmpty(String str) {
         return str == null || str.trim().isEmpty();
     }
@@ -19,4 +43,162 @@ public class StringUtils {
     public static String reverse(String str) {
         return new StringBuilder(str).reverse().toString();
     }
+
+    /**
+     * {@link #capitalize(String)} as a view over {@code str}: only the first character is copied
+     */
+    public static CharView capitalizeView(String str) {
+        if (str == null) {
+            return null;
+        }
+        if (isEmpty(str)) {
+            return CharView.capitalized("", str, 0);
+        }
+        return CharView.capitalized(str.substring(0, 1).toUpperCase(), str, 1);
+    }
+
+    /**
+     * {@link #reverse(String)} as a view over {@code str}, mapping each index on access
+     */
+    public static CharView reverseView(String str) {
+        return CharView.reversed(Objects.requireNonNull(str));
+    }
+
+    /**
+     * Every code point through {@link Character#toUpperCase(int)}
+     */
+    public static String toUpperCase(String str) {
+        return convert(str, Case.UPPER);
+    }
+
+    /**
+     * Every code point through {@link Character#toLowerCase(int)}
+     */
+    public static String toLowerCase(String str) {
+        return convert(str, Case.LOWER);
+    }
+
+    /**
+     * First code point of every whitespace-separated word through {@link Character#toTitleCase(int)}, the rest as is
+     */
+    public static String capitalizeWords(String str) {
+        return convert(str, Case.CAPITALIZE_WORDS);
+    }
+
+    /**
+     * First code point of every whitespace-separated word through {@link Character#toTitleCase(int)}, the rest
+     * through {@link Character#toLowerCase(int)}
+     */
+    public static String titleCase(String str) {
+        return convert(str, Case.TITLE);
+    }
+
+    static boolean vectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Converts the ISO-8859-1 encoding of {@code str} in place, stopping at bytes the byte path cannot decide: '?',
+     * which is also what non-Latin-1 characters encode to, and ÿ or µ where they are upper-cased, since their upper
+     * case is outside Latin-1. A genuine '?' is skipped; any other stop is mapped with {@link Character} and the
+     * result is assembled from the converted Latin-1 runs between those characters.
+     */
+    static String convert(String str, Case mode) {
+        if (str == null || str.isEmpty()) {
+            return str;
+        }
+        byte[] bytes = str.getBytes(StandardCharsets.ISO_8859_1);
+        if (bytes.length != str.length()) {
+            // A surrogate pair encodes to a single '?', so bytes and chars no longer line up
+            return convertCodePoints(str, mode);
+        }
+        StringBuilder result = null;
+        int run = 0;
+        int i = 0;
+        while (i < bytes.length) {
+            i = VECTORIZED ? Latin1CaseVectors.convert(bytes, i, mode) : convertLatin1(bytes, i, bytes.length, mode);
+            if (i == bytes.length) {
+                break;
+            }
+            char c = str.charAt(i);
+            if (c != '?') {
+                if (result == null) {
+                    result = new StringBuilder(str.length() + 16);
+                }
+                result.append(new String(bytes, run, i - run, StandardCharsets.ISO_8859_1));
+                boolean wordStart = i == 0 || Character.isWhitespace(str.charAt(i - 1));
+                result.appendCodePoint(convert(c, wordStart, mode));
+                // The byte path only reads this byte again to find word starts
+                bytes[i] = (byte) (Character.isWhitespace(c) ? ' ' : 0);
+                run = i + 1;
+            }
+            i++;
+        }
+        if (result == null) {
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        return result.append(new String(bytes, run, bytes.length - run, StandardCharsets.ISO_8859_1)).toString();
+    }
+
+    /**
+     * Scalar byte path: converts {@code bytes[from, to)} in place up to the first byte it stops at
+     *
+     * @return index of that byte, or {@code to}
+     */
+    static int convertLatin1(byte[] bytes, int from, int to, Case mode) {
+        int[] wordStartTable = mode == Case.LOWER ? LOWER_LATIN1 : UPPER_LATIN1;
+        int[] table = switch (mode) {
+            case UPPER -> UPPER_LATIN1;
+            case LOWER, TITLE -> LOWER_LATIN1;
+            case CAPITALIZE_WORDS -> SAME_LATIN1;
+        };
+        boolean wordStart = from == 0 || isWhitespaceLatin1(bytes[from - 1] & 0xFF);
+        for (int i = from; i < to; i++) {
+            int c = bytes[i] & 0xFF;
+            int converted = (wordStart ? wordStartTable : table)[c];
+            if (converted < 0) {
+                return i;
+            }
+            bytes[i] = (byte) converted;
+            wordStart = isWhitespaceLatin1(c);
+        }
+        return to;
+    }
+
+    /**
+     * {@link Character#isWhitespace(int)} for Latin-1: tab to carriage return and U+001C to the space
+     */
+    static boolean isWhitespaceLatin1(int c) {
+        return c >= 0x09 && c <= 0x0D || c >= 0x1C && c <= ' ';
+    }
+
+    private static String convertCodePoints(String str, Case mode) {
+        StringBuilder result = new StringBuilder(str.length() + 16);
+        boolean wordStart = true;
+        for (int i = 0; i < str.length(); ) {
+            int codePoint = str.codePointAt(i);
+            result.appendCodePoint(convert(codePoint, wordStart, mode));
+            wordStart = Character.isWhitespace(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return result.toString();
+    }
+
+    private static int convert(int codePoint, boolean wordStart, Case mode) {
+        return switch (mode) {
+            case UPPER -> Character.toUpperCase(codePoint);
+            case LOWER -> Character.toLowerCase(codePoint);
+            case CAPITALIZE_WORDS -> wordStart ? Character.toTitleCase(codePoint) : codePoint;
+            case TITLE -> wordStart ? Character.toTitleCase(codePoint) : Character.toLowerCase(codePoint);
+        };
+    }
+
+    private static int[] latin1Table(Case mode) {
+        int[] table = new int[256];
+        for (int c = 0; c < table.length; c++) {
+            int converted = convert(c, false, mode);
+            table[c] = c == '?' || converted > 0xFF ? -1 : converted;
+        }
+        return table;
+    }
 }
@@ -0,0 +1,288 @@
+package com.testexpert.java.utils;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Byte-level counterparts of {@link StringUtils} for UTF-8 data in memory segments and byte buffers
+ * Nothing is decoded to {@code String} and nothing is allocated on the heap, so large mapped or off-heap inputs can
+ * be processed line by line. Malformed UTF-8 is never rejected: invalid bytes are treated as one-byte units.
+ */
+public final class Utf8StringUtils {
+
+    private static final ValueLayout.OfLong WORD = ValueLayout.JAVA_LONG_UNALIGNED;
+    private static final ValueLayout.OfLong WORD_LITTLE_ENDIAN = WORD.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_SEVEN_BITS = 0x7f7f7f7f7f7f7f7fL;
+    /** Adding 0x5f to a byte <= 0x7f sets its high bit exactly when the byte is above 0x20 (space) */
+    private static final long ABOVE_SPACE = 0x5f5f5f5f5f5f5f5fL;
+
+    private Utf8StringUtils() {
+    }
+
+    /**
+     * Same as {@link StringUtils#isEmpty(String)}: {@code null}, or only characters up to U+0020
+     */
+    public static boolean isEmpty(MemorySegment utf8) {
+        return utf8 == null || isEmpty(utf8, 0, utf8.byteSize());
+    }
+
+    /**
+     * Blankness of {@code length} bytes at {@code offset}, for scanning lines of a large segment without slicing it
+     * Every byte of a multi-byte UTF-8 sequence is at least 0x80, so this is a pure byte scan.
+     */
+    public static boolean isEmpty(MemorySegment utf8, long offset, long length) {
+        Objects.checkFromIndexSize(offset, length, utf8.byteSize());
+        long end = offset + length;
+        for (; offset + Long.BYTES <= end; offset += Long.BYTES) {
+            long word = utf8.get(WORD, offset);
+            if (((word | ((word & LOW_SEVEN_BITS) + ABOVE_SPACE)) & HIGH_BITS) != 0) {
+                return false;
+            }
+        }
+        for (; offset < end; offset++) {
+            if (Byte.toUnsignedInt(utf8.get(ValueLayout.JAVA_BYTE, offset)) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remaining bytes of {@code utf8}; its position is not changed
+     */
+    public static boolean isEmpty(ByteBuffer utf8) {
+        return utf8 == null || isEmpty(MemorySegment.ofBuffer(utf8));
+    }
+
+    /**
+     * Copy {@code src} to {@code dst} with its first code point upper-cased
+     * Uses the locale-independent {@link Character#toUpperCase(int)}. StringUtils goes through
+     * {@code String.toUpperCase()} on the first UTF-16 unit, so it differs for the default locale's special cases
+     * (Turkish dotted i), for the few characters that upper-case to several (ß to SS) and for supplementary
+     * characters, which it leaves alone; everywhere else the bytes match encoding the String result.
+     * Blank input comes back unchanged, as in StringUtils.
+     *
+     * @param dst needs at least {@link #maxCapitalizedSize(long)} bytes; must not overlap {@code src}
+     * @return number of bytes written to {@code dst}
+     */
+    public static long capitalize(MemorySegment src, MemorySegment dst) {
+        return capitalize(src, 0, src.byteSize(), dst, 0);
+    }
+
+    /**
+     * Capitalizes {@code length} bytes at {@code srcOffset} into {@code dst} at {@code dstOffset}
+     *
+     * @return number of bytes written to {@code dst}
+     */
+    public static long capitalize(MemorySegment src, long srcOffset, long length, MemorySegment dst, long dstOffset) {
+        Objects.checkFromIndexSize(srcOffset, length, src.byteSize());
+        if (length == 0) {
+            return 0;
+        }
+        long end = srcOffset + length;
+        int first = sequenceLength(src, srcOffset, end);
+        int codePoint = first == 1
+                ? Byte.toUnsignedInt(src.get(ValueLayout.JAVA_BYTE, srcOffset)) : decode(src, srcOffset, first);
+        int upper = first == 1 && codePoint >= 0x80 ? codePoint : Character.toUpperCase(codePoint);
+        int upperLength = upper == codePoint ? first : encodedLength(upper);
+        long written = upperLength + length - first;
+        checkDestination(src, srcOffset, length, dst, dstOffset, written);
+        if (upper == codePoint) {
+            MemorySegment.copy(src, srcOffset, dst, dstOffset, length);
+        } else {
+            encode(upper, dst, dstOffset, upperLength);
+            MemorySegment.copy(src, srcOffset + first, dst, dstOffset + upperLength, length - first);
+        }
+        return written;
+    }
+
+    /**
+     * Capitalizes the remaining bytes of {@code src} into {@code dst} at its position, which is advanced past them
+     * The position of {@code src} is not changed.
+     */
+    public static int capitalize(ByteBuffer src, ByteBuffer dst) {
+        int written = (int) capitalize(MemorySegment.ofBuffer(src), MemorySegment.ofBuffer(dst));
+        dst.position(dst.position() + written);
+        return written;
+    }
+
+    /**
+     * Upper bound for the output of {@link #capitalize}: upper-casing one code point grows it by at most one byte
+     */
+    public static long maxCapitalizedSize(long length) {
+        return length + 1;
+    }
+
+    /**
+     * Write the code points of {@code src} to {@code dst} in reverse order, like {@link StringUtils#reverse(String)}
+     * (which keeps surrogate pairs intact). {@code null} input throws {@link NullPointerException}, as there.
+     *
+     * @param dst needs at least {@code src.byteSize()} bytes; must not overlap {@code src}
+     * @return number of bytes written, always {@code src.byteSize()}
+     */
+    public static long reverse(MemorySegment src, MemorySegment dst) {
+        Objects.requireNonNull(src, "src");
+        return reverse(src, 0, src.byteSize(), dst, 0);
+    }
+
+    /**
+     * Reverses {@code length} bytes at {@code srcOffset} into {@code dst} at {@code dstOffset}
+     *
+     * @return number of bytes written, always {@code length}
+     */
+    public static long reverse(MemorySegment src, long srcOffset, long length, MemorySegment dst, long dstOffset) {
+        Objects.checkFromIndexSize(srcOffset, length, src.byteSize());
+        checkDestination(src, srcOffset, length, dst, dstOffset, length);
+        // Reverse all bytes a word at a time, then put each multi-byte sequence (now backwards) in order again
+        long end = srcOffset + length;
+        long target = dstOffset + length;
+        long offset = srcOffset;
+        for (; offset + Long.BYTES <= end; offset += Long.BYTES) {
+            target -= Long.BYTES;
+            dst.set(WORD, target, Long.reverseBytes(src.get(WORD, offset)));
+        }
+        for (; offset < end; offset++) {
+            dst.set(ValueLayout.JAVA_BYTE, --target, src.get(ValueLayout.JAVA_BYTE, offset));
+        }
+        long dstEnd = dstOffset + length;
+        long position = dstOffset;
+        // Restored bytes must not be read again: there the original order had a lead byte, which ends any lookback
+        long restored = dstOffset - 1;
+        while (position < dstEnd) {
+            if (position + Long.BYTES <= dstEnd) {
+                // Skip ASCII up to the first byte with its high bit set (lowest address first in little-endian)
+                long high = dst.get(WORD_LITTLE_ENDIAN, position) & HIGH_BITS;
+                if (high == 0) {
+                    position += Long.BYTES;
+                    continue;
+                }
+                position += Long.numberOfTrailingZeros(high) >>> 3;
+            }
+            int lead = Byte.toUnsignedInt(dst.get(ValueLayout.JAVA_BYTE, position));
+            int sequence = announcedLength(lead);
+            // A lead byte now follows its continuation bytes; malformed bytes stay where they are, as single units
+            long first = position - sequence + 1;
+            if (sequence > 1 && first > restored && wellFormedBackwards(dst, position, lead, sequence)) {
+                for (int i = 0; i < sequence / 2; i++) {
+                    byte swap = dst.get(ValueLayout.JAVA_BYTE, first + i);
+                    dst.set(ValueLayout.JAVA_BYTE, first + i, dst.get(ValueLayout.JAVA_BYTE, position - i));
+                    dst.set(ValueLayout.JAVA_BYTE, position - i, swap);
+                }
+                restored = position;
+            }
+            position++;
+        }
+        return length;
+    }
+
+    /**
+     * Reverses the remaining bytes of {@code src} into {@code dst} at its position, which is advanced past them
+     * The position of {@code src} is not changed.
+     */
+    public static int reverse(ByteBuffer src, ByteBuffer dst) {
+        int written = (int) reverse(MemorySegment.ofBuffer(src), MemorySegment.ofBuffer(dst));
+        dst.position(dst.position() + written);
+        return written;
+    }
+
+    /**
+     * Length of the well-formed sequence starting at {@code offset}, or 1 for a byte that does not start one
+     */
+    private static int sequenceLength(MemorySegment utf8, long offset, long end) {
+        int lead = Byte.toUnsignedInt(utf8.get(ValueLayout.JAVA_BYTE, offset));
+        int length = announcedLength(lead);
+        if (length == 1 || offset + length > end) {
+            return 1;
+        }
+        int codePoint = lead & (0x3f >> (length - 1));
+        for (int i = 1; i < length; i++) {
+            int next = Byte.toUnsignedInt(utf8.get(ValueLayout.JAVA_BYTE, offset + i));
+            if ((next & 0xc0) != 0x80) {
+                return 1;
+            }
+            codePoint = (codePoint << 6) | (next & 0x3f);
+        }
+        return wellFormed(codePoint, length) ? length : 1;
+    }
+
+    /**
+     * Same check as {@link #sequenceLength} for a sequence stored backwards, lead byte last at {@code leadOffset}
+     */
+    private static boolean wellFormedBackwards(MemorySegment utf8, long leadOffset, int lead, int length) {
+        int codePoint = lead & (0x3f >> (length - 1));
+        for (int i = 1; i < length; i++) {
+            int next = Byte.toUnsignedInt(utf8.get(ValueLayout.JAVA_BYTE, leadOffset - i));
+            if ((next & 0xc0) != 0x80) {
+                return false;
+            }
+            codePoint = (codePoint << 6) | (next & 0x3f);
+        }
+        return wellFormed(codePoint, length);
+    }
+
+    /**
+     * Sequence length a lead byte announces, or 1 for ASCII and bytes that cannot start a sequence
+     */
+    private static int announcedLength(int lead) {
+        if (lead >= 0xc2 && lead <= 0xdf) {
+            return 2;
+        } else if (lead >= 0xe0 && lead <= 0xef) {
+            return 3;
+        } else if (lead >= 0xf0 && lead <= 0xf4) {
+            return 4;
+        }
+        return 1;
+    }
+
+    /**
+     * Rejects overlong forms, surrogates and values past U+10FFFF
+     */
+    private static boolean wellFormed(int codePoint, int length) {
+        int min = length == 2 ? 0x80 : length == 3 ? 0x800 : 0x10000;
+        return codePoint >= min && codePoint <= Character.MAX_CODE_POINT
+                && (codePoint < Character.MIN_SURROGATE || codePoint > Character.MAX_SURROGATE);
+    }
+
+    private static int decode(MemorySegment utf8, long offset, int length) {
+        int codePoint = Byte.toUnsignedInt(utf8.get(ValueLayout.JAVA_BYTE, offset)) & (0x3f >> (length - 1));
+        for (int i = 1; i < length; i++) {
+            codePoint = (codePoint << 6) | (utf8.get(ValueLayout.JAVA_BYTE, offset + i) & 0x3f);
+        }
+        return codePoint;
+    }
+
+    private static int encodedLength(int codePoint) {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static void encode(int codePoint, MemorySegment dst, long offset, int length) {
+        if (length == 1) {
+            dst.set(ValueLayout.JAVA_BYTE, offset, (byte) codePoint);
+            return;
+        }
+        for (int i = length - 1; i > 0; i--) {
+            dst.set(ValueLayout.JAVA_BYTE, offset + i, (byte) (0x80 | (codePoint & 0x3f)));
+            codePoint >>>= 6;
+        }
+        dst.set(ValueLayout.JAVA_BYTE, offset, (byte) ((0xf00 >> length) | codePoint));
+    }
+
+    private static void checkDestination(MemorySegment src, long srcOffset, long length,
+                                         MemorySegment dst, long dstOffset, long needed) {
+        if (dstOffset < 0 || dst.byteSize() - dstOffset < needed) {
+            throw new IllegalArgumentException("Destination too small: need " + needed + " bytes at offset "
+                    + dstOffset + ", have " + Math.max(0, dst.byteSize() - dstOffset));
+        }
+        // Cheap address-range test first; only a possible overlap pays for the exact (allocating) check
+        long srcStart = src.address() + srcOffset;
+        long dstStart = dst.address() + dstOffset;
+        if (length > 0 && needed > 0 && srcStart < dstStart + needed && dstStart < srcStart + length
+                && src.asSlice(srcOffset, length).asOverlappingSlice(dst.asSlice(dstOffset, needed)).isPresent()) {
+            throw new IllegalArgumentException("Source and destination ranges overlap");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.testexpert.java;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.annotations.*;
 import static org.testng.Assert.*;
 
@@ -8,69 +10,71 @@ import static org.testng.Assert.*;
  */
 public class SampleTest {
 
+    private static final Logger log = LoggerFactory.getLogger(SampleTest.class);
+
     @BeforeSuite
     public void beforeSuite() {
-        System.out.println("Before Suite: Initializing test suite");
+        log.info("Before Suite: Initializing test suite");
     }
 
     @BeforeTest
     public void beforeTest() {
-        System.out.println("Before Test: Setting up test");
+        log.info("Before Test: Setting up test");
     }
 
     @BeforeClass
     public static void beforeClass() {
-        System.out.println("Before Class: Initializing test class");
+        log.info("Before Class: Initializing test class");
     }
 
     @BeforeMethod
     public void beforeMethod() {
-        System.out.println("Before Method: Setting up test method");
+        log.info("Before Method: Setting up test method");
     }
 
     @Test(description = "Test 1: Verify basic assertion")
     public void testOne() {
-        System.out.println("Executing Test One");
+        log.info("Executing Test One");
         assertTrue(true, "This should pass");
     }
 
     @Test(description = "Test 2: Verify string comparison")
     public void testTwo() {
-        System.out.println("Executing Test Two");
+        log.info("Executing Test Two");
         assertEquals("TestNG", "TestNG", "Strings should match");
     }
 
     @Test(description = "Test 3: Verify arithmetic", enabled = true)
     public void testThree() {
-        System.out.println("Executing Test Three");
+        log.info("Executing Test Three");
         int result = 5 + 5;
         assertEquals(result, 10, "5 + 5 should equal 10");
     }
 
     @Test(description = "Test 4: Verify array contents")
     public void testFour() {
-        System.out.println("Executing Test Four");
+        log.info("Executing Test Four");
         int[] numbers = {1, 2, 3, 4, 5};
         assertEquals(numbers.length, 5, "Array length should be 5");
     }
 
     @AfterMethod
     public void afterMethod() {
-        System.out.println("After Method: Cleaning up after test method");
+        log.info("After Method: Cleaning up after test method");
     }
 
     @AfterClass
     public static void afterClass() {
-        System.out.println("After Class: Cleaning up test class");
+        log.info("After Class: Cleaning up test class");
     }
 
     @AfterTest
     public void afterTest() {
-        System.out.println("After Test: Cleaning up test");
+        log.info("After Test: Cleaning up test");
     }
 
     @AfterSuite
     public void afterSuite() {
-        System.out.println("After Suite: Finalizing test suite");
+        log.info("After Suite: Finalizing test suite");
     }
 }
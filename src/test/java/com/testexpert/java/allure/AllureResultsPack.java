@@ -0,0 +1,71 @@
+package com.testexpert.java.allure;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Single append-only file holding many Allure result files
+ * Each frame is nameLength(4) name(UTF-8) dataLength(4) data; a truncated last frame is ignored.
+ * Expand it into the normal allure-results layout before running allure generate:
+ * AllureResultsPack target/allure-results
+ */
+public final class AllureResultsPack {
+
+    public static final String FILE_NAME = "allure-results.pack";
+
+    private AllureResultsPack() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Path.of(args.length > 0 ? args[0] : "target/allure-results");
+        int files = expand(dir.resolve(FILE_NAME), dir);
+        System.out.println("Expanded " + files + " Allure result files into " + dir);
+    }
+
+    static ByteBuffer frame(String fileName, byte[] data) {
+        byte[] name = fileName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frame = ByteBuffer.allocate(8 + name.length + data.length);
+        frame.putInt(name.length).put(name).putInt(data.length).put(data).flip();
+        return frame;
+    }
+
+    /**
+     * Write every packed file into the target directory
+     *
+     * @return number of files written
+     */
+    public static int expand(Path pack, Path targetDirectory) throws IOException {
+        if (!Files.exists(pack)) {
+            return 0;
+        }
+        Files.createDirectories(targetDirectory);
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(pack)))) {
+            while (true) {
+                String name;
+                byte[] data;
+                try {
+                    byte[] nameBytes = new byte[in.readInt()];
+                    in.readFully(nameBytes);
+                    name = new String(nameBytes, StandardCharsets.UTF_8);
+                    data = new byte[in.readInt()];
+                    in.readFully(data);
+                } catch (EOFException e) {
+                    return count;
+                }
+                Path target = targetDirectory.resolve(name).normalize();
+                if (!target.startsWith(targetDirectory.normalize())) {
+                    throw new IOException("Packed entry escapes results directory: " + name);
+                }
+                Files.write(target, data);
+                count++;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.testexpert.java.allure;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.testng.AllureTestNg;
+import org.testng.TestNG;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compares suite wall time with the sync, async and pack Allure writers
+ * Runs a synthetic data-driven test class of allure.bench.cases invocations (default 10000) per writer.
+ * Usage: AllureWriterBenchmark [cases...]
+ */
+public final class AllureWriterBenchmark {
+
+    private static final List<String> MODES = List.of("sync", "async", "pack");
+
+    private AllureWriterBenchmark() {
+    }
+
+    /**
+     * Synthetic test: one trivial assertion per data provider row
+     */
+    public static class SyntheticTest {
+
+        @DataProvider(name = "cases")
+        public Object[][] cases() {
+            int count = Integer.getInteger("allure.bench.cases", 10_000);
+            Object[][] rows = new Object[count][];
+            for (int i = 0; i < count; i++) {
+                rows[i] = new Object[]{i};
+            }
+            return rows;
+        }
+
+        @Test(dataProvider = "cases")
+        public void synthetic(int value) {
+            if (value < 0) {
+                throw new AssertionError("negative case " + value);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path root = Path.of(System.getProperty("allure.bench.dir", "target/allure-bench"));
+        String[] sizes = args.length > 0 ? args : new String[]{System.getProperty("allure.bench.cases", "10000")};
+        for (String size : sizes) {
+            System.setProperty("allure.bench.cases", size);
+            // Warm-up pass so the first measured writer does not pay for class loading and JIT
+            run("sync", root.resolve("warmup"), false);
+            for (String mode : MODES) {
+                Path dir = root.resolve(mode + "-" + size);
+                long nanos = run(mode, dir, true);
+                System.out.printf("%-5s cases=%-7s wall=%7.0f ms  files=%d%n", mode, size, nanos / 1e6, fileCount(dir));
+            }
+        }
+    }
+
+    private static long run(String mode, Path dir, boolean keep) throws IOException {
+        delete(dir);
+        System.setProperty("allure.results.directory", dir.toString());
+        AllureResultsWriter writer = AsyncAllureTestNg.createWriter(mode);
+        TestNG testng = new TestNG(false);
+        testng.setUseDefaultListeners(false);
+        testng.setListenersToSkipFromBeingWiredInViaServiceLoaders(AllureTestNg.class.getName());
+        testng.setVerbose(0);
+        testng.setTestClasses(new Class<?>[]{SyntheticTest.class});
+        testng.addListener(new AsyncAllureTestNg(writer));
+        long start = System.nanoTime();
+        testng.run();
+        long elapsed = System.nanoTime() - start;
+        if (writer instanceof AsyncBatchingResultsWriter async) {
+            async.close();
+        }
+        if (!keep) {
+            delete(dir);
+        }
+        return elapsed;
+    }
+
+    private static long fileCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.testexpert.java.allure;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.testng.AllureTestNg;
+import org.testng.ISuite;
+
+import java.nio.file.Path;
+
+/**
+ * AllureTestNg listener wired to {@link AsyncBatchingResultsWriter}
+ * Registered in testng.xml instead of io.qameta.allure.testng.AllureTestNg.
+ * System property allure.writer selects the results writer:
+ * async (default) - background batches, one file per result
+ * pack            - background batches appended to a single allure-results.pack file
+ * sync            - Allure's own FileSystemResultsWriter
+ */
+public class AsyncAllureTestNg extends AllureTestNg {
+
+    private final AllureResultsWriter writer;
+
+    public AsyncAllureTestNg() {
+        this(createWriter(System.getProperty("allure.writer", "async")));
+    }
+
+    public AsyncAllureTestNg(AllureResultsWriter writer) {
+        this(writer, new AllureLifecycle(writer));
+    }
+
+    private AsyncAllureTestNg(AllureResultsWriter writer, AllureLifecycle lifecycle) {
+        super(lifecycle);
+        this.writer = writer;
+        // Allure.step/addAttachment and the AspectJ step aspects use the global lifecycle
+        Allure.setLifecycle(lifecycle);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        super.onFinish(suite);
+        if (writer instanceof AsyncBatchingResultsWriter async) {
+            async.flush();
+        }
+    }
+
+    public static AllureResultsWriter createWriter(String mode) {
+        Path resultsDirectory = Path.of(System.getProperty("allure.results.directory", "allure-results"));
+        return switch (mode) {
+            case "async" -> new AsyncBatchingResultsWriter(resultsDirectory, false);
+            case "pack" -> new AsyncBatchingResultsWriter(resultsDirectory, true);
+            case "sync" -> new FileSystemResultsWriter(resultsDirectory);
+            default -> throw new IllegalArgumentException("Unknown allure.writer '" + mode
+                    + "', expected async, pack or sync");
+        };
+    }
+}
@@ -0,0 +1,252 @@
+package com.testexpert.java.allure;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.internal.Allure2ModelJackson;
+import io.qameta.allure.internal.shadowed.jackson.databind.ObjectMapper;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Allure results writer that takes serialization and file I/O off the test thread
+ * Results are queued on a bounded lock-free queue and written in batches by a background thread,
+ * either as the usual one-file-per-result layout or packed into a single append-only file
+ * (see {@link AllureResultsPack}). Call {@link #flush()} at suite end; a shutdown hook flushes as a fallback.
+ */
+public final class AsyncBatchingResultsWriter implements AllureResultsWriter, AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+
+    private final Path resultsDirectory;
+    private final boolean pack;
+    private final int capacity;
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper();
+    private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+    private volatile boolean idle;
+    private volatile boolean stopped;
+    private FileChannel packChannel;
+
+    /**
+     * One queued result: target file name plus either a model object or raw attachment bytes
+     */
+    private record Entry(String fileName, Object model, byte[] bytes) {
+    }
+
+    /**
+     * @param pack write everything into {@link AllureResultsPack#FILE_NAME} instead of one file per result
+     */
+    public AsyncBatchingResultsWriter(Path resultsDirectory, boolean pack) {
+        this(resultsDirectory, pack, DEFAULT_CAPACITY);
+    }
+
+    public AsyncBatchingResultsWriter(Path resultsDirectory, boolean pack, int capacity) {
+        this.resultsDirectory = resultsDirectory;
+        this.pack = pack;
+        this.capacity = capacity;
+        this.worker = new Thread(this::drainLoop, "allure-results-writer");
+        worker.setDaemon(true);
+        this.shutdownHook = new Thread(this::close, "allure-results-flush");
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        String uuid = testResult.getUuid() != null ? testResult.getUuid() : UUID.randomUUID().toString();
+        enqueue(new Entry(uuid + "-result.json", testResult, null));
+    }
+
+    @Override
+    public void write(TestResultContainer container) {
+        String uuid = container.getUuid() != null ? container.getUuid() : UUID.randomUUID().toString();
+        enqueue(new Entry(uuid + "-container.json", container, null));
+    }
+
+    /**
+     * Attachment streams may be closed by the caller once this returns, so their bytes are copied here
+     */
+    @Override
+    public void write(String source, InputStream attachment) {
+        try (attachment) {
+            enqueue(new Entry(source, null, attachment.readAllBytes()));
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not read attachment " + source, e);
+        }
+    }
+
+    /**
+     * Block until everything queued so far is on disk
+     */
+    public void flush() {
+        long target = submitted.get();
+        await(() -> completed.get() >= target);
+        Throwable error = failure.getAndSet(null);
+        if (error != null) {
+            throw new AllureResultsWriteException("Failed to write Allure results", error);
+        }
+    }
+
+    /**
+     * Flush and stop the background thread; further writes are rejected
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (closed) {
+            throw new IllegalStateException("Allure results writer is closed");
+        }
+        // Back-pressure: a full queue parks the producer instead of growing without bound
+        while (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            await(() -> queued.get() < capacity);
+            if (stopped) {
+                throw new IllegalStateException("Allure results writer is closed");
+            }
+        }
+        submitted.incrementAndGet();
+        queue.offer(entry);
+        // The worker publishes idle before its last look at the queue, so either it sees this entry or we see idle
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Park the calling thread until {@code done} holds; the worker unparks every waiter after each batch
+     */
+    private void await(BooleanSupplier done) {
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            while (!done.getAsBoolean() && !stopped) {
+                LockSupport.park(this);
+            }
+        } finally {
+            waiters.remove(current);
+        }
+    }
+
+    private void signalWaiters() {
+        for (Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Entry entry;
+                while (batch.size() < BATCH_SIZE && (entry = queue.poll()) != null) {
+                    batch.add(entry);
+                }
+                if (batch.isEmpty()) {
+                    // Sleep until a producer or close() unparks us instead of polling the empty queue
+                    idle = true;
+                    if (queue.isEmpty() && !closed) {
+                        LockSupport.park(this);
+                    }
+                    idle = false;
+                    continue;
+                }
+                try {
+                    writeBatch(batch);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+                queued.addAndGet(-batch.size());
+                completed.addAndGet(batch.size());
+                batch.clear();
+                signalWaiters();
+            }
+            closePack();
+        } finally {
+            stopped = true;
+            signalWaiters();
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) throws IOException {
+        Files.createDirectories(resultsDirectory);
+        if (pack) {
+            List<ByteBuffer> buffers = new ArrayList<>(batch.size());
+            for (Entry entry : batch) {
+                buffers.add(AllureResultsPack.frame(entry.fileName(), serialize(entry)));
+            }
+            FileChannel channel = packChannel();
+            ByteBuffer[] array = buffers.toArray(ByteBuffer[]::new);
+            while (array[array.length - 1].hasRemaining()) {
+                channel.write(array);
+            }
+        } else {
+            for (Entry entry : batch) {
+                Files.write(resultsDirectory.resolve(entry.fileName()), serialize(entry));
+            }
+        }
+    }
+
+    private byte[] serialize(Entry entry) throws IOException {
+        return entry.model() != null ? mapper.writeValueAsBytes(entry.model()) : entry.bytes();
+    }
+
+    private FileChannel packChannel() throws IOException {
+        if (packChannel == null) {
+            packChannel = FileChannel.open(resultsDirectory.resolve(AllureResultsPack.FILE_NAME),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return packChannel;
+    }
+
+    private void closePack() {
+        if (packChannel != null) {
+            try {
+                packChannel.close();
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.testexpert.java.allure;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.junitplatform.AllureJunitPlatform;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * AllureJunitPlatform for every JUnit Platform engine except TestNG
+ * Registered as a launcher listener instead of AllureJunitPlatform, which junit-platform.properties deactivates.
+ * When TestNG tests run on the platform (-Punified) the service-loaded AllureTestNg already writes their results,
+ * so forwarding the TestNG engine's events as well would report every TestNG test twice.
+ * The launcher creates this listener before any engine discovers tests, so it installs the global lifecycle that
+ * AllureTestNg picks up later: both write through the allure.writer of {@link AsyncAllureTestNg} into one
+ * allure-results directory. The TestNG engine discovers tests with a TestNG dry run, during which AllureTestNg
+ * reports every method as passed; those results are dropped.
+ */
+public class JupiterAllureListener implements TestExecutionListener {
+
+    static final String TESTNG_ENGINE = "testng";
+
+    private final AllureResultsWriter writer;
+    private final AllureJunitPlatform delegate;
+
+    public JupiterAllureListener() {
+        this(AsyncAllureTestNg.createWriter(System.getProperty("allure.writer", "async")));
+    }
+
+    private JupiterAllureListener(AllureResultsWriter writer) {
+        AllureLifecycle lifecycle = new AllureLifecycle(new SkipDryRun(writer));
+        Allure.setLifecycle(lifecycle);
+        this.writer = writer;
+        this.delegate = new AllureJunitPlatform(lifecycle);
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        delegate.testPlanExecutionStarted(testPlan);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        delegate.testPlanExecutionFinished(testPlan);
+        if (writer instanceof AsyncBatchingResultsWriter async) {
+            async.flush();
+        }
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (reported(testIdentifier)) {
+            delegate.executionStarted(testIdentifier);
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        if (reported(testIdentifier)) {
+            delegate.executionFinished(testIdentifier, testExecutionResult);
+        }
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        if (reported(testIdentifier)) {
+            delegate.executionSkipped(testIdentifier, reason);
+        }
+    }
+
+    @Override
+    public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+        if (reported(testIdentifier)) {
+            delegate.reportingEntryPublished(testIdentifier, entry);
+        }
+    }
+
+    static boolean reported(TestIdentifier testIdentifier) {
+        return !TESTNG_ENGINE.equals(testIdentifier.getUniqueIdObject().getEngineId().orElse(null));
+    }
+
+    /**
+     * Drops everything written while TestNG runs in dry-run mode
+     */
+    private record SkipDryRun(AllureResultsWriter writer) implements AllureResultsWriter {
+
+        @Override
+        public void write(TestResult testResult) {
+            if (!dryRun()) {
+                writer.write(testResult);
+            }
+        }
+
+        @Override
+        public void write(TestResultContainer container) {
+            if (!dryRun()) {
+                writer.write(container);
+            }
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            if (!dryRun()) {
+                writer.write(source, attachment);
+                return;
+            }
+            try {
+                attachment.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not close attachment " + source, e);
+            }
+        }
+
+        private static boolean dryRun() {
+            return Boolean.getBoolean("testng.mode.dryrun");
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.testexpert.java.aot;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the class-data archive used by the aot profile to speed up surefire fork startup
+ * Runs with the test classpath (exec:exec %classpath) so it sees the same dependency jars as the fork.
+ * <ul>
+ *   <li>prepare: drop a stale archive (dependency jars or JDK changed), jar target/classes and
+ *       target/test-classes, and write aot.properties with the surefire argLine: use the archive if present,
+ *       otherwise record a training class list</li>
+ *   <li>create: after a training run, filter project classes out of the class list and dump the archive
+ *       (-Xshare:dump, plus -XX:+AOTClassLinking on JDK 24+ so it is an AOT cache)</li>
+ *   <li>verify: fail on the failed tests surefire reported; the profile runs surefire with testFailureIgnore so
+ *       that a failing test does not stop the build before create</li>
+ * </ul>
+ * Only dependency and JDK classes are archived. The JVM validates classpath entries up to the last one it
+ * archived from, so the project jars sit at the end of the classpath and code changes never invalidate the archive.
+ */
+public final class AotCache {
+
+    public static final String ARCHIVE = "tests.jsa";
+    public static final String CLASS_LIST = "classes.lst";
+    public static final String FORK_CLASSPATH = "fork-classpath.txt";
+    public static final String KEY_FILE = "archive.key";
+    public static final String PROPERTIES = "aot.properties";
+    public static final String MAIN_JAR = "project-classes.jar";
+    public static final String TEST_JAR = "project-test-classes.jar";
+    static final String EMPTY_CLASSES = "empty-classes";
+    static final String EMPTY_TEST_CLASSES = "empty-test-classes";
+
+    private AotCache() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            throw new IllegalArgumentException(
+                    "Usage: AotCache prepare|create <aot directory> | AotCache verify <surefire reports directory>");
+        }
+        Path dir = Path.of(args[1]);
+        switch (args[0]) {
+            case "prepare" -> prepare(dir, classpath());
+            case "create" -> create(dir);
+            case "verify" -> {
+                int failed = failedTests(dir);
+                if (failed > 0) {
+                    throw new IllegalStateException(failed + " test(s) failed, see " + dir);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown command " + args[0]);
+        }
+    }
+
+    /**
+     * @param classpath the test classpath in order: test-classes, classes, then the dependency jars
+     */
+    public static void prepare(Path dir, List<Path> classpath) throws IOException {
+        Files.createDirectories(dir.resolve(EMPTY_CLASSES));
+        Files.createDirectories(dir.resolve(EMPTY_TEST_CLASSES));
+        String key = archiveKey(System.getProperty("java.runtime.version", ""), jars(classpath));
+        Path keyFile = dir.resolve(KEY_FILE);
+        if (!Files.exists(keyFile) || !Files.readString(keyFile).equals(key)) {
+            if (Files.deleteIfExists(dir.resolve(ARCHIVE))) {
+                System.out.println("AOT cache: dependencies or JDK changed, discarding " + dir.resolve(ARCHIVE));
+            }
+            Files.deleteIfExists(dir.resolve(CLASS_LIST));
+            Files.deleteIfExists(dir.resolve(FORK_CLASSPATH));
+            Files.writeString(keyFile, key);
+        }
+        List<Path> classDirectories = classpath.stream().filter(Files::isDirectory).toList();
+        jar(classDirectories.size() > 1 ? classDirectories.get(1) : null, dir.resolve(MAIN_JAR));
+        jar(classDirectories.isEmpty() ? null : classDirectories.get(0), dir.resolve(TEST_JAR));
+
+        Path archive = dir.resolve(ARCHIVE).toAbsolutePath();
+        String argLine;
+        if (Files.exists(archive)) {
+            argLine = "-XX:SharedArchiveFile=" + archive + " -Xshare:auto";
+            System.out.println("AOT cache: starting test forks from " + archive);
+        } else {
+            argLine = "-XX:DumpLoadedClassList=" + dir.resolve(CLASS_LIST).toAbsolutePath()
+                    + " -Daot.classpathFile=" + dir.resolve(FORK_CLASSPATH).toAbsolutePath();
+            System.out.println("AOT cache: no archive yet, this test run is the training pass");
+        }
+        Properties properties = new Properties();
+        properties.setProperty("aot.argLine", argLine);
+        try (OutputStream out = Files.newOutputStream(dir.resolve(PROPERTIES))) {
+            properties.store(out, "Generated by AotCache prepare");
+        }
+    }
+
+    /**
+     * @return whether a new archive was dumped; false when one exists already or no training run recorded classes
+     */
+    public static boolean create(Path dir) throws IOException, InterruptedException {
+        Path archive = dir.resolve(ARCHIVE).toAbsolutePath();
+        Path classList = dir.resolve(CLASS_LIST);
+        if (Files.exists(archive) || !Files.exists(classList)) {
+            return false;
+        }
+        Path recorded = dir.resolve(FORK_CLASSPATH);
+        String classpath = Files.exists(recorded) ? Files.readString(recorded).strip() : forkClasspath(dir);
+        Path filtered = dir.resolve("classes-filtered.lst");
+        int kept;
+        try (URLClassLoader dependencies = archivableJars(classpath)) {
+            kept = filterClassList(classList, filtered, dependencies);
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xshare:dump");
+        command.add("-XX:SharedClassListFile=" + filtered.toAbsolutePath());
+        command.add("-XX:SharedArchiveFile=" + archive);
+        if (Runtime.version().feature() >= 24) {
+            command.add("-XX:+AOTClassLinking");
+        }
+        command.add("-cp");
+        command.add(classpath);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(dir.resolve("dump.log").toFile()).start();
+        if (process.waitFor() != 0 || !Files.exists(archive)) {
+            System.out.println("AOT cache: archive dump failed, see " + dir.resolve("dump.log"));
+            return false;
+        }
+        System.out.printf("AOT cache: archived %d classes into %s (%d MB)%n",
+                kept, archive, Files.size(archive) / (1024 * 1024));
+        return true;
+    }
+
+    /**
+     * Failures plus errors over the TEST-*.xml reports surefire wrote to {@code reportsDir}; 0 without reports
+     */
+    public static int failedTests(Path reportsDir) throws IOException {
+        if (!Files.isDirectory(reportsDir)) {
+            return 0;
+        }
+        int failed = 0;
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(reportsDir, "TEST-*.xml")) {
+            for (Path report : reports) {
+                try (InputStream in = Files.newInputStream(report)) {
+                    XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(in);
+                    reader.nextTag();
+                    failed += count(reader, "failures") + count(reader, "errors");
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    throw new IOException("Could not read test report " + report, e);
+                }
+            }
+        }
+        return failed;
+    }
+
+    private static int count(XMLStreamReader testsuite, String attribute) {
+        String value = testsuite.getAttributeValue(null, attribute);
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+    /**
+     * The surefire fork classpath in the aot profile: empty class directories, dependency jars, project jars
+     * Used when the training pass did not record the real one.
+     */
+    static String forkClasspath(Path dir) {
+        List<String> entries = new ArrayList<>();
+        entries.add(dir.resolve(EMPTY_TEST_CLASSES).toAbsolutePath().toString());
+        entries.add(dir.resolve(EMPTY_CLASSES).toAbsolutePath().toString());
+        jars(classpath()).forEach(jar -> entries.add(jar.toString()));
+        entries.add(dir.resolve(MAIN_JAR).toAbsolutePath().toString());
+        entries.add(dir.resolve(TEST_JAR).toAbsolutePath().toString());
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * Jars that precede the project jars on the fork classpath; nothing after them may be archived
+     */
+    private static URLClassLoader archivableJars(String classpath) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            String name = path.getFileName().toString();
+            if (name.equals(MAIN_JAR) || name.equals(TEST_JAR)) {
+                break;
+            }
+            if (name.endsWith(".jar")) {
+                urls.add(path.toUri().toURL());
+            }
+        }
+        return new URLClassLoader(urls.toArray(URL[]::new), null);
+    }
+
+    /**
+     * Keep JDK classes and classes from archivable dependency jars; drop project classes and the rest
+     * Lambda proxy and other '@' entries are kept only if they do not mention a dropped class.
+     */
+    public static int filterClassList(Path in, Path out, URLClassLoader dependencies) throws IOException {
+        List<String> kept = new ArrayList<>();
+        Set<String> dropped = new TreeSet<>();
+        List<String> lines = Files.readAllLines(in, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            if (line.isBlank() || line.startsWith("#") || line.startsWith("@")) {
+                continue;
+            }
+            String name = line.split("\\s+")[0];
+            String resource = name + ".class";
+            if (ClassLoader.getPlatformClassLoader().getResource(resource) != null
+                    || dependencies.findResource(resource) != null) {
+                kept.add(line);
+            } else {
+                dropped.add(name);
+            }
+        }
+        int classes = kept.size();
+        for (String line : lines) {
+            if (line.startsWith("@") && dropped.stream().noneMatch(line::contains)) {
+                kept.add(line);
+            }
+        }
+        Files.write(out, kept, StandardCharsets.UTF_8);
+        return classes;
+    }
+
+    /**
+     * Dependency jar names carry their versions, so a version bump in pom.xml changes the key
+     */
+    public static String archiveKey(String runtimeVersion, List<Path> dependencyJars) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(runtimeVersion.getBytes(StandardCharsets.UTF_8));
+            for (Path jar : dependencyJars) {
+                digest.update(jar.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static List<Path> jars(List<Path> classpath) {
+        return classpath.stream().filter(entry -> entry.toString().endsWith(".jar")).toList();
+    }
+
+    private static List<Path> classpath() {
+        return Stream.of(System.getProperty("java.class.path", "").split(File.pathSeparator))
+                .filter(entry -> !entry.isEmpty())
+                .map(entry -> Path.of(entry).toAbsolutePath())
+                .toList();
+    }
+
+    private static void jar(Path classes, Path target) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(target))) {
+            if (classes == null) {
+                return;
+            }
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(classes)) {
+                files = walk.filter(Files::isRegularFile).sorted().toList();
+            }
+            for (Path file : files) {
+                out.putNextEntry(new JarEntry(classes.relativize(file).toString().replace(File.separatorChar, '/')));
+                Files.copy(file, out);
+                out.closeEntry();
+            }
+        }
+    }
+}
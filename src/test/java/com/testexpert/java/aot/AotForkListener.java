@@ -0,0 +1,55 @@
+package com.testexpert.java.aot;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test-fork side of the aot profile
+ * With -Daot.timing=true prints time from JVM start to the first test and to the end of the suite.
+ * With -Daot.classpathFile=... (training pass) records the fork's classpath so {@link AotCache} dumps the
+ * archive against exactly the classpath surefire launches with.
+ */
+public class AotForkListener implements ITestListener, ISuiteListener {
+
+    private final boolean timing = Boolean.getBoolean("aot.timing");
+    private final AtomicBoolean firstTest = new AtomicBoolean();
+
+    @Override
+    public void onStart(ISuite suite) {
+        String classpathFile = System.getProperty("aot.classpathFile");
+        if (classpathFile != null) {
+            try {
+                Files.writeString(Path.of(classpathFile), System.getProperty("java.class.path"));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not record fork classpath", e);
+            }
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        if (timing && firstTest.compareAndSet(false, true)) {
+            System.out.println("Startup: first test started " + uptime() + " ms after JVM start");
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (timing) {
+            System.out.println("Startup: suite " + suite.getName() + " finished " + uptime() + " ms after JVM start");
+        }
+    }
+
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
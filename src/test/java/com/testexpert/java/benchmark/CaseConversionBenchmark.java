@@ -0,0 +1,114 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput of the StringUtils case conversions on a 1 MiB string against the JDK
+ * Scores are characters per nanosecond, i.e. GB/s of Latin-1 text. {@code String.toUpperCase(Locale.ROOT)} is the
+ * JDK baseline for upper and lower case (it also expands ß to SS); title case, which the JDK does not have, is
+ * compared with a per-code-point {@link Character#toTitleCase(int)} loop. The forks get jdk.incubator.vector, so
+ * StringUtils takes its Vector API path; {@code -jvmArgsAppend <anything else>} on the command line measures the
+ * scalar byte path instead. Run with {@code -Pbenchmark -Djmh.benchmark=CaseConversionBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(CaseConversionBenchmark.LENGTH)
+@Fork(jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class CaseConversionBenchmark {
+
+    static final int LENGTH = 1 << 20;
+    private static final String[] ASCII_WORDS = {"status", "Request", "GET", "/api/v1/items", "200", "latency", "ms",
+            "user", "Session", "cache", "MISS", "hit", "INFO", "warn", "trace"};
+    private static final String[] LATIN1_WORDS = {"Straße", "café", "naïve", "Façade", "résumé", "Zürich", "über",
+            "crème", "brûlée", "ÉCOLE"};
+
+    /** ascii: log-style words; latin1: a third of the words have accents; mixed: latin1 with some Greek words */
+    @Param({"ascii", "latin1", "mixed"})
+    String text;
+
+    String input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        StringBuilder builder = new StringBuilder(LENGTH + 16);
+        while (builder.length() < LENGTH) {
+            String[] words = !text.equals("ascii") && random.nextInt(3) == 0 ? LATIN1_WORDS : ASCII_WORDS;
+            builder.append(text.equals("mixed") && random.nextInt(100) == 0 ? "Ωμέγα" : words[random.nextInt(words.length)]);
+            builder.append(random.nextInt(12) == 0 ? '\n' : ' ');
+        }
+        builder.setLength(LENGTH);
+        input = builder.toString();
+    }
+
+    @Benchmark
+    public String jdkToUpperCase() {
+        return input.toUpperCase(Locale.ROOT);
+    }
+
+    @Benchmark
+    public String toUpperCase() {
+        return StringUtils.toUpperCase(input);
+    }
+
+    @Benchmark
+    public String jdkToLowerCase() {
+        return input.toLowerCase(Locale.ROOT);
+    }
+
+    @Benchmark
+    public String toLowerCase() {
+        return StringUtils.toLowerCase(input);
+    }
+
+    @Benchmark
+    public String characterTitleCase() {
+        StringBuilder result = new StringBuilder(input.length());
+        boolean wordStart = true;
+        for (int i = 0; i < input.length(); ) {
+            int codePoint = input.codePointAt(i);
+            result.appendCodePoint(wordStart ? Character.toTitleCase(codePoint) : Character.toLowerCase(codePoint));
+            wordStart = Character.isWhitespace(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return result.toString();
+    }
+
+    @Benchmark
+    public String titleCase() {
+        return StringUtils.titleCase(input);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CaseConversionBenchmark.class.getName())
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of StringUtils.reverse/capitalize with their CharView counterparts when the result is only written,
+ * hashed or compared and then dropped
+ * Lines go to an 8 KiB BufferedWriter over a null writer, so writes cost the copy into the buffer as they would for
+ * a file. Scores are per line; {@code -prof gc} shows what each side allocates.
+ * Run with {@code -Pbenchmark -Djmh.benchmark=CharViewBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(CharViewBenchmark.LINES)
+@State(Scope.Benchmark)
+public class CharViewBenchmark {
+
+    static final int LINES = 1024;
+
+    @Param({"16", "256", "4096"})
+    int length;
+
+    String[] lines;
+    String[] reversed;
+    Writer writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(11);
+        lines = new String[LINES];
+        reversed = new String[LINES];
+        for (int i = 0; i < LINES; i++) {
+            StringBuilder line = new StringBuilder(length);
+            while (line.length() < length) {
+                line.append(random.nextInt(8) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+            }
+            lines[i] = line.toString();
+            reversed[i] = StringUtils.reverse(lines[i]);
+        }
+        writer = new BufferedWriter(Writer.nullWriter(), 8192);
+    }
+
+    @Benchmark
+    public Writer reverseCopyToWriter() throws IOException {
+        for (String line : lines) {
+            writer.write(StringUtils.reverse(line));
+        }
+        return writer;
+    }
+
+    @Benchmark
+    public Writer reverseViewToWriter() {
+        for (String line : lines) {
+            StringUtils.reverseView(line).appendTo(writer);
+        }
+        return writer;
+    }
+
+    @Benchmark
+    public Writer capitalizeCopyToWriter() throws IOException {
+        for (String line : lines) {
+            writer.write(StringUtils.capitalize(line));
+        }
+        return writer;
+    }
+
+    @Benchmark
+    public Writer capitalizeViewToWriter() {
+        for (String line : lines) {
+            StringUtils.capitalizeView(line).appendTo(writer);
+        }
+        return writer;
+    }
+
+    @Benchmark
+    public int reverseCopyHash() {
+        int hash = 0;
+        for (String line : lines) {
+            hash += StringUtils.reverse(line).hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int reverseViewHash() {
+        int hash = 0;
+        for (String line : lines) {
+            hash += StringUtils.reverseView(line).hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int reverseCopyEquals() {
+        int equal = 0;
+        for (int i = 0; i < LINES; i++) {
+            equal += StringUtils.reverse(lines[i]).equals(reversed[i]) ? 1 : 0;
+        }
+        return equal;
+    }
+
+    @Benchmark
+    public int reverseViewContentEquals() {
+        int equal = 0;
+        for (int i = 0; i < LINES; i++) {
+            equal += StringUtils.reverseView(lines[i]).contentEquals(reversed[i]) ? 1 : 0;
+        }
+        return equal;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CharViewBenchmark.class.getName())
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        new Runner(options).run();
+    }
+}
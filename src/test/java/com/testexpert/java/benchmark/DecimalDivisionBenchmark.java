@@ -0,0 +1,114 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.app.Calculator;
+import com.testexpert.java.app.Decimal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of Calculator's fixed-point decimal division with double division and plain BigDecimal.divide
+ * Operands are amounts in cents divided by small counts, as when splitting totals. At scale 2 every quotient takes
+ * the long path; at scale 18 most dividends times 10^18 overflow a long and fall back to BigDecimal, so
+ * {@code unscaledDivide}, whose results must fit a long, only runs at scale 2.
+ * Run with {@code -Pbenchmark -Djmh.benchmark=DecimalDivisionBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DecimalDivisionBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({"2", "18"})
+    int scale;
+
+    private final Calculator calculator = new Calculator();
+    private final int[] dividends = new int[PAIRS];
+    private final int[] divisors = new int[PAIRS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(3);
+        for (int i = 0; i < PAIRS; i++) {
+            dividends[i] = random.nextInt(10_000_000) - 5_000_000;
+            divisors[i] = 1 + random.nextInt(365);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void doubleDivide(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(calculator.divide(dividends[i], divisors[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void decimalDivide(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(calculator.divide(dividends[i], divisors[i], scale, RoundingMode.HALF_EVEN));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void unscaledDivide(Blackhole blackhole) {
+        if (scale > 9) {
+            return;
+        }
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(calculator.divideUnscaled(dividends[i], divisors[i], scale, RoundingMode.HALF_EVEN));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public Decimal decimalTotal() {
+        Decimal total = Decimal.of(0, scale);
+        for (int i = 0; i < PAIRS; i++) {
+            total = total.add(calculator.divide(dividends[i], divisors[i], scale, RoundingMode.HALF_EVEN));
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void bigDecimalDivide(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(BigDecimal.valueOf(dividends[i])
+                    .divide(BigDecimal.valueOf(divisors[i]), scale, RoundingMode.HALF_EVEN));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DecimalDivisionBenchmark.class.getName())
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,166 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.pipeline.FilePipeline;
+import com.testexpert.java.pipeline.LineStage;
+import com.testexpert.java.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of FilePipeline with a BufferedReader loop over generated log files of 1 GB and 10 GB
+ * Both apply skip-blank, capitalize and reverse and sum the status field. Files are generated once under
+ * {@code -Dpipeline.dir} (default {@code target/pipeline-benchmark}) and reused. Run with
+ * {@code -Pbenchmark -Djmh.benchmark=FilePipelineBenchmark}; {@code -Djmh.threads} sets the worker counts and
+ * {@code -Dpipeline.sizes} the file sizes.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FilePipelineBenchmark {
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+    private static final String[] PATHS = {"/api/v1/items", "/api/v1/users/42", "/login", "/static/app.js", "/søk"};
+    private static final int[] STATUSES = {200, 200, 200, 201, 304, 404, 500};
+
+    /**
+     * Generated input file and the output path, shared by all iterations of a trial
+     */
+    @State(Scope.Benchmark)
+    public static class Inputs {
+
+        /** 1g, 10g, or any size with a k, m or g suffix */
+        @Param({"1g", "10g"})
+        String size;
+
+        Path input;
+        Path output;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            Path directory = Path.of(System.getProperty("pipeline.dir", "target/pipeline-benchmark"));
+            Files.createDirectories(directory);
+            input = directory.resolve("access-" + size + ".log");
+            output = directory.resolve("access-" + size + ".out");
+            long bytes = parseSize(size);
+            if (!Files.exists(input) || Files.size(input) < bytes) {
+                generate(input, bytes);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * Worker threads of the pipeline, kept apart so the single-threaded BufferedReader loop runs once per size
+     */
+    @State(Scope.Benchmark)
+    public static class Workers {
+
+        @Param({"1"})
+        int workers;
+    }
+
+    @Benchmark
+    public long bufferedReader(Inputs inputs) throws IOException {
+        long sum = 0;
+        try (BufferedReader reader = Files.newBufferedReader(inputs.input);
+                BufferedWriter writer = Files.newBufferedWriter(inputs.output)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StringUtils.isEmpty(line)) {
+                    continue;
+                }
+                String[] fields = line.trim().split("\\s+");
+                if (fields.length > 2) {
+                    try {
+                        sum += Long.parseLong(fields[2]);
+                    } catch (NumberFormatException e) {
+                        // not a numeric field, as in the pipeline
+                    }
+                }
+                writer.write(StringUtils.reverse(StringUtils.capitalize(line)));
+                writer.newLine();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long pipeline(Inputs inputs, Workers workers) throws IOException {
+        return FilePipeline.of(LineStage.skipBlank(), LineStage.capitalize(), LineStage.reverse())
+                .withSummary(2)
+                .withThreads(workers.workers)
+                .run(inputs.input, inputs.output)
+                .summary()
+                .sum();
+    }
+
+    static long parseSize(String size) {
+        String value = size.trim().toLowerCase();
+        long unit = switch (value.charAt(value.length() - 1)) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            case 'g' -> 1L << 30;
+            default -> 1;
+        };
+        return Long.parseLong(unit == 1 ? value : value.substring(0, value.length() - 1)) * unit;
+    }
+
+    private static void generate(Path file, long bytes) throws IOException {
+        Random random = new Random(11);
+        StringBuilder line = new StringBuilder();
+        long written = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+            while (written < bytes) {
+                line.setLength(0);
+                // Every 20th line is blank, as in real logs with separators
+                if (random.nextInt(20) != 0) {
+                    line.append("request ").append(METHODS[random.nextInt(METHODS.length)]).append(' ')
+                            .append(STATUSES[random.nextInt(STATUSES.length)]).append(' ')
+                            .append(PATHS[random.nextInt(PATHS.length)]).append(' ')
+                            .append(random.nextInt(2_000)).append("ms user-").append(random.nextInt(100_000));
+                }
+                byte[] encoded = line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+                out.write(encoded);
+                written += encoded.length;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FilePipelineBenchmark.class.getName())
+                .param("size", System.getProperty("pipeline.sizes", "1g,10g").split(","))
+                .param("workers", System.getProperty("jmh.threads", "1,2,4,8,16,32").split(","))
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 3))
+                .build();
+        new Runner(options).run();
+    }
+}
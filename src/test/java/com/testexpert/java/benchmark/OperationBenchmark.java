@@ -0,0 +1,66 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.app.Calculator;
+import com.testexpert.java.app.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH comparison of parallel reductions over 100 million ints through Calculator lambdas and Operation views
+ * Run with {@code -Pbenchmark -Djmh.benchmark=OperationBenchmark}; {@code -prof gc} (added by main) shows the
+ * allocation per reduction, which for the primitive forms is only the fork/join task overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OperationBenchmark {
+
+    private static final int COUNT = 100_000_000;
+
+    private final Calculator calculator = new Calculator();
+
+    @Benchmark
+    public Integer boxedLambda() {
+        return IntStream.range(0, COUNT).parallel().boxed().reduce(0, (a, b) -> calculator.add(a, b));
+    }
+
+    @Benchmark
+    public int primitiveLambda() {
+        return IntStream.range(0, COUNT).parallel().reduce(0, (a, b) -> calculator.add(a, b));
+    }
+
+    @Benchmark
+    public int operation() {
+        return Operation.ADD.reduce(IntStream.range(0, COUNT).parallel());
+    }
+
+    @Benchmark
+    public long operationToLong() {
+        return Operation.ADD.reduceToLong(IntStream.range(0, COUNT).parallel());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OperationBenchmark.class.getName())
+                .addProfiler("gc")
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,163 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.utils.CachedStringUtils;
+import com.testexpert.java.utils.MemoCache;
+import com.testexpert.java.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of StringUtils against CachedStringUtils on Zipfian-distributed tokens
+ * Run through the benchmark profile, which sweeps the thread count ({@code -Djmh.threads}, default 1 to 32).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StringUtilsCacheBenchmark {
+
+    private static final int SAMPLES = 1 << 20;
+
+    /**
+     * Token vocabulary plus a pre-drawn Zipfian access sequence and the shared cache under test
+     */
+    @State(Scope.Benchmark)
+    public static class Inputs {
+
+        @Param({"4096"})
+        int distinctTokens;
+
+        @Param({"0.99"})
+        double zipfExponent;
+
+        @Param({"1024", "8192"})
+        long cacheEntries;
+
+        String[] tokens;
+        int[] sequence;
+        CachedStringUtils cached;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            Set<String> unique = new HashSet<>();
+            while (unique.size() < distinctTokens) {
+                unique.add(word(random));
+            }
+            tokens = unique.toArray(String[]::new);
+            sequence = zipfian(random, distinctTokens, zipfExponent, SAMPLES);
+            cached = CachedStringUtils.ofEntries(cacheEntries);
+        }
+
+        @TearDown(Level.Trial)
+        public void report() {
+            print("capitalize", cached.capitalizeStats());
+            print("reverse", cached.reverseStats());
+        }
+
+        private static void print(String name, MemoCache.Stats stats) {
+            if (stats.hits() + stats.misses() > 0) {
+                System.out.printf("%n%s cache: hit rate %.3f, %d evictions, %d entries%n",
+                        name, stats.hitRate(), stats.evictions(), stats.size());
+            }
+        }
+    }
+
+    /**
+     * Each thread walks the shared sequence from its own random offset
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int position;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            position = ThreadLocalRandom.current().nextInt(SAMPLES);
+        }
+
+        String next(Inputs inputs) {
+            position = (position + 1) & (SAMPLES - 1);
+            return inputs.tokens[inputs.sequence[position]];
+        }
+    }
+
+    @Benchmark
+    public String capitalize(Inputs inputs, Cursor cursor) {
+        return StringUtils.capitalize(cursor.next(inputs));
+    }
+
+    @Benchmark
+    public String capitalizeCached(Inputs inputs, Cursor cursor) {
+        return inputs.cached.capitalize(cursor.next(inputs));
+    }
+
+    @Benchmark
+    public String reverse(Inputs inputs, Cursor cursor) {
+        return StringUtils.reverse(cursor.next(inputs));
+    }
+
+    @Benchmark
+    public String reverseCached(Inputs inputs, Cursor cursor) {
+        return inputs.cached.reverse(cursor.next(inputs));
+    }
+
+    /**
+     * Ranks drawn with probability proportional to 1 / rank^exponent, by binary search over the cumulative weights
+     */
+    static int[] zipfian(Random random, int ranks, double exponent, int count) {
+        double[] cumulative = new double[ranks];
+        double total = 0;
+        for (int rank = 0; rank < ranks; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        int[] sequence = new int[count];
+        for (int i = 0; i < count; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            sequence[i] = Math.min(ranks - 1, index >= 0 ? index : -index - 1);
+        }
+        return sequence;
+    }
+
+    private static String word(Random random) {
+        char[] chars = new char[4 + random.nextInt(9)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String threads = System.getProperty("jmh.threads", "1,2,4,8,16,32");
+        for (String count : threads.split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(StringUtilsCacheBenchmark.class.getName() + "." + System.getProperty("jmh.methods", ".*"))
+                    .threads(Integer.parseInt(count.trim()))
+                    .forks(Integer.getInteger("jmh.forks", 1))
+                    .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
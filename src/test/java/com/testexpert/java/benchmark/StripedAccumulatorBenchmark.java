@@ -0,0 +1,99 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.app.Calculator;
+import com.testexpert.java.app.StripedAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JMH comparison of metric aggregation from many threads: a synchronized total over a shared Calculator, the
+ * StripedAccumulator, and a plain LongAdder (no overflow checks or min/max) as the lower bound
+ * Run with {@code -Pbenchmark -Djmh.benchmark=StripedAccumulatorBenchmark -Djmh.threads=1,2,4,8,16,32,64}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StripedAccumulatorBenchmark {
+
+    /**
+     * Running total, count, min and max behind one lock, as aggregated before StripedAccumulator
+     */
+    static final class SynchronizedTotal {
+        private final Calculator calculator = new Calculator();
+        private long total;
+        private long count;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        synchronized void add(int value) {
+            total = Math.addExact(total, calculator.add(value, 0));
+            count++;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        final SynchronizedTotal synchronizedTotal = new SynchronizedTotal();
+        final StripedAccumulator striped = new StripedAccumulator();
+        final LongAdder adder = new LongAdder();
+    }
+
+    /**
+     * Per-thread xorshift source of latency-like values, so threads do not share a random generator
+     */
+    @State(Scope.Thread)
+    public static class Values {
+        int seed = (int) System.nanoTime() | 1;
+
+        int next() {
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            return seed & 1023;
+        }
+    }
+
+    @Benchmark
+    public void synchronizedTotal(Shared shared, Values values) {
+        shared.synchronizedTotal.add(values.next());
+    }
+
+    @Benchmark
+    public void stripedAccumulator(Shared shared, Values values) {
+        shared.striped.add(values.next());
+    }
+
+    @Benchmark
+    public void longAdder(Shared shared, Values values) {
+        shared.adder.add(values.next());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String threads = System.getProperty("jmh.threads", "1,2,4,8,16,32,64");
+        for (String count : threads.split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(StripedAccumulatorBenchmark.class.getName())
+                    .threads(Integer.parseInt(count.trim()))
+                    .forks(Integer.getInteger("jmh.forks", 1))
+                    .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
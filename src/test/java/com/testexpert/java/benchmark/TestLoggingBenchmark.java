@@ -0,0 +1,94 @@
+package com.testexpert.java.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of page-object style logging from parallel test threads: System.out.println with concatenation
+ * against the asynchronous SLF4J test logger, both writing to the null device
+ * Run with {@code -Pbenchmark -Djmh.benchmark=TestLoggingBenchmark}; the thread count is swept like the other
+ * contention benchmarks ({@code -Djmh.threads}, default 1 to 32).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TestLoggingBenchmark {
+
+    static final String NULL_DEVICE = System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null";
+
+    private static final Logger log = LoggerFactory.getLogger(TestLoggingBenchmark.class);
+
+    /**
+     * An autoflushing PrintStream, like System.out, shared by every benchmark thread
+     */
+    @State(Scope.Benchmark)
+    public static class Console {
+        PrintStream out;
+
+        @Setup(Level.Trial)
+        public void setUp() throws FileNotFoundException {
+            out = new PrintStream(new FileOutputStream(NULL_DEVICE), true);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            out.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Values {
+        String username = "standard_user";
+        int count = 6;
+    }
+
+    @Benchmark
+    public void printlnConcatenated(Console console, Values values) {
+        console.out.println("Entered username using ID locator: " + values.username + " (" + values.count + " inputs)");
+    }
+
+    @Benchmark
+    public void loggerInfo(Values values) {
+        log.info("Entered username using ID locator: {} ({} inputs)", values.username, values.count);
+    }
+
+    @Benchmark
+    public void loggerDebugDisabled(Values values) {
+        log.debug("Entered username using ID locator: {} ({} inputs)", values.username, values.count);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String threads = System.getProperty("jmh.threads", "1,2,4,8,16,32");
+        for (String count : threads.split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(TestLoggingBenchmark.class.getName())
+                    .jvmArgsAppend("-Dtest.log.file=" + NULL_DEVICE)
+                    .threads(Integer.parseInt(count.trim()))
+                    .forks(Integer.getInteger("jmh.forks", 1))
+                    .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.utils.StringUtils;
+import com.testexpert.java.utils.Utf8StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of Utf8StringUtils on off-heap lines against decoding each line and calling StringUtils
+ * The decode path gets the cheapest input it could have (a heap byte[]) and re-encodes results, as a pipeline
+ * writing them back out would. Run with {@code -Pbenchmark -Djmh.benchmark=Utf8StringUtilsBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Utf8StringUtilsBenchmark {
+
+    private static final int LINES = 4096;
+    private static final String[] ASCII_WORDS = {"status", "request", "GET", "/api/v1/items", "200", "latency", "ms",
+            "user", "session", "cache", "miss", "hit", "INFO", "WARN", "trace"};
+    private static final String[] MIXED_WORDS = {"Straße", "café", "naïve", "日本語", "テスト", "Ωmega", "façade",
+            "résumé", "Zürich", "ünïcode"};
+
+    /**
+     * The same lines as one off-heap segment and as a heap array, with per-line offsets
+     */
+    @State(Scope.Benchmark)
+    public static class Lines {
+
+        /** ascii: plain log-style lines; mixed: roughly a third of the words are non-ASCII */
+        @Param({"ascii", "mixed"})
+        String text;
+
+        Arena arena;
+        MemorySegment segment;
+        byte[] bytes;
+        int[] offsets;
+        int[] lengths;
+        int maxLength;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(7);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            offsets = new int[LINES];
+            lengths = new int[LINES];
+            for (int i = 0; i < LINES; i++) {
+                byte[] line = line(random).getBytes(StandardCharsets.UTF_8);
+                offsets[i] = out.size();
+                lengths[i] = line.length;
+                maxLength = Math.max(maxLength, line.length);
+                out.writeBytes(line);
+            }
+            bytes = out.toByteArray();
+            arena = Arena.ofShared();
+            segment = arena.allocate(bytes.length);
+            MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, 0, bytes.length);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            arena.close();
+        }
+
+        private String line(Random random) {
+            // Every 16th line is blank so isEmpty sees both outcomes
+            if (random.nextInt(16) == 0) {
+                return " ".repeat(random.nextInt(8));
+            }
+            StringBuilder line = new StringBuilder();
+            int words = 4 + random.nextInt(16);
+            for (int w = 0; w < words; w++) {
+                boolean mixed = text.equals("mixed") && random.nextInt(3) == 0;
+                String[] pool = mixed ? MIXED_WORDS : ASCII_WORDS;
+                line.append(w == 0 ? "" : " ").append(pool[random.nextInt(pool.length)]);
+            }
+            return line.toString();
+        }
+    }
+
+    /**
+     * Per-thread line cursor and destination buffer
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int line;
+        MemorySegment destination;
+
+        @Setup(Level.Trial)
+        public void setUp(Lines lines) {
+            line = ThreadLocalRandom.current().nextInt(LINES);
+            destination = Arena.ofAuto().allocate(lines.maxLength + 1L);
+        }
+
+        int next() {
+            line = (line + 1) & (LINES - 1);
+            return line;
+        }
+    }
+
+    @Benchmark
+    public boolean isEmptyDecoded(Lines lines, Cursor cursor) {
+        int i = cursor.next();
+        return StringUtils.isEmpty(new String(lines.bytes, lines.offsets[i], lines.lengths[i], StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public boolean isEmptySegment(Lines lines, Cursor cursor) {
+        int i = cursor.next();
+        return Utf8StringUtils.isEmpty(lines.segment, lines.offsets[i], lines.lengths[i]);
+    }
+
+    @Benchmark
+    public byte[] capitalizeDecoded(Lines lines, Cursor cursor) {
+        int i = cursor.next();
+        String line = new String(lines.bytes, lines.offsets[i], lines.lengths[i], StandardCharsets.UTF_8);
+        return StringUtils.capitalize(line).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long capitalizeSegment(Lines lines, Cursor cursor) {
+        int i = cursor.next();
+        return Utf8StringUtils.capitalize(lines.segment, lines.offsets[i], lines.lengths[i], cursor.destination, 0);
+    }
+
+    @Benchmark
+    public byte[] reverseDecoded(Lines lines, Cursor cursor) {
+        int i = cursor.next();
+        String line = new String(lines.bytes, lines.offsets[i], lines.lengths[i], StandardCharsets.UTF_8);
+        return StringUtils.reverse(line).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long reverseSegment(Lines lines, Cursor cursor) {
+        int i = cursor.next();
+        return Utf8StringUtils.reverse(lines.segment, lines.offsets[i], lines.lengths[i], cursor.destination, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(Utf8StringUtilsBenchmark.class.getName())
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,144 @@
+package com.testexpert.java.benchmark;
+
+import com.testexpert.java.visual.PerceptualHash;
+import com.testexpert.java.visual.PixelDiff;
+import com.testexpert.java.visual.Pixels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH cost of one visual check on a 1920x1080 screenshot: decoding the PNG, the perceptual hash fast path, the
+ * tiled pixel diff at 1 and 4 threads, and a naive BufferedImage.getRGB comparison for reference
+ * The actual screenshot has its product list moved down by 8 pixels, so the pixel diff finds differences.
+ * Run with {@code -Pbenchmark -Djmh.benchmark=VisualDiffBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VisualDiffBenchmark {
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    private BufferedImage expectedImage;
+    private BufferedImage actualImage;
+    private Pixels expected;
+    private Pixels actual;
+    private PerceptualHash expectedHash;
+    private byte[] actualPng;
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Param({"1", "4"})
+        int threads;
+
+        PixelDiff pixelDiff;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pixelDiff = new PixelDiff(threads);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pixelDiff.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        expectedImage = page(0);
+        actualImage = page(8);
+        expected = Pixels.of(expectedImage);
+        actual = Pixels.of(actualImage);
+        expectedHash = PerceptualHash.of(expected, List.of());
+        actualPng = actual.toPng();
+    }
+
+    @Benchmark
+    public Pixels decodePng() {
+        return Pixels.decode(actualPng);
+    }
+
+    @Benchmark
+    public int hashCheck() {
+        return PerceptualHash.of(actual, List.of()).distance(expectedHash);
+    }
+
+    @Benchmark
+    public PixelDiff.Result tiledDiff(Pool pool) {
+        return pool.pixelDiff.compare(expected, actual, List.of(), 8);
+    }
+
+    @Benchmark
+    public long naiveGetRgbDiff() {
+        long differences = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                if (expectedImage.getRGB(x, y) != actualImage.getRGB(x, y)) {
+                    differences++;
+                }
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * An inventory-like page: header, then a grid of product cards with text, shifted down by {@code offset}
+     */
+    private static BufferedImage page(int offset) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.setColor(new Color(0x13, 0x21, 0x32));
+        g.fillRect(0, 0, WIDTH, 90);
+        g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 18));
+        for (int card = 0; card < 6; card++) {
+            int x = 120 + card % 3 * 580;
+            int y = 140 + card / 3 * 440 + offset;
+            g.setColor(new Color(0xED, 0xED, 0xED));
+            g.fillRect(x, y, 520, 400);
+            g.setColor(Color.DARK_GRAY);
+            g.drawString("Sauce Labs Backpack $29.99", x + 20, y + 340);
+            g.setColor(new Color(0x3D, 0xDC, 0x91));
+            g.fillRect(x + 340, y + 355, 160, 32);
+        }
+        g.dispose();
+        return image;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(VisualDiffBenchmark.class.getName())
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        new Runner(options).run();
+    }
+}
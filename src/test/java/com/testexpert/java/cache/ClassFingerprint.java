@@ -0,0 +1,244 @@
+package com.testexpert.java.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content hash of a class, every project class it transitively references and the environment it runs in
+ * Project classes are those loaded from a class directory or a jar outside the local Maven repository.
+ * References are read from the constant pool: class entries and the type names inside descriptors and signatures.
+ * The environment covers the JDK, the dependency jars, the JVM arguments, the system properties that can change
+ * what a test does, the resources in the class directories and every META-INF/services file on the classpath.
+ */
+public class ClassFingerprint {
+
+    private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w/$]+)[;<]");
+    private static final String LOCAL_REPOSITORY = Path.of(System.getProperty("maven.repo.local",
+            Path.of(System.getProperty("user.home"), ".m2", "repository").toString())).toUri().getPath();
+    private static final String SERVICES = "META-INF/services/";
+    /**
+     * JDK settings that change behavior; the rest of the JDK namespace describes the installation or the host
+     */
+    private static final Set<String> JDK_SETTINGS = Set.of("file.encoding", "native.encoding", "line.separator",
+            "user.language", "user.country", "user.timezone", "java.locale.providers", "os.name", "os.arch");
+    /**
+     * Properties owned by the JDK, the build tools and this cache; surefire.real.class.path names a fresh
+     * booter jar on every run
+     */
+    private static final List<String> IGNORED_PREFIXES = List.of("java.", "jdk.", "sun.", "os.", "user.", "file.",
+            "path.", "line.", "native.", "stdout.", "stderr.", "surefire.", "maven.", "basedir", "localRepository",
+            "tests.cache");
+
+    private final ClassLoader loader;
+    private final String environment;
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    public ClassFingerprint(ClassLoader loader) {
+        this.loader = loader;
+        this.environment = environment();
+    }
+
+    /**
+     * Hex SHA-256 over the sorted bytecode of {@code type} and its project dependency closure
+     */
+    public String of(Class<?> type) {
+        return fingerprints.computeIfAbsent(type.getName(), name -> compute(name.replace('.', '/')));
+    }
+
+    private String compute(String root) {
+        Map<String, byte[]> closure = new TreeMap<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            if (closure.containsKey(name)) {
+                continue;
+            }
+            byte[] bytecode = projectBytecode(name);
+            if (bytecode == null) {
+                continue;
+            }
+            closure.put(name, bytecode);
+            pending.addAll(referencedClasses(bytecode));
+        }
+        MessageDigest digest = sha256();
+        digest.update(environment.getBytes(StandardCharsets.UTF_8));
+        closure.forEach((name, bytecode) -> {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update(bytecode);
+        });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Bytecode of a project class, or null for JDK classes and dependency jars from the local Maven repository
+     */
+    private byte[] projectBytecode(String internalName) {
+        URL resource = loader.getResource(internalName + ".class");
+        if (resource == null || !isProjectLocation(resource)) {
+            return null;
+        }
+        try (InputStream in = resource.openStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + resource, e);
+        }
+    }
+
+    /**
+     * Class directories, and jars outside the local repository (the aot profile runs from jarred project classes)
+     */
+    private static boolean isProjectLocation(URL resource) {
+        return switch (resource.getProtocol()) {
+            case "file" -> true;
+            case "jar" -> !resource.getPath().contains(LOCAL_REPOSITORY);
+            default -> false;
+        };
+    }
+
+    static Set<String> referencedClasses(byte[] bytecode) {
+        Set<String> names = new HashSet<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytecode))) {
+            in.skipBytes(8); // magic, minor, major
+            int count = in.readUnsignedShort();
+            for (int index = 1; index < count; index++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1 -> addNames(in.readUTF(), names);           // Utf8
+                    case 7, 8, 16, 19, 20 -> in.skipBytes(2);          // Class, String, MethodType, Module, Package
+                    case 15 -> in.skipBytes(3);                        // MethodHandle
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                    case 5, 6 -> {                                     // Long and Double take two slots
+                        in.skipBytes(8);
+                        index++;
+                    }
+                    default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed class file", e);
+        }
+        return names;
+    }
+
+    /**
+     * A Utf8 constant is either an internal class name (from a Class entry) or a descriptor/signature
+     */
+    private static void addNames(String utf8, Set<String> names) {
+        if (utf8.indexOf('/') > 0 && utf8.indexOf(';') < 0 && utf8.indexOf('(') < 0) {
+            names.add(utf8.startsWith("[") ? utf8.replaceFirst("^\\[+L?", "") : utf8);
+        }
+        Matcher matcher = DESCRIPTOR_TYPE.matcher(utf8);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+    }
+
+    /**
+     * Surefire forks run from a manifest-only jar and expose the real classpath as surefire.test.class.path
+     */
+    private static String environment() {
+        return environment(ManagementFactory.getRuntimeMXBean().getInputArguments(), System.getProperties(),
+                System.getProperty("surefire.test.class.path", System.getProperty("java.class.path", "")));
+    }
+
+    /**
+     * JDK version, the names of all classpath jars (which carry their versions), the JVM arguments (a module
+     * added with --add-modules changes which code path runs), the relevant system properties, and a hash of
+     * every resource in the classpath directories and of every META-INF/services file
+     */
+    public static String environment(List<String> inputArguments, Properties properties, String classpath) {
+        StringBuilder environment = new StringBuilder(properties.getProperty("java.runtime.version", ""));
+        MessageDigest resources = sha256();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            Path location = Path.of(entry);
+            if (entry.endsWith(".jar")) {
+                environment.append('|').append(location.getFileName());
+                digestServices(location, resources);
+            } else if (Files.isDirectory(location)) {
+                digestResources(location, resources);
+            }
+        }
+        inputArguments.forEach(argument -> environment.append('|').append(argument));
+        new TreeMap<>(properties).forEach((key, value) -> {
+            if (isRelevant((String) key)) {
+                environment.append('|').append(key).append('=').append(value);
+            }
+        });
+        return environment.append('|').append(HexFormat.of().formatHex(resources.digest())).toString();
+    }
+
+    private static boolean isRelevant(String property) {
+        return JDK_SETTINGS.contains(property) || IGNORED_PREFIXES.stream().noneMatch(property::startsWith);
+    }
+
+    /**
+     * Every non-class file of a class directory, test resources and service files included, in path order
+     */
+    private static void digestResources(Path directory, MessageDigest digest) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.filter(Files::isRegularFile)
+                    .filter(file -> !file.toString().endsWith(".class")).sorted().toList()) {
+                digest.update(directory.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read resources of " + directory, e);
+        }
+    }
+
+    /**
+     * Service files decide which implementations ServiceLoader finds, even across jars of unchanged versions
+     */
+    private static void digestServices(Path jar, MessageDigest digest) {
+        if (!Files.isRegularFile(jar)) {
+            return;
+        }
+        try (JarFile file = new JarFile(jar.toFile())) {
+            for (JarEntry entry : file.stream().filter(entry -> entry.getName().startsWith(SERVICES)
+                    && !entry.isDirectory()).sorted(Comparator.comparing(JarEntry::getName)).toList()) {
+                try (InputStream in = file.getInputStream(entry)) {
+                    digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+                    digest.update(in.readAllBytes());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read service files of " + jar, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.testexpert.java.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class or method whose result depends on more than its bytecode (network, clock, browser)
+ * Such tests always run; see {@link TestResultCacheListener}
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface NonCacheable {
+}
@@ -0,0 +1,95 @@
+package com.testexpert.java.cache;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent map of passed test invocations to the fingerprint they passed under
+ * Entries are {@code <test key>=<fingerprint>:<duration ms>}; a lookup only hits when the fingerprint matches,
+ * so stale entries are harmless and are overwritten on the next pass. Each run appends a line to stats.csv.
+ */
+public class TestResultCache {
+
+    public static final String RESULTS_FILE = "results.properties";
+    public static final String STATS_FILE = "stats.csv";
+
+    private final Path directory;
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+    /**
+     * A cached pass: how long the test took when it last really ran
+     */
+    public record Hit(long durationMillis) {
+    }
+
+    public TestResultCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("tests.cache.dir",
+                Path.of(System.getProperty("user.home"), ".cache", "testng-practice", "test-results").toString()));
+    }
+
+    public static TestResultCache load(Path directory) throws IOException {
+        TestResultCache cache = new TestResultCache(directory);
+        Path file = directory.resolve(RESULTS_FILE);
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (Reader in = Files.newBufferedReader(file)) {
+                properties.load(in);
+            }
+            properties.stringPropertyNames().forEach(key -> cache.entries.put(key, properties.getProperty(key)));
+        }
+        return cache;
+    }
+
+    public Hit lookup(String testKey, String fingerprint) {
+        String entry = entries.get(testKey);
+        if (entry == null) {
+            return null;
+        }
+        int separator = entry.lastIndexOf(':');
+        if (separator < 0 || !entry.substring(0, separator).equals(fingerprint)) {
+            return null;
+        }
+        return new Hit(Long.parseLong(entry.substring(separator + 1)));
+    }
+
+    public void recordPass(String testKey, String fingerprint, long durationMillis) {
+        entries.put(testKey, fingerprint + ":" + durationMillis);
+    }
+
+    public void invalidate(String testKey) {
+        entries.remove(testKey);
+    }
+
+    public void store() throws IOException {
+        Files.createDirectories(directory);
+        Properties properties = new Properties();
+        properties.putAll(entries);
+        try (Writer out = Files.newBufferedWriter(directory.resolve(RESULTS_FILE))) {
+            properties.store(out, "Test result cache: <test key>=<fingerprint>:<duration ms>");
+        }
+    }
+
+    /**
+     * Append one run's numbers to stats.csv so hit rates can be followed across builds
+     */
+    public void appendStats(int hits, int misses, long savedMillis) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(STATS_FILE);
+        String header = Files.exists(file) ? "" : "timestamp,hits,misses,hitRate,savedMs\n";
+        double hitRate = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        String line = String.format("%s,%d,%d,%.3f,%d%n", Instant.now(), hits, misses, hitRate, savedMillis);
+        Files.writeString(file, header + line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,142 @@
+package com.testexpert.java.cache;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.util.ResultsUtils;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays cached passes of deterministic tests instead of running them
+ * A test passes from cache when its class fingerprint ({@link ClassFingerprint}) matches the one it last passed
+ * under. Replayed tests are reported as passed, tagged "cached" in Allure and noted in the TestNG reporter output.
+ * Configuration methods still run. The cache is off unless -Dtests.cache=true (the test-cache profile);
+ * -Dtests.cache.exclude takes comma-separated package prefixes that never cache (default com.testexpert.java.e2e),
+ * as does {@link NonCacheable}.
+ */
+public class TestResultCacheListener implements IHookable, IInvokedMethodListener, ITestListener, ISuiteListener {
+
+    public static final String CACHED_ATTRIBUTE = "testResultCache.hit";
+
+    private static final String FINGERPRINT_ATTRIBUTE = "testResultCache.fingerprint";
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("tests.cache", "false"));
+    private final List<String> excludedPackages = Arrays.stream(
+            System.getProperty("tests.cache.exclude", "com.testexpert.java.e2e").split(","))
+            .map(String::strip).filter(prefix -> !prefix.isEmpty()).toList();
+    private final ClassFingerprint fingerprints = new ClassFingerprint(getClass().getClassLoader());
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicLong savedMillis = new AtomicLong();
+    private TestResultCache cache;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            cache = TestResultCache.load(TestResultCache.defaultDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read test result cache", e);
+        }
+    }
+
+    @Override
+    public void run(IHookCallBack callBack, ITestResult result) {
+        if (cache == null || !isCacheable(result)) {
+            callBack.runTestMethod(result);
+            return;
+        }
+        String fingerprint = fingerprints.of(result.getTestClass().getRealClass());
+        TestResultCache.Hit hit = cache.lookup(key(result), fingerprint);
+        if (hit == null) {
+            misses.incrementAndGet();
+            result.setAttribute(FINGERPRINT_ATTRIBUTE, fingerprint);
+            callBack.runTestMethod(result);
+            return;
+        }
+        hits.incrementAndGet();
+        savedMillis.addAndGet(hit.durationMillis());
+        result.setAttribute(CACHED_ATTRIBUTE, hit);
+        Reporter.log("[cached] passed under fingerprint " + fingerprint.substring(0, 12)
+                + ", saved " + hit.durationMillis() + " ms");
+        Allure.getLifecycle().updateTestCase(test -> test.getLabels().add(ResultsUtils.createTagLabel("cached")));
+    }
+
+    /**
+     * TestNG fails a hooked test whose body was not invoked; a cache hit is a pass
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (result.getAttribute(CACHED_ATTRIBUTE) != null) {
+            result.setThrowable(null);
+            result.setStatus(ITestResult.SUCCESS);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        Object fingerprint = result.getAttribute(FINGERPRINT_ATTRIBUTE);
+        if (fingerprint != null) {
+            cache.recordPass(key(result), (String) fingerprint, result.getEndMillis() - result.getStartMillis());
+        }
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        if (result.getAttribute(FINGERPRINT_ATTRIBUTE) != null) {
+            cache.invalidate(key(result));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (cache == null) {
+            return;
+        }
+        int total = hits.get() + misses.get();
+        try {
+            cache.store();
+            cache.appendStats(hits.get(), misses.get(), savedMillis.get());
+        } catch (IOException e) {
+            System.out.println("Could not write test result cache: " + e.getMessage());
+        }
+        System.out.printf("Test result cache: %d/%d cacheable tests replayed (%.0f%% hit rate), %d ms saved%n",
+                hits.get(), total, total == 0 ? 0.0 : 100.0 * hits.get() / total, savedMillis.get());
+    }
+
+    private boolean isCacheable(ITestResult result) {
+        Class<?> testClass = result.getTestClass().getRealClass();
+        Method method = result.getMethod().getConstructorOrMethod().getMethod();
+        if (testClass.isAnnotationPresent(NonCacheable.class)
+                || (method != null && method.isAnnotationPresent(NonCacheable.class))) {
+            return false;
+        }
+        String name = testClass.getName();
+        return excludedPackages.stream().noneMatch(name::startsWith);
+    }
+
+    /**
+     * Data-driven invocations are cached per parameter set
+     */
+    private static String key(ITestResult result) {
+        String key = result.getTestClass().getName() + "#" + result.getMethod().getMethodName();
+        Object[] parameters = result.getParameters();
+        return parameters.length == 0 ? key : key + Arrays.deepToString(parameters);
+    }
+}
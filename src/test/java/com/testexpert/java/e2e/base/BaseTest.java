@@ -1,23 +1,31 @@
 package com.testexpert.java.e2e.base;
 
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.testexpert.java.jfr.DriverStartupEvent;
+import com.testexpert.java.jfr.PageNavigationEvent;
+import com.testexpert.java.utils.SeleniumSettings;
+import com.testexpert.java.webperf.PagePerformance;
 import java.time.Duration;
 
 /**
  * Base test class for E2E tests
- * Handles WebDriver initialization and teardown
+ * Handles WebDriver initialization and teardown. The browser is the {@code browser} parameter of the running
+ * {@code <test>} (see {@link BrowserMatrix}) or browser.type from selenium.properties; browser.headless applies to all.
+ * TestNG creates the test class instances per {@code <test>}, so every browser of a matrix has its own driver.
  */
 public class BaseTest {
 
+    private static final Logger log = LoggerFactory.getLogger(BaseTest.class);
+
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected Browser browser;
     protected static final String BASE_URL = "https://www.saucedemo.com";
     protected static final Duration TIMEOUT = Duration.ofSeconds(15);
     protected static final Duration EXPLICIT_WAIT = Duration.ofSeconds(20);
@@ -29,50 +37,57 @@ public class BaseTest {
         driver.manage().timeouts().implicitlyWait(TIMEOUT);
         driver.manage().timeouts().pageLoadTimeout(TIMEOUT);
         wait = new WebDriverWait(driver, EXPLICIT_WAIT);
-        System.out.println("WebDriver initialized successfully with explicit waits");
+        log.info("{} WebDriver initialized successfully with explicit waits", browser.id());
     }
 
     @AfterTest
     public void tearDown() {
         if (driver != null) {
             driver.quit();
-            System.out.println("WebDriver closed successfully");
+            log.info("WebDriver closed successfully");
         }
     }
 
     /**
-     * IChromeOptions options = new ChromeOptions();
-     * // Uncomment next line for headless mode
-     * // options.addArguments("--headless");
-     * options.addArguments("--no-sandbox");
-     * options.addArguments("--disable-dev-shm-usage");
-     * options.addArguments("--disable-extensions");
-     * driver = new ChromeDriver(options
      * Uses WebDriverManager for automatic driver management
      */
     private void initializeDriver() {
-        WebDriverManager.chromedriver().setup();
-        org.openqa.selenium.chrome.ChromeOptions options = new org.openqa.selenium.chrome.ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-extensions");
-        driver = new ChromeDriver(options);
+        browser = Browser.current();
+        DriverStartupEvent resolve = startupEvent(browser.id(), "resolve");
+        browser.resolveDriver();
+        resolve.commit();
+
+        DriverStartupEvent launch = startupEvent(browser.id(), "launch");
+        driver = browser.start(Boolean.parseBoolean(SeleniumSettings.get("browser.headless", "true")));
+        launch.commit();
     }
 
     /**
-     * Alternative method to initialize Firefox WebDriver
+     * Current WebDriver, or null before setUp and after a failed start
      */
-    protected void initializeFirefoxDriver() {
-        WebDriverManager.firefoxdriver().setup();
-        driver = new FirefoxDriver();
+    public WebDriver getDriver() {
+        return driver;
     }
 
     /**
      * Navigate to the base URL
      */
     protected void navigateToBaseUrl() {
+        PageNavigationEvent event = new PageNavigationEvent();
+        event.url = BASE_URL;
+        event.trigger = "navigate";
+        event.begin();
         driver.navigate().to(BASE_URL);
-        System.out.println("Navigated to: " + BASE_URL);
+        event.commit();
+        PagePerformance.capture(driver, "navigate");
+        log.info("Navigated to: {}", BASE_URL);
+    }
+
+    private static DriverStartupEvent startupEvent(String browser, String stage) {
+        DriverStartupEvent event = new DriverStartupEvent();
+        event.browser = browser;
+        event.stage = stage;
+        event.begin();
+        return event;
     }
 }
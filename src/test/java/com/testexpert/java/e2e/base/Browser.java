@@ -0,0 +1,127 @@
+package com.testexpert.java.e2e.base;
+
+import com.testexpert.java.utils.SeleniumSettings;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Browsers the E2E tests can run on, named as in selenium.properties (browser.type, browser.matrix)
+ * A {@code <test>} picks its browser with the {@value #PARAMETER} parameter, which {@link BrowserMatrix} sets on
+ * every copy it makes; without it browser.type applies. Drivers are resolved with WebDriverManager.
+ */
+public enum Browser {
+
+    CHROME(DriverManagerType.CHROME),
+    FIREFOX(DriverManagerType.FIREFOX),
+    EDGE(DriverManagerType.EDGE);
+
+    public static final String PARAMETER = "browser";
+
+    private final DriverManagerType driverManagerType;
+
+    Browser(DriverManagerType driverManagerType) {
+        this.driverManagerType = driverManagerType;
+    }
+
+    /**
+     * Name used in selenium.properties, test names and reports
+     */
+    public String id() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Browser of(String id) {
+        for (Browser browser : values()) {
+            if (browser.id().equalsIgnoreCase(id.strip())) {
+                return browser;
+            }
+        }
+        throw new IllegalArgumentException("Unknown browser '" + id + "', expected one of "
+                + Arrays.stream(values()).map(Browser::id).toList());
+    }
+
+    /**
+     * Comma-separated browser ids, in order, without duplicates
+     */
+    public static List<Browser> parse(String ids) {
+        return Arrays.stream(ids.split(",")).map(String::strip).filter(id -> !id.isEmpty())
+                .map(Browser::of).distinct().toList();
+    }
+
+    /**
+     * Browser of the running {@code <test>}: its {@value #PARAMETER} parameter, else browser.type
+     */
+    public static Browser current() {
+        String id = parameter(Reporter.getCurrentTestResult());
+        return of(id != null ? id : SeleniumSettings.get("browser.type", "chrome"));
+    }
+
+    /**
+     * The {@value #PARAMETER} parameter of the {@code <test>} that ran {@code result}, null outside a browser matrix
+     */
+    public static String parameter(ITestResult result) {
+        return result == null ? null : result.getTestContext().getCurrentXmlTest().getParameter(PARAMETER);
+    }
+
+    /**
+     * Whether WebDriverManager finds this browser installed on this machine
+     */
+    public boolean installed() {
+        try {
+            return WebDriverManager.getInstance(driverManagerType).getBrowserPath().isPresent();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Download or locate the matching driver binary
+     */
+    void resolveDriver() {
+        WebDriverManager.getInstance(driverManagerType).setup();
+    }
+
+    /**
+     * A new browser session; every call starts its own browser process
+     */
+    WebDriver start(boolean headless) {
+        return switch (this) {
+            case CHROME -> {
+                ChromeOptions options = new ChromeOptions();
+                if (headless) {
+                    options.addArguments("--headless");
+                }
+                options.addArguments("--no-sandbox", "--disable-dev-shm-usage", "--disable-extensions");
+                yield new ChromeDriver(options);
+            }
+            case FIREFOX -> {
+                FirefoxOptions options = new FirefoxOptions();
+                if (headless) {
+                    options.addArguments("-headless");
+                }
+                yield new FirefoxDriver(options);
+            }
+            case EDGE -> {
+                EdgeOptions options = new EdgeOptions();
+                if (headless) {
+                    options.addArguments("--headless");
+                }
+                options.addArguments("--no-sandbox", "--disable-dev-shm-usage", "--disable-extensions");
+                yield new EdgeDriver(options);
+            }
+        };
+    }
+}
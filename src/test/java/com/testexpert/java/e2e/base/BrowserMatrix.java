@@ -0,0 +1,163 @@
+package com.testexpert.java.e2e.base;
+
+import com.testexpert.java.utils.SeleniumSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs every E2E {@code <test>} once per browser listed in browser.matrix, the browsers concurrently
+ * Registered in testng-browsers.xml (-Pbrowsers). Before the suite starts, each {@code <test>} with a BaseTest class
+ * is replaced by one copy per browser that WebDriverManager finds installed, named {@code <name> [<browser>]} and
+ * carrying the {@code browser} parameter. The copies run as parallel {@code <test>}s, each on its own thread with its
+ * own test instances and driver. Allure lists the parameter and the per-browser suite, and keeps a separate history
+ * per browser. When the suite finishes, its wall-clock time is printed against the sum of the per-browser times,
+ * the time the browsers would take one after another if running them side by side did not slow each one down;
+ * browser.matrix.parallel=false runs the copies one after another to measure the sequential time itself.
+ * Settings come from selenium.properties and can be overridden with system properties of the same name.
+ */
+public class BrowserMatrix implements IAlterSuiteListener, ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BrowserMatrix.class);
+
+    /**
+     * One browser's share of a matrix run
+     */
+    public record Run(String browser, long startMillis, long endMillis, int passed, int failed, int skipped) {
+
+        public long millis() {
+            return endMillis - startMillis;
+        }
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        List<Browser> browsers = new ArrayList<>();
+        for (Browser browser : Browser.parse(SeleniumSettings.get("browser.matrix", ""))) {
+            if (browser.installed()) {
+                browsers.add(browser);
+            } else {
+                log.warn("Browser matrix: {} is not installed, skipped", browser.id());
+            }
+        }
+        if (browsers.isEmpty()) {
+            return;
+        }
+        boolean parallel = Boolean.parseBoolean(SeleniumSettings.get("browser.matrix.parallel", "true"));
+        for (XmlSuite suite : suites) {
+            expand(suite, browsers, parallel);
+        }
+    }
+
+    /**
+     * Replace every test of {@code suite} that runs a BaseTest class and has no browser parameter yet with one copy
+     * per browser; with {@code parallel}, all tests of the suite run at once
+     *
+     * @return number of copies made
+     */
+    public static int expand(XmlSuite suite, List<Browser> browsers, boolean parallel) {
+        List<XmlTest> tests = new ArrayList<>();
+        int copies = 0;
+        for (XmlTest test : List.copyOf(suite.getTests())) {
+            if (!runsBrowser(test) || test.getLocalParameters().containsKey(Browser.PARAMETER)) {
+                tests.add(test);
+                continue;
+            }
+            for (Browser browser : browsers) {
+                tests.add(copy(test, browser));
+                copies++;
+            }
+        }
+        for (int i = 0; i < tests.size(); i++) {
+            tests.get(i).setIndex(i);
+        }
+        suite.setTests(tests);
+        if (copies > 0 && parallel) {
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(tests.size());
+        }
+        return copies;
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<Run> runs = new ArrayList<>();
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            ISuiteResult result = suite.getResults().get(test.getName());
+            String browser = test.getParameter(Browser.PARAMETER);
+            if (result != null && browser != null) {
+                ITestContext context = result.getTestContext();
+                runs.add(new Run(browser, context.getStartDate().getTime(), context.getEndDate().getTime(),
+                        context.getPassedTests().size(), context.getFailedTests().size(),
+                        context.getSkippedTests().size()));
+            }
+        }
+        if (!runs.isEmpty()) {
+            boolean parallel = suite.getXmlSuite().getParallel() == XmlSuite.ParallelMode.TESTS;
+            log.info("{}", report(runs, parallel).stripTrailing());
+        }
+    }
+
+    /**
+     * Per-browser totals, then the wall-clock time against running the browsers one after another
+     */
+    public static String report(List<Run> runs, boolean parallel) {
+        Map<String, Run> browsers = new LinkedHashMap<>();
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        for (Run run : runs) {
+            browsers.merge(run.browser(), run, (a, b) -> new Run(a.browser(), 0, a.millis() + b.millis(),
+                    a.passed() + b.passed(), a.failed() + b.failed(), a.skipped() + b.skipped()));
+            start = Math.min(start, run.startMillis());
+            end = Math.max(end, run.endMillis());
+        }
+        StringBuilder report = new StringBuilder("Browser matrix:");
+        long sequential = 0;
+        for (Run run : browsers.values()) {
+            report.append(String.format("%n  %-8s %8.1f s  %d passed, %d failed, %d skipped", run.browser(),
+                    run.millis() / 1000.0, run.passed(), run.failed(), run.skipped()));
+            sequential += run.millis();
+        }
+        long wall = end - start;
+        if (parallel) {
+            report.append(String.format("%n  %.1f s wall-clock for %d browsers concurrently against %.1f s summed"
+                    + " per browser (%.2fx)%n", wall / 1000.0, browsers.size(), sequential / 1000.0,
+                    (double) sequential / Math.max(wall, 1)));
+        } else {
+            report.append(String.format("%n  %.1f s wall-clock for %d browsers one after another%n",
+                    wall / 1000.0, browsers.size()));
+        }
+        return report.toString();
+    }
+
+    static boolean runsBrowser(XmlTest test) {
+        return test.getXmlClasses().stream()
+                .anyMatch(xmlClass -> BaseTest.class.isAssignableFrom(xmlClass.getSupportClass()));
+    }
+
+    private static XmlTest copy(XmlTest test, Browser browser) {
+        XmlTest copy = (XmlTest) test.clone();
+        copy.setName(test.getName() + " [" + browser.id() + "]");
+        copy.addParameter(Browser.PARAMETER, browser.id());
+        List<XmlClass> classes = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            XmlClass classCopy = (XmlClass) xmlClass.clone();
+            classCopy.setXmlTest(copy);
+            classes.add(classCopy);
+        }
+        copy.setXmlClasses(classes);
+        return copy;
+    }
+}
@@ -5,14 +5,25 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.time.Duration;
 
+import com.testexpert.java.visual.VisualCheck;
+import com.testexpert.java.webperf.PagePerformance;
+
+import static com.testexpert.java.jfr.WebDriverEvents.clickAndNavigate;
+import static com.testexpert.java.jfr.WebDriverEvents.find;
+import static com.testexpert.java.jfr.WebDriverEvents.findAll;
+
 /**
  * Page Object Model class for Login Page
  * Demonstrates all types of Selenium locators with explicit waits
  */
 public class LoginPage {
 
+    private static final Logger log = LoggerFactory.getLogger(LoginPage.class);
+
     private WebDriver driver;
     private WebDriverWait wait;
     private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(20);
@@ -57,87 +68,90 @@ public class LoginPage {
      * Demonstrate ID locator: Finding username field
      */
     public void enterUsernameById(String username) {
-        WebElement usernameField = driver.findElement(usernameFieldId);
+        WebElement usernameField = find(driver, usernameFieldId);
         usernameField.clear();
         usernameField.sendKeys(username);
-        System.out.println("Entered username using ID locator: " + username);
+        log.info("Entered username using ID locator: {}", username);
     }
 
     /**
      * Demonstrate ID locator: Finding password field
      */
     public void enterPasswordById(String password) {
-        WebElement passwordField = driver.findElement(passwordFieldId);
+        WebElement passwordField = find(driver, passwordFieldId);
         passwordField.clear();
         passwordField.sendKeys(password);
-        System.out.println("Entered password using ID locator");
+        log.info("Entered password using ID locator");
     }
 
     /**
      * Demonstrate NAME locator: Click login button
      */
     public void clickLoginByName() {
-        WebElement loginBtn = driver.findElement(loginButtonName);
-        loginBtn.click();
-        System.out.println("Clicked login button using NAME locator");
+        WebElement loginBtn = find(driver, loginButtonName);
+        clickAndNavigate(driver, loginBtn, "login");
+        PagePerformance.capture(driver, "login");
+        log.info("Clicked login button using NAME locator");
     }
 
     /**
      * Demonstrate CSS SELECTOR: Enter username
      */
     public void enterUsernameByCss(String username) {
-        WebElement usernameField = driver.findElement(usernameInputCss);
+        WebElement usernameField = find(driver, usernameInputCss);
         usernameField.clear();
         usernameField.sendKeys(username);
-        System.out.println("Entered username using CSS SELECTOR locator: " + username);
+        log.info("Entered username using CSS SELECTOR locator: {}", username);
     }
 
     /**
      * Demonstrate CSS SELECTOR: Enter password
      */
     public void enterPasswordByCss(String password) {
-        WebElement passwordField = driver.findElement(passwordInputCss);
+        WebElement passwordField = find(driver, passwordInputCss);
         passwordField.clear();
         passwordField.sendKeys(password);
-        System.out.println("Entered password using CSS SELECTOR locator");
+        log.info("Entered password using CSS SELECTOR locator");
     }
 
     /**
      * Demonstrate CSS SELECTOR: Click login
      */
     public void clickLoginByCss() {
-        WebElement loginBtn = driver.findElement(loginButtonCss);
-        loginBtn.click();
-        System.out.println("Clicked login button using CSS SELECTOR locator");
+        WebElement loginBtn = find(driver, loginButtonCss);
+        clickAndNavigate(driver, loginBtn, "login");
+        PagePerformance.capture(driver, "login");
+        log.info("Clicked login button using CSS SELECTOR locator");
     }
 
     /**
      * Demonstrate XPATH: Enter username
      */
     public void enterUsernameByXpath(String username) {
-        WebElement usernameField = driver.findElement(usernameXpath);
+        WebElement usernameField = find(driver, usernameXpath);
         usernameField.clear();
         usernameField.sendKeys(username);
-        System.out.println("Entered username using XPATH locator: " + username);
+        log.info("Entered username using XPATH locator: {}", username);
     }
 
     /**
      * Demonstrate XPATH: Enter password
      */
     public void enterPasswordByXpath(String password) {
-        WebElement passwordField = driver.findElement(passwordXpath);
+        WebElement passwordField = find(driver, passwordXpath);
         passwordField.clear();
         passwordField.sendKeys(password);
-        System.out.println("Entered password using XPATH locator");
+        log.info("Entered password using XPATH locator");
     }
 
     /**
      * Demonstrate XPATH: Click login
      */
     public void clickLoginByXpath() {
-        WebElement loginBtn = driver.findElement(loginButtonXpath);
-        loginBtn.click();
-        System.out.println("Clicked login button using XPATH locator");
+        WebElement loginBtn = find(driver, loginButtonXpath);
+        clickAndNavigate(driver, loginBtn, "login");
+        PagePerformance.capture(driver, "login");
+        log.info("Clicked login button using XPATH locator");
     }
 
     /**
@@ -145,12 +159,12 @@ public class LoginPage {
      */
     public String getErrorMessageByClass() {
         try {
-            WebElement errorElement = driver.findElement(errorMessageXpath);
+            WebElement errorElement = find(driver, errorMessageXpath);
             String errorMessage = errorElement.getText();
-            System.out.println("Error message using CLASS NAME locator: " + errorMessage);
+            log.info("Error message using CLASS NAME locator: {}", errorMessage);
             return errorMessage;
         } catch (Exception e) {
-            System.out.println("No error message found");
+            log.info("No error message found");
             return null;
         }
     }
@@ -159,8 +173,8 @@ public class LoginPage {
      * Demonstrate TAG NAME: Get all input fields count
      */
     public int getInputFieldsCountByTagName() {
-        int count = driver.findElements(allInputFields).size();
-        System.out.println("Number of input fields using TAG NAME locator: " + count);
+        int count = findAll(driver, allInputFields).size();
+        log.info("Number of input fields using TAG NAME locator: {}", count);
         return count;
     }
 
@@ -169,8 +183,8 @@ public class LoginPage {
      */
     public boolean isLoginPageLoaded() {
         try {
-            WebElement title = driver.findElement(pageTitle);
-            System.out.println("Login page verified using XPATH locator");
+            WebElement title = find(driver, pageTitle);
+            log.info("Login page verified using XPATH locator");
             return title.isDisplayed();
         } catch (Exception e) {
             return false;
@@ -181,9 +195,9 @@ public class LoginPage {
      * Clear all fields
      */
     public void clearAllFields() {
-        driver.findElement(usernameFieldId).clear();
-        driver.findElement(passwordFieldId).clear();
-        System.out.println("All fields cleared");
+        find(driver, usernameFieldId).clear();
+        find(driver, passwordFieldId).clear();
+        log.info("All fields cleared");
     }
 
     /**
@@ -199,4 +213,11 @@ public class LoginPage {
     public String getPageTitle() {
         return driver.getTitle();
     }
+
+    /**
+     * Compare the login page with visual baseline {@code name}
+     */
+    public void assertVisual(String name) {
+        VisualCheck.assertVisual(driver, name);
+    }
 }
@@ -3,14 +3,25 @@ package com.testexpert.java.e2e.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.util.List;
 
+import com.testexpert.java.visual.VisualCheck;
+import com.testexpert.java.webperf.PagePerformance;
+
+import static com.testexpert.java.jfr.WebDriverEvents.clickAndNavigate;
+import static com.testexpert.java.jfr.WebDriverEvents.find;
+import static com.testexpert.java.jfr.WebDriverEvents.findAll;
+
 /**
  * Page Object Model class for Products Page
  * Demonstrates advanced Selenium locators and interactions
  */
 public class ProductsPage {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductsPage.class);
+
     private WebDriver driver;
 
     // Product locators using different strategies
@@ -52,8 +63,8 @@ public class ProductsPage {
      * Demonstrate XPATH: Get all product titles
      */
     public List<WebElement> getAllProductTitles() {
-        List<WebElement> titles = driver.findElements(productTitles);
-        System.out.println("Found " + titles.size() + " products using XPATH locator");
+        List<WebElement> titles = findAll(driver, productTitles);
+        log.info("Found {} products using XPATH locator", titles.size());
         return titles;
     }
 
@@ -61,9 +72,9 @@ public class ProductsPage {
      * Demonstrate XPATH: Get all product prices
      */
     public List<String> getAllProductPrices() {
-        List<WebElement> prices = driver.findElements(productPrices);
-        System.out.println("Found " + prices.size() + " prices using XPATH locator");
-        prices.forEach(price -> System.out.println("  Price: " + price.getText()));
+        List<WebElement> prices = findAll(driver, productPrices);
+        log.info("Found {} prices using XPATH locator", prices.size());
+        prices.forEach(price -> log.info("  Price: {}", price.getText()));
         return prices.stream().map(WebElement::getText).toList();
     }
 
@@ -71,9 +82,10 @@ public class ProductsPage {
      * Demonstrate XPATH: Click first product add to cart button
      */
     public void addFirstProductToCart() {
-        WebElement addBtn = driver.findElement(firstProductAddBtn);
+        WebElement addBtn = find(driver, firstProductAddBtn);
         addBtn.click();
-        System.out.println("Added first product to cart using XPATH locator");
+        PagePerformance.capture(driver, "add-to-cart");
+        log.info("Added first product to cart using XPATH locator");
     }
 
     /**
@@ -82,18 +94,19 @@ public class ProductsPage {
     public void addProductToCartByName(String productName) {
         String xpathExpression = "//div[contains(text(), '" + productName
                 + "')]/ancestor::div[@class='inventory_item']//button";
-        WebElement addBtn = driver.findElement(By.xpath(xpathExpression));
+        WebElement addBtn = find(driver, By.xpath(xpathExpression));
         addBtn.click();
-        System.out.println("Added product '" + productName + "' to cart using dynamic XPATH");
+        PagePerformance.capture(driver, "add-to-cart");
+        log.info("Added product '{}' to cart using dynamic XPATH", productName);
     }
 
     /**
      * Demonstrate CSS SELECTOR: Click cart button
      */
     public void clickCartByCss() {
-        WebElement cart = driver.findElement(cartButton);
-        cart.click();
-        System.out.println("Clicked cart button using CSS SELECTOR locator");
+        WebElement cart = find(driver, cartButton);
+        clickAndNavigate(driver, cart, "cart");
+        log.info("Clicked cart button using CSS SELECTOR locator");
     }
 
     /**
@@ -101,12 +114,12 @@ public class ProductsPage {
      */
     public String getCartCountByCss() {
         try {
-            WebElement count = driver.findElement(cartCount);
+            WebElement count = find(driver, cartCount);
             String cartItems = count.getText();
-            System.out.println("Cart count using CSS SELECTOR: " + cartItems);
+            log.info("Cart count using CSS SELECTOR: {}", cartItems);
             return cartItems;
         } catch (Exception e) {
-            System.out.println("Cart is empty - no badge visible");
+            log.info("Cart is empty - no badge visible");
             return "0";
         }
     }
@@ -115,20 +128,21 @@ public class ProductsPage {
      * Demonstrate ID: Select sort option
      */
     public void sortProductsById(String sortOption) {
-        WebElement sort = driver.findElement(sortDropdown);
+        WebElement sort = find(driver, sortDropdown);
         sort.click();
         // Select option by value
-        WebElement option = driver.findElement(By.xpath("//option[@value='" + sortOption + "']"));
+        WebElement option = find(driver, By.xpath("//option[@value='" + sortOption + "']"));
         option.click();
-        System.out.println("Sorted products using ID locator with option: " + sortOption);
+        PagePerformance.capture(driver, "sort");
+        log.info("Sorted products using ID locator with option: {}", sortOption);
     }
 
     /**
      * Demonstrate CLASS NAME: Count products
      */
     public int getProductCountByClassName() {
-        List<WebElement> items = driver.findElements(productItems);
-        System.out.println("Found " + items.size() + " product items using CLASS NAME locator");
+        List<WebElement> items = findAll(driver, productItems);
+        log.info("Found {} product items using CLASS NAME locator", items.size());
         return items.size();
     }
 
@@ -138,16 +152,16 @@ public class ProductsPage {
     public void logoutUsingXpath() {
         try {
             // First click menu
-            WebElement menu = driver.findElement(menuButton);
+            WebElement menu = find(driver, menuButton);
             menu.click();
             Thread.sleep(500); // Small wait for menu to appear
 
             // Then click logout
-            WebElement logout = driver.findElement(logoutButton);
-            logout.click();
-            System.out.println("Logged out using XPATH with contains locator");
+            WebElement logout = find(driver, logoutButton);
+            clickAndNavigate(driver, logout, "logout");
+            log.info("Logged out using XPATH with contains locator");
         } catch (Exception e) {
-            System.out.println("Logout not possible: " + e.getMessage());
+            log.warn("Logout not possible: {}", e.getMessage());
         }
     }
 
@@ -156,8 +170,8 @@ public class ProductsPage {
      */
     public boolean isProductVisibleByName(String productName) {
         try {
-            WebElement product = driver.findElement(By.xpath("//div[contains(text(), '" + productName + "')]"));
-            System.out.println("Product '" + productName + "' found using XPATH contains");
+            WebElement product = find(driver, By.xpath("//div[contains(text(), '" + productName + "')]"));
+            log.info("Product '{}' found using XPATH contains", productName);
             return product.isDisplayed();
         } catch (Exception e) {
             return false;
@@ -168,8 +182,8 @@ public class ProductsPage {
      * Demonstrate TAG NAME: Get all links on page
      */
     public int getAllLinksCount() {
-        List<WebElement> links = driver.findElements(By.tagName("a"));
-        System.out.println("Found " + links.size() + " links using TAG NAME locator");
+        List<WebElement> links = findAll(driver, By.tagName("a"));
+        log.info("Found {} links using TAG NAME locator", links.size());
         return links.size();
     }
 
@@ -185,10 +199,18 @@ public class ProductsPage {
      */
     public boolean isProductsPageLoaded() {
         try {
-            List<WebElement> titles = driver.findElements(productTitles);
+            List<WebElement> titles = findAll(driver, productTitles);
             return titles.size() > 0;
         } catch (Exception e) {
             return false;
         }
     }
+
+    /**
+     * Compare the products page with visual baseline {@code name}; the cart badge is ignored since its count
+     * depends on earlier tests
+     */
+    public void assertVisual(String name) {
+        VisualCheck.assertVisual(driver, name, cartCount);
+    }
 }
@@ -0,0 +1,56 @@
+package com.testexpert.java.history;
+
+import java.util.Arrays;
+
+/**
+ * Robust baseline of a test's recent durations: median and median absolute deviation (MAD), in milliseconds
+ * Unlike mean and standard deviation, a few earlier outliers (a GC pause, a cold browser) barely move either value.
+ * {@link #score(double)} is the modified z-score, which for normally distributed noise reads like a z-score.
+ */
+public record DurationBaseline(int samples, double median, double mad) {
+
+    /**
+     * Makes the MAD a consistent estimator of the standard deviation for normal data
+     */
+    static final double NORMAL_CONSISTENCY = 1.4826;
+
+    /**
+     * @throws IllegalArgumentException when there are no samples
+     */
+    public static DurationBaseline of(double[] millis) {
+        if (millis.length == 0) {
+            throw new IllegalArgumentException("A baseline needs at least one sample");
+        }
+        double median = median(millis.clone());
+        double[] deviations = new double[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            deviations[i] = Math.abs(millis[i] - median);
+        }
+        return new DurationBaseline(millis.length, median, median(deviations));
+    }
+
+    /**
+     * How many scaled MADs a duration lies above the median; infinite for any slower value when history never varied
+     */
+    public double score(double millis) {
+        double delta = millis - median;
+        if (mad == 0) {
+            return delta > 0 ? Double.POSITIVE_INFINITY : delta < 0 ? Double.NEGATIVE_INFINITY : 0;
+        }
+        return delta / (NORMAL_CONSISTENCY * mad);
+    }
+
+    /**
+     * A slowdown must be unusual for this test (score over {@code threshold}) and large enough to matter in
+     * absolute terms, so sub-millisecond unit tests do not flag on scheduler noise
+     */
+    public boolean isSlowdown(double millis, double threshold, double minDeltaMillis) {
+        return millis - median >= minDeltaMillis && score(millis) > threshold;
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+}
@@ -0,0 +1,116 @@
+package com.testexpert.java.history;
+
+import com.testexpert.java.cache.TestResultCacheListener;
+import com.testexpert.java.e2e.base.Browser;
+import com.testexpert.java.impact.ImpactAnalysis;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Appends the duration of every passed test method to the {@link DurationStore} and reports slowdowns
+ * Durations are measured with System.nanoTime around the test method only, so configuration methods do not count.
+ * Failed and skipped tests and passes replayed by the test result cache are not recorded, since their durations
+ * say nothing about how long the test takes, and neither is the first test method the listener sees in the JVM,
+ * which also pays for loading shared classes and for JIT warm-up. At the end of the suite the run is appended
+ * together with the git commit and the environment fingerprint, then compared with earlier runs by
+ * {@link DurationHistoryReport}. Recording is off unless -Dtests.history=true (the history profile);
+ * -Dtests.history.dir changes the store directory.
+ */
+public class DurationHistoryListener implements IInvokedMethodListener, ITestListener, ISuiteListener {
+
+    private static final String START_ATTRIBUTE = "durationHistory.startNanos";
+    private static final String DURATION_ATTRIBUTE = "durationHistory.micros";
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty("tests.history", "false"));
+    private final ConcurrentLinkedQueue<DurationStore.Measurement> measurements = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean warmedUp = new AtomicBoolean();
+    private long suiteStartMillis;
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStartMillis = System.currentTimeMillis();
+        measurements.clear();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (enabled && method.isTestMethod() && warmedUp.getAndSet(true)) {
+            result.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (result.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            result.setAttribute(DURATION_ATTRIBUTE, (System.nanoTime() - start) / 1000);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        if (result.getAttribute(DURATION_ATTRIBUTE) instanceof Long micros
+                && result.getAttribute(TestResultCacheListener.CACHED_ATTRIBUTE) == null) {
+            measurements.add(new DurationStore.Measurement(key(result), result.getStartMillis(), micros));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!enabled || measurements.isEmpty()) {
+            return;
+        }
+        Path directory = DurationStore.defaultDirectory();
+        try {
+            DurationStore.Run run = DurationStore.append(directory, suiteStartMillis, commit(),
+                    DurationStore.environment(), List.copyOf(measurements));
+            try (DurationStore store = DurationStore.open(directory)) {
+                List<DurationHistoryReport.Verdict> verdicts =
+                        new DurationHistoryReport(store, DurationHistoryReport.Thresholds.fromSystemProperties())
+                                .analyze(run);
+                List<DurationHistoryReport.Verdict> slowdowns =
+                        verdicts.stream().filter(DurationHistoryReport.Verdict::slowdown).toList();
+                System.out.printf("Test duration history: %d tests recorded as run %d in %s, %d slowdowns%n",
+                        verdicts.size(), run.id(), directory, slowdowns.size());
+                slowdowns.forEach(v -> System.out.printf(
+                        "SLOWDOWN %s: %.2f ms against a median of %.2f ms (MAD %.2f ms, score %.1f, %d runs)%n",
+                        v.test(), v.millis(), v.baseline().median(), v.baseline().mad(), v.score(),
+                        v.baseline().samples()));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not update test duration history " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private static String commit() {
+        try {
+            return ImpactAnalysis.headCommit(Path.of("").toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Same key as the test result cache: data-driven invocations have a history per parameter set. Tests of a browser
+     * matrix also have one per browser.
+     */
+    private static String key(ITestResult result) {
+        String key = result.getTestClass().getName() + "#" + result.getMethod().getMethodName();
+        String browser = Browser.parameter(result);
+        if (browser != null) {
+            key = key + "@" + browser;
+        }
+        Object[] parameters = result.getParameters();
+        return parameters.length == 0 ? key : key + Arrays.deepToString(parameters);
+    }
+}
@@ -0,0 +1,156 @@
+package com.testexpert.java.history;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares each test of a run with the baseline of its previous runs in the same environment
+ * Only the run's own records and the last {@code window} samples of each of its tests are read, by following the
+ * store's per-test back pointers, so the report costs the same with a week or with years of history.
+ * Usage: DurationHistoryReport [run id] to report on one run (default the latest),
+ * DurationHistoryReport --test &lt;substring&gt; to list the recent durations of matching tests.
+ * Exits with status 1 when the reported run has slowdowns.
+ */
+public class DurationHistoryReport {
+
+    /**
+     * Detection settings read from tests.history.* system properties
+     *
+     * @param window         previous samples a baseline is computed from
+     * @param minSamples     fewer samples than this give no verdict; a MAD over a handful of runs is too unstable
+     * @param threshold      modified z-score above which a test counts as slower
+     * @param minDeltaMillis slowdowns smaller than this are ignored whatever their score
+     */
+    public record Thresholds(int window, int minSamples, double threshold, double minDeltaMillis) {
+
+        public static Thresholds fromSystemProperties() {
+            return new Thresholds(
+                    Integer.getInteger("tests.history.window", 30),
+                    Integer.getInteger("tests.history.minSamples", 10),
+                    Double.parseDouble(System.getProperty("tests.history.threshold", "3.5")),
+                    Double.parseDouble(System.getProperty("tests.history.minDeltaMillis", "5")));
+        }
+    }
+
+    /**
+     * One test of the analysed run; {@code baseline} is null when there was not enough history
+     */
+    public record Verdict(String test, double millis, DurationBaseline baseline, boolean slowdown) {
+
+        public double score() {
+            return baseline == null ? Double.NaN : baseline.score(millis);
+        }
+    }
+
+    private final DurationStore store;
+    private final Thresholds thresholds;
+
+    public DurationHistoryReport(DurationStore store, Thresholds thresholds) {
+        this.store = store;
+        this.thresholds = thresholds;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = DurationStore.defaultDirectory();
+        try (DurationStore store = DurationStore.open(directory)) {
+            if (store.runCount() == 0) {
+                System.out.println("No test durations recorded in " + directory);
+                return;
+            }
+            DurationHistoryReport report = new DurationHistoryReport(store, Thresholds.fromSystemProperties());
+            if (args.length == 2 && args[0].equals("--test")) {
+                report.printHistory(args[1], System.out);
+                return;
+            }
+            DurationStore.Run run = store.run(args.length == 0 ? store.runCount() - 1 : Integer.parseInt(args[0]));
+            List<Verdict> verdicts = report.analyze(run);
+            print(store, run, verdicts, System.out);
+            if (verdicts.stream().anyMatch(Verdict::slowdown)) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Verdicts for every test of the run, slowest relative to its baseline first; a test invoked several times in
+     * the run is judged on the median of its invocations
+     */
+    public List<Verdict> analyze(DurationStore.Run run) throws IOException {
+        Map<Integer, List<DurationStore.Sample>> byTest = new LinkedHashMap<>();
+        for (DurationStore.Sample sample : store.samples(run)) {
+            byTest.computeIfAbsent(sample.testId(), id -> new ArrayList<>()).add(sample);
+        }
+        List<Verdict> verdicts = new ArrayList<>(byTest.size());
+        for (List<DurationStore.Sample> invocations : byTest.values()) {
+            double millis = DurationBaseline.of(millis(invocations)).median();
+            List<DurationStore.Sample> history = store.history(invocations.get(0).previous(), run.id(),
+                    run.environmentId(), thresholds.window(), 4 * thresholds.window());
+            DurationBaseline baseline = history.size() < thresholds.minSamples() ? null
+                    : DurationBaseline.of(millis(history));
+            boolean slowdown = baseline != null
+                    && baseline.isSlowdown(millis, thresholds.threshold(), thresholds.minDeltaMillis());
+            verdicts.add(new Verdict(store.test(invocations.get(0).testId()), millis, baseline, slowdown));
+        }
+        verdicts.sort(Comparator.comparing(Verdict::slowdown).reversed()
+                .thenComparing(Comparator.comparingDouble(DurationHistoryReport::sortScore).reversed()));
+        return verdicts;
+    }
+
+    public static void print(DurationStore store, DurationStore.Run run, List<Verdict> verdicts, PrintStream out) {
+        long slowdowns = verdicts.stream().filter(Verdict::slowdown).count();
+        out.printf("Run %d at %s, commit %s, %s%n", run.id(), Instant.ofEpochMilli(run.startMillis()),
+                run.commit() == null ? "unknown" : run.commit().substring(0, 12), store.environment(run.environmentId()));
+        out.printf("%d tests, %d without enough history, %d slowdowns%n", verdicts.size(),
+                verdicts.stream().filter(v -> v.baseline() == null).count(), slowdowns);
+        out.printf("%-9s %10s %10s %9s %8s %4s  %s%n", "", "ms", "median", "MAD", "score", "n", "test");
+        for (Verdict verdict : verdicts) {
+            DurationBaseline baseline = verdict.baseline();
+            if (baseline == null) {
+                out.printf("%-9s %10.2f %10s %9s %8s %4s  %s%n", "", verdict.millis(), "-", "-", "-", "-",
+                        verdict.test());
+            } else {
+                out.printf("%-9s %10.2f %10.2f %9.2f %8.1f %4d  %s%n", verdict.slowdown() ? "SLOWDOWN" : "",
+                        verdict.millis(), baseline.median(), baseline.mad(), verdict.score(), baseline.samples(),
+                        verdict.test());
+            }
+        }
+    }
+
+    /**
+     * Recent durations of every recorded test whose key contains {@code filter}, newest first, with run and commit
+     */
+    public void printHistory(String filter, PrintStream out) throws IOException {
+        for (String test : store.tests()) {
+            if (!test.contains(filter)) {
+                continue;
+            }
+            out.println(test);
+            for (DurationStore.Sample sample : store.history(store.latest(test), -1, -1, thresholds.window(),
+                    thresholds.window())) {
+                DurationStore.Run run = store.run(sample.runId());
+                out.printf("  run %-6d %s  %-12s %10.2f ms  %s%n", run.id(), Instant.ofEpochMilli(sample.startMillis()),
+                        run.commit() == null ? "unknown" : run.commit().substring(0, 12),
+                        sample.durationMicros() / 1000.0, store.environment(sample.environmentId()));
+            }
+        }
+    }
+
+    private static double sortScore(Verdict verdict) {
+        return verdict.baseline() == null ? Double.NEGATIVE_INFINITY : verdict.score();
+    }
+
+    private static double[] millis(List<DurationStore.Sample> samples) {
+        double[] millis = new double[samples.size()];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = samples.get(i).durationMicros() / 1000.0;
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,412 @@
+package com.testexpert.java.history;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only store of test method durations, one batch of records per test run
+ * Records are fixed size and each one points back to the previous record of the same test, so the last N samples
+ * of a test are N positioned reads however many years of history the file holds:
+ * <pre>
+ * durations.bin    : header magic(4) version(4) recordSize(4) reserved(4)
+ *                    record previous(8) startMillis(8) durationMicros(4) testId(4) runId(4) environmentId(4)
+ * runs.bin         : header as above
+ *                    record startMillis(8) firstRecord(8) records(4) environmentId(4) commit(20) reserved(4)
+ * heads.bin        : offset of the latest record of each test id, 0 when it has none
+ * tests.txt        : one test key per line; the line index is the test id
+ * environments.txt : one environment fingerprint per line; the line index is the environment id
+ * </pre>
+ * Writers hold a file lock, so parallel surefire forks sharing a directory append one run at a time. Records are
+ * forced before the run and the heads that reference them, so a crashed writer leaves at most unreferenced records.
+ */
+public final class DurationStore implements AutoCloseable {
+
+    static final int MAGIC = 0x54584448; // "TXDH"
+    static final int RUNS_MAGIC = 0x54584452; // "TXDR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+    static final int RUN_SIZE = 48;
+    static final String DURATIONS_FILE = "durations.bin";
+    static final String RUNS_FILE = "runs.bin";
+    static final String HEADS_FILE = "heads.bin";
+    static final String TESTS_FILE = "tests.txt";
+    static final String ENVIRONMENTS_FILE = "environments.txt";
+    private static final int COMMIT_BYTES = 20;
+
+    /**
+     * One passed invocation to append; data-driven invocations are separate keys, repeated invocations share one
+     */
+    public record Measurement(String test, long startMillis, long durationMicros) {
+    }
+
+    /**
+     * A stored run: its records are {@code records} consecutive entries starting at offset {@code firstRecord}
+     */
+    public record Run(int id, long startMillis, String commit, int environmentId, long firstRecord, int records) {
+    }
+
+    /**
+     * A stored record; {@code offset} identifies it, {@code previous} is the same test's prior record or 0
+     */
+    public record Sample(long offset, long previous, long startMillis, long durationMicros, int testId, int runId,
+                         int environmentId) {
+    }
+
+    private final FileChannel durations;
+    private final FileChannel runs;
+    private final List<String> tests;
+    private final Map<String, Integer> testIds = new HashMap<>();
+    private final List<String> environments;
+    private final long[] heads;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private DurationStore(FileChannel durations, FileChannel runs, List<String> tests, List<String> environments,
+                          long[] heads) {
+        this.durations = durations;
+        this.runs = runs;
+        this.tests = tests;
+        this.environments = environments;
+        this.heads = heads;
+        for (int id = 0; id < tests.size(); id++) {
+            testIds.put(tests.get(id), id);
+        }
+    }
+
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("tests.history.dir",
+                Path.of(System.getProperty("user.home"), ".cache", "testng-practice", "test-durations").toString()));
+    }
+
+    /**
+     * JVM and machine the durations were measured on; baselines only compare runs with the same fingerprint
+     * The JVM arguments are hashed: flags such as a GC choice, an agent or an added module change timings too.
+     */
+    public static String environment() {
+        return "host=" + hostName()
+                + ";os=" + System.getProperty("os.name") + " " + System.getProperty("os.arch")
+                + ";cpus=" + Runtime.getRuntime().availableProcessors()
+                + ";heapMb=" + Runtime.getRuntime().maxMemory() / (1024 * 1024)
+                + ";jdk=" + System.getProperty("java.runtime.version")
+                + ";args=" + argumentsHash(ManagementFactory.getRuntimeMXBean().getInputArguments());
+    }
+
+    /**
+     * First 8 bytes of the SHA-256 of the JVM input arguments, in hex
+     */
+    static String argumentsHash(List<String> arguments) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String argument : arguments) {
+                digest.update(argument.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Open an existing store for queries; an empty store when the directory has none yet
+     */
+    public static DurationStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel durations = FileChannel.open(directory.resolve(DURATIONS_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel runs = FileChannel.open(directory.resolve(RUNS_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = durations.lock();
+            try {
+                ensureHeader(durations, MAGIC, RECORD_SIZE);
+                ensureHeader(runs, RUNS_MAGIC, RUN_SIZE);
+                return new DurationStore(durations, runs, readLines(directory.resolve(TESTS_FILE)),
+                        readLines(directory.resolve(ENVIRONMENTS_FILE)), readHeads(directory.resolve(HEADS_FILE)));
+            } finally {
+                lock.release();
+            }
+        } catch (IOException | RuntimeException e) {
+            durations.close();
+            runs.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Append one run under the store's file lock and return it
+     *
+     * @param commit git commit the run was built from, or null when unknown
+     */
+    public static Run append(Path directory, long startMillis, String commit, String environment,
+                             List<Measurement> measurements) throws IOException {
+        Files.createDirectories(directory);
+        try (FileChannel durations = FileChannel.open(directory.resolve(DURATIONS_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel runs = FileChannel.open(directory.resolve(RUNS_FILE), StandardOpenOption.CREATE,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = durations.lock();
+            try {
+                return appendLocked(directory, durations, runs, startMillis, commit, environment, measurements);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private static Run appendLocked(Path directory, FileChannel durations, FileChannel runs, long startMillis,
+                                    String commit, String environment, List<Measurement> measurements)
+            throws IOException {
+        ensureHeader(durations, MAGIC, RECORD_SIZE);
+        ensureHeader(runs, RUNS_MAGIC, RUN_SIZE);
+        // Re-read under the lock: another fork may have added tests since this JVM last looked
+        List<String> tests = readLines(directory.resolve(TESTS_FILE));
+        List<String> environments = readLines(directory.resolve(ENVIRONMENTS_FILE));
+        Map<String, Integer> testIds = new HashMap<>();
+        for (int id = 0; id < tests.size(); id++) {
+            testIds.put(tests.get(id), id);
+        }
+        List<String> newTests = new ArrayList<>();
+        int[] ids = new int[measurements.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String test = sanitize(measurements.get(i).test());
+            Integer id = testIds.get(test);
+            if (id == null) {
+                id = tests.size() + newTests.size();
+                testIds.put(test, id);
+                newTests.add(test);
+            }
+            ids[i] = id;
+        }
+        int environmentId = environments.indexOf(sanitize(environment));
+        if (environmentId < 0) {
+            environmentId = environments.size();
+            appendLines(directory.resolve(ENVIRONMENTS_FILE), List.of(sanitize(environment)));
+        }
+        appendLines(directory.resolve(TESTS_FILE), newTests);
+
+        long[] heads = Arrays.copyOf(readHeads(directory.resolve(HEADS_FILE)), tests.size() + newTests.size());
+        int runId = (int) ((runs.size() - HEADER_SIZE) / RUN_SIZE);
+        // Drop a record torn by a crashed writer so offsets stay aligned
+        long first = HEADER_SIZE + (durations.size() - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+        ByteBuffer batch = ByteBuffer.allocate(measurements.size() * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < ids.length; i++) {
+            Measurement measurement = measurements.get(i);
+            long offset = first + (long) i * RECORD_SIZE;
+            batch.putLong(heads[ids[i]])
+                    .putLong(measurement.startMillis())
+                    .putInt((int) Math.min(measurement.durationMicros(), Integer.MAX_VALUE))
+                    .putInt(ids[i])
+                    .putInt(runId)
+                    .putInt(environmentId);
+            heads[ids[i]] = offset;
+        }
+        durations.truncate(first);
+        writeFully(durations, batch.flip(), first);
+        durations.force(false);
+
+        Run run = new Run(runId, startMillis, commit, environmentId, first, measurements.size());
+        ByteBuffer entry = ByteBuffer.allocate(RUN_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(startMillis).putLong(first).putInt(measurements.size()).putInt(environmentId)
+                .put(commitBytes(commit)).putInt(0);
+        writeFully(runs, entry.flip(), HEADER_SIZE + (long) runId * RUN_SIZE);
+        runs.force(false);
+
+        ByteBuffer headBytes = ByteBuffer.allocate(heads.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        headBytes.asLongBuffer().put(heads);
+        try (FileChannel out = FileChannel.open(directory.resolve(HEADS_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            writeFully(out, headBytes, 0);
+            out.force(false);
+        }
+        return run;
+    }
+
+    public int runCount() throws IOException {
+        return (int) ((runs.size() - HEADER_SIZE) / RUN_SIZE);
+    }
+
+    /**
+     * @throws IllegalArgumentException for a run id not in the store
+     */
+    public Run run(int id) throws IOException {
+        if (id < 0 || id >= runCount()) {
+            throw new IllegalArgumentException("No run " + id + " in the duration store (" + runCount() + " runs)");
+        }
+        ByteBuffer entry = ByteBuffer.allocate(RUN_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(runs, entry, HEADER_SIZE + (long) id * RUN_SIZE);
+        long startMillis = entry.getLong();
+        long firstRecord = entry.getLong();
+        int records = entry.getInt();
+        int environmentId = entry.getInt();
+        byte[] commit = new byte[COMMIT_BYTES];
+        entry.get(commit);
+        boolean known = false;
+        for (byte b : commit) {
+            known |= b != 0;
+        }
+        return new Run(id, startMillis, known ? HexFormat.of().formatHex(commit) : null, environmentId, firstRecord,
+                records);
+    }
+
+    /**
+     * Every record the run appended, read in one go since they are contiguous
+     */
+    public List<Sample> samples(Run run) throws IOException {
+        ByteBuffer batch = ByteBuffer.allocate(run.records() * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(durations, batch, run.firstRecord());
+        List<Sample> samples = new ArrayList<>(run.records());
+        for (int i = 0; i < run.records(); i++) {
+            samples.add(decode(run.firstRecord() + (long) i * RECORD_SIZE, batch));
+        }
+        return samples;
+    }
+
+    /**
+     * Walk a test's history backwards from {@code offset} (inclusive), keeping samples measured in the given
+     * environment (any when negative) and outside the given run
+     *
+     * @param limit      samples to return at most
+     * @param maxVisited records to read at most, so a test that mostly ran elsewhere cannot trigger a long walk
+     */
+    public List<Sample> history(long offset, int excludedRun, int environmentId, int limit, int maxVisited)
+            throws IOException {
+        List<Sample> samples = new ArrayList<>(limit);
+        long end = durations.size();
+        for (int visited = 0; offset >= HEADER_SIZE && offset + RECORD_SIZE <= end
+                && samples.size() < limit && visited < maxVisited; visited++) {
+            record.clear();
+            readFully(durations, record, offset);
+            Sample sample = decode(offset, record);
+            if (sample.runId() != excludedRun && (environmentId < 0 || sample.environmentId() == environmentId)) {
+                samples.add(sample);
+            }
+            if (sample.previous() >= offset) {
+                throw new IllegalStateException("Corrupt duration store: record at " + offset + " points forward");
+            }
+            offset = sample.previous();
+        }
+        return samples;
+    }
+
+    /**
+     * Offset of the latest record of a test, or 0 when it was never recorded
+     */
+    public long latest(String test) {
+        Integer id = testIds.get(test);
+        return id == null || id >= heads.length ? 0 : heads[id];
+    }
+
+    public String test(int id) {
+        return tests.get(id);
+    }
+
+    public List<String> tests() {
+        return List.copyOf(tests);
+    }
+
+    public String environment(int id) {
+        return id < environments.size() ? environments.get(id) : "?";
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (runs) {
+            durations.close();
+        }
+    }
+
+    private static String hostName() {
+        String host = System.getenv().getOrDefault("HOSTNAME", System.getenv("COMPUTERNAME"));
+        if (host != null) {
+            return host;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    private static Sample decode(long offset, ByteBuffer buffer) {
+        return new Sample(offset, buffer.getLong(), buffer.getLong(), Integer.toUnsignedLong(buffer.getInt()),
+                buffer.getInt(), buffer.getInt(), buffer.getInt());
+    }
+
+    private static void ensureHeader(FileChannel channel, int magic, int recordSize) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.size() < HEADER_SIZE) {
+            header.putInt(magic).putInt(VERSION).putInt(recordSize).putInt(0).flip();
+            channel.truncate(0);
+            writeFully(channel, header, 0);
+            return;
+        }
+        readFully(channel, header, 0);
+        if (header.getInt() != magic || header.getInt() != VERSION || header.getInt() != recordSize) {
+            throw new IllegalStateException("Not a version " + VERSION + " test duration store file");
+        }
+    }
+
+    private static byte[] commitBytes(String commit) {
+        if (commit == null || commit.length() != 2 * COMMIT_BYTES || !commit.chars().allMatch(HexFormat::isHexDigit)) {
+            return new byte[COMMIT_BYTES];
+        }
+        return HexFormat.of().parseHex(commit);
+    }
+
+    private static String sanitize(String line) {
+        return line.replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static List<String> readLines(Path file) throws IOException {
+        return Files.exists(file) ? new ArrayList<>(Files.readAllLines(file, StandardCharsets.UTF_8)) : new ArrayList<>();
+    }
+
+    private static void appendLines(Path file, List<String> lines) throws IOException {
+        if (!lines.isEmpty()) {
+            Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    private static long[] readHeads(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new long[0];
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        long[] heads = new long[bytes.remaining() / Long.BYTES];
+        bytes.asLongBuffer().get(heads);
+        return heads;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalStateException("Truncated test duration store at offset " + position);
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
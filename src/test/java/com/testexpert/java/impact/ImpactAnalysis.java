@@ -0,0 +1,188 @@
+package com.testexpert.java.impact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Turns a git diff and an {@link ImpactMap} into the set of affected test methods
+ * Falls back to the full suite whenever the map cannot be trusted: no map, unknown recorded commit,
+ * build files (pom.xml and the TestNG suite files) that differ from the recorded hash, a changed suite file, or
+ * changed resources under src/.
+ */
+public final class ImpactAnalysis {
+
+    static final List<String> BUILD_FILES = List.of("pom.xml", "testng.xml", "testng-browsers.xml");
+
+    private static final List<String> SOURCE_ROOTS = List.of("src/main/java/", "src/test/java/");
+
+    /**
+     * Either the full suite (with the reason) or the test keys affected by the change
+     */
+    public record Selection(boolean full, String reason, Set<String> affectedTests, Set<String> knownTests) {
+
+        static Selection all(String reason) {
+            return new Selection(true, reason, Set.of(), Set.of());
+        }
+
+        /**
+         * Tests missing from the map are new since it was recorded, so they always run
+         */
+        public boolean includes(String testClass, String method) {
+            if (full) {
+                return true;
+            }
+            String key = ImpactMap.key(testClass, method);
+            return !knownTests.contains(key) || affectedTests.contains(key)
+                    || affectedTests.contains(ImpactMap.key(testClass, ImpactMap.CLASS_LEVEL));
+        }
+    }
+
+    private ImpactAnalysis() {
+    }
+
+    public static Selection select(ImpactMap map, String currentBuildHash, List<String> changedFiles) {
+        if (map == null) {
+            return Selection.all("no impact map recorded yet");
+        }
+        if (map.buildHash() == null || !map.buildHash().equals(currentBuildHash)) {
+            return Selection.all("build files changed since the impact map was recorded");
+        }
+        Set<String> changedClasses = new TreeSet<>();
+        for (String file : changedFiles) {
+            String className = classNameOf(file);
+            if (className != null) {
+                changedClasses.add(className);
+            } else if (file.startsWith("src/main/") || file.startsWith("src/test/resources/")) {
+                return Selection.all("resource " + file + " changed and is not tracked per test");
+            } else if (isBuildFile(file)) {
+                return Selection.all("build file " + file + " changed");
+            }
+        }
+        Set<String> affected = new TreeSet<>();
+        for (String test : map.tests()) {
+            // A test whose own class changed is affected even if it exited before that class's probes fired
+            if (changedClasses.contains(outerClass(test.substring(0, test.indexOf('#'))))) {
+                affected.add(test);
+                continue;
+            }
+            for (String touched : map.touched(test)) {
+                if (changedClasses.contains(outerClass(touched))) {
+                    affected.add(test);
+                    break;
+                }
+            }
+        }
+        return new Selection(false, changedClasses.size() + " changed classes", affected, Set.copyOf(map.tests()));
+    }
+
+    /**
+     * Full selection against the map at its default location and the files changed since its commit
+     * {@code -Dtests.impact.base=<rev>} diffs against another revision instead, e.g. origin/main in CI.
+     */
+    public static Selection selectFromWorkingTree(Path projectRoot) {
+        Path mapFile = ImpactMap.defaultLocation();
+        ImpactMap map;
+        try {
+            map = Files.exists(mapFile) ? ImpactMap.load(mapFile) : null;
+        } catch (IOException e) {
+            return Selection.all("could not read " + mapFile + ": " + e.getMessage());
+        }
+        if (map == null) {
+            return Selection.all("no impact map at " + mapFile);
+        }
+        String base = System.getProperty("tests.impact.base", map.commit());
+        if (base == null) {
+            return Selection.all("impact map has no recorded commit");
+        }
+        try {
+            return select(map, buildHash(projectRoot), changedFiles(projectRoot, base));
+        } catch (IOException e) {
+            return Selection.all("git diff against " + base + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tracked files changed since {@code base} (committed, staged or not) plus untracked files
+     */
+    public static List<String> changedFiles(Path projectRoot, String base) throws IOException {
+        Set<String> files = new LinkedHashSet<>();
+        files.addAll(git(projectRoot, "diff", "--name-only", base, "--"));
+        files.addAll(git(projectRoot, "ls-files", "--others", "--exclude-standard"));
+        return new ArrayList<>(files);
+    }
+
+    public static String headCommit(Path projectRoot) throws IOException {
+        return git(projectRoot, "rev-parse", "HEAD").get(0);
+    }
+
+    public static String buildHash(Path projectRoot) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String file : BUILD_FILES) {
+                Path path = projectRoot.resolve(file);
+                if (Files.exists(path)) {
+                    digest.update(file.getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(path));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * pom.xml or a suite file in the project root, including suite files added after the map was recorded
+     */
+    static boolean isBuildFile(String file) {
+        return BUILD_FILES.contains(file) || (file.indexOf('/') < 0 && file.endsWith(".xml"));
+    }
+
+    /**
+     * src/main/java/a/b/C.java -> a.b.C, or null for anything that is not Java source
+     */
+    static String classNameOf(String file) {
+        for (String root : SOURCE_ROOTS) {
+            if (file.startsWith(root) && file.endsWith(".java")) {
+                return file.substring(root.length(), file.length() - ".java".length()).replace('/', '.');
+            }
+        }
+        return null;
+    }
+
+    private static String outerClass(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    private static List<String> git(Path projectRoot, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).directory(projectRoot.toFile()).redirectErrorStream(true).start();
+        String output;
+        try (InputStream in = process.getInputStream()) {
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException(String.join(" ", command) + ": " + output.strip());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+        return output.lines().filter(line -> !line.isBlank()).toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.testexpert.java.impact;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Which project classes each test method touched, plus the commit and build-file hash it was recorded at
+ * Test keys are {@code <test class>#<method>}; {@code <test class>#*} holds classes touched by its configuration methods.
+ * Stored as a properties file (default target/test-impact/impact-map.properties).
+ */
+public class ImpactMap {
+
+    public static final String CLASS_LEVEL = "*";
+
+    private static final String TEST_PREFIX = "test.";
+    private static final String COMMIT = "meta.commit";
+    private static final String BUILD_HASH = "meta.buildHash";
+
+    private final Map<String, Set<String>> touched = new TreeMap<>();
+    private String commit;
+    private String buildHash;
+
+    public ImpactMap(String commit, String buildHash) {
+        this.commit = commit;
+        this.buildHash = buildHash;
+    }
+
+    public static String key(String testClass, String method) {
+        return testClass + "#" + method;
+    }
+
+    public static Path defaultLocation() {
+        return Path.of(System.getProperty("tests.impact.map", "target/test-impact/impact-map.properties"));
+    }
+
+    public String commit() {
+        return commit;
+    }
+
+    public String buildHash() {
+        return buildHash;
+    }
+
+    public boolean contains(String testKey) {
+        return touched.containsKey(testKey);
+    }
+
+    public Set<String> tests() {
+        return Collections.unmodifiableSet(touched.keySet());
+    }
+
+    public Set<String> touched(String testKey) {
+        return touched.getOrDefault(testKey, Set.of());
+    }
+
+    public void record(String testKey, Set<String> classes) {
+        touched.computeIfAbsent(testKey, k -> new TreeSet<>()).addAll(classes);
+    }
+
+    /**
+     * Replace this map's entries for every test that {@code newer} recorded and adopt its commit and build hash
+     * Tests that did not run keep their old entries; they are still valid because none of their classes changed.
+     */
+    public void merge(ImpactMap newer) {
+        newer.touched.forEach((test, classes) -> touched.put(test, new TreeSet<>(classes)));
+        commit = newer.commit;
+        buildHash = newer.buildHash;
+    }
+
+    public static ImpactMap load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file)) {
+            properties.load(in);
+        }
+        ImpactMap map = new ImpactMap(properties.getProperty(COMMIT), properties.getProperty(BUILD_HASH));
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(TEST_PREFIX)) {
+                String value = properties.getProperty(name);
+                Set<String> classes = value.isEmpty() ? Set.of()
+                        : Arrays.stream(value.split(",")).collect(Collectors.toSet());
+                map.record(name.substring(TEST_PREFIX.length()), classes);
+            }
+        }
+        return map;
+    }
+
+    public void store(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (commit != null) {
+            properties.setProperty(COMMIT, commit);
+        }
+        if (buildHash != null) {
+            properties.setProperty(BUILD_HASH, buildHash);
+        }
+        touched.forEach((test, classes) -> properties.setProperty(TEST_PREFIX + test, String.join(",", classes)));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer out = Files.newBufferedWriter(file)) {
+            properties.store(out, "Test impact map: project classes touched per test method");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.testexpert.java.impact;
+
+import org.jacoco.core.data.ExecutionDataReader;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records the classes each test method touches into the {@link ImpactMap}
+ * Active with -Dtests.impact.record=true in a JVM running the JaCoCo agent with jmx=true (the impact profile).
+ * Probes are reset before and dumped after every invocation, so recording assumes tests run one at a time.
+ * Classes hit by configuration methods are recorded at class level ({@code <test class>#*}).
+ */
+public class TestImpactRecorder implements IInvokedMethodListener, ISuiteListener {
+
+    private static final String JACOCO_MBEAN = "org.jacoco:type=Runtime";
+
+    private final boolean enabled = Boolean.getBoolean("tests.impact.record");
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private ObjectName agent;
+    private ImpactMap recorded;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName(JACOCO_MBEAN);
+            if (!server.isRegistered(name)) {
+                System.out.println("Test impact recording skipped: JaCoCo agent with jmx=true is not attached");
+                return;
+            }
+            agent = name;
+            Path root = projectRoot();
+            recorded = new ImpactMap(ImpactAnalysis.headCommit(root), ImpactAnalysis.buildHash(root));
+        } catch (JMException | IOException e) {
+            System.out.println("Test impact recording skipped: " + e.getMessage());
+            agent = null;
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (agent != null) {
+            // Drop whatever listeners and framework code hit between invocations
+            dump();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (agent == null) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        String testClass = testMethod.getTestClass().getName();
+        String key = ImpactMap.key(testClass, method.isTestMethod() ? testMethod.getMethodName() : ImpactMap.CLASS_LEVEL);
+        recorded.record(key, dump());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (agent == null) {
+            return;
+        }
+        Path file = ImpactMap.defaultLocation();
+        try {
+            ImpactMap map = Files.exists(file) ? ImpactMap.load(file) : new ImpactMap(null, null);
+            map.merge(recorded);
+            map.store(file);
+            System.out.println("Test impact map: " + recorded.tests().size() + " entries recorded, "
+                    + map.tests().size() + " total in " + file);
+        } catch (IOException e) {
+            System.out.println("Could not write test impact map " + file + ": " + e.getMessage());
+        }
+    }
+
+    static Path projectRoot() {
+        return Path.of("").toAbsolutePath();
+    }
+
+    /**
+     * Classes with at least one executed probe since the last dump; resets the probes
+     */
+    private Set<String> dump() {
+        Set<String> classes = new HashSet<>();
+        try {
+            byte[] data = (byte[]) server.invoke(agent, "getExecutionData", new Object[]{true}, new String[]{"boolean"});
+            ExecutionDataReader reader = new ExecutionDataReader(new ByteArrayInputStream(data));
+            reader.setSessionInfoVisitor(info -> {
+            });
+            reader.setExecutionDataVisitor(execution -> {
+                if (execution.hasHits()) {
+                    classes.add(execution.getName().replace('/', '.'));
+                }
+            });
+            reader.read();
+        } catch (JMException | IOException e) {
+            throw new IllegalStateException("Could not read JaCoCo execution data", e);
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,98 @@
+package com.testexpert.java.impact;
+
+import org.testng.IMethodSelector;
+import org.testng.IMethodSelectorContext;
+import org.testng.ITestClass;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestNG method selector that runs only the tests affected by the current change
+ * Registered in testng.xml and inert unless -Dtests.impacted=true. Methods that an affected test
+ * depends on (dependsOnMethods within its class) are kept so TestNG can still resolve the dependency graph.
+ */
+public class TestImpactSelector implements IMethodSelector {
+
+    private static volatile ImpactAnalysis.Selection selection;
+
+    private static final Map<String, Set<String>> KEPT_BY_CLASS = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean includeMethod(IMethodSelectorContext context, ITestNGMethod method, boolean isTestMethod) {
+        if (!isTestMethod || !Boolean.getBoolean("tests.impacted") || selection().full()) {
+            return true;
+        }
+        ITestClass testClass = method.getTestClass();
+        Set<String> kept = KEPT_BY_CLASS.computeIfAbsent(testClass.getName(), name -> keptMethods(testClass));
+        if (kept.contains(method.getMethodName())) {
+            return true;
+        }
+        // Excluded: stop the chain so the default XML selector cannot re-include the method
+        context.setStopped(true);
+        return false;
+    }
+
+    /**
+     * TestNG 7 passes an empty list here, so the selection is worked out per test class in includeMethod
+     */
+    @Override
+    public void setTestMethods(List<ITestNGMethod> testMethods) {
+    }
+
+    /**
+     * Affected methods of the class plus everything they transitively depend on
+     */
+    private static Set<String> keptMethods(ITestClass testClass) {
+        Map<String, ITestNGMethod> byName = new HashMap<>();
+        Deque<ITestNGMethod> pending = new ArrayDeque<>();
+        for (ITestNGMethod method : testClass.getTestMethods()) {
+            byName.put(method.getMethodName(), method);
+            if (selection().includes(testClass.getName(), method.getMethodName())) {
+                pending.add(method);
+            }
+        }
+        Set<String> kept = new HashSet<>();
+        while (!pending.isEmpty()) {
+            ITestNGMethod method = pending.pop();
+            if (!kept.add(method.getMethodName())) {
+                continue;
+            }
+            for (String dependency : method.getMethodsDependedUpon()) {
+                ITestNGMethod upstream = byName.get(dependency.substring(dependency.lastIndexOf('.') + 1));
+                if (upstream != null) {
+                    pending.push(upstream);
+                }
+            }
+        }
+        System.out.println("Test impact: " + testClass.getName() + " runs " + kept.size() + " of "
+                + testClass.getTestMethods().length + " test methods");
+        return kept;
+    }
+
+    /**
+     * Selection computed once per JVM and shared by every {@code <test>} in the suite
+     */
+    private static ImpactAnalysis.Selection selection() {
+        if (selection == null) {
+            synchronized (TestImpactSelector.class) {
+                if (selection == null) {
+                    ImpactAnalysis.Selection computed = ImpactAnalysis.selectFromWorkingTree(TestImpactRecorder.projectRoot());
+                    System.out.println(computed.full()
+                            ? "Test impact: running the full suite (" + computed.reason() + ")"
+                            : "Test impact: " + computed.affectedTests().size() + " recorded tests affected by "
+                                    + computed.reason());
+                    selection = computed;
+                }
+            }
+        }
+        return selection;
+    }
+}
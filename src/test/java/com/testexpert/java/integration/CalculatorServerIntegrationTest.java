@@ -0,0 +1,109 @@
+package com.testexpert.java.integration;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.app.CalculatorServer;
+import com.testexpert.java.cache.NonCacheable;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Integration tests for the embedded Calculator HTTP service
+ */
+@NonCacheable
+public class CalculatorServerIntegrationTest {
+
+    private CalculatorServer server;
+    private HttpClient client;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        server = new CalculatorServer(0).start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Test(description = "Integration: Single calculator operations over HTTP")
+    public void testCalculatorOperations() throws Exception {
+        assertEquals(get("calc/add?a=2&b=3").body(), "5");
+        assertEquals(get("calc/subtract?a=2&b=3").body(), "-1");
+        assertEquals(get("calc/multiply?a=-4&b=3").body(), "-12");
+        assertEquals(get("calc/divide?a=7&b=2").body(), "3.5");
+    }
+
+    @Test(description = "Integration: Single string operations over HTTP")
+    public void testStringOperations() throws Exception {
+        assertEquals(get("string/capitalize?s=testng").body(), "Testng");
+        assertEquals(get("string/reverse?s=hello%20world").body(), "dlrow olleh");
+        assertEquals(get("string/isEmpty?s=%20%20").body(), "true");
+    }
+
+    @Test(description = "Integration: Invalid single requests are rejected")
+    public void testInvalidRequests() throws Exception {
+        HttpResponse<String> divideByZero = get("calc/divide?a=1&b=0");
+        assertEquals(divideByZero.statusCode(), 400);
+        assertEquals(divideByZero.body(), "Division by zero not allowed");
+        assertEquals(get("calc/add?a=1").statusCode(), 400);
+        assertEquals(get("calc/add?a=1&b=x").statusCode(), 400);
+        assertEquals(get("calc/power?a=1&b=2").statusCode(), 404);
+    }
+
+    @Test(description = "Integration: Batch returns one result per operation in order")
+    public void testBatch() throws Exception {
+        HttpResponse<String> response = post("add 2 3\r\nreverse abc def\ncapitalize élan\n\ndivide 1 0\n"
+                + "isEmpty \nmultiply 6\npower 2 3\nsubtract 10 4");
+
+        assertEquals(response.statusCode(), 200);
+        assertEquals(response.body(), "5\nfed cba\nÉlan\nerror: Division by zero not allowed\ntrue\n"
+                + "error: multiply needs two integer operands\nerror: unknown operation power\n6\n");
+    }
+
+    @Test(description = "Integration: Batch of thousands of operations")
+    public void testLargeBatch() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            body.append("add ").append(i).append(' ').append(i).append('\n');
+        }
+        String[] results = post(body.toString()).body().split("\n");
+
+        assertEquals(results.length, 5_000);
+        assertEquals(results[4_999], "9998");
+    }
+
+    @Test(description = "Integration: Batch with a malformed Content-Length is a bad request")
+    public void testMalformedContentLength() throws Exception {
+        // HttpClient does not let callers set Content-Length, so the request is written by hand
+        try (Socket socket = new Socket("127.0.0.1", server.baseUri().getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /batch HTTP/1.1\r\nHost: 127.0.0.1\r\nContent-Length: 12abc\r\n"
+                    + "Connection: close\r\n\r\nadd 2 3\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            String response = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(response.startsWith("HTTP/1.1 400"), response);
+        }
+    }
+
+    @AfterClass
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(server.baseUri().resolve(path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String body) throws Exception {
+        URI batch = server.baseUri().resolve("batch");
+        return client.send(HttpRequest.newBuilder(batch).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
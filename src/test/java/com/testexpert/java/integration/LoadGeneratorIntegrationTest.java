@@ -0,0 +1,55 @@
+package com.testexpert.java.integration;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.cache.NonCacheable;
+import com.testexpert.java.load.LoadGenerator;
+import com.testexpert.java.load.LoadReport;
+import com.testexpert.java.load.SauceDemoScenarios;
+import com.testexpert.java.load.SauceDemoStub;
+import com.testexpert.java.load.Session;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Integration tests running the load generator against the local SauceDemo stub
+ */
+@NonCacheable
+public class LoadGeneratorIntegrationTest {
+
+    private SauceDemoStub stub;
+    private HttpClient client;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        stub = new SauceDemoStub(0, Duration.ZERO).start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Test(description = "Integration: Open workload checkout scenario passes all assertions")
+    public void testCheckoutScenario() {
+        LoadReport report = new LoadGenerator(client, 10, Duration.ofSeconds(1), 100)
+                .run(SauceDemoScenarios.checkout(), () -> new Session(stub.baseUri(), "standard_user", "secret_sauce"));
+
+        assertEquals(report.arrivals(), 10, "10 arrivals/s for 1 s should start 10 sessions");
+        assertFalse(report.hasFailures(), "No sample should fail");
+        report.steps().forEach(step -> assertEquals(step.samples(), 10, step.name() + " should run once per session"));
+    }
+
+    @Test(description = "Integration: Response assertion fails for locked out user")
+    public void testLockedOutUserFailsLogin() {
+        LoadReport report = new LoadGenerator(client, 5, Duration.ofSeconds(1), 100)
+                .run(SauceDemoScenarios.checkout(), () -> new Session(stub.baseUri(), "locked_out_user", "secret_sauce"));
+
+        assertTrue(report.hasFailures(), "Locked out user should fail the run");
+        assertEquals(report.step("Login").failures(), 5, "Every login should fail the 'Products' assertion");
+        assertEquals(report.step("Open Home Page").failures(), 0, "Home page should still pass");
+    }
+
+    @AfterClass
+    public void tearDown() {
+        client.close();
+        stub.close();
+    }
+}
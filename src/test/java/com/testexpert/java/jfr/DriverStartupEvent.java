@@ -0,0 +1,23 @@
+package com.testexpert.java.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for WebDriver startup
+ * One event per stage: "resolve" (WebDriverManager) and "launch" (browser session)
+ */
+@Name("com.testexpert.DriverStartup")
+@Label("Driver Startup")
+@Category({ "TestNG Practice", "E2E" })
+@Description("WebDriverManager resolution or browser session launch")
+public class DriverStartupEvent extends jdk.jfr.Event {
+
+    @Label("Browser")
+    public String browser;
+
+    @Label("Stage")
+    public String stage;
+}
@@ -0,0 +1,27 @@
+package com.testexpert.java.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a findElement/findElements call
+ * Duration includes any implicit wait retries done by the driver
+ */
+@Name("com.testexpert.ElementLookup")
+@Label("Element Lookup")
+@Category({ "TestNG Practice", "E2E" })
+@Description("WebDriver element lookup including implicit wait polling")
+public class ElementLookupEvent extends jdk.jfr.Event {
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Locator")
+    public String locator;
+
+    @Label("Outcome")
+    @Description("found, not-found or the number of matches for findElements")
+    public String outcome;
+}
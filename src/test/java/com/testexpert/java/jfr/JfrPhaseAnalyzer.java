@@ -0,0 +1,156 @@
+package com.testexpert.java.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns a .jfr recording of the suite into a per-phase time breakdown
+ * Usage: JfrPhaseAnalyzer target/surefire-tests.jfr
+ * {@link JfrTestListener} prints the breakdown of the running recording when the suite finishes, failed or not.
+ */
+public class JfrPhaseAnalyzer {
+
+    private static final String PREFIX = "com.testexpert.";
+
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrPhaseAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        JfrPhaseAnalyzer analyzer = new JfrPhaseAnalyzer();
+        analyzer.read(Path.of(args[0]));
+        analyzer.print(System.out);
+    }
+
+    /**
+     * Print the breakdown of every recording running in this JVM that writes to a file, such as the one started by
+     * -XX:StartFlightRecording; does nothing, and does not start Flight Recorder, when no recording was ever started
+     *
+     * @return number of recordings analyzed
+     */
+    public static int printRunning(PrintStream out) throws IOException {
+        if (!FlightRecorder.isInitialized()) {
+            return 0;
+        }
+        int analyzed = 0;
+        for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (recording.getState() != RecordingState.RUNNING || recording.getDestination() == null) {
+                continue;
+            }
+            Path snapshot = Files.createTempFile("jfr-phases", ".jfr");
+            try {
+                recording.dump(snapshot);
+                JfrPhaseAnalyzer analyzer = new JfrPhaseAnalyzer();
+                analyzer.read(snapshot);
+                out.println("JFR phase breakdown of " + recording.getDestination() + ":");
+                analyzer.print(out);
+                analyzed++;
+            } finally {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        return analyzed;
+    }
+
+    /**
+     * Stream the recording and accumulate our custom events only
+     */
+    public void read(Path recording) throws IOException {
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String type = event.getEventType().getName();
+                if (type.startsWith(PREFIX)) {
+                    add(phaseKey(type.substring(PREFIX.length()), event), event.getDuration());
+                }
+            }
+        }
+    }
+
+    void add(String key, Duration duration) {
+        phases.computeIfAbsent(key, Phase::new).add(duration);
+    }
+
+    private static String phaseKey(String type, RecordedEvent event) {
+        return switch (type) {
+            case "DriverStartup" -> type + " [" + event.getString("stage") + "]";
+            case "PageNavigation" -> type + " [" + event.getString("trigger") + "]";
+            case "ElementLookup" -> type + " [" + event.getString("strategy") + ", "
+                    + lookupOutcome(event.getString("outcome")) + "]";
+            case "TestMethod" -> type + " [" + event.getString("status") + "]";
+            default -> type;
+        };
+    }
+
+    private static String lookupOutcome(String outcome) {
+        return outcome != null && !outcome.isEmpty() && Character.isDigit(outcome.charAt(0)) ? "list" : outcome;
+    }
+
+    public List<Phase> phases() {
+        List<Phase> sorted = new ArrayList<>(phases.values());
+        sorted.sort(Comparator.comparing((Phase p) -> p.total).reversed());
+        return sorted;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-48s %8s %12s %12s %12s%n", "Phase", "Count", "Total ms", "Avg ms", "Max ms");
+        for (Phase phase : phases()) {
+            out.printf("%-48s %8d %12.1f %12.1f %12.1f%n", phase.name, phase.count,
+                    millis(phase.total), millis(phase.total) / phase.count, millis(phase.max));
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Aggregated time for one phase
+     */
+    public static final class Phase {
+        private final String name;
+        private long count;
+        private Duration total = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        void add(Duration duration) {
+            count++;
+            total = total.plus(duration);
+            if (duration.compareTo(max) > 0) {
+                max = duration;
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public Duration total() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.testexpert.java.jfr;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+
+/**
+ * TestNG listener that wraps each test method in a {@link TestMethodEvent}
+ * Registered in testng.xml; costs nothing when no recording is running. When the suite finishes, the running
+ * recording (-Pjfr) is broken down by {@link JfrPhaseAnalyzer}, also when tests failed.
+ */
+public class JfrTestListener implements ITestListener, ISuiteListener {
+
+    private static final String EVENT_ATTRIBUTE = "jfr.testMethodEvent";
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        TestMethodEvent event = new TestMethodEvent();
+        event.begin();
+        result.setAttribute(EVENT_ATTRIBUTE, event);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        commit(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        commit(result, "FAIL");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        commit(result, "SKIP");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        commit(result, "FAIL");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            JfrPhaseAnalyzer.printRunning(System.out);
+        } catch (IOException e) {
+            System.out.println("Could not analyze the JFR recording: " + e.getMessage());
+        }
+    }
+
+    private void commit(ITestResult result, String status) {
+        Object attribute = result.getAttribute(EVENT_ATTRIBUTE);
+        if (!(attribute instanceof TestMethodEvent event)) {
+            return;
+        }
+        result.removeAttribute(EVENT_ATTRIBUTE);
+        event.end();
+        if (event.shouldCommit()) {
+            event.testClass = result.getTestClass().getName();
+            event.method = result.getMethod().getMethodName();
+            event.groups = String.join(",", result.getMethod().getGroups());
+            event.status = status;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.testexpert.java.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a page load triggered by a navigation or a navigating click
+ */
+@Name("com.testexpert.PageNavigation")
+@Label("Page Navigation")
+@Category({ "TestNG Practice", "E2E" })
+@Description("Time spent waiting for a page to load")
+public class PageNavigationEvent extends jdk.jfr.Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Trigger")
+    public String trigger;
+}
@@ -0,0 +1,28 @@
+package com.testexpert.java.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning a single TestNG test method invocation
+ */
+@Name("com.testexpert.TestMethod")
+@Label("Test Method")
+@Category({ "TestNG Practice", "TestNG" })
+@Description("Execution of one TestNG test method")
+public class TestMethodEvent extends jdk.jfr.Event {
+
+    @Label("Test Class")
+    public String testClass;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Groups")
+    public String groups;
+
+    @Label("Status")
+    public String status;
+}
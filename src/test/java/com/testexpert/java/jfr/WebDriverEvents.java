@@ -0,0 +1,101 @@
+package com.testexpert.java.jfr;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * WebDriver call wrappers that emit {@link ElementLookupEvent} and {@link PageNavigationEvent}
+ * Used by the page objects so lookup and page load time shows up in the JFR recording
+ */
+public final class WebDriverEvents {
+
+    private WebDriverEvents() {
+    }
+
+    /**
+     * Click an element that triggers a page load, e.g. a login or cart button
+     */
+    public static void clickAndNavigate(WebDriver driver, WebElement element, String trigger) {
+        PageNavigationEvent event = new PageNavigationEvent();
+        event.trigger = trigger;
+        event.begin();
+        try {
+            element.click();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.url = driver.getCurrentUrl();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Find a single element, recording outcome "found" or "not-found"
+     */
+    public static WebElement find(SearchContext context, By locator) {
+        ElementLookupEvent event = new ElementLookupEvent();
+        event.begin();
+        String outcome = "not-found";
+        try {
+            WebElement element = context.findElement(locator);
+            outcome = "found";
+            return element;
+        } catch (NoSuchElementException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            commit(event, locator, outcome);
+        }
+    }
+
+    /**
+     * Find all matching elements, recording the match count as outcome
+     */
+    public static List<WebElement> findAll(SearchContext context, By locator) {
+        ElementLookupEvent event = new ElementLookupEvent();
+        event.begin();
+        String outcome = "error";
+        try {
+            List<WebElement> elements = context.findElements(locator);
+            outcome = String.valueOf(elements.size());
+            return elements;
+        } finally {
+            commit(event, locator, outcome);
+        }
+    }
+
+    /**
+     * Split By.toString() ("By.id: user-name") into strategy and locator value
+     */
+    static String[] describe(By locator) {
+        String text = locator.toString();
+        int separator = text.indexOf(": ");
+        if (separator < 0) {
+            return new String[] { "unknown", text };
+        }
+        String strategy = text.substring(0, separator);
+        if (strategy.startsWith("By.")) {
+            strategy = strategy.substring(3);
+        }
+        return new String[] { strategy, text.substring(separator + 2) };
+    }
+
+    private static void commit(ElementLookupEvent event, By locator, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            String[] parts = describe(locator);
+            event.strategy = parts[0];
+            event.locator = parts[1];
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
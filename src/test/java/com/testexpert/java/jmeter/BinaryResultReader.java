@@ -0,0 +1,151 @@
+package com.testexpert.java.jmeter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static com.testexpert.java.jmeter.BinaryResultWriter.FLAG_SUCCESS;
+import static com.testexpert.java.jmeter.BinaryResultWriter.HEADER_SIZE;
+import static com.testexpert.java.jmeter.BinaryResultWriter.MAGIC;
+import static com.testexpert.java.jmeter.BinaryResultWriter.RECORD_SIZE;
+
+/**
+ * Reads files written by {@link BinaryResultWriter} through memory-mapped windows
+ * Aggregation splits the record range across threads and merges the per-thread histograms,
+ * so heap use is a handful of histograms per label regardless of sample count
+ */
+public final class BinaryResultReader {
+
+    /** Records per mapped window, 64 MB */
+    private static final long WINDOW_RECORDS = 4L * 1024 * 1024;
+
+    private BinaryResultReader() {
+    }
+
+    /**
+     * Visit every sample in file order
+     */
+    public static long read(Path file, Consumer<JtlSample> consumer) throws IOException {
+        List<String> labels = labels(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long records = recordCount(channel);
+            long read = 0;
+            for (long first = 0; first < records; first += WINDOW_RECORDS) {
+                MappedByteBuffer window = window(channel, first, Math.min(WINDOW_RECORDS, records - first));
+                while (window.hasRemaining()) {
+                    long timeStamp = window.getLong();
+                    if (timeStamp == 0) {
+                        return read;
+                    }
+                    int elapsed = window.getInt();
+                    short labelId = window.getShort();
+                    byte flags = window.get();
+                    window.get();
+                    consumer.accept(new JtlSample(labels.get(labelId), elapsed, timeStamp, (flags & FLAG_SUCCESS) != 0));
+                    read++;
+                }
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Aggregate per-label statistics using up to {@code parallelism} threads
+     */
+    public static Map<String, SamplerStats> aggregate(Path file, int parallelism) throws IOException {
+        List<String> labels = labels(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism))) {
+            long records = recordCount(channel);
+            long perTask = Math.min(WINDOW_RECORDS, Math.max(1, (records + parallelism - 1) / parallelism));
+            List<Future<SamplerStats[]>> tasks = new ArrayList<>();
+            for (long first = 0; first < records; first += perTask) {
+                long start = first;
+                long count = Math.min(perTask, records - first);
+                tasks.add(executor.submit(() -> aggregateRange(channel, start, count, labels)));
+            }
+            Map<String, SamplerStats> merged = new HashMap<>();
+            for (Future<SamplerStats[]> task : tasks) {
+                for (SamplerStats stats : task.get()) {
+                    if (stats != null) {
+                        merged.merge(stats.label(), stats, SamplerStats::merge);
+                    }
+                }
+            }
+            return merged;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while aggregating " + file, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to aggregate " + file, e.getCause());
+        }
+    }
+
+    private static SamplerStats[] aggregateRange(FileChannel channel, long first, long count, List<String> labels)
+            throws IOException {
+        SamplerStats[] stats = new SamplerStats[labels.size()];
+        MappedByteBuffer window = window(channel, first, count);
+        while (window.hasRemaining()) {
+            long timeStamp = window.getLong();
+            if (timeStamp == 0) {
+                break;
+            }
+            int elapsed = window.getInt();
+            short labelId = window.getShort();
+            byte flags = window.get();
+            window.get();
+            SamplerStats label = stats[labelId];
+            if (label == null) {
+                label = stats[labelId] = new SamplerStats(labels.get(labelId));
+            }
+            label.add(elapsed, timeStamp, (flags & FLAG_SUCCESS) != 0);
+        }
+        return stats;
+    }
+
+    private static long recordCount(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Not a binary result file");
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a binary result file");
+        }
+        return (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    private static MappedByteBuffer window(FileChannel channel, long firstRecord, long records) throws IOException {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                HEADER_SIZE + firstRecord * RECORD_SIZE, records * RECORD_SIZE);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        return window;
+    }
+
+    /**
+     * One label per '\n'-terminated line; unlike readAllLines, a '\r' inside a label does not start a new one
+     */
+    private static List<String> labels(Path file) throws IOException {
+        String content = Files.readString(BinaryResultWriter.labelsFile(file), StandardCharsets.UTF_8);
+        if (content.isEmpty()) {
+            return List.of();
+        }
+        List<String> labels = List.of(content.split("\n", -1));
+        // The writer ends every label with '\n', so the last element is the empty rest after it
+        return labels.subList(0, labels.size() - 1);
+    }
+}
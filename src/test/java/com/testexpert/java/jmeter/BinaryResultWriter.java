@@ -0,0 +1,131 @@
+package com.testexpert.java.jmeter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only binary result sink backed by a memory-mapped file
+ * Each sample is a fixed 16-byte record, labels go to a small ".labels" side file:
+ * <pre>
+ * header  : magic(4) version(4) recordSize(4) reserved(4)
+ * record  : timeStamp(8) elapsedMillis(4) labelId(2) flags(1) reserved(1)
+ * </pre>
+ * Fixed-size records let {@link BinaryResultReader} split the file across threads.
+ * A crashed writer leaves zero-filled records at the end, which readers treat as end of data.
+ */
+public class BinaryResultWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x54585253; // "TXRS"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+    static final byte FLAG_SUCCESS = 1;
+    private static final long WINDOW_SIZE = 16L * 1024 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Writer labelsWriter;
+    private final Map<String, Short> labelIds = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    public BinaryResultWriter(Path file) throws IOException {
+        this.file = file;
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.labelsWriter = Files.newBufferedWriter(labelsFile(file), StandardCharsets.UTF_8);
+        map(0);
+        window.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0);
+        position = HEADER_SIZE;
+    }
+
+    /**
+     * Side file holding one label per line; the line index is the label id
+     */
+    public static Path labelsFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".labels");
+    }
+
+    public void write(JtlSample sample) throws IOException {
+        write(sample.label(), sample.timeStamp(), sample.elapsed(), sample.success());
+    }
+
+    public void write(String label, long timeStamp, long elapsedMillis, boolean success) throws IOException {
+        lock.lock();
+        try {
+            short labelId = labelId(label);
+            if (position + RECORD_SIZE > windowStart + WINDOW_SIZE) {
+                map(position);
+            }
+            window.putLong(timeStamp)
+                    .putInt((int) Math.min(Integer.MAX_VALUE, Math.max(0, elapsedMillis)))
+                    .putShort(labelId)
+                    .put(success ? FLAG_SUCCESS : 0)
+                    .put((byte) 0);
+            position += RECORD_SIZE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Flush mapped pages and truncate the pre-allocated tail
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            window.force();
+            window = null;
+            labelsWriter.close();
+            channel.truncate(position);
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private short labelId(String label) throws IOException {
+        Short id = labelIds.get(label);
+        if (id != null) {
+            return id;
+        }
+        if (labelIds.size() == Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct labels");
+        }
+        short next = (short) labelIds.size();
+        labelIds.put(label, next);
+        labelsWriter.write(label.replace('\n', ' '));
+        labelsWriter.write('\n');
+        labelsWriter.flush();
+        return next;
+    }
+
+    private void map(long start) throws IOException {
+        if (window != null) {
+            window.force();
+        }
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_WRITE, start, WINDOW_SIZE);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
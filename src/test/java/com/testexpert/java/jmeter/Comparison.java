@@ -0,0 +1,11 @@
+package com.testexpert.java.jmeter;
+
+/**
+ * Result of comparing one metric of one sampler against the baseline
+ *
+ * @param baseline the baseline value, NaN when the sampler is new
+ * @param limit    the worst value still accepted
+ */
+public record Comparison(String label, String metric, double baseline, double current, double limit,
+        boolean regression) {
+}
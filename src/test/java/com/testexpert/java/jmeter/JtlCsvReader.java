@@ -0,0 +1,92 @@
+package com.testexpert.java.jmeter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for JMeter CSV results (resultsFileFormat=csv) with a header line
+ * Only the timeStamp, elapsed, label and success columns are used
+ */
+public final class JtlCsvReader {
+
+    private JtlCsvReader() {
+    }
+
+    public static long read(Path file, Consumer<JtlSample> consumer) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader, consumer);
+        }
+    }
+
+    public static long read(Reader source, Consumer<JtlSample> consumer) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        String header = reader.readLine();
+        if (header == null) {
+            return 0;
+        }
+        List<String> columns = split(header);
+        int timeStamp = column(columns, "timeStamp");
+        int elapsed = column(columns, "elapsed");
+        int label = column(columns, "label");
+        int success = column(columns, "success");
+
+        long count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            List<String> fields = split(line);
+            consumer.accept(new JtlSample(fields.get(label), Long.parseLong(fields.get(elapsed)),
+                    Long.parseLong(fields.get(timeStamp)), Boolean.parseBoolean(fields.get(success))));
+            count++;
+        }
+        return count;
+    }
+
+    private static int column(List<String> columns, String name) throws IOException {
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            throw new IOException("JMeter CSV results have no '" + name + "' column");
+        }
+        return index;
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields as written by JMeter
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,12 @@
+package com.testexpert.java.jmeter;
+
+/**
+ * One top-level sample from a JMeter results file
+ *
+ * @param label     sampler name (lb)
+ * @param elapsed   elapsed time in milliseconds (t)
+ * @param timeStamp start time in epoch milliseconds (ts)
+ * @param success   sample outcome including assertions (s)
+ */
+public record JtlSample(String label, long elapsed, long timeStamp, boolean success) {
+}
@@ -0,0 +1,91 @@
+package com.testexpert.java.jmeter;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for JMeter XML results (resultsFileFormat=xml)
+ * Uses StAX so memory stays constant regardless of file size; only top-level
+ * samples are reported, sub-results such as redirects are skipped
+ */
+public final class JtlXmlReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private JtlXmlReader() {
+    }
+
+    /**
+     * Read every top-level sample of the file
+     *
+     * @return the number of samples read
+     */
+    public static long read(Path file, Consumer<JtlSample> consumer) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, consumer);
+        }
+    }
+
+    public static long read(InputStream in, Consumer<JtlSample> consumer) throws IOException {
+        long count = 0;
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(in);
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == 2 && isSample(reader.getLocalName())) {
+                        consumer.accept(sample(reader));
+                        count++;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+            return count;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed JMeter results after " + count + " samples", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // underlying stream is closed by the caller
+                }
+            }
+        }
+    }
+
+    private static boolean isSample(String element) {
+        return element.equals("httpSample") || element.equals("sample");
+    }
+
+    private static JtlSample sample(XMLStreamReader reader) {
+        return new JtlSample(
+                reader.getAttributeValue(null, "lb"),
+                parseLong(reader.getAttributeValue(null, "t")),
+                parseLong(reader.getAttributeValue(null, "ts")),
+                Boolean.parseBoolean(reader.getAttributeValue(null, "s")));
+    }
+
+    private static long parseLong(String value) {
+        return value == null || value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
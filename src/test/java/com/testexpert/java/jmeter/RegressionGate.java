@@ -0,0 +1,134 @@
+package com.testexpert.java.jmeter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Performance regression gate for the jmeter profile
+ * Streams every result file in the results directory, computes per-sampler metrics,
+ * compares them with the stored baseline and fails the build on regression
+ * Usage: RegressionGate resultsDir baseline.properties reportDir
+ * Set -Dperf.updateBaseline=true to write the current run as the new baseline; without it a missing baseline fails
+ */
+public class RegressionGate {
+
+    private final Tolerances tolerances;
+
+    public RegressionGate(Tolerances tolerances) {
+        this.tolerances = tolerances;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: RegressionGate <resultsDir> <baseline.properties> <reportDir>");
+            System.exit(2);
+        }
+        Path resultsDir = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        Path reportDir = Path.of(args[2]);
+
+        Map<String, SamplerMetrics> current = aggregate(resultsDir);
+        if (current.isEmpty()) {
+            throw new IllegalStateException("No JMeter samples found in " + resultsDir);
+        }
+        if (Boolean.getBoolean("perf.updateBaseline")) {
+            writeBaseline(baselineFile, current);
+            System.out.println("Baseline updated: " + baselineFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            throw new IllegalStateException("No baseline at " + baselineFile
+                    + ", run with -Dperf.updateBaseline=true to record one");
+        }
+
+        Map<String, SamplerMetrics> baseline = readBaseline(baselineFile);
+        List<Comparison> comparisons = new RegressionGate(Tolerances.fromSystemProperties())
+                .compare(baseline, current);
+        RegressionReport.write(reportDir, comparisons);
+
+        List<Comparison> regressions = comparisons.stream().filter(Comparison::regression).toList();
+        regressions.forEach(c -> System.out.printf("REGRESSION %s %s: %.1f -> %.1f (limit %.1f)%n",
+                c.label(), c.metric(), c.baseline(), c.current(), c.limit()));
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException(regressions.size() + " performance regression(s), see "
+                    + reportDir.resolve("regression-report.html"));
+        }
+        System.out.println("No performance regressions against " + baselineFile);
+    }
+
+    /**
+     * Stream all result files of a directory into per-sampler metrics
+     */
+    public static Map<String, SamplerMetrics> aggregate(Path resultsDir) throws IOException {
+        Map<String, SamplerMetrics> metrics = new TreeMap<>();
+        ResultFiles.aggregate(ResultFiles.find(resultsDir), Runtime.getRuntime().availableProcessors())
+                .forEach((label, stat) -> metrics.put(label, stat.metrics()));
+        return metrics;
+    }
+
+    /**
+     * Compare every sampler of the current run with its baseline
+     * Samplers missing from the baseline are reported but never fail the gate
+     */
+    public List<Comparison> compare(Map<String, SamplerMetrics> baseline, Map<String, SamplerMetrics> current) {
+        List<Comparison> comparisons = new ArrayList<>();
+        for (SamplerMetrics now : current.values()) {
+            SamplerMetrics before = baseline.get(now.label());
+            if (before == null) {
+                comparisons.add(new Comparison(now.label(), "new", Double.NaN, now.samples(), Double.NaN, false));
+                continue;
+            }
+            comparisons.add(latency(now.label(), "p50", before.p50(), now.p50()));
+            comparisons.add(latency(now.label(), "p90", before.p90(), now.p90()));
+            comparisons.add(latency(now.label(), "p99", before.p99(), now.p99()));
+
+            double minThroughput = before.throughput() * (1 - tolerances.throughputRatio());
+            comparisons.add(new Comparison(now.label(), "throughput", before.throughput(), now.throughput(),
+                    minThroughput, now.throughput() < minThroughput));
+
+            double maxErrorRate = before.errorRate() + tolerances.errorRateDelta();
+            comparisons.add(new Comparison(now.label(), "errorRate", before.errorRate(), now.errorRate(),
+                    maxErrorRate, now.errorRate() > maxErrorRate));
+        }
+        return comparisons;
+    }
+
+    private Comparison latency(String label, String metric, long baseline, long current) {
+        double limit = Math.max(baseline * (1 + tolerances.latencyRatio()), baseline + tolerances.latencyFloorMs());
+        return new Comparison(label, metric, baseline, current, limit, current > limit);
+    }
+
+    public static Map<String, SamplerMetrics> readBaseline(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<String, SamplerMetrics> baseline = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.endsWith(".samples")) {
+                String label = key.substring(0, key.length() - ".samples".length());
+                baseline.put(label, SamplerMetrics.load(properties, label));
+            }
+        }
+        return baseline;
+    }
+
+    public static void writeBaseline(Path file, Map<String, SamplerMetrics> metrics) throws IOException {
+        Properties properties = new Properties();
+        metrics.values().forEach(m -> m.store(properties));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "JMeter performance baseline (p50/p90/p99 in ms, throughput in samples/s)");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.testexpert.java.jmeter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the regression gate diff as regression-report.json and regression-report.html
+ */
+final class RegressionReport {
+
+    private RegressionReport() {
+    }
+
+    static void write(Path dir, List<Comparison> comparisons) throws IOException {
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("regression-report.json"), json(comparisons));
+        Files.writeString(dir.resolve("regression-report.html"), html(comparisons));
+    }
+
+    static String json(List<Comparison> comparisons) {
+        StringBuilder json = new StringBuilder("{\n  \"regressions\": ")
+                .append(comparisons.stream().filter(Comparison::regression).count())
+                .append(",\n  \"comparisons\": [");
+        for (int i = 0; i < comparisons.size(); i++) {
+            Comparison c = comparisons.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"label\": ").append(quote(c.label()))
+                    .append(", \"metric\": ").append(quote(c.metric()))
+                    .append(", \"baseline\": ").append(number(c.baseline()))
+                    .append(", \"current\": ").append(number(c.current()))
+                    .append(", \"limit\": ").append(number(c.limit()))
+                    .append(", \"regression\": ").append(c.regression()).append('}');
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    static String html(List<Comparison> comparisons) {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>Performance Regression Report</title>
+                <style>
+                body { font-family: sans-serif; }
+                table { border-collapse: collapse; }
+                td, th { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }
+                td:first-child, td:nth-child(2) { text-align: left; }
+                tr.regression { background: #fdd; }
+                </style></head><body>
+                <h1>Performance Regression Report</h1>
+                <table><tr><th>Sampler</th><th>Metric</th><th>Baseline</th><th>Current</th><th>Limit</th><th>Status</th></tr>
+                """);
+        for (Comparison c : comparisons) {
+            html.append(c.regression() ? "<tr class=\"regression\">" : "<tr>")
+                    .append("<td>").append(escape(c.label())).append("</td>")
+                    .append("<td>").append(escape(c.metric())).append("</td>")
+                    .append("<td>").append(number(c.baseline())).append("</td>")
+                    .append("<td>").append(number(c.current())).append("</td>")
+                    .append("<td>").append(number(c.limit())).append("</td>")
+                    .append("<td>").append(c.regression() ? "REGRESSION" : "ok").append("</td></tr>\n");
+        }
+        return html.append("</table></body></html>\n").toString();
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) ? "null" : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
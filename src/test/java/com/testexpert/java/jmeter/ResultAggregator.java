@@ -0,0 +1,56 @@
+package com.testexpert.java.jmeter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summarizes or converts result files
+ * Usage:
+ * ResultAggregator file-or-dir...          merged per-label summary of all inputs
+ * ResultAggregator --convert in.jtl out.bin convert a JMeter XML/CSV result file to the binary format
+ */
+public class ResultAggregator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("--convert")) {
+            long samples;
+            try (BinaryResultWriter writer = new BinaryResultWriter(Path.of(args[2]))) {
+                samples = ResultFiles.read(Path.of(args[1]), sample -> {
+                    try {
+                        writer.write(sample);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            System.out.println("Converted " + samples + " samples to " + args[2]);
+            return;
+        }
+        if (args.length == 0) {
+            System.err.println("Usage: ResultAggregator <file-or-dir>... | --convert <in.jtl> <out.bin>");
+            System.exit(2);
+        }
+
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            files.addAll(ResultFiles.find(Path.of(arg)));
+        }
+        long start = System.nanoTime();
+        Map<String, SamplerStats> stats = ResultFiles.aggregate(files, Runtime.getRuntime().availableProcessors());
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%-30s %12s %8s %10s %8s %8s %8s%n", "Label", "Samples", "Error %", "Req/s",
+                "p50 ms", "p90 ms", "p99 ms");
+        long total = 0;
+        for (SamplerStats stat : stats.values()) {
+            SamplerMetrics m = stat.metrics();
+            total += m.samples();
+            System.out.printf("%-30s %12d %8.2f %10.1f %8d %8d %8d%n", m.label(), m.samples(), m.errorRate() * 100,
+                    m.throughput(), m.p50(), m.p90(), m.p99());
+        }
+        System.out.printf("Aggregated %d samples from %d file(s) in %d ms%n", total, files.size(), millis);
+    }
+}
@@ -0,0 +1,74 @@
+package com.testexpert.java.jmeter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Format detection and aggregation across result files
+ * Supports JMeter XML and CSV .jtl files and {@link BinaryResultWriter} .bin files
+ */
+public final class ResultFiles {
+
+    private ResultFiles() {
+    }
+
+    /**
+     * Result files in a directory, or the path itself when it is a file
+     */
+    public static List<Path> find(Path path) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(path, "*.{jtl,csv,bin}")) {
+                entries.forEach(files::add);
+            }
+            files.sort(null);
+        } else {
+            files.add(path);
+        }
+        return files;
+    }
+
+    /**
+     * Stream every sample of one file, whatever its format
+     */
+    public static long read(Path file, Consumer<JtlSample> consumer) throws IOException {
+        if (file.getFileName().toString().endsWith(".bin")) {
+            return BinaryResultReader.read(file, consumer);
+        }
+        return isXml(file) ? JtlXmlReader.read(file, consumer) : JtlCsvReader.read(file, consumer);
+    }
+
+    /**
+     * Merge per-label statistics of several files, e.g. from multiple load generator processes
+     */
+    public static Map<String, SamplerStats> aggregate(List<Path> files, int parallelism) throws IOException {
+        Map<String, SamplerStats> merged = new TreeMap<>();
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(".bin")) {
+                BinaryResultReader.aggregate(file, parallelism)
+                        .forEach((label, stats) -> merged.merge(label, stats, SamplerStats::merge));
+            } else {
+                read(file, sample -> merged.computeIfAbsent(sample.label(), SamplerStats::new).add(sample));
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isXml(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            int c;
+            do {
+                c = in.read();
+            } while (c == 0xEF || c == 0xBB || c == 0xBF || Character.isWhitespace(c));
+            return c == '<';
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.testexpert.java.jmeter;
+
+import java.util.Properties;
+
+/**
+ * Summary metrics of one sampler, as stored in the baseline
+ *
+ * @param errorRate  failed samples / samples, 0..1
+ * @param throughput samples per second over the sampler's active window
+ * @param p50        median elapsed time in milliseconds
+ */
+public record SamplerMetrics(String label, long samples, double errorRate, double throughput,
+        long p50, long p90, long p99) {
+
+    public void store(Properties properties) {
+        properties.setProperty(label + ".samples", String.valueOf(samples));
+        properties.setProperty(label + ".errorRate", String.valueOf(errorRate));
+        properties.setProperty(label + ".throughput", String.valueOf(throughput));
+        properties.setProperty(label + ".p50", String.valueOf(p50));
+        properties.setProperty(label + ".p90", String.valueOf(p90));
+        properties.setProperty(label + ".p99", String.valueOf(p99));
+    }
+
+    public static SamplerMetrics load(Properties properties, String label) {
+        return new SamplerMetrics(label,
+                Long.parseLong(properties.getProperty(label + ".samples", "0")),
+                Double.parseDouble(properties.getProperty(label + ".errorRate", "0")),
+                Double.parseDouble(properties.getProperty(label + ".throughput", "0")),
+                Long.parseLong(properties.getProperty(label + ".p50", "0")),
+                Long.parseLong(properties.getProperty(label + ".p90", "0")),
+                Long.parseLong(properties.getProperty(label + ".p99", "0")));
+    }
+}
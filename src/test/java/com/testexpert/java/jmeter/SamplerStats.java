@@ -0,0 +1,62 @@
+package com.testexpert.java.jmeter;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Running statistics for one sampler label
+ * Elapsed times go into an HDR histogram, so memory is bounded no matter how many samples
+ */
+public class SamplerStats {
+
+    private final String label;
+    private final Histogram elapsed = new Histogram(3);
+    private long samples;
+    private long errors;
+    private long firstStart = Long.MAX_VALUE;
+    private long lastEnd = Long.MIN_VALUE;
+
+    public SamplerStats(String label) {
+        this.label = label;
+    }
+
+    public void add(JtlSample sample) {
+        add(sample.elapsed(), sample.timeStamp(), sample.success());
+    }
+
+    public void add(long elapsedMillis, long timeStamp, boolean success) {
+        elapsed.recordValue(Math.max(0, elapsedMillis));
+        samples++;
+        if (!success) {
+            errors++;
+        }
+        firstStart = Math.min(firstStart, timeStamp);
+        lastEnd = Math.max(lastEnd, timeStamp + elapsedMillis);
+    }
+
+    /**
+     * Fold another partial result for the same label into this one
+     * Histograms are mergeable, so per-thread or per-process results combine exactly
+     */
+    public SamplerStats merge(SamplerStats other) {
+        elapsed.add(other.elapsed);
+        samples += other.samples;
+        errors += other.errors;
+        firstStart = Math.min(firstStart, other.firstStart);
+        lastEnd = Math.max(lastEnd, other.lastEnd);
+        return this;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public SamplerMetrics metrics() {
+        long windowMillis = Math.max(1, lastEnd - firstStart);
+        return new SamplerMetrics(label, samples,
+                samples == 0 ? 0 : (double) errors / samples,
+                samples == 0 ? 0 : samples * 1000.0 / windowMillis,
+                elapsed.getValueAtPercentile(50),
+                elapsed.getValueAtPercentile(90),
+                elapsed.getValueAtPercentile(99));
+    }
+}
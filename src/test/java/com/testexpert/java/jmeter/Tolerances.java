@@ -0,0 +1,23 @@
+package com.testexpert.java.jmeter;
+
+/**
+ * How far a run may drift from the baseline before it counts as a regression
+ *
+ * @param latencyRatio    allowed relative increase of p50/p90/p99, e.g. 0.25 for +25%
+ * @param latencyFloorMs  increases smaller than this are ignored as noise
+ * @param throughputRatio allowed relative drop in throughput
+ * @param errorRateDelta  allowed absolute increase in error rate, e.g. 0.01 for +1 percentage point
+ */
+public record Tolerances(double latencyRatio, long latencyFloorMs, double throughputRatio, double errorRateDelta) {
+
+    /**
+     * Read tolerances from perf.tolerance.* system properties
+     */
+    public static Tolerances fromSystemProperties() {
+        return new Tolerances(
+                Double.parseDouble(System.getProperty("perf.tolerance.latency", "0.25")),
+                Long.getLong("perf.tolerance.latencyFloorMs", 50),
+                Double.parseDouble(System.getProperty("perf.tolerance.throughput", "0.25")),
+                Double.parseDouble(System.getProperty("perf.tolerance.errorRate", "0.01")));
+    }
+}
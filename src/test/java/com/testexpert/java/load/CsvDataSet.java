@@ -0,0 +1,83 @@
+package com.testexpert.java.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Equivalent of JMeter's CSV Data Set Config (shared, recycle on EOF)
+ * The first line holds variable names; each call to {@link #next()} hands out the next row
+ */
+public class CsvDataSet {
+
+    private final List<Map<String, String>> rows;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public CsvDataSet(List<Map<String, String>> rows) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("CSV data set has no rows");
+        }
+        this.rows = List.copyOf(rows);
+    }
+
+    /**
+     * Load from a file path, or from the test classpath when no such file exists
+     */
+    public static CsvDataSet load(String location) throws IOException {
+        Path path = Path.of(location);
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                return parse(in);
+            }
+        }
+        try (InputStream in = CsvDataSet.class.getResourceAsStream("/" + location)) {
+            if (in == null) {
+                throw new IOException("CSV data set not found: " + location);
+            }
+            return parse(in);
+        }
+    }
+
+    static CsvDataSet parse(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IOException("CSV data set is empty");
+        }
+        String[] names = header.split(",");
+        List<Map<String, String>> rows = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] values = line.split(",", -1);
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                row.put(names[i].trim(), i < values.length ? values[i].trim() : "");
+            }
+            rows.add(row);
+        }
+        return new CsvDataSet(rows);
+    }
+
+    /**
+     * Next row, wrapping around at the end of the data
+     */
+    public Map<String, String> next() {
+        return rows.get((int) (cursor.getAndIncrement() % rows.size()));
+    }
+
+    public int size() {
+        return rows.size();
+    }
+}
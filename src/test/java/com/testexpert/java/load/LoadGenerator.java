@@ -0,0 +1,171 @@
+package com.testexpert.java.load;
+
+import com.testexpert.java.jmeter.BinaryResultWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-workload load generator
+ * New sessions arrive at the rate given by the {@link LoadProfile} regardless of how fast
+ * earlier ones complete, and each session runs on its own virtual thread
+ */
+public class LoadGenerator {
+
+    /** Integration step when computing arrival times from a changing rate */
+    private static final long RATE_STEP_NANOS = 10_000_000L;
+
+    private final HttpClient client;
+    private final LoadProfile profile;
+    private final int maxInFlight;
+    private BinaryResultWriter results;
+    private long epochMillisAtStart;
+    private long nanoTimeAtStart;
+
+    /**
+     * @param profile     arrival-rate shape and duration of the run
+     * @param maxInFlight cap on concurrent virtual users; arrivals beyond it are dropped and reported
+     */
+    public LoadGenerator(HttpClient client, LoadProfile profile, int maxInFlight) {
+        this.client = client;
+        this.profile = profile;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @param arrivalsPerSecond scenario starts per second
+     * @param duration          how long to keep generating arrivals
+     * @param maxInFlight       cap on concurrent virtual users; arrivals beyond it are dropped and reported
+     */
+    public LoadGenerator(HttpClient client, double arrivalsPerSecond, Duration duration, int maxInFlight) {
+        this(client, constantProfile(arrivalsPerSecond, duration), maxInFlight);
+    }
+
+    private static LoadProfile constantProfile(double arrivalsPerSecond, Duration duration) {
+        if (arrivalsPerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive");
+        }
+        return LoadProfile.constant(arrivalsPerSecond, duration);
+    }
+
+    /**
+     * Also append every sample to a binary result file, e.g. for long soak runs
+     * The caller owns the writer and closes it after {@link #run}
+     */
+    public LoadGenerator resultsTo(BinaryResultWriter results) {
+        this.results = results;
+        return this;
+    }
+
+    /**
+     * Run the scenario until the profile ends and all started sessions complete
+     *
+     * @param sessions creates the state for each arriving virtual user
+     */
+    public LoadReport run(Scenario scenario, Supplier<Session> sessions) {
+        LoadReport report = new LoadReport(scenario, profile);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long end = start + profile.duration().toNanos();
+        epochMillisAtStart = System.currentTimeMillis();
+        nanoTimeAtStart = start;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long intendedStart = profile.rateAt(0) > 0 ? start : nextArrival(start, start, end);
+            while (intendedStart < end) {
+                parkUntil(intendedStart);
+                int stage = profile.stageIndexAt(intendedStart - start);
+                report.arrival(stage);
+                if (inFlight.tryAcquire()) {
+                    Session session = sessions.get();
+                    long arrival = intendedStart;
+                    executor.execute(() -> {
+                        try {
+                            runSession(scenario, session, arrival, stage, report);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    report.dropped(stage);
+                }
+                intendedStart = nextArrival(intendedStart, start, end);
+            }
+        }
+        report.finish(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Time of the next arrival after {@code previous}: integrates the profile's rate until one
+     * arrival's worth has accumulated, so ramps and rate changes are followed closely
+     */
+    private long nextArrival(long previous, long start, long end) {
+        double arrivals = 0;
+        long time = previous;
+        while (time < end) {
+            double rate = profile.rateAt(time - start) / 1e9;
+            long step = rate > 0 ? Math.min(RATE_STEP_NANOS, (long) Math.ceil((1 - arrivals) / rate)) : RATE_STEP_NANOS;
+            arrivals += rate * step;
+            time += step;
+            if (arrivals >= 1 - 1e-9) {
+                return time;
+            }
+        }
+        return end;
+    }
+
+    private void runSession(Scenario scenario, Session session, long arrival, int stage, LoadReport report) {
+        long intendedStart = arrival;
+        for (Scenario.Step step : scenario.steps()) {
+            if (!step.condition().test(session)) {
+                continue;
+            }
+            long actualStart = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(step.request().apply(session),
+                        HttpResponse.BodyHandlers.ofString());
+                long finished = System.nanoTime();
+                session.storeCookies(response);
+                String failure = step.verify(session, response, Duration.ofNanos(finished - actualStart));
+                record(report, step, stage, intendedStart, actualStart, finished, failure);
+                intendedStart = finished;
+            } catch (IOException e) {
+                long finished = System.nanoTime();
+                record(report, step, stage, intendedStart, actualStart, finished, e.getClass().getSimpleName());
+                intendedStart = finished;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void record(LoadReport report, Scenario.Step step, int stage, long intendedStart, long actualStart,
+            long finished, String failure) {
+        report.record(step.name(), stage, intendedStart, actualStart, finished, failure);
+        if (results != null) {
+            try {
+                results.write(step.name(), epochMillisAtStart + (actualStart - nanoTimeAtStart) / 1_000_000,
+                        (finished - actualStart) / 1_000_000, failure == null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.testexpert.java.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Arrival-rate shape of a load test, split into tagged stages
+ * Results are reported per stage so throughput can be plotted against latency
+ */
+public final class LoadProfile {
+
+    private final String name;
+    private final List<Stage> stages;
+
+    private LoadProfile(String name, List<Stage> stages) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("Load profile needs at least one stage");
+        }
+        this.name = name;
+        this.stages = List.copyOf(stages);
+    }
+
+    /**
+     * One tagged section of the profile; the rate moves linearly from startRate to endRate
+     */
+    public record Stage(String name, Duration start, Duration length, double startRate, double endRate) {
+
+        public Duration end() {
+            return start.plus(length);
+        }
+
+        /** Average target rate of the stage */
+        public double targetRate() {
+            return (startRate + endRate) / 2;
+        }
+
+        double rateAt(long nanosIntoStage) {
+            double fraction = length.isZero() ? 0 : (double) nanosIntoStage / length.toNanos();
+            return startRate + (endRate - startRate) * fraction;
+        }
+    }
+
+    /**
+     * Fixed rate, tagged in buckets of {@code stageLength}
+     */
+    public static LoadProfile constant(double rate, Duration duration, Duration stageLength) {
+        return new LoadProfile("constant", buckets("constant", duration, stageLength, t -> rate));
+    }
+
+    public static LoadProfile constant(double rate, Duration duration) {
+        return constant(rate, duration, duration);
+    }
+
+    /**
+     * Linear ramp from {@code startRate} to {@code endRate}, tagged in {@code stageCount} buckets
+     */
+    public static LoadProfile ramp(double startRate, double endRate, Duration duration, int stageCount) {
+        return new LoadProfile("ramp", buckets("ramp", duration, duration.dividedBy(stageCount),
+                t -> startRate + (endRate - startRate) * t));
+    }
+
+    /**
+     * Plateaus at peakRate/steps, 2*peakRate/steps ... peakRate, each lasting duration/steps
+     */
+    public static LoadProfile step(double peakRate, Duration duration, int steps) {
+        List<Stage> stages = new ArrayList<>();
+        Duration stepLength = duration.dividedBy(steps);
+        for (int i = 0; i < steps; i++) {
+            double rate = peakRate * (i + 1) / steps;
+            stages.add(new Stage("step-" + (i + 1), stepLength.multipliedBy(i), stepLength, rate, rate));
+        }
+        return new LoadProfile("step", stages);
+    }
+
+    /**
+     * Base rate with a burst at peakRate in the middle of the run
+     */
+    public static LoadProfile spike(double baseRate, double peakRate, Duration duration, Duration spikeLength) {
+        if (spikeLength.isNegative() || spikeLength.compareTo(duration) > 0) {
+            throw new IllegalArgumentException("Spike length " + spikeLength + " must be between 0 and the duration "
+                    + duration);
+        }
+        Duration before = duration.minus(spikeLength).dividedBy(2);
+        Duration after = duration.minus(spikeLength).minus(before);
+        return new LoadProfile("spike", List.of(
+                new Stage("before-spike", Duration.ZERO, before, baseRate, baseRate),
+                new Stage("spike", before, spikeLength, peakRate, peakRate),
+                new Stage("after-spike", before.plus(spikeLength), after, baseRate, baseRate)));
+    }
+
+    /**
+     * Long constant run, tagged in buckets so drift over time is visible
+     */
+    public static LoadProfile soak(double rate, Duration duration, Duration stageLength) {
+        return new LoadProfile("soak", buckets("soak", duration, stageLength, t -> rate));
+    }
+
+    /**
+     * Build the profile selected by -Dload.profile from load.* system properties:
+     * load.rate (target/peak rate, default 20), load.duration (seconds, default 10),
+     * load.startRate (ramp, default 1), load.steps (step/ramp stages, default 5),
+     * load.baseRate (spike, default rate/10), load.spikeDuration (seconds, default duration/5),
+     * load.stageSeconds (constant/soak tagging bucket, default 60)
+     */
+    public static LoadProfile fromSystemProperties() {
+        String profile = System.getProperty("load.profile", "constant");
+        double rate = doubleProperty("load.rate", 20);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 10));
+        int steps = Integer.getInteger("load.steps", 5);
+        Duration stageLength = Duration.ofSeconds(Long.getLong("load.stageSeconds", 60));
+        return switch (profile) {
+            case "constant" -> constant(rate, duration, stageLength);
+            case "ramp" -> ramp(doubleProperty("load.startRate", 1), rate, duration, steps);
+            case "step" -> step(rate, duration, steps);
+            case "spike" -> spike(doubleProperty("load.baseRate", rate / 10), rate, duration,
+                    Duration.ofSeconds(Long.getLong("load.spikeDuration", Math.max(1, duration.toSeconds() / 5))));
+            case "soak" -> soak(rate, duration, stageLength);
+            default -> throw new IllegalArgumentException("Unknown load.profile '" + profile
+                    + "', expected constant, ramp, step, spike or soak");
+        };
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<Stage> stages() {
+        return stages;
+    }
+
+    public Duration duration() {
+        return stages.get(stages.size() - 1).end();
+    }
+
+    /**
+     * Index of the stage active at the given offset from the start of the run
+     */
+    public int stageIndexAt(long nanosSinceStart) {
+        for (int i = 0; i < stages.size(); i++) {
+            if (nanosSinceStart < stages.get(i).end().toNanos()) {
+                return i;
+            }
+        }
+        return stages.size() - 1;
+    }
+
+    /**
+     * Target arrivals per second at the given offset from the start of the run
+     */
+    public double rateAt(long nanosSinceStart) {
+        Stage stage = stages.get(stageIndexAt(nanosSinceStart));
+        return stage.rateAt(nanosSinceStart - stage.start().toNanos());
+    }
+
+    /**
+     * Split the run into equal buckets; {@code shape} maps the fraction 0..1 of the run to a rate
+     */
+    private static List<Stage> buckets(String prefix, Duration duration, Duration bucket, DoubleUnaryOperator shape) {
+        if (bucket.isZero() || bucket.compareTo(duration) > 0) {
+            bucket = duration;
+        }
+        List<Stage> stages = new ArrayList<>();
+        for (Duration start = Duration.ZERO; start.compareTo(duration) < 0; start = start.plus(bucket)) {
+            Duration length = bucket.compareTo(duration.minus(start)) > 0 ? duration.minus(start) : bucket;
+            double from = shape.applyAsDouble((double) start.toNanos() / duration.toNanos());
+            double to = shape.applyAsDouble((double) start.plus(length).toNanos() / duration.toNanos());
+            stages.add(new Stage(prefix + "-" + (stages.size() + 1), start, length, from, to));
+        }
+        return stages;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,316 @@
+package com.testexpert.java.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe collector and summary of a load generator run
+ * Latencies are recorded in microseconds into HDR histograms
+ */
+public class LoadReport {
+
+    /** A stage is saturated once its p99 exceeds this multiple of the lowest p99 of earlier stages */
+    private static final double SATURATION_LATENCY_FACTOR = 2.0;
+    /** ... or it starts fewer than this fraction of its target arrivals */
+    private static final double SATURATION_MIN_ATTAINMENT = 0.9;
+    /** ... or more than this fraction of its samples fail */
+    private static final double SATURATION_MAX_ERROR_RATE = 0.01;
+
+    private final String scenario;
+    private final String profile;
+    private final Map<String, StepStats> steps = new LinkedHashMap<>();
+    private final List<StageStats> stages = new ArrayList<>();
+    private final LongAdder arrivals = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile Duration elapsed = Duration.ZERO;
+
+    LoadReport(Scenario scenario, LoadProfile profile) {
+        this.scenario = scenario.name();
+        this.profile = profile.name();
+        scenario.steps().forEach(step -> steps.put(step.name(), new StepStats(step.name())));
+        profile.stages().forEach(stage -> stages.add(new StageStats(stage)));
+    }
+
+    void arrival(int stage) {
+        arrivals.increment();
+        stages.get(stage).arrivals.increment();
+    }
+
+    void dropped(int stage) {
+        dropped.increment();
+        stages.get(stage).dropped.increment();
+    }
+
+    /**
+     * Record one sample
+     *
+     * @param stage         index of the load profile stage the session arrived in
+     * @param intendedStart when the sample should have started under the arrival schedule
+     * @param actualStart   when the request was actually sent
+     * @param finished      when the response was fully read
+     * @param failure       assertion failure message, or null
+     */
+    void record(String step, int stage, long intendedStart, long actualStart, long finished, String failure) {
+        steps.get(step).record(intendedStart, actualStart, finished, failure);
+        stages.get(stage).record(intendedStart, finished, failure);
+    }
+
+    void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    public String scenario() {
+        return scenario;
+    }
+
+    public StepStats step(String name) {
+        return steps.get(name);
+    }
+
+    public Iterable<StepStats> steps() {
+        return steps.values();
+    }
+
+    public List<StageStats> stages() {
+        return List.copyOf(stages);
+    }
+
+    /**
+     * First stage where latency, arrival attainment or error rate shows the target is saturated
+     *
+     * @return the stage, or null when every stage kept up
+     */
+    public StageStats saturationStage() {
+        long lowestP99 = Long.MAX_VALUE;
+        for (StageStats stage : stages) {
+            long p99 = stage.samples() > 0 ? stage.responseTime.getValueAtPercentile(99) : 0;
+            if ((lowestP99 != Long.MAX_VALUE && p99 > Math.max(1, lowestP99) * SATURATION_LATENCY_FACTOR)
+                    || stage.attainment() < SATURATION_MIN_ATTAINMENT
+                    || stage.errorRate() > SATURATION_MAX_ERROR_RATE) {
+                return stage;
+            }
+            if (stage.samples() > 0) {
+                lowestP99 = Math.min(lowestP99, p99);
+            }
+        }
+        return null;
+    }
+
+    public long arrivals() {
+        return arrivals.sum();
+    }
+
+    public long droppedArrivals() {
+        return dropped.sum();
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Same semantics as ignoreResultFailures=false: any failed sample fails the run
+     */
+    public boolean hasFailures() {
+        return droppedArrivals() > 0 || steps.values().stream().anyMatch(step -> step.failures() > 0);
+    }
+
+    public void print(PrintStream out) {
+        double seconds = Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        out.printf("Scenario '%s': %d arrivals in %.1f s, %d dropped%n", scenario, arrivals(), seconds,
+                droppedArrivals());
+        out.printf("%-20s %8s %7s %9s %9s %9s %9s %11s %9s%n", "Step", "Samples", "Errors", "p50 ms",
+                "p90 ms", "p99 ms", "max ms", "p99 CO ms", "req/s");
+        for (StepStats step : steps.values()) {
+            Histogram service = step.serviceTime();
+            Histogram response = step.responseTime();
+            out.printf("%-20s %8d %7d %9.1f %9.1f %9.1f %9.1f %11.1f %9.1f%n", step.name(), step.samples(),
+                    step.failures(), ms(service.getValueAtPercentile(50)), ms(service.getValueAtPercentile(90)),
+                    ms(service.getValueAtPercentile(99)), ms(service.getMaxValue()),
+                    ms(response.getValueAtPercentile(99)), step.samples() / seconds);
+            step.failureMessages().forEach((message, count) -> out.printf("    %6d x %s%n", count, message));
+        }
+        if (stages.size() > 1) {
+            out.printf("Profile '%s':%n", profile);
+            out.printf("%-16s %10s %10s %9s %9s %9s %8s%n", "Stage", "target/s", "started/s", "samples/s",
+                    "p50 ms", "p99 ms", "errors");
+            for (StageStats stage : stages) {
+                Histogram response = stage.responseTime();
+                out.printf("%-16s %10.1f %10.1f %9.1f %9.1f %9.1f %8d%n", stage.name(), stage.targetRate(),
+                        stage.startedRate(), stage.sampleRate(), ms(response.getValueAtPercentile(50)),
+                        ms(response.getValueAtPercentile(99)), stage.failures());
+            }
+            StageStats saturation = saturationStage();
+            out.println(saturation == null
+                    ? "No saturation detected"
+                    : "Saturation at stage '" + saturation.name() + "' (target " + saturation.targetRate() + "/s)");
+        }
+    }
+
+    /**
+     * Write one line per stage, ready to plot throughput against latency
+     */
+    public void writeStagesCsv(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            out.println("profile,stage,startSeconds,lengthSeconds,targetRate,startedRate,sampleRate,"
+                    + "p50Millis,p90Millis,p99Millis,samples,errors,saturated");
+            StageStats saturation = saturationStage();
+            boolean saturated = false;
+            for (StageStats stage : stages) {
+                saturated |= stage == saturation;
+                Histogram response = stage.responseTime();
+                out.printf(Locale.ROOT, "%s,%s,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%b%n", profile,
+                        stage.name(), stage.stage.start().toMillis() / 1000.0, stage.stage.length().toMillis() / 1000.0,
+                        stage.targetRate(), stage.startedRate(), stage.sampleRate(),
+                        ms(response.getValueAtPercentile(50)), ms(response.getValueAtPercentile(90)),
+                        ms(response.getValueAtPercentile(99)), stage.samples(), stage.failures(), saturated);
+            }
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Statistics for one load profile stage, across all steps of sessions that arrived in it
+     * Latency is measured from the intended start, so queueing at saturation is visible
+     */
+    public static final class StageStats {
+        private final LoadProfile.Stage stage;
+        private final ConcurrentHistogram responseTime = new ConcurrentHistogram(3);
+        private final LongAdder arrivals = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        StageStats(LoadProfile.Stage stage) {
+            this.stage = stage;
+        }
+
+        void record(long intendedStart, long finished, String failure) {
+            responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(finished - intendedStart));
+            samples.increment();
+            if (failure != null) {
+                failures.increment();
+            }
+        }
+
+        public String name() {
+            return stage.name();
+        }
+
+        public double targetRate() {
+            return stage.targetRate();
+        }
+
+        /** Sessions actually started per second */
+        public double startedRate() {
+            return (arrivals.sum() - dropped.sum()) / seconds();
+        }
+
+        /** Samples completed per second by sessions of this stage */
+        public double sampleRate() {
+            return samples.sum() / seconds();
+        }
+
+        /** Fraction of the target arrivals that were started, allowing one arrival of rounding at stage edges */
+        public double attainment() {
+            double expected = stage.targetRate() * seconds();
+            return expected < 1 ? 1 : Math.min(1, (arrivals.sum() - dropped.sum() + 1) / expected);
+        }
+
+        public double errorRate() {
+            long count = samples.sum();
+            return count == 0 ? 0 : (double) failures.sum() / count;
+        }
+
+        public long samples() {
+            return samples.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+
+        public Histogram responseTime() {
+            return responseTime.copy();
+        }
+
+        private double seconds() {
+            return Math.max(stage.length().toNanos() / 1e9, 1e-9);
+        }
+    }
+
+    /**
+     * Statistics for one scenario step
+     * serviceTime measures from send to response; responseTime measures from the intended
+     * start on the arrival schedule, which corrects for coordinated omission
+     */
+    public static final class StepStats {
+        private final String name;
+        private final ConcurrentHistogram serviceTime = new ConcurrentHistogram(3);
+        private final ConcurrentHistogram responseTime = new ConcurrentHistogram(3);
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final Map<String, LongAdder> failureMessages = new ConcurrentHashMap<>();
+
+        StepStats(String name) {
+            this.name = name;
+        }
+
+        void record(long intendedStart, long actualStart, long finished, String failure) {
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(finished - actualStart));
+            responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(finished - intendedStart));
+            samples.increment();
+            if (failure != null) {
+                failures.increment();
+                failureMessages.computeIfAbsent(failure, key -> new LongAdder()).increment();
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Histogram serviceTime() {
+            return serviceTime.copy();
+        }
+
+        public Histogram responseTime() {
+            return responseTime.copy();
+        }
+
+        public long samples() {
+            return samples.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+
+        public Map<String, Long> failureMessages() {
+            Map<String, Long> copy = new LinkedHashMap<>();
+            failureMessages.forEach((message, count) -> copy.put(message, count.sum()));
+            return copy;
+        }
+    }
+}
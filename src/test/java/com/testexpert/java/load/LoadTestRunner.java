@@ -0,0 +1,60 @@
+package com.testexpert.java.load;
+
+import com.testexpert.java.jmeter.BinaryResultWriter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Command line entry point for the load generator, run by the "load" Maven profile
+ * System properties:
+ * load.target   base URL, or "stub" to start the local SauceDemo stand-in (default)
+ * load.profile  constant, ramp, step, spike or soak; see {@link LoadProfile#fromSystemProperties()}
+ * load.users    cap on concurrent virtual users (default 10000)
+ * load.data     CSV data set file or test resource (default load/users.csv)
+ * load.stagesCsv per-stage throughput/latency output (default target/load/stages.csv)
+ * load.results  optional binary result file for ResultAggregator, e.g. target/load/results.bin
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        String target = System.getProperty("load.target", "stub");
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        int users = Integer.getInteger("load.users", 10_000);
+        CsvDataSet data = CsvDataSet.load(System.getProperty("load.data", "load/users.csv"));
+
+        SauceDemoStub stub = target.equals("stub") ? new SauceDemoStub(0, Duration.ZERO).start() : null;
+        URI baseUri = stub != null ? stub.baseUri() : URI.create(target);
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            System.out.println("Load test against " + baseUri + " with '" + profile.name() + "' profile for "
+                    + profile.duration() + ", " + data.size() + " data set rows");
+            LoadGenerator generator = new LoadGenerator(client, profile, users);
+            String resultsFile = System.getProperty("load.results");
+            LoadReport report;
+            if (resultsFile != null) {
+                try (BinaryResultWriter results = new BinaryResultWriter(Path.of(resultsFile))) {
+                    report = generator.resultsTo(results).run(SauceDemoScenarios.checkout(),
+                            () -> new Session(baseUri, data.next()));
+                }
+            } else {
+                report = generator.run(SauceDemoScenarios.checkout(), () -> new Session(baseUri, data.next()));
+            }
+            report.print(System.out);
+            report.writeStagesCsv(Path.of(System.getProperty("load.stagesCsv", "target/load/stages.csv")));
+            if (report.hasFailures()) {
+                throw new IllegalStateException("Load test had failed samples");
+            }
+        } finally {
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.testexpert.java.load;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Per-sample assertion with the same semantics as the JMeter plans
+ * Returns a failure message, or null when the sample passes
+ */
+@FunctionalInterface
+public interface SampleAssertion {
+
+    String check(Session session, HttpResponse<String> response, Duration elapsed);
+
+    /**
+     * JMeter default: any 2xx/3xx response code is a successful sample
+     */
+    static SampleAssertion successfulResponseCode() {
+        return (session, response, elapsed) -> response.statusCode() >= 200 && response.statusCode() < 400
+                ? null
+                : "Response code was " + response.statusCode();
+    }
+
+    /**
+     * Equivalent of a ResponseAssertion on response data with test type "Substring"
+     */
+    static SampleAssertion responseContains(String text) {
+        return (session, response, elapsed) -> response.body() != null && response.body().contains(text)
+                ? null
+                : "Response did not contain '" + text + "'";
+    }
+
+    /**
+     * Substring assertion whose expected text comes from a session variable, e.g. a CSV column
+     */
+    static SampleAssertion responseContainsVariable(String variable) {
+        return (session, response, elapsed) -> {
+            String text = session.variable(variable);
+            return text != null && response.body() != null && response.body().contains(text)
+                    ? null
+                    : "Response did not contain ${" + variable + "}";
+        };
+    }
+
+    /**
+     * Equivalent of a DurationAssertion: fails when the sample took longer than the limit
+     */
+    static SampleAssertion maxDuration(Duration limit) {
+        return (session, response, elapsed) -> elapsed.compareTo(limit) <= 0
+                ? null
+                : "The operation lasted longer than " + limit.toMillis() + " milliseconds";
+    }
+}
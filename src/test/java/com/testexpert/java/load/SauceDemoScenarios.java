@@ -0,0 +1,62 @@
+package com.testexpert.java.load;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static com.testexpert.java.load.SampleAssertion.maxDuration;
+import static com.testexpert.java.load.SampleAssertion.responseContains;
+import static com.testexpert.java.load.SampleAssertion.responseContainsVariable;
+
+/**
+ * SauceDemo scenarios, mirroring the samplers and assertions of learning-basics.jmx
+ */
+public final class SauceDemoScenarios {
+
+    /** Same limit as the "Check Speed - 2s" DurationAssertion */
+    public static final Duration MAX_SAMPLE_DURATION = Duration.ofMillis(2000);
+
+    private SauceDemoScenarios() {
+    }
+
+    /**
+     * Open home page, log in, view inventory, add a product to the cart
+     * Login expects the ${expectedText} session variable when set (see load/users.csv),
+     * otherwise the inventory page; inventory and cart steps are skipped when ${loggedIn} is false
+     */
+    public static Scenario checkout() {
+        return Scenario.named("login-inventory-cart")
+                .step("Open Home Page", session -> session.request("/").GET().build(),
+                        responseContains("Swag Labs"), maxDuration(MAX_SAMPLE_DURATION))
+                .step("Login", SauceDemoScenarios::login,
+                        SauceDemoScenarios::loginOutcome, maxDuration(MAX_SAMPLE_DURATION))
+                .stepIf("Inventory", SauceDemoScenarios::loggedIn,
+                        session -> session.request("/inventory.html").GET().build(),
+                        responseContains("inventory_item"), maxDuration(MAX_SAMPLE_DURATION))
+                .stepIf("Add To Cart", SauceDemoScenarios::loggedIn,
+                        session -> session.request("/cart/add?id=sauce-labs-backpack")
+                                .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                        responseContains("shopping_cart_badge"), maxDuration(MAX_SAMPLE_DURATION));
+    }
+
+    private static String loginOutcome(Session session, HttpResponse<String> response, Duration elapsed) {
+        return session.variable("expectedText") != null
+                ? responseContainsVariable("expectedText").check(session, response, elapsed)
+                : responseContains("Products").check(session, response, elapsed);
+    }
+
+    private static boolean loggedIn(Session session) {
+        return !"false".equals(session.variable("loggedIn"));
+    }
+
+    private static HttpRequest login(Session session) {
+        String form = "user-name=" + URLEncoder.encode(session.username(), StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(session.password(), StandardCharsets.UTF_8);
+        return session.request("/")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package com.testexpert.java.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP stand-in for www.saucedemo.com so load tests run fully offline
+ * Serves the login page, form login, inventory and add-to-cart with SauceDemo's users and messages
+ */
+public class SauceDemoStub implements AutoCloseable {
+
+    static final String PASSWORD = "secret_sauce";
+    static final Set<String> USERS = Set.of("standard_user", "locked_out_user", "problem_user",
+            "performance_glitch_user");
+    private static final String SESSION_COOKIE = "session-id";
+
+    private final HttpServer server;
+    private final Duration responseDelay;
+    private final Map<String, AtomicInteger> carts = new ConcurrentHashMap<>();
+
+    /**
+     * @param port          port to bind on localhost, 0 for an ephemeral port
+     * @param responseDelay artificial service time added to every response
+     */
+    public SauceDemoStub(int port, Duration responseDelay) throws IOException {
+        this.responseDelay = responseDelay;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+    }
+
+    public SauceDemoStub start() {
+        server.start();
+        return this;
+    }
+
+    public URI baseUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            delay();
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals("/") && method.equals("GET")) {
+                send(exchange, 200, page("Swag Labs", "<form><input id=\"user-name\"/><input id=\"password\"/>"
+                        + "<input id=\"login-button\" type=\"submit\" value=\"Login\"/></form>"));
+            } else if (path.equals("/") && method.equals("POST")) {
+                login(exchange);
+            } else if (path.equals("/inventory.html") && method.equals("GET")) {
+                inventory(exchange);
+            } else if (path.equals("/cart/add") && method.equals("POST")) {
+                addToCart(exchange);
+            } else {
+                send(exchange, 404, page("Not Found", ""));
+            }
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(),
+                StandardCharsets.UTF_8));
+        String username = form.getOrDefault("user-name", "");
+        if (!USERS.contains(username) || !PASSWORD.equals(form.get("password"))) {
+            send(exchange, 200, page("Swag Labs", error("Username and password do not match any user in this service")));
+        } else if (username.equals("locked_out_user")) {
+            send(exchange, 200, page("Swag Labs", error("Sorry, this user has been locked out.")));
+        } else {
+            String sessionId = UUID.randomUUID().toString();
+            carts.put(sessionId, new AtomicInteger());
+            exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/");
+            send(exchange, 200, inventoryPage(0));
+        }
+    }
+
+    private void inventory(HttpExchange exchange) throws IOException {
+        AtomicInteger cart = cart(exchange);
+        if (cart == null) {
+            send(exchange, 401, page("Swag Labs", error("You can only access '/inventory.html' when you are logged in.")));
+        } else {
+            send(exchange, 200, inventoryPage(cart.get()));
+        }
+    }
+
+    private void addToCart(HttpExchange exchange) throws IOException {
+        AtomicInteger cart = cart(exchange);
+        if (cart == null) {
+            send(exchange, 401, page("Swag Labs", error("Not logged in")));
+        } else {
+            int count = cart.incrementAndGet();
+            send(exchange, 200, "<span class=\"shopping_cart_badge\">" + count + "</span>");
+        }
+    }
+
+    private AtomicInteger cart(HttpExchange exchange) {
+        String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookies == null) {
+            return null;
+        }
+        for (String cookie : cookies.split(";")) {
+            String[] pair = cookie.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].equals(SESSION_COOKIE)) {
+                return carts.get(pair[1]);
+            }
+        }
+        return null;
+    }
+
+    private void delay() {
+        if (!responseDelay.isZero()) {
+            try {
+                Thread.sleep(responseDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String inventoryPage(int cartCount) {
+        return page("Swag Labs", "<span class=\"title\">Products</span>"
+                + "<div class=\"inventory_item\"><div class=\"inventory_item_name \">Sauce Labs Backpack</div>"
+                + "<div class=\"inventory_item_price\">$29.99</div></div>"
+                + "<span class=\"shopping_cart_badge\">" + cartCount + "</span>");
+    }
+
+    private static String page(String title, String body) {
+        return "<html><head><title>" + title + "</title></head><body><div class=\"login_logo\">Swag Labs</div>"
+                + body + "</body></html>";
+    }
+
+    private static String error(String message) {
+        return "<h3 data-test=\"error\">Epic sadface: " + message + "</h3>";
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2) {
+                form.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(parts[1], StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
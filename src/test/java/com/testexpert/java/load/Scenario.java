@@ -0,0 +1,74 @@
+package com.testexpert.java.load;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A load test scenario defined in code instead of a .jmx plan
+ * Steps run sequentially within a session, like samplers in a JMeter thread group
+ */
+public class Scenario {
+
+    private final String name;
+    private final List<Step> steps = new ArrayList<>();
+
+    private Scenario(String name) {
+        this.name = name;
+    }
+
+    public static Scenario named(String name) {
+        return new Scenario(name);
+    }
+
+    /**
+     * Add a step; every step implicitly asserts a 2xx/3xx response code
+     */
+    public Scenario step(String stepName, Function<Session, HttpRequest> request, SampleAssertion... assertions) {
+        return stepIf(stepName, session -> true, request, assertions);
+    }
+
+    /**
+     * Add a step that only runs for sessions matching the condition, like a JMeter If Controller
+     */
+    public Scenario stepIf(String stepName, Predicate<Session> condition, Function<Session, HttpRequest> request,
+            SampleAssertion... assertions) {
+        List<SampleAssertion> all = new ArrayList<>();
+        all.add(SampleAssertion.successfulResponseCode());
+        all.addAll(List.of(assertions));
+        steps.add(new Step(stepName, condition, request, List.copyOf(all)));
+        return this;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<Step> steps() {
+        return List.copyOf(steps);
+    }
+
+    /**
+     * One sampler of the scenario
+     */
+    public record Step(String name, Predicate<Session> condition, Function<Session, HttpRequest> request,
+            List<SampleAssertion> assertions) {
+
+        /**
+         * Run the assertions and return the first failure message, or null
+         */
+        String verify(Session session, HttpResponse<String> response, Duration elapsed) {
+            for (SampleAssertion assertion : assertions) {
+                String failure = assertion.check(session, response, elapsed);
+                if (failure != null) {
+                    return failure;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.testexpert.java.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State of one virtual user: target, variables (e.g. a CSV data set row) and cookies
+ * Confined to the virtual thread running the scenario, so not thread-safe
+ */
+public class Session {
+
+    private final URI baseUri;
+    private final Map<String, String> variables;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    public Session(URI baseUri, Map<String, String> variables) {
+        this.baseUri = baseUri;
+        this.variables = new LinkedHashMap<>(variables);
+    }
+
+    public Session(URI baseUri, String username, String password) {
+        this(baseUri, Map.of("username", username, "password", password));
+    }
+
+    public URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    public String username() {
+        return variable("username");
+    }
+
+    public String password() {
+        return variable("password");
+    }
+
+    /**
+     * Value of a session variable, or null when not set
+     */
+    public String variable(String name) {
+        return variables.get(name);
+    }
+
+    public void setVariable(String name, String value) {
+        variables.put(name, value);
+    }
+
+    /**
+     * Start a request to the given path carrying this session's cookies
+     */
+    public HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path));
+        if (!cookies.isEmpty()) {
+            StringBuilder header = new StringBuilder();
+            cookies.forEach((name, value) -> {
+                if (header.length() > 0) {
+                    header.append("; ");
+                }
+                header.append(name).append('=').append(value);
+            });
+            builder.header("Cookie", header.toString());
+        }
+        return builder;
+    }
+
+    /**
+     * Keep name=value pairs from Set-Cookie headers
+     */
+    void storeCookies(HttpResponse<?> response) {
+        for (String setCookie : response.headers().allValues("set-cookie")) {
+            String pair = setCookie.split(";", 2)[0];
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                cookies.put(pair.substring(0, equals).trim(), pair.substring(equals + 1).trim());
+            }
+        }
+    }
+}
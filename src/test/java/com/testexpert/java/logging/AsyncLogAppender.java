@@ -0,0 +1,229 @@
+package com.testexpert.java.logging;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer ring of log events drained by one background thread
+ * Logging threads claim a sequence, fill the preallocated slot and publish it; they never touch the output stream,
+ * so parallel tests do not queue on the PrintStream lock. Arguments other than immutable values are rendered to text
+ * on the logging thread, so the line shows them as they were when logged; the consumer substitutes the placeholders,
+ * appends each line to the owning test's {@link LogCapture}, and prints whole batches at once, so lines from
+ * different threads never interleave. An idle consumer parks until a producer unparks it. A full ring makes
+ * producers wait rather than drop lines.
+ */
+public final class AsyncLogAppender implements AutoCloseable {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * One event; {@code sequence} equals the claiming position while free and position + 1 once published
+     */
+    private static final class Slot {
+        volatile long sequence;
+        long timeMillis;
+        String thread;
+        Level level;
+        String logger;
+        String pattern;
+        Object[] arguments;
+        Throwable throwable;
+        LogCapture capture;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final PrintStream out;
+    private final AtomicLong tail = new AtomicLong();
+    private final Thread consumer;
+    private final ConcurrentLinkedQueue<Thread> flushing = new ConcurrentLinkedQueue<>();
+    private volatile long head;
+    private volatile boolean closed;
+    private volatile boolean idle;
+    private volatile boolean stopped;
+    /** Appender thread only: "HH:mm:ss." of the last formatted second */
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedTime;
+
+    /**
+     * @param capacity ring slots, a power of two of at least 2: with one slot the published sequence, position + 1,
+     *                 would equal the next producer's claiming position and let it overwrite an unread line
+     */
+    public AsyncLogAppender(int capacity, PrintStream out) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            slots[i].sequence = i;
+        }
+        this.mask = capacity - 1;
+        this.out = out;
+        this.consumer = new Thread(this::drain, "test-log-appender");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Publish one event; callers have already checked the level
+     * Mutable {@code arguments} are rendered now, and the placeholders substituted later on the appender thread.
+     */
+    public void append(Level level, String logger, String pattern, Object[] arguments, Throwable throwable,
+                       LogCapture capture) {
+        Object[] values = snapshot(arguments);
+        long position = tail.getAndIncrement();
+        Slot slot = slots[(int) position & mask];
+        for (int spins = 0; slot.sequence != position; spins++) {
+            // Ring is full: wait for the consumer to free this slot, giving up the CPU once spinning has not helped
+            if (spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        slot.timeMillis = System.currentTimeMillis();
+        slot.thread = Thread.currentThread().getName();
+        slot.level = level;
+        slot.logger = logger;
+        slot.pattern = pattern;
+        slot.arguments = values;
+        slot.throwable = throwable;
+        slot.capture = capture;
+        slot.sequence = position + 1;
+        // The consumer sets idle before its last look at the ring, so either it sees this slot or we see idle
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Wait until every event appended before this call has been printed and captured
+     */
+    public void flush() {
+        long target = tail.get();
+        Thread current = Thread.currentThread();
+        flushing.add(current);
+        try {
+            while (head < target && !stopped) {
+                LockSupport.park(this);
+            }
+        } finally {
+            flushing.remove(current);
+        }
+    }
+
+    /**
+     * Print what is already queued and stop the appender thread
+     */
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        StringBuilder batch = new StringBuilder(8192);
+        long position = head;
+        while (!closed) {
+            Slot slot = slots[(int) position & mask];
+            if (slot.sequence == position + 1) {
+                int start = batch.length();
+                format(slot, batch);
+                if (slot.capture != null) {
+                    slot.capture.append(batch, start, batch.length());
+                }
+                slot.arguments = null;
+                slot.throwable = null;
+                slot.capture = null;
+                slot.sequence = position + slots.length;
+                position++;
+                if (batch.length() < 65_536) {
+                    continue;
+                }
+            }
+            if (!batch.isEmpty()) {
+                out.print(batch);
+                out.flush();
+                batch.setLength(0);
+                head = position;
+                wakeFlushing();
+                continue;
+            }
+            // Nothing published at position: sleep until a producer or close() unparks this thread
+            idle = true;
+            if (slot.sequence != position + 1 && !closed) {
+                LockSupport.park(this);
+            }
+            idle = false;
+        }
+        stopped = true;
+        wakeFlushing();
+    }
+
+    private void wakeFlushing() {
+        for (Thread waiter : flushing) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Copy of {@code arguments} with everything but immutable values rendered the way the formatter would
+     */
+    private static Object[] snapshot(Object[] arguments) {
+        if (arguments == null || arguments.length == 0) {
+            return arguments;
+        }
+        Object[] values = arguments.clone();
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (!(value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                    || value instanceof Character || value instanceof Enum<?> || value instanceof TemporalAccessor)) {
+                values[i] = MessageFormatter.basicArrayFormat("{}", new Object[]{value});
+            }
+        }
+        return values;
+    }
+
+    private void format(Slot slot, StringBuilder line) {
+        long second = Math.floorDiv(slot.timeMillis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTime = TIME.format(Instant.ofEpochSecond(second));
+        }
+        int millis = Math.floorMod(slot.timeMillis, 1000);
+        line.append(cachedTime)
+                .append((char) ('0' + millis / 100))
+                .append((char) ('0' + millis / 10 % 10))
+                .append((char) ('0' + millis % 10))
+                .append(" [").append(slot.thread).append("] ")
+                .append(slot.level).append(' ')
+                .append(slot.logger).append(" - ")
+                .append(slot.arguments == null || slot.arguments.length == 0 ? slot.pattern
+                        : MessageFormatter.basicArrayFormat(slot.pattern, slot.arguments))
+                .append(System.lineSeparator());
+        if (slot.throwable != null) {
+            StringWriter trace = new StringWriter();
+            slot.throwable.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.testexpert.java.logging;
+
+/**
+ * Log lines of one running test, appended by the appender thread and read once the appender has been flushed
+ * Capped so a chatty test cannot hold an unbounded buffer; the cap keeps the first lines, where setup problems show.
+ */
+public final class LogCapture {
+
+    static final int MAX_CHARS = 1 << 20;
+
+    private final StringBuilder lines = new StringBuilder();
+    private boolean truncated;
+
+    void append(CharSequence text, int start, int end) {
+        if (lines.length() + end - start <= MAX_CHARS) {
+            lines.append(text, start, end);
+        } else {
+            truncated = true;
+        }
+    }
+
+    public String text() {
+        return truncated ? lines + "... log truncated at " + MAX_CHARS + " characters" + System.lineSeparator()
+                : lines.toString();
+    }
+}
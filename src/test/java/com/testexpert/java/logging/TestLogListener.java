@@ -0,0 +1,57 @@
+package com.testexpert.java.logging;
+
+import io.qameta.allure.Allure;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Captures each test's log lines and attaches them to Allure only when the test fails
+ * Declared after AsyncAllureTestNg in testng.xml: TestNG calls failure listeners in reverse registration order, so
+ * the attachment is added while the Allure test case is still running. Passing and skipped tests drop their capture.
+ */
+public class TestLogListener implements ITestListener {
+
+    static final String CAPTURE_ATTRIBUTE = "testLog.capture";
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        result.setAttribute(CAPTURE_ATTRIBUTE, new LogCapture());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        result.removeAttribute(CAPTURE_ATTRIBUTE);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        result.removeAttribute(CAPTURE_ATTRIBUTE);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        attach(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        attach(result);
+    }
+
+    private static void attach(ITestResult result) {
+        if (!(result.removeAttribute(CAPTURE_ATTRIBUTE) instanceof LogCapture capture)) {
+            return;
+        }
+        if (LoggerFactory.getILoggerFactory() instanceof TestLoggerFactory factory) {
+            factory.flush();
+        }
+        String text = capture.text();
+        if (!text.isEmpty()) {
+            Allure.getLifecycle().addAttachment("Test log", "text/plain", "log",
+                    text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
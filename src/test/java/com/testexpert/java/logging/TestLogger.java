@@ -0,0 +1,65 @@
+package com.testexpert.java.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+/**
+ * SLF4J logger that hands events to the {@link AsyncLogAppender} together with the running test's capture
+ * Disabled levels return before the message is touched, so parameterized calls cost nothing when filtered out.
+ */
+final class TestLogger extends LegacyAbstractLogger {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient AsyncLogAppender appender;
+    private final String shortName;
+    private final int threshold;
+
+    TestLogger(String name, Level level, AsyncLogAppender appender) {
+        this.name = name;
+        this.shortName = name.substring(name.lastIndexOf('.') + 1);
+        this.threshold = level.toInt();
+        this.appender = appender;
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return threshold <= Level.TRACE.toInt();
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return threshold <= Level.DEBUG.toInt();
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return threshold <= Level.INFO.toInt();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return threshold <= Level.WARN.toInt();
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return threshold <= Level.ERROR.toInt();
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern, Object[] arguments,
+                                               Throwable throwable) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        LogCapture capture = result == null ? null : (LogCapture) result.getAttribute(TestLogListener.CAPTURE_ATTRIBUTE);
+        appender.append(level, shortName, messagePattern, arguments, throwable, capture);
+    }
+}
@@ -0,0 +1,56 @@
+package com.testexpert.java.logging;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Loggers sharing one {@link AsyncLogAppender}
+ * Configured with system properties: test.log.level (default INFO), test.log.bufferSize (ring slots, default
+ * 8192) and test.log.file (default: standard output, which surefire captures per test class).
+ */
+public final class TestLoggerFactory implements ILoggerFactory {
+
+    private final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<>();
+    private final Level level;
+    private final AsyncLogAppender appender;
+
+    TestLoggerFactory() {
+        this.level = Level.valueOf(System.getProperty("test.log.level", "INFO").toUpperCase(Locale.ROOT));
+        this.appender = new AsyncLogAppender(Integer.getInteger("test.log.bufferSize", 8192), output());
+        Runtime.getRuntime().addShutdownHook(new Thread(appender::flush, "test-log-flush"));
+    }
+
+    @Override
+    public Logger getLogger(String name) {
+        return loggers.computeIfAbsent(name, key -> new TestLogger(key, level, appender));
+    }
+
+    /**
+     * Block until everything logged so far has been written and captured
+     */
+    public void flush() {
+        appender.flush();
+    }
+
+    private static PrintStream output() {
+        String file = System.getProperty("test.log.file");
+        if (file == null || file.isBlank()) {
+            return System.out;
+        }
+        try {
+            return new PrintStream(new FileOutputStream(file, true), false, StandardCharsets.UTF_8);
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException("Could not open test log file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.testexpert.java.screenshot;
+
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.TestResult;
+import org.testng.ITestResult;
+
+/**
+ * Allure lifecycle listener that links a pending screenshot to the test result just before it is stopped
+ * Registered through META-INF/services. Binding at stop time also covers tests skipped by a failed dependency,
+ * whose Allure result only exists inside AllureTestNg.onTestSkipped. TestNG calls failure and skip listeners
+ * in reverse registration order, so ScreenshotOnFailureListener is declared after AsyncAllureTestNg in testng.xml.
+ */
+public class ScreenshotAttachments implements TestLifecycleListener {
+
+    private static final ThreadLocal<Pending> PENDING = new ThreadLocal<>();
+
+    private record Pending(String fullName, Attachment attachment) {
+    }
+
+    static void bind(ITestResult result, String source, String name) {
+        Attachment attachment = new Attachment().setName(name).setType("image/png").setSource(source);
+        PENDING.set(new Pending(result.getMethod().getQualifiedName(), attachment));
+    }
+
+    @Override
+    public void beforeTestStop(TestResult result) {
+        Pending pending = PENDING.get();
+        if (pending != null && pending.fullName().equals(result.getFullName())) {
+            PENDING.remove();
+            result.getAttachments().add(pending.attachment());
+        }
+    }
+}
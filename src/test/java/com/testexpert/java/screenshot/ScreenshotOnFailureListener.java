@@ -0,0 +1,93 @@
+package com.testexpert.java.screenshot;
+
+import com.testexpert.java.e2e.base.BaseTest;
+import com.testexpert.java.utils.SeleniumSettings;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Captures a screenshot when an E2E test fails or is skipped because a dependency failed
+ * Only the driver round trip and a content hash run on the test thread; {@link ScreenshotStore} decodes,
+ * deduplicates and writes on a background pool. Settings come from selenium.properties
+ * (screenshot.on.failure, screenshot.dir) and can be overridden with system properties of the same name.
+ */
+public class ScreenshotOnFailureListener implements ITestListener {
+
+    public static final String CAPTURE_MILLIS_ATTRIBUTE = "screenshot.captureMillis";
+
+    private static final Logger log = LoggerFactory.getLogger(ScreenshotOnFailureListener.class);
+
+    private final boolean enabled;
+    private final ScreenshotStore store;
+    private final LongAdder captureNanos = new LongAdder();
+
+    public ScreenshotOnFailureListener() {
+        this(SeleniumSettings.all());
+    }
+
+    ScreenshotOnFailureListener(Properties settings) {
+        this.enabled = Boolean.parseBoolean(settings.getProperty("screenshot.on.failure", "true"));
+        this.store = new ScreenshotStore(Path.of(settings.getProperty("screenshot.dir", "target/screenshots")), true);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        capture(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        capture(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        if (!result.getSkipCausedBy().isEmpty()) {
+            capture(result);
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        if (store.captured() == 0) {
+            return;
+        }
+        store.awaitPending();
+        System.out.printf("Screenshots: %d captured, %d unique in %s, average capture latency %.1f ms%n",
+                store.captured(), store.unique(), store.directory(),
+                captureNanos.sum() / 1e6 / store.captured());
+    }
+
+    private void capture(ITestResult result) {
+        if (!enabled || !(result.getInstance() instanceof BaseTest test)
+                || !(test.getDriver() instanceof TakesScreenshot camera)) {
+            return;
+        }
+        long start = System.nanoTime();
+        ScreenshotStore.Frame frame;
+        try {
+            frame = store.submit(camera.getScreenshotAs(OutputType.BASE64));
+        } catch (WebDriverException e) {
+            log.warn("Screenshot capture failed for {}: {}", result.getName(), e.getMessage());
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        captureNanos.add(elapsed);
+        double millis = elapsed / 1e6;
+        result.setAttribute(CAPTURE_MILLIS_ATTRIBUTE, millis);
+        ScreenshotAttachments.bind(result, frame.attachmentSource(),
+                String.format("Screenshot (capture +%.1f ms)", millis));
+        log.info("Screenshot {} for {} (+{} ms on the test thread)",
+                frame.hash().substring(0, 16), result.getName(), Math.round(millis * 10) / 10.0);
+    }
+}
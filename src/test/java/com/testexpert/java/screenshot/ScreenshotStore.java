@@ -0,0 +1,123 @@
+package com.testexpert.java.screenshot;
+
+import io.qameta.allure.Allure;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Content-addressed screenshot store backed by a small background writer pool
+ * Frames are keyed by the SHA-256 of the driver's Base64 payload, so identical screens are
+ * decoded and written once; every capture of that screen shares the same file and Allure attachment.
+ */
+public class ScreenshotStore implements AutoCloseable {
+
+    private static final int WRITER_THREADS = 2;
+
+    private final Path directory;
+    private final boolean attachToAllure;
+    private final ExecutorService writers = Executors.newFixedThreadPool(WRITER_THREADS,
+            Thread.ofPlatform().daemon().name("screenshot-writer-", 0).factory());
+    private final Map<String, Future<Path>> frames = new ConcurrentHashMap<>();
+    private final AtomicInteger captured = new AtomicInteger();
+
+    /**
+     * A submitted capture; {@code file} completes once the PNG is on disk
+     */
+    public record Frame(String hash, String attachmentSource, Future<Path> file) {
+    }
+
+    public ScreenshotStore(Path directory, boolean attachToAllure) {
+        this.directory = directory;
+        this.attachToAllure = attachToAllure;
+    }
+
+    /**
+     * Queue a Base64-encoded PNG as returned by {@code TakesScreenshot.getScreenshotAs(OutputType.BASE64)}
+     * Only hashing happens on the calling thread; decoding and file I/O run on the writer pool
+     */
+    public Frame submit(String base64Png) {
+        captured.incrementAndGet();
+        String hash = sha256(base64Png);
+        Future<Path> file = frames.computeIfAbsent(hash, h -> writers.submit(() -> write(h, base64Png)));
+        return new Frame(hash, attachmentSource(hash), file);
+    }
+
+    public int captured() {
+        return captured.get();
+    }
+
+    public int unique() {
+        return frames.size();
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Wait for queued frames; write failures are reported but never fail the run
+     */
+    public void awaitPending() {
+        for (Map.Entry<String, Future<Path>> frame : frames.entrySet()) {
+            try {
+                frame.getValue().get();
+            } catch (ExecutionException e) {
+                System.err.println("Could not write screenshot " + frame.getKey() + ": " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        awaitPending();
+        writers.shutdown();
+        try {
+            writers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static String attachmentSource(String hash) {
+        return "screenshot-" + hash + "-attachment.png";
+    }
+
+    private Path write(String hash, String base64Png) throws IOException {
+        byte[] png = Base64.getMimeDecoder().decode(base64Png);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(hash.substring(0, 16) + ".png");
+        Files.write(file, png);
+        if (attachToAllure) {
+            Allure.getLifecycle().writeAttachment(attachmentSource(hash), new ByteArrayInputStream(png));
+        }
+        return file;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.ISO_8859_1)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.allure.AllureResultsPack;
+import com.testexpert.java.allure.AsyncBatchingResultsWriter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for AsyncBatchingResultsWriter and AllureResultsPack
+ */
+public class AllureResultsPackTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("allure-pack");
+    }
+
+    @Test(description = "Async writer produces one file per result")
+    public void testAsyncWriterWritesFiles() throws IOException {
+        try (AsyncBatchingResultsWriter writer = new AsyncBatchingResultsWriter(dir, false, 4)) {
+            for (int i = 0; i < 20; i++) {
+                writer.write(new TestResult().setUuid("r" + i).setName("case " + i).setStatus(Status.PASSED));
+            }
+            writer.flush();
+            assertTrue(Files.exists(dir.resolve("r19-result.json")), "Last result should be on disk after flush");
+        }
+        assertEquals(fileCount(dir), 20);
+        assertTrue(Files.readString(dir.resolve("r3-result.json")).contains("\"case 3\""));
+    }
+
+    @Test(description = "Pack mode round-trips results, containers and attachments")
+    public void testPackRoundTrip() throws IOException {
+        try (AsyncBatchingResultsWriter writer = new AsyncBatchingResultsWriter(dir, true)) {
+            writer.write(new TestResult().setUuid("r1").setName("login").setStatus(Status.FAILED));
+            writer.write(new TestResultContainer().setUuid("c1").setName("suite"));
+            writer.write("a1-attachment.txt", new ByteArrayInputStream("log line".getBytes(StandardCharsets.UTF_8)));
+        }
+        assertEquals(fileCount(dir), 1, "Pack mode should write a single file");
+
+        Path expanded = dir.resolve("expanded");
+        assertEquals(AllureResultsPack.expand(dir.resolve(AllureResultsPack.FILE_NAME), expanded), 3);
+        assertTrue(Files.readString(expanded.resolve("r1-result.json")).contains("\"failed\""));
+        assertTrue(Files.exists(expanded.resolve("c1-container.json")));
+        assertEquals(Files.readString(expanded.resolve("a1-attachment.txt")), "log line");
+    }
+
+    @Test(description = "Concurrent producers blocked on a full queue are woken and every result is flushed",
+            timeOut = 30_000)
+    public void testConcurrentProducersOnSmallQueue() throws Exception {
+        try (AsyncBatchingResultsWriter writer = new AsyncBatchingResultsWriter(dir, true, 2)) {
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                producers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        writer.write(new TestResult().setUuid("t" + thread + "-" + i).setStatus(Status.PASSED));
+                        if (i % 50 == 0) {
+                            writer.flush();
+                        }
+                    }
+                }));
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            writer.flush();
+        }
+        Path expanded = dir.resolve("expanded");
+        assertEquals(AllureResultsPack.expand(dir.resolve(AllureResultsPack.FILE_NAME), expanded), 1000);
+    }
+
+    @Test(description = "Writes after close are rejected", expectedExceptions = IllegalStateException.class)
+    public void testWriteAfterClose() {
+        AsyncBatchingResultsWriter writer = new AsyncBatchingResultsWriter(dir, false);
+        writer.close();
+        writer.write(new TestResult().setUuid("late"));
+    }
+
+    private static long fileCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.aot.AotCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarFile;
+
+/**
+ * Unit tests for AotCache
+ */
+public class AotCacheTest {
+
+    private Path dir;
+    private Path testClasses;
+    private Path classes;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        Path project = Files.createTempDirectory("aot-cache");
+        dir = Files.createDirectories(project.resolve("aot"));
+        testClasses = project.resolve("test-classes");
+        classes = Files.createDirectories(project.resolve("classes"));
+        Files.createDirectories(testClasses.resolve("com/example"));
+        Files.write(testClasses.resolve("com/example/ExampleTest.class"), new byte[] {1, 2});
+        Files.write(classes.resolve("App.class"), new byte[] {3});
+    }
+
+    @Test(description = "Test the archive key changes with the JDK and with the dependency jars")
+    public void testArchiveKey() {
+        List<Path> jars = List.of(Path.of("testng-7.10.2.jar"), Path.of("selenium-java-4.25.0.jar"));
+        String key = AotCache.archiveKey("25+36", jars);
+
+        assertEquals(AotCache.archiveKey("25+36", List.copyOf(jars)), key);
+        assertNotEquals(AotCache.archiveKey("25.0.1+8", jars), key);
+        assertNotEquals(AotCache.archiveKey("25+36", List.of(jars.get(0), Path.of("selenium-java-4.26.0.jar"))), key);
+        assertNotEquals(AotCache.archiveKey("25+36", jars.subList(0, 1)), key);
+    }
+
+    @Test(description = "Test the first prepare trains, and a prepare with an archive under the same key uses it")
+    public void testPrepareTrainsThenUsesArchive() throws IOException {
+        List<Path> classpath = List.of(testClasses, classes, Path.of("testng-7.10.2.jar"));
+
+        AotCache.prepare(dir, classpath);
+        assertTrue(argLine().contains("-XX:DumpLoadedClassList="), argLine());
+        assertEquals(Files.readString(dir.resolve(AotCache.KEY_FILE)),
+                AotCache.archiveKey(System.getProperty("java.runtime.version", ""), classpath.subList(2, 3)));
+        try (JarFile tests = new JarFile(dir.resolve(AotCache.TEST_JAR).toFile());
+             JarFile main = new JarFile(dir.resolve(AotCache.MAIN_JAR).toFile())) {
+            assertNotNull(tests.getEntry("com/example/ExampleTest.class"));
+            assertNotNull(main.getEntry("App.class"));
+        }
+
+        Files.write(dir.resolve(AotCache.ARCHIVE), new byte[] {0});
+        AotCache.prepare(dir, classpath);
+        assertTrue(Files.exists(dir.resolve(AotCache.ARCHIVE)), "An archive under the same key is kept");
+        assertTrue(argLine().startsWith("-XX:SharedArchiveFile="), argLine());
+    }
+
+    @Test(description = "Test a dependency change discards the archive and the training files and trains again")
+    public void testPrepareDiscardsStaleArchive() throws IOException {
+        AotCache.prepare(dir, List.of(testClasses, classes, Path.of("testng-7.10.2.jar")));
+        for (String file : List.of(AotCache.ARCHIVE, AotCache.CLASS_LIST, AotCache.FORK_CLASSPATH)) {
+            Files.writeString(dir.resolve(file), "stale");
+        }
+
+        AotCache.prepare(dir, List.of(testClasses, classes, Path.of("testng-7.11.0.jar")));
+
+        assertFalse(Files.exists(dir.resolve(AotCache.ARCHIVE)));
+        assertFalse(Files.exists(dir.resolve(AotCache.CLASS_LIST)));
+        assertFalse(Files.exists(dir.resolve(AotCache.FORK_CLASSPATH)));
+        assertTrue(argLine().contains("-XX:DumpLoadedClassList="), argLine());
+    }
+
+    @Test(description = "Test create dumps nothing without a training class list or with an archive present")
+    public void testCreateSkips() throws Exception {
+        assertFalse(AotCache.create(dir), "No class list recorded yet");
+
+        Files.writeString(dir.resolve(AotCache.CLASS_LIST), "java/lang/Object id: 0\n");
+        Files.write(dir.resolve(AotCache.ARCHIVE), new byte[] {0});
+        assertFalse(AotCache.create(dir), "The archive is current");
+        assertEquals(Files.readAllBytes(dir.resolve(AotCache.ARCHIVE)), new byte[] {0});
+    }
+
+    @Test(description = "Test verify counts failures and errors across the surefire reports")
+    public void testFailedTests() throws IOException {
+        Path reports = Files.createDirectories(dir.resolve("surefire-reports"));
+        assertEquals(AotCache.failedTests(dir.resolve("missing")), 0);
+        Files.writeString(reports.resolve("TEST-TestSuite.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <testsuite name="TestSuite" tests="12" skipped="1" failures="2" errors="1">
+                  <testcase name="testAddition" classname="com.testexpert.java.unit.CalculatorTest"/>
+                </testsuite>
+                """);
+        Files.writeString(reports.resolve("TEST-Other.xml"), """
+                <testsuite name="Other" tests="3" failures="0" errors="0"/>
+                """);
+        Files.writeString(reports.resolve("testng-results.xml"), "<testng-results failed=\"9\"/>");
+
+        assertEquals(AotCache.failedTests(reports), 3);
+    }
+
+    @Test(description = "Test the class list keeps JDK and dependency classes and drops project classes")
+    public void testFilterClassList() throws IOException {
+        Path in = dir.resolve(AotCache.CLASS_LIST);
+        Files.write(in, List.of(
+                "# NOTE: Do not modify this file.",
+                "java/lang/Object id: 0",
+                "org/testng/TestNG id: 1",
+                "com/testexpert/java/app/Calculator id: 2",
+                "@lambda-proxy java/lang/Runnable run ()V",
+                "@lambda-proxy com/testexpert/java/app/Calculator apply ()V"));
+        Path out = dir.resolve("filtered.lst");
+        URL testng = org.testng.TestNG.class.getProtectionDomain().getCodeSource().getLocation();
+
+        int kept;
+        try (URLClassLoader dependencies = new URLClassLoader(new URL[] {testng}, null)) {
+            kept = AotCache.filterClassList(in, out, dependencies);
+        }
+
+        assertEquals(kept, 2);
+        assertEquals(Files.readAllLines(out), List.of(
+                "java/lang/Object id: 0",
+                "org/testng/TestNG id: 1",
+                "@lambda-proxy java/lang/Runnable run ()V"));
+    }
+
+    private String argLine() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(dir.resolve(AotCache.PROPERTIES))) {
+            properties.load(in);
+        }
+        return properties.getProperty("aot.argLine");
+    }
+}
@@ -0,0 +1,143 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.logging.AsyncLogAppender;
+import com.testexpert.java.logging.LogCapture;
+import com.testexpert.java.logging.TestLoggerFactory;
+
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for AsyncLogAppender and the test logging binding
+ */
+public class AsyncLogAppenderTest {
+
+    private ByteArrayOutputStream output;
+    private AsyncLogAppender appender;
+
+    @BeforeMethod
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+        // Small ring so concurrent producers wrap around it many times
+        appender = new AsyncLogAppender(64, new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        appender.close();
+    }
+
+    @Test(description = "Test placeholders are substituted and lines carry level and logger")
+    public void testFormatting() {
+        appender.append(Level.INFO, "LoginPage", "Entered username using {} locator: {}",
+                new Object[]{"ID", "standard_user"}, null, null);
+        appender.append(Level.WARN, "ProductsPage", "Cart is empty", null, new IllegalStateException("boom"), null);
+        appender.flush();
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertTrue(lines[0].endsWith("INFO LoginPage - Entered username using ID locator: standard_user"), lines[0]);
+        assertTrue(lines[1].endsWith("WARN ProductsPage - Cart is empty"), lines[1]);
+        assertEquals(lines[2], "java.lang.IllegalStateException: boom");
+    }
+
+    @Test(description = "Test concurrent producers lose no lines and never interleave them")
+    public void testConcurrentProducers() throws InterruptedException {
+        int threads = 8;
+        int perThread = 5_000;
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    appender.append(Level.INFO, "Producer", "thread {} line {}", new Object[]{id, i}, null, null);
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        appender.flush();
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(lines.length, threads * perThread);
+        int[] next = new int[threads];
+        for (String line : lines) {
+            String[] words = line.substring(line.indexOf(" - ") + 3).split(" ");
+            int id = Integer.parseInt(words[1]);
+            assertEquals(Integer.parseInt(words[3]), next[id]++, "Lines of one thread stay in order: " + line);
+        }
+        assertTrue(Arrays.stream(next).allMatch(count -> count == perThread));
+    }
+
+    @Test(description = "Test lines are captured only for the test they were logged under")
+    public void testCapture() {
+        LogCapture first = new LogCapture();
+        LogCapture second = new LogCapture();
+        appender.append(Level.INFO, "BaseTest", "Navigated to: {}", new Object[]{"https://www.saucedemo.com"}, null, first);
+        appender.append(Level.INFO, "BaseTest", "outside any test", null, null, null);
+        appender.append(Level.INFO, "LoginPage", "All fields cleared", null, null, second);
+        appender.flush();
+
+        assertTrue(first.text().contains("Navigated to: https://www.saucedemo.com"));
+        assertFalse(first.text().contains("All fields cleared"));
+        assertTrue(second.text().contains("All fields cleared"));
+        assertEquals(output.toString(StandardCharsets.UTF_8).lines().count(), 3);
+    }
+
+    @Test(description = "Test mutable arguments are logged as they were when the call was made")
+    public void testArgumentsSnapshot() {
+        StringBuilder cart = new StringBuilder("1 item");
+        int[] prices = {29, 15};
+        appender.append(Level.INFO, "CartPage", "Cart holds {} at {}", new Object[]{cart, prices}, null, null);
+        cart.append(" and 1 more");
+        prices[0] = 0;
+        appender.flush();
+
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Cart holds 1 item at [29, 15]"),
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test(description = "Test the idle appender thread parks until an event arrives instead of polling")
+    public void testIdleConsumerParks() throws InterruptedException {
+        appender.append(Level.INFO, "BaseTest", "first", null, null, null);
+        appender.flush();
+        boolean parked = false;
+        for (int i = 0; i < 100 && !parked; i++) {
+            Thread.sleep(10);
+            parked = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().equals("test-log-appender"))
+                    .allMatch(thread -> thread.getState() == Thread.State.WAITING);
+        }
+        assertTrue(parked, "Idle appender threads wait without a timeout");
+
+        appender.append(Level.INFO, "BaseTest", "second", null, null, null);
+        appender.flush();
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("BaseTest - second"));
+    }
+
+    @Test(description = "Test SLF4J binds to the test logging provider with INFO as the default level")
+    public void testBinding() {
+        assertTrue(LoggerFactory.getILoggerFactory() instanceof TestLoggerFactory);
+        assertTrue(LoggerFactory.getLogger(AsyncLogAppenderTest.class).isInfoEnabled());
+        assertFalse(LoggerFactory.getLogger(AsyncLogAppenderTest.class).isDebugEnabled());
+    }
+
+    @Test(description = "Test ring capacity must be a power of two", expectedExceptions = IllegalArgumentException.class)
+    public void testCapacity() {
+        new AsyncLogAppender(100, System.out);
+    }
+
+    @Test(description = "Test a single-slot ring is rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testSingleSlotCapacity() {
+        new AsyncLogAppender(1, System.out);
+    }
+}
@@ -0,0 +1,124 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.jmeter.BinaryResultReader;
+import com.testexpert.java.jmeter.BinaryResultWriter;
+import com.testexpert.java.jmeter.JtlCsvReader;
+import com.testexpert.java.jmeter.JtlSample;
+import com.testexpert.java.jmeter.ResultFiles;
+import com.testexpert.java.jmeter.SamplerMetrics;
+import com.testexpert.java.jmeter.SamplerStats;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the memory-mapped binary result format and result aggregation
+ */
+public class BinaryResultsTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("binary-results");
+    }
+
+    @Test(description = "Test binary results round trip")
+    public void testRoundTrip() throws Exception {
+        Path file = dir.resolve("run.bin");
+        try (BinaryResultWriter writer = new BinaryResultWriter(file)) {
+            writer.write("Login", 1700000000000L, 120, true);
+            writer.write("Inventory", 1700000000200L, 80, false);
+        }
+
+        List<JtlSample> samples = new ArrayList<>();
+        BinaryResultReader.read(file, samples::add);
+
+        assertEquals(samples, List.of(new JtlSample("Login", 120, 1700000000000L, true),
+                new JtlSample("Inventory", 80, 1700000000200L, false)));
+        assertEquals(Files.size(file), 16 + 2 * 16, "Header plus two fixed-size records");
+    }
+
+    @Test(description = "Test labels with carriage returns and line feeds keep every later label id")
+    public void testLabelsWithLineBreaks() throws Exception {
+        Path file = dir.resolve("labels.bin");
+        try (BinaryResultWriter writer = new BinaryResultWriter(file)) {
+            writer.write("Login\rRetry", 1700000000000L, 120, true);
+            writer.write("Cart\nCheckout", 1700000000100L, 90, true);
+            writer.write("", 1700000000150L, 10, true);
+            writer.write("Inventory", 1700000000200L, 80, false);
+        }
+
+        List<JtlSample> samples = new ArrayList<>();
+        BinaryResultReader.read(file, samples::add);
+
+        assertEquals(samples.stream().map(JtlSample::label).toList(),
+                List.of("Login\rRetry", "Cart Checkout", "", "Inventory"));
+    }
+
+    @Test(description = "Test parallel aggregation matches sequential statistics")
+    public void testParallelAggregation() throws Exception {
+        Path file = dir.resolve("run.bin");
+        SamplerStats expected = new SamplerStats("Login");
+        try (BinaryResultWriter writer = new BinaryResultWriter(file)) {
+            for (int i = 1; i <= 10_000; i++) {
+                writer.write("Login", 1700000000000L + i, i % 500, i % 100 != 0);
+                expected.add(i % 500, 1700000000000L + i, i % 100 != 0);
+            }
+        }
+
+        Map<String, SamplerStats> stats = BinaryResultReader.aggregate(file, 4);
+
+        assertEquals(stats.get("Login").metrics(), expected.metrics(), "Merged histograms should be exact");
+        assertEquals(stats.get("Login").metrics().errorRate(), 0.01, 1e-9);
+    }
+
+    @Test(description = "Test results from several generator processes merge by label")
+    public void testMergeFiles() throws Exception {
+        try (BinaryResultWriter first = new BinaryResultWriter(dir.resolve("agent1.bin"));
+                BinaryResultWriter second = new BinaryResultWriter(dir.resolve("agent2.bin"))) {
+            first.write("Login", 1700000000000L, 100, true);
+            second.write("Inventory", 1700000000000L, 50, true);
+            second.write("Login", 1700000000000L, 300, true);
+        }
+
+        Map<String, SamplerStats> stats = ResultFiles.aggregate(ResultFiles.find(dir), 2);
+
+        SamplerMetrics login = stats.get("Login").metrics();
+        assertEquals(login.samples(), 2, "Label ids differ per file but names should merge");
+        assertEquals(login.p99(), 300, 1);
+        assertEquals(stats.get("Inventory").metrics().samples(), 1);
+    }
+
+    @Test(description = "Test JMeter CSV results with quoted label")
+    public void testCsvReader() throws Exception {
+        String csv = """
+                timeStamp,elapsed,label,responseCode,responseMessage,threadName,success
+                1700000000000,310,"Open Home Page, cached",200,OK,Users 1-1,true
+                1700000001000,2100,Open Home Page,200,OK,Users 1-2,false
+                """;
+        List<JtlSample> samples = new ArrayList<>();
+
+        long count = JtlCsvReader.read(new StringReader(csv), samples::add);
+
+        assertEquals(count, 2);
+        assertEquals(samples.get(0).label(), "Open Home Page, cached");
+        assertFalse(samples.get(1).success());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,96 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.e2e.SeleniumLocatorsSimplifiedTest;
+import com.testexpert.java.e2e.base.Browser;
+import com.testexpert.java.e2e.base.BrowserMatrix;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for Browser and BrowserMatrix
+ */
+public class BrowserMatrixTest {
+
+    @Test(description = "Test browser lists parse case-insensitively, in order and without duplicates")
+    public void testParseBrowsers() {
+        assertEquals(Browser.parse("chrome, Firefox,,chrome"), List.of(Browser.CHROME, Browser.FIREFOX));
+        assertEquals(Browser.parse(""), List.of());
+        assertEquals(Browser.of(" EDGE ").id(), "edge");
+        assertThrows(IllegalArgumentException.class, () -> Browser.parse("chrome,safari"));
+    }
+
+    @Test(description = "Test every E2E test is copied per browser with its own parameter and classes")
+    public void testExpandE2eTests() {
+        XmlSuite suite = new XmlSuite();
+        XmlTest unit = test(suite, "Unit Tests", CalculatorTest.class);
+        XmlTest e2e = test(suite, "E2E", SeleniumLocatorsSimplifiedTest.class);
+        e2e.addParameter("env", "ci");
+        XmlTest pinned = test(suite, "E2E pinned", SeleniumLocatorsSimplifiedTest.class);
+        pinned.addParameter(Browser.PARAMETER, "edge");
+
+        int copies = BrowserMatrix.expand(suite, List.of(Browser.CHROME, Browser.FIREFOX), true);
+
+        assertEquals(copies, 2);
+        List<XmlTest> tests = suite.getTests();
+        assertEquals(tests.stream().map(XmlTest::getName).toList(),
+                List.of("Unit Tests", "E2E [chrome]", "E2E [firefox]", "E2E pinned"));
+        assertSame(tests.get(0), unit);
+        assertSame(tests.get(3), pinned);
+        for (int i = 0; i < tests.size(); i++) {
+            assertEquals(tests.get(i).getIndex(), i);
+        }
+        XmlTest firefox = tests.get(2);
+        assertEquals(firefox.getAllParameters(), Map.of("env", "ci", Browser.PARAMETER, "firefox"));
+        assertEquals(tests.get(1).getParameter(Browser.PARAMETER), "chrome");
+        assertNull(e2e.getParameter(Browser.PARAMETER), "The original test keeps its parameters");
+        XmlClass xmlClass = firefox.getXmlClasses().get(0);
+        assertNotSame(xmlClass, e2e.getXmlClasses().get(0));
+        assertEquals(xmlClass.getName(), SeleniumLocatorsSimplifiedTest.class.getName());
+        assertEquals(xmlClass.getAllParameters().get(Browser.PARAMETER), "firefox");
+        assertEquals(suite.getParallel(), XmlSuite.ParallelMode.TESTS);
+        assertEquals(suite.getThreadCount(), 4);
+    }
+
+    @Test(description = "Test a sequential matrix and a suite without E2E tests keep running one test at a time")
+    public void testExpandSequentially() {
+        XmlSuite sequential = new XmlSuite();
+        test(sequential, "E2E", SeleniumLocatorsSimplifiedTest.class);
+        assertEquals(BrowserMatrix.expand(sequential, List.of(Browser.CHROME, Browser.EDGE), false), 2);
+        assertEquals(sequential.getParallel(), XmlSuite.ParallelMode.NONE);
+
+        XmlSuite units = new XmlSuite();
+        test(units, "Unit Tests", CalculatorTest.class);
+        assertEquals(BrowserMatrix.expand(units, List.of(Browser.CHROME, Browser.EDGE), true), 0);
+        assertEquals(units.getTests().size(), 1);
+        assertEquals(units.getParallel(), XmlSuite.ParallelMode.NONE);
+    }
+
+    @Test(description = "Test the report sums each browser and compares the wall-clock with the sequential total")
+    public void testReport() {
+        List<BrowserMatrix.Run> runs = List.of(
+                new BrowserMatrix.Run("chrome", 1_000, 31_000, 5, 0, 0),
+                new BrowserMatrix.Run("firefox", 1_000, 41_000, 4, 1, 0),
+                new BrowserMatrix.Run("chrome", 31_000, 36_000, 2, 0, 1));
+
+        String report = BrowserMatrix.report(runs, true);
+        assertTrue(report.contains("chrome       35.0 s  7 passed, 0 failed, 1 skipped"), report);
+        assertTrue(report.contains("firefox      40.0 s  4 passed, 1 failed, 0 skipped"), report);
+        assertTrue(report.contains("40.0 s wall-clock for 2 browsers concurrently against 75.0 s summed per browser"
+                + " (1.88x)"), report);
+        assertTrue(BrowserMatrix.report(runs, false)
+                .contains("40.0 s wall-clock for 2 browsers one after another"));
+    }
+
+    private static XmlTest test(XmlSuite suite, String name, Class<?> testClass) {
+        XmlTest test = new XmlTest(suite);
+        test.setName(name);
+        test.setXmlClasses(List.of(new XmlClass(testClass)));
+        return test;
+    }
+}
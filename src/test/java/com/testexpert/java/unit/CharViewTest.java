@@ -0,0 +1,115 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.utils.CharView;
+import com.testexpert.java.utils.StringUtils;
+
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.Random;
+
+/**
+ * Unit tests for the CharView views of StringUtils
+ */
+public class CharViewTest {
+
+    private static final String ALPHABET = "abcXYZ é?ß𐐨😀";
+
+    @Test(description = "Test reverseView reads like reverse, keeping surrogate pairs in order")
+    public void testReverseView() {
+        assertEquals(StringUtils.reverseView("TestNG").toString(), "GNtseT");
+        assertEquals(StringUtils.reverseView("a😀b").toString(), "b😀a");
+        assertEquals(StringUtils.reverseView("").length(), 0);
+
+        Random random = new Random(3);
+        for (int round = 0; round < 500; round++) {
+            String str = random(random, random.nextInt(40));
+            assertMatches(StringUtils.reverseView(str), StringUtils.reverse(str), random);
+        }
+        for (String lone : new String[]{"\uD801", "\uDC28", "\uDC28\uD801", "a\uD801𐐨b\uDC28\uDC28"}) {
+            assertMatches(StringUtils.reverseView(lone), StringUtils.reverse(lone), random);
+        }
+    }
+
+    @Test(description = "Test capitalizeView reads like capitalize")
+    public void testCapitalizeView() {
+        assertNull(StringUtils.capitalizeView(null));
+        Random random = new Random(5);
+        for (String str : new String[]{"", "   ", "testng", "t", "éa", "ßa", "𐐨x"}) {
+            assertMatches(StringUtils.capitalizeView(str), StringUtils.capitalize(str), random);
+        }
+        for (int round = 0; round < 500; round++) {
+            String str = random(random, random.nextInt(40));
+            assertMatches(StringUtils.capitalizeView(str), StringUtils.capitalize(str), random);
+        }
+    }
+
+    @Test(description = "Test appendTo writes the same chars to Writers, StringBuilders and other Appendables")
+    public void testAppendTo() {
+        String str = random(new Random(9), 2000);
+        for (CharView view : new CharView[]{StringUtils.reverseView(str), StringUtils.capitalizeView(str),
+                (CharView) StringUtils.reverseView(str).subSequence(17, 1500)}) {
+            String expected = view.toString();
+            assertEquals(view.appendTo(new StringWriter()).toString(), expected);
+            assertEquals(view.appendTo(new StringBuilder(">")).toString(), ">" + expected);
+            CharBuffer buffer = view.appendTo(CharBuffer.allocate(view.length()));
+            assertEquals(buffer.flip().toString(), expected);
+        }
+        assertEquals(((CharView) StringUtils.capitalizeView("abcdef").subSequence(0, 1)).appendTo(new StringWriter())
+                .toString(), "A");
+    }
+
+    @Test(description = "Test equals and hashCode compare content across views")
+    public void testEqualsAndHashCode() {
+        CharView reversed = StringUtils.reverseView("cbA");
+        CharView capitalized = StringUtils.capitalizeView("abc");
+        assertEquals(reversed, capitalized);
+        assertEquals(reversed.hashCode(), capitalized.hashCode());
+        assertEquals(reversed.hashCode(), "Abc".hashCode());
+        assertNotEquals(reversed, StringUtils.reverseView("cba"));
+        assertNotEquals(reversed, "Abc", "Only views are equal to views");
+        assertTrue(reversed.contentEquals("Abc"));
+        assertFalse(reversed.contentEquals("Abd"));
+        assertFalse(reversed.contentEquals("Ab"));
+        assertEquals(StringUtils.reverseView("").hashCode(), 0);
+    }
+
+    /**
+     * Every way of reading {@code view} gives {@code expected}, including random sub-sequences and char ranges
+     */
+    private static void assertMatches(CharView view, String expected, Random random) {
+        assertEquals(view.length(), expected.length());
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(view.charAt(i), expected.charAt(i), expected + " at " + i);
+        }
+        assertEquals(view.hashCode(), expected.hashCode());
+        assertTrue(view.contentEquals(expected));
+        if (!expected.isEmpty()) {
+            int start = random.nextInt(expected.length());
+            int end = start + random.nextInt(expected.length() - start + 1);
+            CharSequence sub = view.subSequence(start, end);
+            assertEquals(sub.toString(), expected.substring(start, end));
+            char[] chars = new char[end - start + 2];
+            view.getChars(start, end, chars, 1);
+            assertEquals(new String(chars, 1, end - start), expected.substring(start, end));
+            if (end > start) {
+                assertEquals(sub.subSequence(1, sub.length()).toString(), expected.substring(start + 1, end));
+            }
+        }
+        assertEquals(view.toString(), expected);
+        assertThrows(IndexOutOfBoundsException.class, () -> view.charAt(expected.length()));
+    }
+
+    private static String random(Random random, int length) {
+        int[] codePoints = ALPHABET.codePoints().toArray();
+        StringBuilder str = new StringBuilder();
+        while (str.length() < length) {
+            int pick = random.nextInt(codePoints.length + 2);
+            // Lone surrogates as well as pairs
+            str.append(pick == codePoints.length ? "\uD801" : pick > codePoints.length ? "\uDC28"
+                    : Character.toString(codePoints[pick]));
+        }
+        return str.toString();
+    }
+}
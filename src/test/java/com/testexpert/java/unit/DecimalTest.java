@@ -0,0 +1,119 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.app.Calculator;
+import com.testexpert.java.app.Decimal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * Unit tests for Calculator's decimal division and Decimal
+ */
+public class DecimalTest {
+
+    private static final int[] EDGES = {0, 1, -1, 2, -2, 3, 7, -7, 10, 99, 1_000_000_007,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE - 1, Integer.MIN_VALUE + 1};
+
+    private final Calculator calculator = new Calculator();
+
+    @Test(description = "Test decimal division matches BigDecimal for every rounding mode and scale")
+    public void testMatchesBigDecimal() {
+        Random random = new Random(41);
+        for (int i = 0; i < 20_000; i++) {
+            int a = i < EDGES.length * EDGES.length ? EDGES[i / EDGES.length] : random.nextInt();
+            int b = i < EDGES.length * EDGES.length ? EDGES[i % EDGES.length] : random.nextInt(2_000) - 1_000;
+            if (b == 0) {
+                continue;
+            }
+            int scale = random.nextInt(21);
+            for (RoundingMode mode : RoundingMode.values()) {
+                if (mode != RoundingMode.UNNECESSARY) {
+                    assertDivision(a, b, scale, mode);
+                }
+            }
+        }
+    }
+
+    @Test(description = "Test rounding ties and signs")
+    public void testRounding() {
+        assertEquals(calculator.divide(5, 2, 0, RoundingMode.HALF_EVEN).toString(), "2");
+        assertEquals(calculator.divide(7, 2, 0, RoundingMode.HALF_EVEN).toString(), "4");
+        assertEquals(calculator.divide(-5, 2, 0, RoundingMode.HALF_UP).toString(), "-3");
+        assertEquals(calculator.divide(-5, 2, 0, RoundingMode.HALF_DOWN).toString(), "-2");
+        assertEquals(calculator.divide(-1, 3, 2, RoundingMode.FLOOR).toString(), "-0.34");
+        assertEquals(calculator.divide(-1, 3, 2, RoundingMode.CEILING).toString(), "-0.33");
+        assertEquals(calculator.divide(2, 3, 4, RoundingMode.UP).toString(), "0.6667");
+    }
+
+    @Test(description = "Test results use a scaled long where it fits")
+    public void testCompactRepresentation() {
+        Decimal third = calculator.divide(1, 3, 18, RoundingMode.HALF_EVEN);
+        assertTrue(third.isCompact());
+        assertEquals(third.unscaledValue(), 333_333_333_333_333_333L);
+        assertEquals(third.scale(), 18);
+
+        Decimal large = calculator.divide(Integer.MAX_VALUE, 3, 18, RoundingMode.HALF_EVEN);
+        assertFalse(large.isCompact());
+        assertEquals(large.toBigDecimal(), new BigDecimal("715827882.333333333333333333"));
+        assertThrows(ArithmeticException.class, large::unscaledValue);
+        assertThrows(ArithmeticException.class,
+                () -> calculator.divideUnscaled(Integer.MAX_VALUE, 3, 18, RoundingMode.HALF_EVEN));
+        assertEquals(calculator.divideUnscaled(Integer.MIN_VALUE, 1, 9, RoundingMode.UNNECESSARY),
+                Integer.MIN_VALUE * 1_000_000_000L);
+    }
+
+    @Test(description = "Test repeated cent divisions add up without drift")
+    public void testTotalsDoNotDrift() {
+        Decimal total = Decimal.of(0, 2);
+        double doubleTotal = 0;
+        for (int i = 0; i < 1_000; i++) {
+            total = total.add(calculator.divide(1, 10, 2, RoundingMode.HALF_EVEN));
+            doubleTotal += calculator.divide(1, 10);
+        }
+        assertEquals(total, Decimal.of(10_000, 2));
+        assertEquals(total.toString(), "100.00");
+        assertNotEquals(doubleTotal, 100.0);
+    }
+
+    @Test(description = "Test add falls back to BigDecimal on overflow and mixed scales")
+    public void testAdd() {
+        Decimal max = Decimal.of(Long.MAX_VALUE, 0);
+        assertEquals(max.add(Decimal.of(1, 0)).toBigDecimal(), BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE));
+        assertEquals(Decimal.of(125, 2).add(Decimal.of(5, 1)), Decimal.of(175, 2));
+    }
+
+    @Test(description = "Test equality, ordering and conversions")
+    public void testValueSemantics() {
+        assertEquals(Decimal.of(250, 2), Decimal.of(new BigDecimal("2.50")));
+        assertNotEquals(Decimal.of(250, 2), Decimal.of(25, 1));
+        assertEquals(Decimal.of(250, 2).compareTo(Decimal.of(25, 1)), 0);
+        assertEquals(Decimal.of(250, 2).hashCode(), Decimal.of(new BigDecimal("2.50")).hashCode());
+        assertEquals(Decimal.of(1, 7).toString(), "0.0000001");
+        assertEquals(Decimal.of(-1234, 2).doubleValue(), -12.34);
+    }
+
+    @Test(description = "Test decimal division by zero keeps the IllegalArgumentException contract",
+            expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "Division by zero not allowed")
+    public void testDivideByZero() {
+        calculator.divide(1, 0, 2, RoundingMode.HALF_EVEN);
+    }
+
+    @Test(description = "Test UNNECESSARY rejects inexact quotients", expectedExceptions = ArithmeticException.class)
+    public void testRoundingNecessary() {
+        calculator.divide(1, 3, 5, RoundingMode.UNNECESSARY);
+    }
+
+    private void assertDivision(int a, int b, int scale, RoundingMode mode) {
+        BigDecimal expected = BigDecimal.valueOf(a).divide(BigDecimal.valueOf(b), scale, mode);
+        Decimal actual = calculator.divide(a, b, scale, mode);
+        assertEquals(actual.toBigDecimal(), expected, a + " / " + b + " at " + scale + " " + mode);
+        assertEquals(actual.scale(), scale);
+        if (actual.isCompact()) {
+            assertEquals(calculator.divideUnscaled(a, b, scale, mode), actual.unscaledValue());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.history.DurationBaseline;
+import com.testexpert.java.history.DurationHistoryListener;
+import com.testexpert.java.history.DurationHistoryReport;
+import com.testexpert.java.history.DurationStore;
+import com.testexpert.java.unit.fixtures.ListenerFixtures;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for DurationStore, DurationBaseline and DurationHistoryReport
+ */
+public class DurationHistoryTest {
+
+    private static final String COMMIT = "0123456789abcdef0123456789abcdef01234567";
+    private static final String LOGIN = "com.testexpert.java.e2e.LoginTest#testLoginWithIdLocator";
+    private static final String DIVISION = "com.testexpert.java.unit.CalculatorTest#testDivision";
+    private static final DurationHistoryReport.Thresholds THRESHOLDS =
+            new DurationHistoryReport.Thresholds(30, 5, 3.5, 5);
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("test-durations");
+    }
+
+    @Test(description = "Test median and MAD ignore a single outlier")
+    public void testBaseline() {
+        DurationBaseline baseline = DurationBaseline.of(new double[]{10, 12, 11, 9, 250, 10, 11});
+
+        assertEquals(baseline.samples(), 7);
+        assertEquals(baseline.median(), 11.0);
+        assertEquals(baseline.mad(), 1.0);
+        assertEquals(baseline.score(11), 0.0);
+        assertEquals(baseline.score(12.4826), 1.0, 1e-9);
+        assertTrue(baseline.isSlowdown(30, 3.5, 5));
+        assertFalse(baseline.isSlowdown(15, 3.5, 5), "Score 2.7 is within noise");
+        assertFalse(DurationBaseline.of(new double[]{0.2, 0.2, 0.2}).isSlowdown(0.9, 3.5, 5),
+                "Sub-millisecond changes stay under the minimum delta");
+    }
+
+    @Test(description = "Test runs, commits and records round trip through the store")
+    public void testRoundTrip() throws IOException {
+        DurationStore.Run first = append("env-a", COMMIT, Map.of(LOGIN, 1200.0, DIVISION, 0.4));
+        DurationStore.Run second = append("env-a", null, Map.of(LOGIN, 1300.0));
+
+        try (DurationStore store = DurationStore.open(dir)) {
+            assertEquals(store.runCount(), 2);
+            assertEquals(store.run(0), first);
+            assertEquals(store.run(0).commit(), COMMIT);
+            assertNull(store.run(1).commit());
+            assertEquals(store.run(1).firstRecord(), first.firstRecord() + 2 * 32L);
+            assertEquals(store.environment(second.environmentId()), "env-a");
+
+            List<DurationStore.Sample> login = store.history(store.latest(LOGIN), -1, -1, 10, 10);
+            assertEquals(login.stream().map(DurationStore.Sample::durationMicros).toList(), List.of(1_300_000L, 1_200_000L));
+            assertEquals(login.stream().map(DurationStore.Sample::runId).toList(), List.of(1, 0));
+            assertEquals(store.latest("UnknownTest#test"), 0);
+        }
+    }
+
+    @Test(description = "Test only the slowed-down test is flagged against its history")
+    public void testSlowdownDetected() throws IOException {
+        for (int run = 0; run < 12; run++) {
+            append("env-a", COMMIT, Map.of(LOGIN, 1200.0 + run % 3 * 20, DIVISION, 0.4 + run % 2 * 0.1));
+        }
+        DurationStore.Run current = append("env-a", COMMIT, Map.of(LOGIN, 1900.0, DIVISION, 0.6));
+
+        try (DurationStore store = DurationStore.open(dir)) {
+            List<DurationHistoryReport.Verdict> verdicts = new DurationHistoryReport(store, THRESHOLDS).analyze(current);
+
+            assertEquals(verdicts.size(), 2);
+            DurationHistoryReport.Verdict login = verdicts.get(0);
+            assertEquals(login.test(), LOGIN);
+            assertTrue(login.slowdown());
+            assertEquals(login.baseline().samples(), 12);
+            assertEquals(login.baseline().median(), 1220.0);
+            assertFalse(verdicts.get(1).slowdown());
+        }
+    }
+
+    @Test(description = "Test baselines only use runs from the same environment")
+    public void testEnvironmentsSeparated() throws IOException {
+        for (int run = 0; run < 10; run++) {
+            append("fast-laptop", COMMIT, Map.of(LOGIN, 800.0));
+        }
+        for (int run = 0; run < 3; run++) {
+            append("ci-agent", COMMIT, Map.of(LOGIN, 2000.0));
+        }
+        DurationStore.Run current = append("ci-agent", COMMIT, Map.of(LOGIN, 2000.0));
+
+        try (DurationStore store = DurationStore.open(dir)) {
+            DurationHistoryReport.Verdict verdict = new DurationHistoryReport(store, THRESHOLDS).analyze(current).get(0);
+            assertNull(verdict.baseline(), "Three ci-agent runs are below the minimum sample count");
+            assertFalse(verdict.slowdown());
+        }
+    }
+
+    @Test(description = "Test the report reads a bounded number of records per test")
+    public void testWindowBounded() throws IOException {
+        for (int run = 0; run < 100; run++) {
+            append("env-a", COMMIT, Map.of(LOGIN, 1000.0 + run));
+        }
+        try (DurationStore store = DurationStore.open(dir)) {
+            List<DurationStore.Sample> window = store.history(store.latest(LOGIN), -1, 0, 30, 120);
+            assertEquals(window.size(), 30);
+            assertEquals(window.get(0).durationMicros(), 1_099_000L);
+            assertEquals(window.get(29).durationMicros(), 1_070_000L);
+        }
+    }
+
+    @Test(description = "Test the environment fingerprint carries a hash of the JVM arguments")
+    public void testEnvironmentHashesJvmArguments() {
+        String environment = DurationStore.environment();
+        assertTrue(environment.matches(".*;jdk=[^;]+;args=[0-9a-f]{16}"), environment);
+        assertEquals(DurationStore.environment(), environment);
+    }
+
+    @Test(description = "Test a file that is not a duration store is rejected",
+            expectedExceptions = IllegalStateException.class)
+    public void testRejectsForeignFile() throws IOException {
+        Files.write(dir.resolve("durations.bin"), new byte[64]);
+        DurationStore.open(dir).close();
+    }
+
+    @Test(description = "Test only the first test method of the run is left out as warm-up, one-method classes are recorded")
+    public void testListenerRecordsOneMethodClasses() throws IOException {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("history");
+        XmlTest test = new XmlTest(suite);
+        test.setName("history");
+        test.setXmlClasses(List.of(new XmlClass(ListenerFixtures.WarmUp.class),
+                new XmlClass(ListenerFixtures.OneMethod.class), new XmlClass(ListenerFixtures.TwoMethods.class)));
+        System.setProperty("tests.history", "true");
+        System.setProperty("tests.history.dir", dir.toString());
+        try {
+            TestNG testng = new TestNG(false);
+            testng.setListenersToSkipFromBeingWiredInViaServiceLoaders("io.qameta.allure.testng.AllureTestNg");
+            testng.setVerbose(0);
+            testng.setXmlSuites(List.of(suite));
+            testng.addListener(new DurationHistoryListener());
+            testng.run();
+        } finally {
+            System.clearProperty("tests.history");
+            System.clearProperty("tests.history.dir");
+        }
+
+        try (DurationStore store = DurationStore.open(dir)) {
+            assertEquals(store.runCount(), 1);
+            assertEquals(Set.copyOf(store.tests()), Set.of(
+                    ListenerFixtures.OneMethod.class.getName() + "#testOnly",
+                    ListenerFixtures.TwoMethods.class.getName() + "#testFirst",
+                    ListenerFixtures.TwoMethods.class.getName() + "#testSecond"));
+        }
+    }
+
+    private DurationStore.Run append(String environment, String commit, Map<String, Double> millis) throws IOException {
+        List<DurationStore.Measurement> measurements = new ArrayList<>();
+        millis.forEach((test, value) -> measurements.add(
+                new DurationStore.Measurement(test, System.currentTimeMillis(), Math.round(value * 1000))));
+        return DurationStore.append(dir, System.currentTimeMillis(), commit, environment, measurements);
+    }
+}
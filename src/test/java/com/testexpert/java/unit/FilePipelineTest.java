@@ -0,0 +1,160 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.pipeline.FilePipeline;
+import com.testexpert.java.pipeline.LineStage;
+import com.testexpert.java.utils.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for FilePipeline against the String-based StringUtils
+ */
+public class FilePipelineTest {
+
+    private static final String[] WORDS = {"status", "GET", "42", "-7", "élan", "日本語", "😀", "x", "  ", "\t", "200"};
+
+    private Path directory;
+    private Locale defaultLocale;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("file-pipeline");
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ROOT);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        Locale.setDefault(defaultLocale);
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @DataProvider
+    public Object[][] chunking() {
+        return new Object[][]{{1L, 1}, {7L, 2}, {64L, 3}, {4096L, 4}, {1L << 20, 1}};
+    }
+
+    @Test(description = "Test output matches StringUtils line by line for any chunking", dataProvider = "chunking")
+    public void testMatchesStringUtils(long chunkSize, int threads) throws IOException {
+        String text = generate(new Random(chunkSize), 2_000);
+        Path input = write("input-" + chunkSize + ".txt", text);
+        Path output = directory.resolve("output-" + chunkSize + ".txt");
+
+        FilePipeline.Result result = FilePipeline.of(LineStage.skipBlank(), LineStage.capitalize(), LineStage.reverse())
+                .withChunkSize(chunkSize)
+                .withThreads(threads)
+                .run(input, output);
+
+        assertEquals(Files.readString(output), expected(text));
+        assertEquals(result.linesIn(), 2_000);
+        assertEquals(result.bytesIn(), Files.size(input));
+        assertEquals(result.bytesOut(), Files.size(output));
+    }
+
+    @Test(description = "Test CRLF terminators are kept and a missing final newline is not added")
+    public void testTerminators() throws IOException {
+        Path input = write("crlf.txt", "abc\r\n\r\nélan\nlast");
+        Path output = directory.resolve("crlf-out.txt");
+
+        FilePipeline.Result result = FilePipeline.of(LineStage.skipBlank(), LineStage.reverse())
+                .withChunkSize(3)
+                .run(input, output);
+
+        assertEquals(Files.readString(output), "cba\r\nnalé\ntsal");
+        assertEquals(result.linesIn(), 4);
+        assertEquals(result.linesOut(), 3);
+    }
+
+    @Test(description = "Test numeric field summary over kept lines")
+    public void testSummary() throws IOException {
+        Path input = write("numbers.txt", "GET 200 12\nPOST 500 -3\n\nGET ok 5\nGET 404\nPUT 1999999999999999999 1\n");
+        Path output = directory.resolve("numbers-out.txt");
+
+        FilePipeline.Summary summary = FilePipeline.of(LineStage.skipBlank())
+                .withSummary(1)
+                .withChunkSize(8)
+                .withThreads(2)
+                .run(input, output)
+                .summary();
+
+        assertEquals(summary.count(), 3);
+        assertEquals(summary.sum(), 1104);
+        assertEquals(summary.min(), 200);
+        assertEquals(summary.max(), 500);
+        assertEquals(summary.mean(), 368.0, 1e-9);
+    }
+
+    @Test(description = "Test empty input produces empty output")
+    public void testEmptyFile() throws IOException {
+        Path input = write("empty.txt", "");
+        Path output = write("empty-out.txt", "stale");
+
+        FilePipeline.Result result = FilePipeline.of(LineStage.capitalize()).run(input, output);
+
+        assertEquals(Files.size(output), 0);
+        assertEquals(result.linesIn(), 0);
+        assertNull(result.summary());
+    }
+
+    @Test(description = "Test stage failures are reported as IOException", expectedExceptions = IOException.class)
+    public void testStageFailure() throws IOException {
+        Path input = write("failure.txt", "one\ntwo\n");
+        LineStage failing = (src, offset, length, dst, dstOffset) -> {
+            throw new IllegalStateException("stage failed");
+        };
+        FilePipeline.of(failing).run(input, directory.resolve("failure-out.txt"));
+    }
+
+    @Test(description = "Test invalid settings are rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidThreads() {
+        FilePipeline.of().withThreads(0);
+    }
+
+    private static String generate(Random random, int lines) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            int words = random.nextInt(6);
+            for (int w = 0; w < words; w++) {
+                text.append(w == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            // One line in five is very long, so lines regularly span several chunks
+            if (random.nextInt(5) == 0) {
+                text.append("long".repeat(random.nextInt(100)));
+            }
+            text.append(random.nextInt(10) == 0 ? "\r\n" : "\n");
+        }
+        return text.toString();
+    }
+
+    private static String expected(String text) {
+        StringBuilder out = new StringBuilder();
+        int start = 0;
+        while (start < text.length()) {
+            int newline = text.indexOf('\n', start);
+            int end = newline < 0 ? text.length() : newline;
+            int contentEnd = end > start && text.charAt(end - 1) == '\r' ? end - 1 : end;
+            String line = text.substring(start, contentEnd);
+            if (!StringUtils.isEmpty(line)) {
+                out.append(StringUtils.reverse(StringUtils.capitalize(line)))
+                        .append(text, contentEnd, newline < 0 ? end : end + 1);
+            }
+            start = newline < 0 ? text.length() : newline + 1;
+        }
+        return out.toString();
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.impact.ImpactAnalysis;
+import com.testexpert.java.impact.ImpactMap;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for ImpactAnalysis and ImpactMap
+ */
+public class ImpactAnalysisTest {
+
+    private static final String CALCULATOR_TEST = "com.testexpert.java.unit.CalculatorTest";
+    private static final String STRING_UTILS_TEST = "com.testexpert.java.unit.StringUtilsTest";
+    private static final String E2E_TEST = "com.testexpert.java.e2e.SeleniumLocatorsSimplifiedTest";
+
+    private ImpactMap map;
+
+    @BeforeMethod
+    public void setUp() {
+        map = new ImpactMap("abc123", "hash");
+        map.record(ImpactMap.key(CALCULATOR_TEST, "testAddition"),
+                Set.of(CALCULATOR_TEST, "com.testexpert.java.app.Calculator"));
+        map.record(ImpactMap.key(STRING_UTILS_TEST, "testReverse"),
+                Set.of(STRING_UTILS_TEST, "com.testexpert.java.utils.StringUtils"));
+        map.record(ImpactMap.key(E2E_TEST, "testPageTitle"),
+                Set.of(E2E_TEST, "com.testexpert.java.e2e.pages.LoginPage", "com.testexpert.java.e2e.pages.LoginPage$1"));
+    }
+
+    @Test(description = "Only tests touching the changed class are selected")
+    public void testSelectsTestsTouchingChangedClass() {
+        ImpactAnalysis.Selection selection = ImpactAnalysis.select(map, "hash",
+                List.of("src/main/java/com/testexpert/java/utils/StringUtils.java", "README.md"));
+
+        assertFalse(selection.full());
+        assertEquals(selection.affectedTests(), Set.of(ImpactMap.key(STRING_UTILS_TEST, "testReverse")));
+        assertTrue(selection.includes(STRING_UTILS_TEST, "testReverse"));
+        assertFalse(selection.includes(CALCULATOR_TEST, "testAddition"));
+        assertFalse(selection.includes(E2E_TEST, "testPageTitle"));
+    }
+
+    @Test(description = "Changing an outer class affects tests that only touched its nested classes")
+    public void testNestedClassesMapToOuterClass() {
+        map = new ImpactMap("abc123", "hash");
+        map.record(ImpactMap.key(E2E_TEST, "testPageTitle"), Set.of("com.testexpert.java.e2e.pages.LoginPage$1"));
+
+        ImpactAnalysis.Selection selection = ImpactAnalysis.select(map, "hash",
+                List.of("src/test/java/com/testexpert/java/e2e/pages/LoginPage.java"));
+
+        assertTrue(selection.includes(E2E_TEST, "testPageTitle"));
+    }
+
+    @Test(description = "A changed test class selects its own methods")
+    public void testChangedTestClassIsAffected() {
+        map.record(ImpactMap.key(CALCULATOR_TEST, "testDivisionByZero"), Set.of("com.testexpert.java.app.Calculator"));
+
+        ImpactAnalysis.Selection selection = ImpactAnalysis.select(map, "hash",
+                List.of("src/test/java/com/testexpert/java/unit/CalculatorTest.java"));
+
+        assertTrue(selection.includes(CALCULATOR_TEST, "testDivisionByZero"));
+        assertFalse(selection.includes(STRING_UTILS_TEST, "testReverse"));
+    }
+
+    @Test(description = "Tests missing from the map always run")
+    public void testNewTestsAreIncluded() {
+        ImpactAnalysis.Selection selection = ImpactAnalysis.select(map, "hash", List.of());
+
+        assertTrue(selection.affectedTests().isEmpty());
+        assertTrue(selection.includes(CALCULATOR_TEST, "testNewlyAdded"));
+    }
+
+    @Test(description = "Class-level configuration entries affect every method of the class")
+    public void testClassLevelEntry() {
+        map.record(ImpactMap.key(E2E_TEST, ImpactMap.CLASS_LEVEL), Set.of("com.testexpert.java.e2e.base.BaseTest"));
+
+        ImpactAnalysis.Selection selection = ImpactAnalysis.select(map, "hash",
+                List.of("src/test/java/com/testexpert/java/e2e/base/BaseTest.java"));
+
+        assertTrue(selection.includes(E2E_TEST, "testPageTitle"));
+    }
+
+    @Test(description = "Stale build files, changed resources and a missing map fall back to the full suite")
+    public void testFallsBackToFullSuite() {
+        assertTrue(ImpactAnalysis.select(null, "hash", List.of()).full());
+        assertTrue(ImpactAnalysis.select(map, "other-hash", List.of()).full());
+        assertTrue(ImpactAnalysis.select(map, "hash", List.of("src/test/resources/selenium.properties")).full());
+        assertTrue(ImpactAnalysis.select(map, "hash", List.of("testng-browsers.xml")).full());
+        assertTrue(ImpactAnalysis.select(map, "hash", List.of("testng-smoke.xml")).full(),
+                "A new suite file is a build change too");
+        assertFalse(ImpactAnalysis.select(map, "hash", List.of("README.md")).full());
+    }
+
+    @Test(description = "Impact map survives a store/load round trip")
+    public void testMapRoundTrip() throws Exception {
+        Path file = Files.createTempDirectory("impact").resolve("impact-map.properties");
+        map.store(file);
+
+        ImpactMap loaded = ImpactMap.load(file);
+        assertEquals(loaded.commit(), "abc123");
+        assertEquals(loaded.buildHash(), "hash");
+        assertEquals(loaded.tests(), map.tests());
+        assertEquals(loaded.touched(ImpactMap.key(E2E_TEST, "testPageTitle")),
+                map.touched(ImpactMap.key(E2E_TEST, "testPageTitle")));
+    }
+}
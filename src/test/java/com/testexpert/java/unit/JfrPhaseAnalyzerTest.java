@@ -0,0 +1,137 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.jfr.DriverStartupEvent;
+import com.testexpert.java.jfr.ElementLookupEvent;
+import com.testexpert.java.jfr.JfrPhaseAnalyzer;
+import com.testexpert.java.jfr.TestMethodEvent;
+import jdk.jfr.Recording;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for JfrPhaseAnalyzer on small recordings of synthetic events
+ */
+public class JfrPhaseAnalyzerTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("jfr-phases");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test(description = "Test custom events are grouped into phases by their type and key fields")
+    public void testPhasesFromRecording() throws IOException {
+        Path file = dir.resolve("synthetic.jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            emitSyntheticEvents();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrPhaseAnalyzer analyzer = new JfrPhaseAnalyzer();
+        analyzer.read(file);
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        analyzer.phases().forEach(phase -> counts.put(phase.name(), phase.count()));
+        assertEquals(counts, Map.of(
+                "DriverStartup [resolve]", 1L,
+                "DriverStartup [launch]", 1L,
+                "ElementLookup [id, found]", 2L,
+                "ElementLookup [css, list]", 1L,
+                "TestMethod [PASS]", 1L,
+                "TestMethod [FAIL]", 1L));
+        JfrPhaseAnalyzer.Phase launch = analyzer.phases().get(0);
+        assertEquals(launch.name(), "DriverStartup [launch]", "The slowest phase comes first");
+        assertTrue(launch.total().toMillis() >= 20, launch.total().toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        analyzer.print(new PrintStream(out, true, StandardCharsets.UTF_8));
+        String table = out.toString(StandardCharsets.UTF_8);
+        assertTrue(table.startsWith("Phase"), table);
+        assertTrue(table.contains("ElementLookup [id, found]"), table);
+    }
+
+    @Test(description = "Test the running recording is analyzed without stopping it")
+    public void testPrintRunningRecording() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.setDestination(dir.resolve("running.jfr"));
+            recording.start();
+            emitSyntheticEvents();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int analyzed = JfrPhaseAnalyzer.printRunning(new PrintStream(out, true, StandardCharsets.UTF_8));
+            String printed = out.toString(StandardCharsets.UTF_8);
+
+            assertEquals(analyzed, 1, printed);
+            assertTrue(printed.contains("running.jfr"), printed);
+            assertTrue(printed.contains("TestMethod [FAIL]"), printed);
+            assertEquals(recording.getState(), jdk.jfr.RecordingState.RUNNING);
+        }
+    }
+
+    private static void emitSyntheticEvents() {
+        startup("resolve", 2);
+        startup("launch", 20);
+        lookup("id", "found");
+        lookup("id", "found");
+        lookup("css", "3");
+        method("PASS");
+        method("FAIL");
+    }
+
+    private static void startup(String stage, long millis) {
+        DriverStartupEvent event = new DriverStartupEvent();
+        event.begin();
+        sleep(millis);
+        event.browser = "chrome";
+        event.stage = stage;
+        event.commit();
+    }
+
+    private static void lookup(String strategy, String outcome) {
+        ElementLookupEvent event = new ElementLookupEvent();
+        event.begin();
+        event.strategy = strategy;
+        event.locator = "#user-name";
+        event.outcome = outcome;
+        event.commit();
+    }
+
+    private static void method(String status) {
+        TestMethodEvent event = new TestMethodEvent();
+        event.begin();
+        event.testClass = "com.testexpert.java.unit.CalculatorTest";
+        event.method = "testAddition";
+        event.status = status;
+        event.commit();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
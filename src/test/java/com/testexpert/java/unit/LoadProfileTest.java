@@ -0,0 +1,76 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.load.CsvDataSet;
+import com.testexpert.java.load.LoadProfile;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Unit tests for load profile shapes and the CSV data set
+ */
+public class LoadProfileTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test(description = "Test step profile plateaus")
+    public void testStepProfile() {
+        LoadProfile profile = LoadProfile.step(100, Duration.ofSeconds(40), 4);
+
+        assertEquals(profile.stages().size(), 4);
+        assertEquals(profile.rateAt(5 * SECOND), 25.0);
+        assertEquals(profile.rateAt(35 * SECOND), 100.0);
+        assertEquals(profile.stages().get(1).name(), "step-2");
+        assertEquals(profile.duration(), Duration.ofSeconds(40));
+    }
+
+    @Test(description = "Test ramp profile is linear across stages")
+    public void testRampProfile() {
+        LoadProfile profile = LoadProfile.ramp(0, 100, Duration.ofSeconds(10), 5);
+
+        assertEquals(profile.rateAt(0), 0.0, 1e-9);
+        assertEquals(profile.rateAt(5 * SECOND), 50.0, 1e-9);
+        assertEquals(profile.stages().get(4).endRate(), 100.0, 1e-9);
+    }
+
+    @Test(description = "Test spike profile is centred")
+    public void testSpikeProfile() {
+        LoadProfile profile = LoadProfile.spike(10, 200, Duration.ofSeconds(30), Duration.ofSeconds(10));
+
+        assertEquals(profile.stages().stream().map(LoadProfile.Stage::name).toList(),
+                List.of("before-spike", "spike", "after-spike"));
+        assertEquals(profile.rateAt(5 * SECOND), 10.0);
+        assertEquals(profile.rateAt(15 * SECOND), 200.0);
+        assertEquals(profile.stageIndexAt(25 * SECOND), 2);
+    }
+
+    @Test(description = "Test a spike longer than the run is rejected",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testSpikeLongerThanDuration() {
+        LoadProfile.spike(10, 200, Duration.ofSeconds(30), Duration.ofSeconds(31));
+    }
+
+    @Test(description = "Test unknown profile name is rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownProfile() {
+        System.setProperty("load.profile", "sawtooth");
+        try {
+            LoadProfile.fromSystemProperties();
+        } finally {
+            System.clearProperty("load.profile");
+        }
+    }
+
+    @Test(description = "Test CSV data set hands out distinct rows and recycles")
+    public void testCsvDataSet() throws Exception {
+        CsvDataSet data = CsvDataSet.load("load/users.csv");
+
+        assertEquals(data.next().get("username"), "standard_user");
+        assertEquals(data.next().get("username"), "locked_out_user");
+        for (int i = 2; i < data.size(); i++) {
+            data.next();
+        }
+        assertEquals(data.next().get("username"), "standard_user", "Data set should recycle at end of file");
+    }
+}
@@ -0,0 +1,136 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.utils.CachedStringUtils;
+import com.testexpert.java.utils.MemoCache;
+import com.testexpert.java.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for MemoCache and CachedStringUtils
+ */
+public class MemoCacheTest {
+
+    @Test(description = "Test cached transformations match StringUtils")
+    public void testSameResultsAsStringUtils() {
+        CachedStringUtils cached = CachedStringUtils.ofEntries(100);
+        for (String input : List.of("testng", "TestNG", "", "   ", "a", "ümlaut")) {
+            for (int i = 0; i < 2; i++) {
+                assertEquals(cached.capitalize(input), StringUtils.capitalize(input), input);
+                assertEquals(cached.reverse(input), StringUtils.reverse(input), input);
+            }
+        }
+    }
+
+    @Test(description = "Test null handling is unchanged")
+    public void testNullHandling() {
+        CachedStringUtils cached = CachedStringUtils.ofBytes(1 << 20);
+        assertNull(cached.capitalize(null));
+        assertThrows(NullPointerException.class, () -> StringUtils.reverse(null));
+        assertThrows(NullPointerException.class, () -> cached.reverse(null));
+        assertEquals(cached.capitalizeStats().misses(), 0);
+    }
+
+    @Test(description = "Test hits return the memoized instance")
+    public void testHitsAndMisses() {
+        CachedStringUtils cached = CachedStringUtils.ofEntries(100);
+        String first = cached.capitalize("token");
+        String second = cached.capitalize("token");
+
+        assertSame(second, first);
+        MemoCache.Stats stats = cached.capitalizeStats();
+        assertEquals(stats.hits(), 1);
+        assertEquals(stats.misses(), 1);
+        assertEquals(stats.size(), 1);
+        assertEquals(stats.hitRate(), 0.5, 1e-9);
+    }
+
+    @Test(description = "Test entry bound is respected and evictions are counted")
+    public void testEntryBound() {
+        MemoCache<Integer, String> cache = MemoCache.ofEntries(64);
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(i, String::valueOf);
+        }
+
+        MemoCache.Stats stats = cache.stats();
+        assertTrue(stats.size() <= 64, "size " + stats.size());
+        assertEquals(stats.size() + stats.evictions(), 10_000);
+    }
+
+    @Test(description = "Test byte bound is respected")
+    public void testWeightBound() {
+        MemoCache<String, String> cache = MemoCache.ofWeight(4096, (key, value) -> key.length() + value.length());
+        for (int i = 0; i < 1_000; i++) {
+            cache.get("key-" + i, String::toUpperCase);
+        }
+        assertTrue(cache.stats().weight() <= 4096, "weight " + cache.stats().weight());
+        // A single value larger than the cache is computed but never stored
+        String huge = "x".repeat(10_000);
+        assertEquals(cache.get(huge, String::toUpperCase), huge.toUpperCase());
+        assertTrue(cache.stats().weight() <= 4096);
+    }
+
+    @Test(description = "Test frequently used keys survive a scan of one-off keys")
+    public void testFrequencyAwareAdmission() {
+        MemoCache<String, String> cache = MemoCache.ofEntries(1_000);
+        List<String> hot = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            hot.add("hot-" + i);
+        }
+        for (int round = 0; round < 20; round++) {
+            hot.forEach(key -> cache.get(key, String::toUpperCase));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            cache.get("scan-" + i, String::toUpperCase);
+        }
+
+        long before = cache.stats().hits();
+        hot.forEach(key -> cache.get(key, String::toUpperCase));
+        long retained = cache.stats().hits() - before;
+        // Plain LRU would keep none of them after a scan twenty times its size
+        assertTrue(retained >= 180, "hot keys retained: " + retained);
+    }
+
+    @Test(description = "Test concurrent access computes consistent values")
+    public void testConcurrentAccess() throws Exception {
+        MemoCache<Integer, String> cache = MemoCache.ofEntries(256);
+        AtomicInteger computations = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = i % 100;
+                        assertEquals(cache.get(key, k -> {
+                            computations.incrementAndGet();
+                            return "v" + k;
+                        }), "v" + key);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        MemoCache.Stats stats = cache.stats();
+        assertEquals(stats.hits() + stats.misses(), 160_000);
+        assertEquals(stats.misses(), computations.get());
+        assertEquals(stats.size(), 100);
+    }
+
+    @Test(description = "Test non-positive size is rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        MemoCache.ofEntries(0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.app.Calculator;
+import com.testexpert.java.app.Operation;
+
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Unit tests for Operation
+ */
+public class OperationTest {
+
+    private static final int[] SAMPLES = {0, 1, -1, 7, -13, 1000, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+    private final Calculator calculator = new Calculator();
+
+    @Test(description = "Test int and double views match Calculator")
+    public void testMatchesCalculator() {
+        for (int a : SAMPLES) {
+            for (int b : SAMPLES) {
+                assertEquals(Operation.ADD.applyAsInt(a, b), calculator.add(a, b));
+                assertEquals(Operation.SUBTRACT.applyAsInt(a, b), calculator.subtract(a, b));
+                assertEquals(Operation.MULTIPLY.applyAsInt(a, b), calculator.multiply(a, b));
+                if (b != 0) {
+                    assertEquals(Operation.DIVIDE.asDoubleFunction().applyAsDouble(a, b), calculator.divide(a, b));
+                    assertEquals(Operation.DIVIDE.applyAsInt(a, b), a / b);
+                }
+            }
+        }
+        assertEquals(Operation.ADD.asDoubleFunction().applyAsDouble(2, 3), 5.0);
+    }
+
+    @Test(description = "Test long view does not overflow where int wraps")
+    public void testLongView() {
+        assertEquals(Operation.ADD.applyAsInt(Integer.MAX_VALUE, 1), Integer.MIN_VALUE);
+        assertEquals(Operation.ADD.asLongOperator().applyAsLong(Integer.MAX_VALUE, 1), Integer.MAX_VALUE + 1L);
+        assertEquals(Operation.MULTIPLY.applyAsLong(1L << 20, 1L << 20), 1L << 40);
+        assertEquals(Operation.DIVIDE.applyAsLong(7, 2), 3);
+    }
+
+    @Test(description = "Test operations plug into primitive stream reductions")
+    public void testReductions() {
+        IntBinaryOperator add = Operation.ADD.asIntOperator();
+        assertEquals(IntStream.rangeClosed(1, 100).reduce(0, add), 5050);
+        assertEquals(Operation.ADD.reduce(IntStream.rangeClosed(1, 100_000).parallel()),
+                IntStream.rangeClosed(1, 100_000).sum());
+        assertEquals(Operation.ADD.reduceToLong(IntStream.rangeClosed(1, 100_000).parallel()), 5_000_050_000L);
+        assertEquals(Operation.MULTIPLY.reduce(IntStream.rangeClosed(1, 10).parallel()), 3_628_800);
+        assertEquals(Operation.MULTIPLY.reduce(LongStream.rangeClosed(1, 20).parallel()), 2_432_902_008_176_640_000L);
+        assertEquals(Operation.ADD.reduce(IntStream.empty()), 0);
+    }
+
+    @Test(description = "Test collector combines mapped values across parallel chunks")
+    public void testCollector() {
+        List<String> words = List.of("a", "bb", "ccc", "dddd");
+        assertEquals(words.parallelStream().collect(Operation.ADD.collecting(String::length)), 10L);
+        assertEquals(words.stream().collect(Operation.MULTIPLY.collecting(String::length)), 24L);
+    }
+
+    @Test(description = "Test associativity flags")
+    public void testAssociativity() {
+        assertTrue(Operation.ADD.isAssociative());
+        assertTrue(Operation.MULTIPLY.isAssociative());
+        assertFalse(Operation.SUBTRACT.isAssociative());
+        assertFalse(Operation.DIVIDE.isAssociative());
+    }
+
+    @Test(description = "Test non-associative operations cannot reduce", expectedExceptions = IllegalStateException.class)
+    public void testNonAssociativeReduce() {
+        Operation.SUBTRACT.reduce(IntStream.of(1, 2, 3));
+    }
+
+    @Test(description = "Test integer division by zero is rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testDivideByZero() {
+        Operation.DIVIDE.applyAsInt(1, 0);
+    }
+}
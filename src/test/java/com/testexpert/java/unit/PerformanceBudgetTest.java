@@ -0,0 +1,94 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.webperf.PageMetrics;
+import com.testexpert.java.webperf.PerformanceBudget;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Unit tests for PageMetrics and PerformanceBudget
+ */
+public class PerformanceBudgetTest {
+
+    @Test(description = "Test collector output converts with Long and Double numbers")
+    public void testFromScriptResult() {
+        PageMetrics metrics = PageMetrics.from("navigate", 12.5, navigation(1800.4, 0.02));
+
+        assertEquals(metrics.step(), "navigate");
+        assertEquals(metrics.url(), "https://www.saucedemo.com/");
+        assertEquals(metrics.ttfb(), 120.0);
+        assertEquals(metrics.load(), 900.0);
+        assertEquals(metrics.lcp(), 1800.4);
+        assertEquals(metrics.longTasks(), 2);
+        assertEquals(metrics.resourceBytes(), 48_000);
+        assertEquals(metrics.value("cls"), 0.02);
+    }
+
+    @Test(description = "Test a client-side step has no navigation timing or LCP")
+    public void testWithoutNavigation() {
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("url", "https://www.saucedemo.com/inventory.html");
+        raw.put("navigation", null);
+        raw.put("lcp", null);
+        raw.put("cls", 0L);
+        raw.put("resources", 3L);
+        PageMetrics metrics = PageMetrics.from("sort", 4.0, raw);
+
+        assertNull(metrics.ttfb());
+        assertNull(metrics.value("lcp"));
+        assertEquals(metrics.resources(), 3);
+        assertEquals(metrics.longTaskMillis(), 0.0);
+    }
+
+    @Test(description = "Test budgets from settings report only metrics over their limit")
+    public void testViolations() {
+        Properties settings = new Properties();
+        settings.setProperty("perf.budget.lcp", "1500");
+        settings.setProperty("perf.budget.cls", "0.1");
+        settings.setProperty("perf.budget.load", "");
+        settings.setProperty("perf.collect", "true");
+        PerformanceBudget budget = PerformanceBudget.from(settings);
+
+        assertEquals(budget.limits(), Map.of("lcp", 1500.0, "cls", 0.1));
+        List<String> violations = budget.violations(PageMetrics.from("navigate", 1, navigation(1800.4, 0.02)));
+        assertEquals(violations.size(), 1);
+        assertTrue(violations.get(0).startsWith("navigate: lcp 1800.400 exceeds budget 1500.000"), violations.get(0));
+        assertTrue(budget.violations(PageMetrics.from("navigate", 1, navigation(900, 0.02))).isEmpty());
+    }
+
+    @Test(description = "Test unmeasured metrics never violate a budget")
+    public void testUnmeasuredMetric() {
+        PerformanceBudget budget = new PerformanceBudget(Map.of("lcp", 1.0));
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("url", "https://www.saucedemo.com/inventory.html");
+        assertTrue(budget.violations(PageMetrics.from("add-to-cart", 1, raw)).isEmpty());
+    }
+
+    @Test(description = "Test budgets reject unknown metric names", expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownMetric() {
+        new PerformanceBudget(Map.of("fcp", 1000.0));
+    }
+
+    private static Map<String, Object> navigation(double lcp, double cls) {
+        Map<String, Object> navigation = new HashMap<>();
+        navigation.put("ttfb", 120L);
+        navigation.put("domContentLoaded", 450.5);
+        navigation.put("load", 900L);
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("url", "https://www.saucedemo.com/");
+        raw.put("navigation", navigation);
+        raw.put("lcp", lcp);
+        raw.put("cls", cls);
+        raw.put("longTasks", 2L);
+        raw.put("longTaskMillis", 130.0);
+        raw.put("resources", 14L);
+        raw.put("resourceBytes", 48_000L);
+        raw.put("slowestResource", 210.7);
+        return raw;
+    }
+}
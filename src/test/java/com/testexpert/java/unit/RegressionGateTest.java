@@ -0,0 +1,120 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.jmeter.Comparison;
+import com.testexpert.java.jmeter.JtlSample;
+import com.testexpert.java.jmeter.JtlXmlReader;
+import com.testexpert.java.jmeter.RegressionGate;
+import com.testexpert.java.jmeter.SamplerMetrics;
+import com.testexpert.java.jmeter.Tolerances;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for the JMeter results reader and regression gate
+ */
+public class RegressionGateTest {
+
+    private static final String RESULTS = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <testResults version="1.2">
+            <httpSample t="310" lt="120" ts="1700000000000" s="true" lb="Open Home Page" rc="200">
+              <httpSample t="150" ts="1700000000000" s="true" lb="Open Home Page-0" rc="301"/>
+              <assertionResult><name>Check Speed - 2s</name><failure>false</failure></assertionResult>
+            </httpSample>
+            <httpSample t="2100" lt="90" ts="1700000001000" s="false" lb="Open Home Page" rc="200"/>
+            <sample t="5" ts="1700000002000" s="true" lb="Debug Sampler"/>
+            </testResults>
+            """;
+
+    private RegressionGate gate;
+
+    @BeforeMethod
+    public void setUp() {
+        gate = new RegressionGate(new Tolerances(0.25, 50, 0.25, 0.01));
+    }
+
+    @Test(description = "Test reader returns only top-level samples")
+    public void testReadTopLevelSamples() throws Exception {
+        List<JtlSample> samples = new ArrayList<>();
+        long count = JtlXmlReader.read(new ByteArrayInputStream(RESULTS.getBytes(StandardCharsets.UTF_8)), samples::add);
+
+        assertEquals(count, 3, "Sub-results should not be counted");
+        assertEquals(samples.get(0), new JtlSample("Open Home Page", 310, 1700000000000L, true));
+        assertFalse(samples.get(1).success(), "Second sample failed its duration assertion");
+        assertEquals(samples.get(2).label(), "Debug Sampler");
+    }
+
+    @Test(description = "Test p99 doubling is flagged as regression")
+    public void testP99Regression() {
+        SamplerMetrics baseline = new SamplerMetrics("Open Home Page", 100, 0, 5, 200, 250, 300);
+        SamplerMetrics current = new SamplerMetrics("Open Home Page", 100, 0, 5, 210, 260, 1800);
+
+        List<Comparison> comparisons = gate.compare(Map.of(baseline.label(), baseline), Map.of(current.label(), current));
+
+        List<String> regressions = comparisons.stream().filter(Comparison::regression).map(Comparison::metric).toList();
+        assertEquals(regressions, List.of("p99"), "Only p99 should regress");
+    }
+
+    @Test(description = "Test small absolute increases stay under the noise floor")
+    public void testNoiseFloor() {
+        SamplerMetrics baseline = new SamplerMetrics("Login", 100, 0, 5, 10, 20, 30);
+        SamplerMetrics current = new SamplerMetrics("Login", 100, 0, 5, 30, 50, 70);
+
+        List<Comparison> comparisons = gate.compare(Map.of("Login", baseline), Map.of("Login", current));
+
+        assertTrue(comparisons.stream().noneMatch(Comparison::regression), "+40 ms is below the 50 ms floor");
+    }
+
+    @Test(description = "Test error rate and throughput regressions")
+    public void testErrorRateAndThroughput() {
+        SamplerMetrics baseline = new SamplerMetrics("Google", 100, 0.0, 10, 100, 100, 100);
+        SamplerMetrics current = new SamplerMetrics("Google", 100, 0.05, 5, 100, 100, 100);
+
+        List<String> regressions = gate.compare(Map.of("Google", baseline), Map.of("Google", current)).stream()
+                .filter(Comparison::regression).map(Comparison::metric).toList();
+
+        assertEquals(regressions, List.of("throughput", "errorRate"));
+    }
+
+    @Test(description = "Test samplers without baseline never fail the gate")
+    public void testNewSampler() {
+        SamplerMetrics current = new SamplerMetrics("Checkout", 10, 1.0, 1, 5000, 5000, 5000);
+
+        List<Comparison> comparisons = gate.compare(Map.of(), Map.of("Checkout", current));
+
+        assertEquals(comparisons.size(), 1);
+        assertEquals(comparisons.get(0).metric(), "new");
+        assertFalse(comparisons.get(0).regression());
+    }
+
+    @Test(description = "Test a missing baseline fails the gate unless the run records one")
+    public void testMissingBaseline() throws IOException {
+        Path dir = Files.createTempDirectory("regression-gate");
+        Path results = Files.createDirectories(dir.resolve("results"));
+        Files.writeString(results.resolve("run.jtl"), RESULTS);
+        Path baseline = dir.resolve("baseline.properties");
+        String[] args = {results.toString(), baseline.toString(), dir.resolve("report").toString()};
+
+        IllegalStateException e = expectThrows(IllegalStateException.class, () -> RegressionGate.main(args));
+        assertTrue(e.getMessage().startsWith("No baseline"), e.getMessage());
+
+        System.setProperty("perf.updateBaseline", "true");
+        try {
+            RegressionGate.main(args);
+        } finally {
+            System.clearProperty("perf.updateBaseline");
+        }
+        assertEquals(RegressionGate.readBaseline(baseline).keySet(), Set.of("Debug Sampler", "Open Home Page"));
+        RegressionGate.main(args);
+    }
+}
@@ -0,0 +1,63 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.screenshot.ScreenshotStore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for ScreenshotStore
+ */
+public class ScreenshotStoreTest {
+
+    private Path dir;
+    private ScreenshotStore store;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("screenshots");
+        store = new ScreenshotStore(dir, false);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test(description = "Identical frames are stored once")
+    public void testDeduplicatesIdenticalFrames() throws Exception {
+        String frame = Base64.getEncoder().encodeToString(new byte[]{(byte) 0x89, 'P', 'N', 'G', 1, 2, 3});
+        ScreenshotStore.Frame first = store.submit(frame);
+        for (int i = 0; i < 9; i++) {
+            assertEquals(store.submit(frame).hash(), first.hash(), "Same content should hash the same");
+        }
+        store.awaitPending();
+
+        assertEquals(store.captured(), 10);
+        assertEquals(store.unique(), 1);
+        assertEquals(fileCount(), 1);
+        assertEquals(Files.readAllBytes(first.file().get()), Base64.getDecoder().decode(frame));
+    }
+
+    @Test(description = "Different frames get their own files")
+    public void testDistinctFrames() throws Exception {
+        ScreenshotStore.Frame a = store.submit(Base64.getEncoder().encodeToString(new byte[]{1}));
+        ScreenshotStore.Frame b = store.submit(Base64.getEncoder().encodeToString(new byte[]{2}));
+        store.awaitPending();
+
+        assertNotEquals(a.hash(), b.hash());
+        assertNotEquals(a.attachmentSource(), b.attachmentSource());
+        assertEquals(store.unique(), 2);
+        assertEquals(fileCount(), 2);
+    }
+
+    private long fileCount() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
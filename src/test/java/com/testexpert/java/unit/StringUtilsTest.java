@@ -4,6 +4,9 @@ import org.testng.annotations.*;
 import static org.testng.Assert.*;
 import com.testexpert.java.utils.StringUtils;
 
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
 /**
  * Unit tests for StringUtils class
  */
@@ -40,4 +43,85 @@ public class StringUtilsTest {
         String result = StringUtils.reverse("TestNG");
         assertEquals(result, "GNtseT", "String should be reversed");
     }
+
+    @Test(description = "Test upper and lower case follow Character, including Latin-1 characters")
+    public void testToUpperAndLowerCase() {
+        assertEquals(StringUtils.toUpperCase("TestNG straße à la crème?"), "TESTNG STRAßE À LA CRÈME?");
+        assertEquals(StringUtils.toLowerCase("TestNG ÀÉÎ × ÷ ÞÖ"), "testng àéî × ÷ þö");
+        assertEquals(StringUtils.toUpperCase("ÿ 5µm"), "\u0178 5\u039CM", "ÿ and µ upper-case outside Latin-1");
+        assertEquals(StringUtils.toUpperCase("Ωmega 日本"), "ΩMEGA 日本");
+        assertNull(StringUtils.toUpperCase(null));
+        assertEquals(StringUtils.toLowerCase(""), "");
+    }
+
+    @Test(description = "Test title case and word capitalization start words after whitespace")
+    public void testTitleCaseAndCapitalizeWords() {
+        assertEquals(StringUtils.titleCase("hELLO   wORLD\tnew-york ÉCOLE"), "Hello   World\tNew-york École");
+        assertEquals(StringUtils.capitalizeWords("hELLO   wORLD\tnew-york école"), "HELLO   WORLD\tNew-york École");
+        assertEquals(StringUtils.titleCase("ÿes \u01C6ungla"), "\u0178es \u01C5ungla", "Title case, not upper case");
+        assertNull(StringUtils.titleCase(null));
+    }
+
+    @Test(description = "Test case conversions match per-code-point Character mapping on long random text")
+    public void testCaseConversionsMatchCharacter() {
+        Random random = new Random(42);
+        String[] alphabets = {
+                "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 \t\n.,-'?",
+                latin1(),
+                "abcXYZ àÿµß?ÀÞ× Ωω日\u2003\u3000",
+                "abcXYZ àÿµß?ÀÞ× Ωω日\uD801\uDC28\uD801\uDC00"
+        };
+        for (String alphabet : alphabets) {
+            int[] codePoints = alphabet.codePoints().toArray();
+            for (int length : new int[]{1, 2, 63, 64, 65, 130, 1000}) {
+                for (int round = 0; round < 20; round++) {
+                    StringBuilder text = new StringBuilder();
+                    for (int i = 0; i < length; i++) {
+                        text.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+                    }
+                    String str = text.toString();
+                    assertEquals(StringUtils.toUpperCase(str), map(str, Character::toUpperCase, Character::toUpperCase));
+                    assertEquals(StringUtils.toLowerCase(str), map(str, Character::toLowerCase, Character::toLowerCase));
+                    assertEquals(StringUtils.capitalizeWords(str), map(str, Character::toTitleCase, c -> c));
+                    assertEquals(StringUtils.titleCase(str), map(str, Character::toTitleCase, Character::toLowerCase));
+                }
+            }
+        }
+    }
+
+    @Test(description = "Test every Latin-1 character converts the same at every position of a vector")
+    public void testEveryLatin1Character() {
+        String prefix = "x".repeat(100);
+        for (char c = 0; c <= 0xFF; c++) {
+            for (String str : new String[]{prefix + c + prefix, prefix + " " + c + prefix, c + prefix}) {
+                assertEquals(StringUtils.toUpperCase(str), map(str, Character::toUpperCase, Character::toUpperCase),
+                        "U+" + Integer.toHexString(c));
+                assertEquals(StringUtils.toLowerCase(str), map(str, Character::toLowerCase, Character::toLowerCase),
+                        "U+" + Integer.toHexString(c));
+                assertEquals(StringUtils.titleCase(str), map(str, Character::toTitleCase, Character::toLowerCase),
+                        "U+" + Integer.toHexString(c));
+            }
+        }
+    }
+
+    private static String latin1() {
+        StringBuilder chars = new StringBuilder();
+        for (char c = 0; c <= 0xFF; c++) {
+            chars.append(c);
+        }
+        return chars.toString();
+    }
+
+    /**
+     * Reference: {@code wordStart} for the first code point after whitespace (or of the string), {@code rest} for others
+     */
+    private static String map(String str, UnaryOperator<Integer> wordStart, UnaryOperator<Integer> rest) {
+        StringBuilder result = new StringBuilder();
+        boolean start = true;
+        for (int codePoint : str.codePoints().toArray()) {
+            result.appendCodePoint(start ? wordStart.apply(codePoint) : rest.apply(codePoint));
+            start = Character.isWhitespace(codePoint);
+        }
+        return result.toString();
+    }
 }
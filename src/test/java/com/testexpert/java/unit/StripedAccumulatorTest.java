@@ -0,0 +1,238 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.app.StripedAccumulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for StripedAccumulator
+ */
+public class StripedAccumulatorTest {
+
+    @Test(description = "Test add, subtract and snapshot statistics")
+    public void testSnapshot() {
+        StripedAccumulator accumulator = new StripedAccumulator();
+        accumulator.add(10);
+        accumulator.add(-4);
+        accumulator.subtract(3);
+        accumulator.add(25);
+
+        StripedAccumulator.Snapshot snapshot = accumulator.snapshot();
+        assertEquals(snapshot.sum(), 28);
+        assertEquals(accumulator.sum(), 28);
+        assertEquals(snapshot.count(), 4);
+        assertEquals(snapshot.min(), -4);
+        assertEquals(snapshot.max(), 25);
+        assertEquals(snapshot.mean(), 7.0);
+    }
+
+    @Test(description = "Test an empty accumulator reports identities")
+    public void testEmpty() {
+        StripedAccumulator.Snapshot snapshot = new StripedAccumulator(1).snapshot();
+        assertEquals(snapshot.count(), 0);
+        assertEquals(snapshot.sum(), 0);
+        assertEquals(snapshot.min(), Long.MAX_VALUE);
+        assertEquals(snapshot.max(), Long.MIN_VALUE);
+        assertEquals(snapshot.mean(), 0.0);
+    }
+
+    @Test(description = "Test concurrent updates from more threads than stripes are all counted")
+    public void testConcurrentUpdates() throws InterruptedException {
+        StripedAccumulator accumulator = new StripedAccumulator(4);
+        int threads = 16;
+        int updates = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 1; i <= updates; i++) {
+                    accumulator.add(i + offset);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        StripedAccumulator.Snapshot snapshot = accumulator.snapshot();
+        long perThread = (long) updates * (updates + 1) / 2;
+        assertEquals(snapshot.sum(), threads * perThread + (long) updates * (threads - 1) * threads / 2);
+        assertEquals(snapshot.count(), (long) threads * updates);
+        assertEquals(snapshot.min(), 1);
+        assertEquals(snapshot.max(), updates + threads - 1);
+    }
+
+    @Test(description = "Test overflowing updates throw and leave the total unchanged")
+    public void testOverflow() {
+        StripedAccumulator accumulator = new StripedAccumulator(1);
+        accumulator.add(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> accumulator.add(1));
+        assertThrows(ArithmeticException.class, () -> accumulator.subtract(Long.MIN_VALUE));
+        assertThrows(ArithmeticException.class, () -> accumulator.multiplyBy(2));
+        assertEquals(accumulator.sum(), Long.MAX_VALUE);
+        assertEquals(accumulator.snapshot().count(), 1);
+    }
+
+    @Test(description = "Test an update that overflows its cell goes to another cell with room for it")
+    public void testOverflowingCellSpillsOver() {
+        StripedAccumulator accumulator = new StripedAccumulator(2);
+        accumulator.add(Long.MAX_VALUE);
+        accumulator.add(5);
+        assertThrows(ArithmeticException.class, accumulator::sum);
+
+        accumulator.add(-10);
+        assertEquals(accumulator.sum(), Long.MAX_VALUE - 5);
+        assertThrows(ArithmeticException.class, () -> accumulator.add(Long.MAX_VALUE));
+        StripedAccumulator.Snapshot snapshot = accumulator.snapshot();
+        assertEquals(snapshot.sum(), Long.MAX_VALUE - 5, "A rejected update changes nothing");
+        assertEquals(snapshot.count(), 3);
+        assertEquals(snapshot.min(), -10);
+    }
+
+    @Test(description = "Test multiplying scales the total but not the recorded values")
+    public void testMultiplyBy() {
+        StripedAccumulator accumulator = new StripedAccumulator();
+        accumulator.add(7);
+        accumulator.add(5);
+        accumulator.multiplyBy(-3);
+        StripedAccumulator.Snapshot snapshot = accumulator.snapshot();
+        assertEquals(snapshot.sum(), -36);
+        assertEquals(snapshot.min(), 5);
+        assertEquals(snapshot.max(), 7);
+    }
+
+    @Test(description = "Test only the cell is checked on update and the total is checked exactly on read")
+    public void testTotalOverflowAcrossCells() throws InterruptedException {
+        StripedAccumulator accumulator = new StripedAccumulator(64);
+        runTogether(() -> accumulator.add(Long.MAX_VALUE));
+        runTogether(() -> accumulator.add(5));
+        assertThrows(ArithmeticException.class, accumulator::sum);
+        assertThrows(ArithmeticException.class, accumulator::snapshot);
+
+        runTogether(() -> accumulator.add(-10));
+        assertEquals(accumulator.sum(), Long.MAX_VALUE - 5);
+        StripedAccumulator.Snapshot snapshot = accumulator.snapshot();
+        assertEquals(snapshot.sum(), Long.MAX_VALUE - 5);
+        assertEquals(snapshot.count(), 3);
+    }
+
+    @Test(description = "Test multiplying succeeds when the product fits although a cell's own product does not")
+    public void testMultiplyBySpreadCells() throws InterruptedException {
+        StripedAccumulator accumulator = new StripedAccumulator(64);
+        runTogether(() -> accumulator.add(1));
+        runTogether(() -> accumulator.add(6_000_000_000_000_000_000L));
+        runTogether(() -> accumulator.add(-5_000_000_000_000_000_000L));
+
+        accumulator.multiplyBy(2);
+        assertEquals(accumulator.sum(), 2_000_000_000_000_000_002L);
+        assertThrows(ArithmeticException.class, () -> accumulator.multiplyBy(5));
+        assertEquals(accumulator.sum(), 2_000_000_000_000_000_002L, "A rejected multiplication changes nothing");
+        assertEquals(accumulator.snapshot().count(), 3);
+    }
+
+    @Test(description = "Test concurrent updates whose partial sums leave the long range still total exactly")
+    public void testConcurrentUpdatesBeyondLongRange() throws InterruptedException {
+        StripedAccumulator accumulator = new StripedAccumulator(64);
+        int updates = 10_000;
+        long value = Long.MAX_VALUE / 2 / updates;
+        List<Runnable> writers = new ArrayList<>();
+        // Four writers together add about twice Long.MAX_VALUE before the four subtracting writers are counted
+        for (long sign : new long[] {1, 1, 1, 1, -1, -1, -1, -1}) {
+            writers.add(() -> {
+                for (int i = 0; i < updates; i++) {
+                    accumulator.add(sign * value);
+                }
+            });
+        }
+        runTogether(writers.toArray(Runnable[]::new));
+
+        StripedAccumulator.Snapshot snapshot = accumulator.snapshot();
+        assertEquals(snapshot.sum(), 0);
+        assertEquals(snapshot.count(), 8L * updates);
+        assertEquals(snapshot.min(), -value);
+        assertEquals(snapshot.max(), value);
+    }
+
+    @Test(description = "Test multiplying while other threads add loses no update")
+    public void testMultiplyByRacingUpdates() throws InterruptedException {
+        StripedAccumulator accumulator = new StripedAccumulator(8);
+        int writers = 4;
+        int updates = 100_000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(writers);
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < updates; i++) {
+                    accumulator.add(1);
+                }
+                done.countDown();
+            });
+        }
+        tasks.add(() -> {
+            while (writing.get()) {
+                accumulator.multiplyBy(1);
+                if (done.getCount() == 0) {
+                    writing.set(false);
+                }
+            }
+        });
+        runTogether(tasks.toArray(Runnable[]::new));
+
+        assertEquals(accumulator.sum(), (long) writers * updates);
+        assertEquals(accumulator.snapshot().count(), (long) writers * updates);
+    }
+
+    @Test(description = "Test reset clears every statistic")
+    public void testReset() {
+        StripedAccumulator accumulator = new StripedAccumulator();
+        accumulator.add(42);
+        accumulator.reset();
+        assertEquals(accumulator.snapshot(), new StripedAccumulator().snapshot());
+    }
+
+    @Test(description = "Test non-positive stripe counts are rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidStripes() {
+        new StripedAccumulator(0);
+    }
+
+    /**
+     * Start each task on its own platform thread, in order, release them together and wait for all of them
+     */
+    private static void runTogether(Runnable... tasks) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (Runnable task : tasks) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("Task failed", failure.get());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.cache.ClassFingerprint;
+import com.testexpert.java.cache.TestResultCache;
+import com.testexpert.java.cache.TestResultCacheListener;
+import com.testexpert.java.history.DurationHistoryListener;
+import com.testexpert.java.history.DurationStore;
+import com.testexpert.java.unit.fixtures.ListenerFixtures;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unit tests for TestResultCache, ClassFingerprint and the TestResultCacheListener replay path
+ */
+public class TestResultCacheTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("test-cache");
+        ListenerFixtures.Counted.RUNS.set(0);
+        ListenerFixtures.AlwaysRuns.RUNS.set(0);
+    }
+
+    @Test(description = "Lookups only hit under the fingerprint the test passed with")
+    public void testLookupMatchesFingerprint() {
+        TestResultCache cache = new TestResultCache(dir);
+        cache.recordPass("CalculatorTest#testAddition", "abc", 42);
+
+        assertEquals(cache.lookup("CalculatorTest#testAddition", "abc").durationMillis(), 42);
+        assertNull(cache.lookup("CalculatorTest#testAddition", "def"), "Changed fingerprint must miss");
+        assertNull(cache.lookup("CalculatorTest#testSubtraction", "abc"));
+
+        cache.invalidate("CalculatorTest#testAddition");
+        assertNull(cache.lookup("CalculatorTest#testAddition", "abc"));
+    }
+
+    @Test(description = "Cache and stats survive a store/load round trip")
+    public void testRoundTrip() throws Exception {
+        TestResultCache cache = new TestResultCache(dir);
+        cache.recordPass("StringUtilsTest#testReverse[[abc]]", "fp", 7);
+        cache.store();
+        cache.appendStats(3, 1, 120);
+        cache.appendStats(4, 0, 150);
+
+        assertEquals(TestResultCache.load(dir).lookup("StringUtilsTest#testReverse[[abc]]", "fp").durationMillis(), 7);
+        List<String> stats = Files.readAllLines(dir.resolve(TestResultCache.STATS_FILE));
+        assertEquals(stats.size(), 3, "Header plus one line per run");
+        assertTrue(stats.get(1).endsWith(",3,1,0.750,120"), stats.get(1));
+    }
+
+    @Test(description = "Fingerprints are stable and cover referenced project classes")
+    public void testFingerprint() {
+        ClassFingerprint fingerprint = new ClassFingerprint(getClass().getClassLoader());
+        String calculatorTest = fingerprint.of(CalculatorTest.class);
+
+        assertEquals(new ClassFingerprint(getClass().getClassLoader()).of(CalculatorTest.class), calculatorTest);
+        assertNotEquals(fingerprint.of(StringUtilsTest.class), calculatorTest);
+        assertNotEquals(fingerprint.of(com.testexpert.java.app.Calculator.class),
+                fingerprint.of(com.testexpert.java.utils.StringUtils.class));
+    }
+
+    @Test(description = "The environment changes with JVM arguments, relevant properties and resources only")
+    public void testEnvironment() throws Exception {
+        Path classes = Files.createDirectories(dir.resolve("test-classes"));
+        Files.writeString(classes.resolve("selenium.properties"), "browser.type=chrome\n");
+        Files.write(classes.resolve("Ignored.class"), new byte[] {1});
+        String classpath = classes + File.pathSeparator + dir.resolve("missing.jar");
+        Properties properties = new Properties();
+        properties.setProperty("java.runtime.version", "25+36");
+        properties.setProperty("browser.type", "chrome");
+        List<String> arguments = List.of("--add-modules", "jdk.incubator.vector");
+        String environment = ClassFingerprint.environment(arguments, properties, classpath);
+
+        assertEquals(ClassFingerprint.environment(arguments, properties, classpath), environment);
+        assertNotEquals(ClassFingerprint.environment(List.of(), properties, classpath), environment,
+                "Dropping --add-modules must change the environment");
+
+        Properties tooling = (Properties) properties.clone();
+        tooling.setProperty("surefire.real.class.path", "/tmp/surefirebooter123.jar");
+        tooling.setProperty("tests.cache", "true");
+        tooling.setProperty("java.io.tmpdir", "/var/tmp");
+        assertEquals(ClassFingerprint.environment(arguments, tooling, classpath), environment);
+        Properties changed = (Properties) properties.clone();
+        changed.setProperty("user.timezone", "Asia/Tokyo");
+        assertNotEquals(ClassFingerprint.environment(arguments, changed, classpath), environment);
+        changed = (Properties) properties.clone();
+        changed.setProperty("browser.type", "firefox");
+        assertNotEquals(ClassFingerprint.environment(arguments, changed, classpath), environment);
+
+        Files.write(classes.resolve("Ignored.class"), new byte[] {2});
+        assertEquals(ClassFingerprint.environment(arguments, properties, classpath), environment,
+                "Bytecode is covered per class, not by the environment");
+        Files.writeString(classes.resolve("selenium.properties"), "browser.type=firefox\n");
+        assertNotEquals(ClassFingerprint.environment(arguments, properties, classpath), environment);
+    }
+
+    @Test(description = "A cached pass is replayed without running the method, and never for @NonCacheable classes")
+    public void testReplay() throws Exception {
+        Map<String, ITestResult> first = run();
+        assertEquals(ListenerFixtures.Counted.RUNS.get(), 1);
+        assertEquals(ListenerFixtures.AlwaysRuns.RUNS.get(), 1);
+        assertNull(first.get("testCounted").getAttribute(TestResultCacheListener.CACHED_ATTRIBUTE));
+
+        Map<String, ITestResult> second = run();
+        assertEquals(ListenerFixtures.Counted.RUNS.get(), 1, "A cache hit must not invoke the test method");
+        assertEquals(second.get("testCounted").getStatus(), ITestResult.SUCCESS);
+        assertNotNull(second.get("testCounted").getAttribute(TestResultCacheListener.CACHED_ATTRIBUTE));
+        assertEquals(ListenerFixtures.AlwaysRuns.RUNS.get(), 2, "@NonCacheable classes always run");
+        assertEquals(second.get("testAlwaysRuns").getStatus(), ITestResult.SUCCESS);
+        assertNull(second.get("testAlwaysRuns").getAttribute(TestResultCacheListener.CACHED_ATTRIBUTE));
+
+        try (DurationStore store = DurationStore.open(dir.resolve("history"))) {
+            List<String> replayed = store.samples(store.run(1)).stream()
+                    .map(sample -> store.test(sample.testId())).toList();
+            assertEquals(replayed, List.of(ListenerFixtures.AlwaysRuns.class.getName() + "#testAlwaysRuns"),
+                    "Duration history leaves out the replayed pass");
+        }
+    }
+
+    /**
+     * Run the fixtures with the cache and the duration history on, as the test-cache and history profiles do
+     *
+     * @return results by method name
+     */
+    private Map<String, ITestResult> run() {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("cache");
+        XmlTest test = new XmlTest(suite);
+        test.setName("cache");
+        test.setXmlClasses(List.of(new XmlClass(ListenerFixtures.WarmUp.class),
+                new XmlClass(ListenerFixtures.Counted.class), new XmlClass(ListenerFixtures.AlwaysRuns.class)));
+        Map<String, ITestResult> results = new ConcurrentHashMap<>();
+        Map<String, String> properties = Map.of("tests.cache", "true", "tests.cache.dir", dir.toString(),
+                "tests.history", "true", "tests.history.dir", dir.resolve("history").toString());
+        properties.forEach(System::setProperty);
+        try {
+            TestNG testng = new TestNG(false);
+            testng.setListenersToSkipFromBeingWiredInViaServiceLoaders("io.qameta.allure.testng.AllureTestNg");
+            testng.setVerbose(0);
+            testng.setXmlSuites(List.of(suite));
+            testng.addListener(new TestResultCacheListener());
+            testng.addListener(new DurationHistoryListener());
+            testng.addListener(new ITestListener() {
+                @Override
+                public void onTestSuccess(ITestResult result) {
+                    results.put(result.getMethod().getMethodName(), result);
+                }
+
+                @Override
+                public void onTestFailure(ITestResult result) {
+                    results.put(result.getMethod().getMethodName(), result);
+                }
+            });
+            testng.run();
+        } finally {
+            properties.keySet().forEach(System::clearProperty);
+        }
+        return results;
+    }
+}
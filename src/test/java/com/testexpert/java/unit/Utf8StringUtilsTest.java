@@ -0,0 +1,172 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.utils.StringUtils;
+import com.testexpert.java.utils.Utf8StringUtils;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Unit tests for Utf8StringUtils against the String-based StringUtils
+ */
+public class Utf8StringUtilsTest {
+
+    private static final String[] SAMPLES = {
+            "", " ", "\t \r\n", "testng", "TestNG", "a", " leading space", "élan", "ünïcödé text",
+            "日本語のテキスト", "mixed ascii and ünïcode, longer than eight bytes", "emoji 😀 in 🎉 the middle",
+            "😀 first", " non-breaking is not blank"
+    };
+
+    private Arena arena;
+
+    @BeforeClass
+    public void openArena() {
+        arena = Arena.ofConfined();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeArena() {
+        arena.close();
+    }
+
+    @Test(description = "Test blankness matches StringUtils.isEmpty")
+    public void testIsEmpty() {
+        for (String sample : SAMPLES) {
+            assertEquals(Utf8StringUtils.isEmpty(offHeap(sample)), StringUtils.isEmpty(sample), sample);
+        }
+        assertTrue(Utf8StringUtils.isEmpty((MemorySegment) null));
+        assertTrue(Utf8StringUtils.isEmpty((ByteBuffer) null));
+        assertTrue(Utf8StringUtils.isEmpty(ByteBuffer.wrap("    \t\t\t\t   ".getBytes(StandardCharsets.UTF_8))));
+        assertFalse(Utf8StringUtils.isEmpty(ByteBuffer.wrap("        x".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test(description = "Test reverse matches StringUtils.reverse by code point")
+    public void testReverse() {
+        for (String sample : SAMPLES) {
+            MemorySegment dst = arena.allocate(Math.max(1, sample.length() * 4L));
+            long written = Utf8StringUtils.reverse(offHeap(sample), dst);
+            assertEquals(decode(dst, written), StringUtils.reverse(sample), sample);
+        }
+    }
+
+    @Test(description = "Test capitalize matches StringUtils.capitalize")
+    public void testCapitalize() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ROOT);
+        try {
+            for (String sample : SAMPLES) {
+                // StringUtils only upper-cases the first UTF-16 unit, see testCapitalizeLengthChanges
+                if (!sample.isEmpty() && Character.isSupplementaryCodePoint(sample.codePointAt(0))) {
+                    continue;
+                }
+                MemorySegment src = offHeap(sample);
+                MemorySegment dst = arena.allocate(Utf8StringUtils.maxCapitalizedSize(src.byteSize()));
+                long written = Utf8StringUtils.capitalize(src, dst);
+                assertEquals(decode(dst, written), StringUtils.capitalize(sample), sample);
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test(description = "Test capitalize handles code points whose encoding changes length")
+    public void testCapitalizeLengthChanges() {
+        // U+0131 dotless i (2 bytes) -> I (1 byte); U+0250 (2 bytes) -> U+2C6F (3 bytes); U+10428 -> U+10400
+        assertEquals(capitalize("ıx"), "Ix");
+        assertEquals(capitalize("ɐx"), "Ɐx");
+        assertEquals(capitalize("𐐨x"), "𐐀x");
+    }
+
+    @Test(description = "Test malformed UTF-8 is passed through byte by byte")
+    public void testMalformedInput() {
+        byte[] bytes = {'a', (byte) 0xe6, (byte) 0x97, 'b', (byte) 0xff};
+        MemorySegment dst = MemorySegment.ofArray(new byte[bytes.length]);
+        Utf8StringUtils.reverse(MemorySegment.ofArray(bytes), dst);
+        assertEquals(dst.toArray(ValueLayout.JAVA_BYTE), new byte[]{(byte) 0xff, 'b', (byte) 0x97, (byte) 0xe6, 'a'});
+
+        // A stray lead byte before a valid sequence: [c2] [c2 bf] reversed is [c2 bf] [c2]
+        byte[] stray = {(byte) 0xc2, (byte) 0xc2, (byte) 0xbf};
+        MemorySegment reversed = MemorySegment.ofArray(new byte[stray.length]);
+        Utf8StringUtils.reverse(MemorySegment.ofArray(stray), reversed);
+        assertEquals(reversed.toArray(ValueLayout.JAVA_BYTE), new byte[]{(byte) 0xc2, (byte) 0xbf, (byte) 0xc2});
+
+        byte[] lead = {(byte) 0xc3, 'x'};
+        MemorySegment out = MemorySegment.ofArray(new byte[3]);
+        assertEquals(Utf8StringUtils.capitalize(MemorySegment.ofArray(lead), out), 2);
+        assertEquals(out.asSlice(0, 2).toArray(ValueLayout.JAVA_BYTE), lead);
+    }
+
+    @Test(description = "Test ByteBuffer variants advance only the destination")
+    public void testByteBuffers() {
+        ByteBuffer src = ByteBuffer.allocateDirect(32);
+        src.put("xx".getBytes(StandardCharsets.UTF_8)).put("élan".getBytes(StandardCharsets.UTF_8)).flip();
+        src.position(2);
+        ByteBuffer dst = ByteBuffer.allocate(32);
+        dst.put((byte) '>');
+
+        int written = Utf8StringUtils.capitalize(src, dst);
+        assertEquals(src.position(), 2);
+        assertEquals(dst.position(), 1 + written);
+        assertEquals(new String(dst.array(), 0, dst.position(), StandardCharsets.UTF_8), ">Élan");
+
+        Utf8StringUtils.reverse(src, dst);
+        assertEquals(new String(dst.array(), 0, dst.position(), StandardCharsets.UTF_8), ">Élannalé");
+    }
+
+    @Test(description = "Test offset variants work on lines of one large segment")
+    public void testOffsets() {
+        MemorySegment text = offHeap("  \nélan vital\nTestNG");
+        MemorySegment dst = arena.allocate(64);
+
+        assertTrue(Utf8StringUtils.isEmpty(text, 0, 2));
+        assertFalse(Utf8StringUtils.isEmpty(text, 0, 4));
+        long written = Utf8StringUtils.capitalize(text, 3, 11, dst, 5);
+        assertEquals(decode(dst.asSlice(5), written), "Élan vital");
+        written = Utf8StringUtils.reverse(text, 15, 6, dst, 1);
+        assertEquals(decode(dst.asSlice(1), written), "GNtseT");
+    }
+
+    @Test(description = "Test out-of-range source is rejected", expectedExceptions = IndexOutOfBoundsException.class)
+    public void testSourceOutOfRange() {
+        Utf8StringUtils.isEmpty(offHeap("testng"), 4, 3);
+    }
+
+    @Test(description = "Test reverse keeps null handling", expectedExceptions = NullPointerException.class)
+    public void testReverseNull() {
+        Utf8StringUtils.reverse(null, MemorySegment.ofArray(new byte[1]));
+    }
+
+    @Test(description = "Test too small destination is rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testDestinationTooSmall() {
+        Utf8StringUtils.reverse(offHeap("testng"), arena.allocate(3));
+    }
+
+    @Test(description = "Test overlapping segments are rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testOverlap() {
+        MemorySegment segment = offHeap("overlapping");
+        Utf8StringUtils.reverse(segment.asSlice(0, 4), segment.asSlice(2, 4));
+    }
+
+    private String capitalize(String sample) {
+        MemorySegment src = offHeap(sample);
+        MemorySegment dst = arena.allocate(Utf8StringUtils.maxCapitalizedSize(src.byteSize()));
+        return decode(dst, Utf8StringUtils.capitalize(src, dst));
+    }
+
+    private MemorySegment offHeap(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        MemorySegment segment = arena.allocate(bytes.length);
+        MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, 0, bytes.length);
+        return segment;
+    }
+
+    private static String decode(MemorySegment segment, long length) {
+        return new String(segment.asSlice(0, length).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,183 @@
+package com.testexpert.java.unit;
+
+import org.testng.annotations.*;
+import static org.testng.Assert.*;
+import com.testexpert.java.visual.PerceptualHash;
+import com.testexpert.java.visual.Pixels;
+import com.testexpert.java.visual.PixelDiff;
+import com.testexpert.java.visual.Region;
+import com.testexpert.java.visual.VisualBaselines;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for PerceptualHash, PixelDiff and VisualBaselines
+ */
+public class VisualDiffTest {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 800;
+    private static final Region BADGE = new Region(1200, 10, 40, 40);
+
+    private PixelDiff pixelDiff;
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        pixelDiff = new PixelDiff(4);
+        dir = Files.createTempDirectory("visual");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        pixelDiff.close();
+    }
+
+    @Test(description = "Test PNG layouts decode to the same ARGB values as getRGB")
+    public void testDecode() {
+        for (int type : new int[]{BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR,
+                BufferedImage.TYPE_INT_RGB}) {
+            BufferedImage image = new BufferedImage(7, 5, type);
+            for (int i = 0; i < 35; i++) {
+                image.setRGB(i % 7, i / 7, 0xFF000000 | i * 0x050709);
+            }
+            Pixels pixels = Pixels.of(image);
+            assertEquals(pixels.argb(), image.getRGB(0, 0, 7, 5, null, 0, 7), "type " + type);
+            assertEquals(Pixels.decode(pixels.toPng()).argb(), pixels.argb(), "type " + type);
+        }
+    }
+
+    @Test(description = "Test hashes match for the same layout and differ when content moves")
+    public void testPerceptualHash() {
+        PerceptualHash baseline = PerceptualHash.of(page(0, "3"), List.of());
+
+        assertEquals(PerceptualHash.of(page(0, "3"), List.of()), baseline);
+        assertEquals(PerceptualHash.of(noisy(page(0, "3")), List.of()).distance(baseline), 0,
+                "Channel noise does not change the layout hash");
+        assertTrue(PerceptualHash.of(page(60, "3"), List.of()).distance(baseline) > 0);
+        assertTrue(PerceptualHash.of(page(0, "3", 120), List.of()).distance(baseline) > 0, "A wider badge shows");
+        assertEquals(PerceptualHash.of(page(0, "4"), List.of()), baseline, "One glyph is below the hash resolution");
+        assertEquals(PerceptualHash.of(page(0, "3", 120), List.of(new Region(1100, 0, 180, 60))),
+                PerceptualHash.of(page(0, "3"), List.of(new Region(1100, 0, 180, 60))), "Ignored regions do not count");
+    }
+
+    @Test(description = "Test pixel diff counts differing pixels per tile, honouring tolerance and ignored regions")
+    public void testPixelDiff() {
+        PixelDiff.Result same = pixelDiff.compare(page(0, "3"), noisy(page(0, "3")), List.of(), 8);
+        assertEquals(same.differentPixels(), 0);
+        assertEquals(same.comparedPixels(), (long) WIDTH * HEIGHT);
+
+        PixelDiff.Result badge = pixelDiff.compare(page(0, "3"), page(0, "4"), List.of(), 8);
+        assertTrue(badge.differentPixels() > 0);
+        assertEquals(badge.differentTiles(), 1, "The badge digit sits in a single tile");
+        assertEquals(badge.tileDifferences()[(BADGE.x() + 16) / PixelDiff.TILE], (int) badge.differentPixels());
+
+        PixelDiff.Result ignored = pixelDiff.compare(page(0, "3"), page(0, "4"), List.of(BADGE), 8);
+        assertEquals(ignored.differentPixels(), 0);
+        assertEquals(ignored.comparedPixels(), (long) WIDTH * HEIGHT - 40 * 40);
+    }
+
+    @Test(description = "Test the parallel diff agrees with a single-threaded one")
+    public void testParallelMatchesSequential() {
+        try (PixelDiff sequential = new PixelDiff(1)) {
+            PixelDiff.Result expected = sequential.compare(page(0, "3"), page(60, "4"), List.of(BADGE), 8);
+            PixelDiff.Result actual = pixelDiff.compare(page(0, "3"), page(60, "4"), List.of(BADGE), 8);
+            assertEquals(actual.differentPixels(), expected.differentPixels());
+            assertTrue(Arrays.equals(actual.tileDifferences(), expected.tileDifferences()));
+        }
+    }
+
+    @Test(description = "Test baselines pass on a hash match and write the screenshot and diff on a regression")
+    public void testBaselines() throws IOException {
+        VisualBaselines baselines = new VisualBaselines(dir.resolve("baselines"), dir.resolve("out"), 8, 0.001,
+                false, pixelDiff);
+
+        VisualBaselines.Comparison missing = baselines.compare("login", page(0, "3"), List.of());
+        assertEquals(missing.status(), VisualBaselines.Status.NO_BASELINE);
+        assertFalse(missing.passed(), "A missing baseline is a failure");
+        assertTrue(Files.exists(dir.resolve("out/new/login.png")));
+
+        baselines.update("login", page(0, "3"));
+        VisualBaselines.Comparison same = baselines.compare("login", noisy(page(0, "3")), List.of());
+        assertEquals(same.status(), VisualBaselines.Status.HASH_MATCH);
+        assertNull(same.diff(), "No pixel diff on a hash match");
+
+        VisualBaselines.Comparison badge = baselines.compare("login", page(0, "3", 120), List.of(BADGE));
+        assertEquals(badge.status(), VisualBaselines.Status.DIFFERENT);
+        assertEquals(baselines.compare("login", page(0, "3", 120), List.of(new Region(1100, 0, 180, 60))).status(),
+                VisualBaselines.Status.HASH_MATCH);
+
+        VisualBaselines.Comparison moved = baselines.compare("login", page(60, "3"), List.of(BADGE));
+        assertEquals(moved.status(), VisualBaselines.Status.DIFFERENT);
+        assertFalse(moved.passed());
+        assertTrue(moved.describe().startsWith("hash distance "), moved.describe());
+        assertEquals(moved.files(), List.of(dir.resolve("out/login-actual.png"), dir.resolve("out/login-diff.png")));
+
+        VisualBaselines.Comparison resized = baselines.compare("login",
+                new Pixels(WIDTH, HEIGHT / 2, Arrays.copyOf(page(0, "3").argb(), WIDTH * HEIGHT / 2)), List.of());
+        assertEquals(resized.status(), VisualBaselines.Status.SIZE_MISMATCH);
+    }
+
+    @Test(description = "Test alwaysDiff catches a change below the hash resolution")
+    public void testAlwaysDiff() {
+        VisualBaselines lenient = new VisualBaselines(dir, dir.resolve("out"), 8, 0.0, false, pixelDiff);
+        VisualBaselines strict = new VisualBaselines(dir, dir.resolve("out"), 8, 0.0, true, pixelDiff);
+        lenient.update("inventory", page(0, "3"));
+
+        assertEquals(lenient.compare("inventory", page(0, "4"), List.of()).status(),
+                VisualBaselines.Status.HASH_MATCH);
+        VisualBaselines.Comparison comparison = strict.compare("inventory", page(0, "4"), List.of());
+        assertEquals(comparison.status(), VisualBaselines.Status.DIFFERENT);
+        assertEquals(comparison.hashDistance(), 0);
+        assertEquals(strict.compare("inventory", noisy(page(0, "3")), List.of()).status(),
+                VisualBaselines.Status.PIXEL_MATCH);
+    }
+
+    private static Pixels page(int offset, String badge) {
+        return page(offset, badge, BADGE.width());
+    }
+
+    /**
+     * A header bar, a login form shifted down by {@code offset} and a cart badge showing {@code badge}
+     */
+    private static Pixels page(int offset, String badge, int badgeWidth) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.setColor(new Color(0x13, 0x21, 0x32));
+        g.fillRect(0, 0, WIDTH, 60);
+        g.setColor(new Color(0xE2, 0x23, 0x1A));
+        g.fillOval(BADGE.x() + BADGE.width() - badgeWidth, BADGE.y(), badgeWidth, BADGE.height());
+        g.setColor(Color.WHITE);
+        g.drawString(badge, BADGE.x() + 16, BADGE.y() + 25);
+        g.setColor(new Color(0xED, 0xED, 0xED));
+        g.fillRect(440, 200 + offset, 400, 300);
+        g.setColor(new Color(0x3D, 0xDC, 0x91));
+        g.fillRect(470, 420 + offset, 340, 50);
+        g.dispose();
+        return Pixels.of(image);
+    }
+
+    /**
+     * Perturb every channel by up to 3, as re-encoding or a different GPU might
+     */
+    private static Pixels noisy(Pixels pixels) {
+        int[] argb = pixels.argb().clone();
+        for (int i = 0; i < argb.length; i++) {
+            int delta = i * 31 % 7 - 3;
+            int r = Math.clamp((argb[i] >> 16 & 0xFF) + delta, 0, 255);
+            int g = Math.clamp((argb[i] >> 8 & 0xFF) - delta, 0, 255);
+            int b = Math.clamp((argb[i] & 0xFF) + delta, 0, 255);
+            argb[i] = 0xFF000000 | r << 16 | g << 8 | b;
+        }
+        return new Pixels(pixels.width(), pixels.height(), argb);
+    }
+}
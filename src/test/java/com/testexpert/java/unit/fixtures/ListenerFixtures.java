@@ -0,0 +1,62 @@
+package com.testexpert.java.unit.fixtures;
+
+import com.testexpert.java.cache.NonCacheable;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test classes the listener unit tests run through a nested TestNG instance
+ * Kept out of the unit test classes so that the suite itself does not pick them up.
+ */
+public final class ListenerFixtures {
+
+    private ListenerFixtures() {
+    }
+
+    public static class WarmUp {
+
+        @Test
+        public void testWarmUp() {
+        }
+    }
+
+    public static class OneMethod {
+
+        @Test
+        public void testOnly() {
+        }
+    }
+
+    public static class TwoMethods {
+
+        @Test
+        public void testFirst() {
+        }
+
+        @Test
+        public void testSecond() {
+        }
+    }
+
+    public static class Counted {
+
+        public static final AtomicInteger RUNS = new AtomicInteger();
+
+        @Test
+        public void testCounted() {
+            RUNS.incrementAndGet();
+        }
+    }
+
+    @NonCacheable
+    public static class AlwaysRuns {
+
+        public static final AtomicInteger RUNS = new AtomicInteger();
+
+        @Test
+        public void testAlwaysRuns() {
+            RUNS.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.testexpert.java.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * selenium.properties from the test classpath with system properties of the same name layered on top
+ * The one place the E2E setup, page performance, visual checks and screenshots read their settings from; the file is
+ * read once, system properties are looked up on every call.
+ */
+public final class SeleniumSettings {
+
+    private static final Properties FILE = load();
+
+    private SeleniumSettings() {
+    }
+
+    /**
+     * System property {@code key}, else its selenium.properties value, else {@code defaultValue}
+     */
+    public static String get(String key, String defaultValue) {
+        return System.getProperty(key, FILE.getProperty(key, defaultValue));
+    }
+
+    /**
+     * Copy of every setting, for components that take their configuration as Properties
+     */
+    public static Properties all() {
+        Properties settings = new Properties();
+        settings.putAll(FILE);
+        for (String key : System.getProperties().stringPropertyNames()) {
+            settings.setProperty(key, System.getProperty(key));
+        }
+        return settings;
+    }
+
+    private static Properties load() {
+        Properties settings = new Properties();
+        try (InputStream in = SeleniumSettings.class.getResourceAsStream("/selenium.properties")) {
+            if (in != null) {
+                settings.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read selenium.properties", e);
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,129 @@
+package com.testexpert.java.visual;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 256-bit difference hash of an image's layout
+ * The image is reduced to a 17x16 grid of mean luminance (ignored regions excluded) and each bit records whether a
+ * cell is clearly darker than its right neighbour. Anti-aliasing and colour noise leave the bits alone, while a
+ * moved or resized block of content flips the bits around it. Changes smaller than a cell, such as one glyph of
+ * text, usually do not. One sequential pass over the pixels.
+ */
+public final class PerceptualHash {
+
+    static final int COLUMNS = 17;
+    static final int ROWS = 16;
+    /** Two luma levels, in the 8.8 fixed point the sums use */
+    private static final long MARGIN = 2 * 256;
+
+    private final long[] bits;
+
+    private PerceptualHash(long[] bits) {
+        this.bits = bits;
+    }
+
+    public static PerceptualHash of(Pixels pixels, List<Region> ignored) {
+        int width = pixels.width();
+        int height = pixels.height();
+        int[] argb = pixels.argb();
+        long[] sums = new long[COLUMNS * ROWS];
+        long[] counts = new long[COLUMNS * ROWS];
+        // Cell c spans columns bounds[c] until bounds[c + 1]
+        int[] bounds = new int[COLUMNS + 1];
+        for (int c = 0; c <= COLUMNS; c++) {
+            bounds[c] = (int) ((long) c * width / COLUMNS);
+        }
+        List<Region> rowRegions = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            int cell = (int) ((long) y * ROWS / height) * COLUMNS;
+            int offset = y * width;
+            rowRegions.clear();
+            for (Region region : ignored) {
+                if (region.intersects(0, y, width, y + 1)) {
+                    rowRegions.add(region);
+                }
+            }
+            for (int c = 0; c < COLUMNS; c++) {
+                long sum = 0;
+                int count = 0;
+                if (rowRegions.isEmpty()) {
+                    for (int x = bounds[c]; x < bounds[c + 1]; x++) {
+                        sum += luma(argb[offset + x]);
+                    }
+                    count = bounds[c + 1] - bounds[c];
+                } else {
+                    for (int x = bounds[c]; x < bounds[c + 1]; x++) {
+                        if (!isIgnored(rowRegions, x, y)) {
+                            sum += luma(argb[offset + x]);
+                            count++;
+                        }
+                    }
+                }
+                sums[cell + c] += sum;
+                counts[cell + c] += count;
+            }
+        }
+        long[] bits = new long[(COLUMNS - 1) * ROWS / Long.SIZE];
+        int bit = 0;
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLUMNS - 1; col++, bit++) {
+                int left = row * COLUMNS + col;
+                // meanR - meanL > MARGIN, without dividing; equal-looking cells stay 0 however noise tips them
+                if (sums[left + 1] * counts[left] - sums[left] * counts[left + 1]
+                        > MARGIN * counts[left] * counts[left + 1]) {
+                    bits[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        return new PerceptualHash(bits);
+    }
+
+    /**
+     * Number of differing bits, 0 for images with the same layout
+     */
+    public int distance(PerceptualHash other) {
+        int distance = 0;
+        for (int i = 0; i < bits.length; i++) {
+            distance += Long.bitCount(bits[i] ^ other.bits[i]);
+        }
+        return distance;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PerceptualHash hash && Arrays.equals(bits, hash.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder hex = new StringBuilder();
+        for (long word : bits) {
+            hex.append(HexFormat.of().toHexDigits(word));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Rec. 601 luma in 8.8 fixed point; alpha is ignored since screenshots are opaque
+     */
+    private static int luma(int pixel) {
+        return (pixel >> 16 & 0xFF) * 77 + (pixel >> 8 & 0xFF) * 150 + (pixel & 0xFF) * 29;
+    }
+
+    private static boolean isIgnored(List<Region> regions, int x, int y) {
+        for (Region region : regions) {
+            if (region.contains(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
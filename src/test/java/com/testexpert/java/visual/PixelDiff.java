@@ -0,0 +1,192 @@
+package com.testexpert.java.visual;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pixel-by-pixel comparison of two equally sized images, split into 64x64 tiles across a thread pool
+ * Each task takes a band of tile rows, so threads read disjoint, contiguous parts of both arrays. Tiles entirely
+ * inside an ignored region are skipped; only tiles touching one test pixels against it. A pixel differs when any
+ * ARGB channel differs by more than the tolerance, which absorbs anti-aliasing and font hinting noise.
+ */
+public final class PixelDiff implements AutoCloseable {
+
+    public static final int TILE = 64;
+
+    /**
+     * Differing pixel count per tile, row-major with {@code tilesX} tiles per row
+     */
+    public record Result(int width, int height, int tilesX, int tilesY, int[] tileDifferences,
+                         long differentPixels, long comparedPixels) {
+
+        public double ratio() {
+            return comparedPixels == 0 ? 0 : (double) differentPixels / comparedPixels;
+        }
+
+        public int differentTiles() {
+            int tiles = 0;
+            for (int count : tileDifferences) {
+                tiles += count > 0 ? 1 : 0;
+            }
+            return tiles;
+        }
+
+        /**
+         * Copy of {@code actual} with a red frame around every differing tile
+         */
+        public Pixels highlight(Pixels actual) {
+            int[] argb = actual.argb().clone();
+            for (int tile = 0; tile < tileDifferences.length; tile++) {
+                if (tileDifferences[tile] == 0) {
+                    continue;
+                }
+                int left = tile % tilesX * TILE;
+                int top = tile / tilesX * TILE;
+                int right = Math.min(left + TILE, width) - 1;
+                int bottom = Math.min(top + TILE, height) - 1;
+                for (int x = left; x <= right; x++) {
+                    argb[top * width + x] = 0xFFFF0000;
+                    argb[bottom * width + x] = 0xFFFF0000;
+                }
+                for (int y = top; y <= bottom; y++) {
+                    argb[y * width + left] = 0xFFFF0000;
+                    argb[y * width + right] = 0xFFFF0000;
+                }
+            }
+            return new Pixels(width, height, argb);
+        }
+    }
+
+    private final int threads;
+    private final ExecutorService pool;
+
+    public PixelDiff(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed: " + threads);
+        }
+        this.threads = threads;
+        this.pool = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().daemon().name("visual-diff-", 0).factory());
+    }
+
+    /**
+     * @throws IllegalArgumentException when the images differ in size
+     */
+    public Result compare(Pixels expected, Pixels actual, List<Region> ignored, int tolerance) {
+        if (expected.width() != actual.width() || expected.height() != actual.height()) {
+            throw new IllegalArgumentException("Cannot diff " + expected.width() + "x" + expected.height()
+                    + " against " + actual.width() + "x" + actual.height());
+        }
+        int width = expected.width();
+        int height = expected.height();
+        int tilesX = (width + TILE - 1) / TILE;
+        int tilesY = (height + TILE - 1) / TILE;
+        int[] tileDifferences = new int[tilesX * tilesY];
+        long[] compared = new long[tilesX * tilesY];
+        int bands = Math.min(threads, tilesY);
+        if (bands == 1) {
+            compareRows(expected, actual, ignored, tolerance, 0, tilesY, tileDifferences, compared);
+        } else {
+            List<Future<?>> tasks = new ArrayList<>(bands);
+            for (int band = 0; band < bands; band++) {
+                int first = band * tilesY / bands;
+                int last = (band + 1) * tilesY / bands;
+                tasks.add(pool.submit(() ->
+                        compareRows(expected, actual, ignored, tolerance, first, last, tileDifferences, compared)));
+            }
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while diffing screenshots", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Screenshot diff failed", e.getCause());
+                }
+            }
+        }
+        long differentPixels = 0;
+        long comparedPixels = 0;
+        for (int tile = 0; tile < tileDifferences.length; tile++) {
+            differentPixels += tileDifferences[tile];
+            comparedPixels += compared[tile];
+        }
+        return new Result(width, height, tilesX, tilesY, tileDifferences, differentPixels, comparedPixels);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private static void compareRows(Pixels expected, Pixels actual, List<Region> ignored, int tolerance,
+                                    int firstTileRow, int lastTileRow, int[] tileDifferences, long[] compared) {
+        int width = expected.width();
+        int height = expected.height();
+        int tilesX = (width + TILE - 1) / TILE;
+        int[] a = expected.argb();
+        int[] b = actual.argb();
+        List<Region> tileRegions = new ArrayList<>();
+        for (int tileY = firstTileRow; tileY < lastTileRow; tileY++) {
+            int top = tileY * TILE;
+            int bottom = Math.min(top + TILE, height);
+            for (int tileX = 0; tileX < tilesX; tileX++) {
+                int left = tileX * TILE;
+                int right = Math.min(left + TILE, width);
+                tileRegions.clear();
+                boolean skipped = false;
+                for (Region region : ignored) {
+                    if (region.covers(left, top, right, bottom)) {
+                        skipped = true;
+                        break;
+                    }
+                    if (region.intersects(left, top, right, bottom)) {
+                        tileRegions.add(region);
+                    }
+                }
+                if (skipped) {
+                    continue;
+                }
+                int differences = 0;
+                int pixels = 0;
+                for (int y = top; y < bottom; y++) {
+                    int offset = y * width;
+                    for (int x = left; x < right; x++) {
+                        if (!tileRegions.isEmpty() && isIgnored(tileRegions, x, y)) {
+                            continue;
+                        }
+                        pixels++;
+                        int p = a[offset + x];
+                        int q = b[offset + x];
+                        if (p != q && exceeds(p, q, tolerance)) {
+                            differences++;
+                        }
+                    }
+                }
+                int tile = tileY * tilesX + tileX;
+                tileDifferences[tile] = differences;
+                compared[tile] = pixels;
+            }
+        }
+    }
+
+    private static boolean exceeds(int p, int q, int tolerance) {
+        return Math.abs((p >>> 24) - (q >>> 24)) > tolerance
+                || Math.abs((p >> 16 & 0xFF) - (q >> 16 & 0xFF)) > tolerance
+                || Math.abs((p >> 8 & 0xFF) - (q >> 8 & 0xFF)) > tolerance
+                || Math.abs((p & 0xFF) - (q & 0xFF)) > tolerance;
+    }
+
+    private static boolean isIgnored(List<Region> regions, int x, int y) {
+        for (Region region : regions) {
+            if (region.contains(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package com.testexpert.java.visual;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A decoded image as one ARGB int per pixel, row by row
+ * Screenshots are compared on these raw arrays rather than through BufferedImage.getRGB, which converts one pixel
+ * per call through the colour model.
+ */
+public record Pixels(int width, int height, int[] argb) {
+
+    public Pixels {
+        if (width <= 0 || height <= 0 || argb.length != width * height) {
+            throw new IllegalArgumentException("Expected " + width + "x" + height + " pixels, got " + argb.length);
+        }
+    }
+
+    /**
+     * Decode a PNG (as returned by {@code TakesScreenshot.getScreenshotAs(OutputType.BYTES)})
+     *
+     * @throws IllegalArgumentException when the bytes are not an image ImageIO can read
+     */
+    public static Pixels decode(byte[] png) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode screenshot", e);
+        }
+        if (image == null) {
+            throw new IllegalArgumentException("Not a readable image (" + png.length + " bytes)");
+        }
+        return of(image);
+    }
+
+    /**
+     * Copy the image's pixels, reading the backing array directly for the layouts PNG decoding produces
+     */
+    public static Pixels of(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] argb = new int[width * height];
+        switch (image.getType()) {
+            case BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB -> {
+                int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+                int opaque = image.getType() == BufferedImage.TYPE_INT_RGB ? 0xFF000000 : 0;
+                for (int i = 0; i < argb.length; i++) {
+                    argb[i] = data[i] | opaque;
+                }
+            }
+            case BufferedImage.TYPE_4BYTE_ABGR -> {
+                byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+                for (int i = 0, j = 0; i < argb.length; i++, j += 4) {
+                    argb[i] = (data[j] & 0xFF) << 24 | (data[j + 3] & 0xFF) << 16 | (data[j + 2] & 0xFF) << 8
+                            | data[j + 1] & 0xFF;
+                }
+            }
+            case BufferedImage.TYPE_3BYTE_BGR -> {
+                byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+                for (int i = 0, j = 0; i < argb.length; i++, j += 3) {
+                    argb[i] = 0xFF000000 | (data[j + 2] & 0xFF) << 16 | (data[j + 1] & 0xFF) << 8 | data[j] & 0xFF;
+                }
+            }
+            default -> image.getRGB(0, 0, width, height, argb, 0, width);
+        }
+        return new Pixels(width, height, argb);
+    }
+
+    public byte[] toPng() {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, argb, 0, width);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode PNG", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,22 @@
+package com.testexpert.java.visual;
+
+/**
+ * Rectangle of a screenshot, in image pixels, that visual checks ignore (clocks, counters, animated content)
+ */
+public record Region(int x, int y, int width, int height) {
+
+    public boolean contains(int px, int py) {
+        return px >= x && px < x + width && py >= y && py < y + height;
+    }
+
+    /**
+     * True when this region covers the whole rectangle
+     */
+    public boolean covers(int left, int top, int right, int bottom) {
+        return left >= x && top >= y && right <= x + width && bottom <= y + height;
+    }
+
+    public boolean intersects(int left, int top, int right, int bottom) {
+        return left < x + width && right > x && top < y + height && bottom > y;
+    }
+}
@@ -0,0 +1,151 @@
+package com.testexpert.java.visual;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares screenshots with the PNG baselines of a directory, cheapest check first
+ * A baseline is decoded once per run and its perceptual hash computed once per set of ignored regions. A screenshot
+ * whose hash equals the baseline's passes without touching the baseline pixels; otherwise the tiled
+ * {@link PixelDiff} decides, and a failing screenshot is written next to a copy marking the differing tiles.
+ * The hash only sees layout, so checks that must catch text or colour changes run with {@code alwaysDiff}.
+ */
+public class VisualBaselines {
+
+    public enum Status {
+        /** Same perceptual hash: passed without a pixel diff */
+        HASH_MATCH,
+        /** The pixel diff is within tolerance */
+        PIXEL_MATCH,
+        DIFFERENT,
+        SIZE_MISMATCH,
+        NO_BASELINE
+    }
+
+    /**
+     * Outcome of one check; {@code diff} is only set when the pixel diff ran, {@code files} lists what was written
+     */
+    public record Comparison(String name, Status status, int hashDistance, PixelDiff.Result diff, long nanos,
+                             List<Path> files) {
+
+        public boolean passed() {
+            return status == Status.HASH_MATCH || status == Status.PIXEL_MATCH;
+        }
+
+        public double millis() {
+            return nanos / 1e6;
+        }
+
+        public String describe() {
+            return switch (status) {
+                case HASH_MATCH -> "identical perceptual hash";
+                case PIXEL_MATCH -> String.format(
+                        "hash distance %d, %.3f%% pixels differ in %d tiles (within tolerance)",
+                        hashDistance, 100 * diff.ratio(), diff.differentTiles());
+                case DIFFERENT -> String.format("hash distance %d, %.3f%% pixels differ in %d tiles",
+                        hashDistance, 100 * diff.ratio(), diff.differentTiles());
+                case SIZE_MISMATCH -> "screenshot size differs from the baseline";
+                case NO_BASELINE -> "no baseline yet";
+            };
+        }
+    }
+
+    private record Baseline(Pixels pixels, Map<List<Region>, PerceptualHash> hashes) {
+    }
+
+    private final Path baselineDirectory;
+    private final Path outputDirectory;
+    private final int tolerance;
+    private final double maxDiffRatio;
+    private final boolean alwaysDiff;
+    private final PixelDiff pixelDiff;
+    private final Map<String, Baseline> baselines = new ConcurrentHashMap<>();
+
+    /**
+     * @param tolerance    per-channel difference (0-255) below which pixels count as equal
+     * @param maxDiffRatio share of compared pixels allowed to differ
+     * @param alwaysDiff   run the pixel diff even when the perceptual hashes match
+     */
+    public VisualBaselines(Path baselineDirectory, Path outputDirectory, int tolerance, double maxDiffRatio,
+                           boolean alwaysDiff, PixelDiff pixelDiff) {
+        this.baselineDirectory = baselineDirectory;
+        this.outputDirectory = outputDirectory;
+        this.tolerance = tolerance;
+        this.maxDiffRatio = maxDiffRatio;
+        this.alwaysDiff = alwaysDiff;
+        this.pixelDiff = pixelDiff;
+    }
+
+    public Path baselineFile(String name) {
+        return baselineDirectory.resolve(name + ".png");
+    }
+
+    /**
+     * Compare {@code actual} with baseline {@code name}; a missing baseline is written to the output directory as
+     * {@code new/<name>.png} for review
+     */
+    public Comparison compare(String name, Pixels actual, List<Region> ignored) {
+        long start = System.nanoTime();
+        Baseline baseline = baseline(name);
+        if (baseline == null) {
+            Path candidate = write(outputDirectory.resolve("new").resolve(name + ".png"), actual);
+            return new Comparison(name, Status.NO_BASELINE, -1, null, System.nanoTime() - start, List.of(candidate));
+        }
+        Pixels expected = baseline.pixels();
+        if (expected.width() != actual.width() || expected.height() != actual.height()) {
+            Path file = write(outputDirectory.resolve(name + "-actual.png"), actual);
+            return new Comparison(name, Status.SIZE_MISMATCH, -1, null, System.nanoTime() - start, List.of(file));
+        }
+        List<Region> regions = List.copyOf(ignored);
+        PerceptualHash expectedHash = baseline.hashes().computeIfAbsent(regions,
+                key -> PerceptualHash.of(expected, key));
+        int distance = expectedHash.distance(PerceptualHash.of(actual, regions));
+        if (distance == 0 && !alwaysDiff) {
+            return new Comparison(name, Status.HASH_MATCH, 0, null, System.nanoTime() - start, List.of());
+        }
+        PixelDiff.Result diff = pixelDiff.compare(expected, actual, regions, tolerance);
+        if (diff.ratio() <= maxDiffRatio) {
+            return new Comparison(name, Status.PIXEL_MATCH, distance, diff, System.nanoTime() - start, List.of());
+        }
+        long elapsed = System.nanoTime() - start;
+        List<Path> files = List.of(write(outputDirectory.resolve(name + "-actual.png"), actual),
+                write(outputDirectory.resolve(name + "-diff.png"), diff.highlight(actual)));
+        return new Comparison(name, Status.DIFFERENT, distance, diff, elapsed, files);
+    }
+
+    /**
+     * Replace baseline {@code name} with {@code actual}
+     */
+    public Path update(String name, Pixels actual) {
+        baselines.remove(name);
+        return write(baselineFile(name), actual);
+    }
+
+    private Baseline baseline(String name) {
+        return baselines.computeIfAbsent(name, key -> {
+            Path file = baselineFile(key);
+            if (!Files.exists(file)) {
+                return null;
+            }
+            try {
+                return new Baseline(Pixels.decode(Files.readAllBytes(file)), new ConcurrentHashMap<>());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read visual baseline " + file, e);
+            }
+        });
+    }
+
+    private static Path write(Path file, Pixels pixels) {
+        try {
+            Files.createDirectories(file.getParent());
+            return Files.write(file, pixels.toPng());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.testexpert.java.visual;
+
+import com.testexpert.java.e2e.base.Browser;
+import com.testexpert.java.utils.SeleniumSettings;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Visual regression checks for page objects: {@code VisualCheck.assertVisual(driver, "login", ignoredLocators...)}
+ * The viewport screenshot is compared with {@code <visual.baseline.dir>/<name>.png} by {@link VisualBaselines}, or with
+ * {@code <name>-<browser>.png} in a browser matrix run, since each browser renders differently.
+ * Elements matched by the ignored locators are masked out. Each check logs its capture, decode and compare times
+ * and adds them to the TestNG reporter output; a failing check attaches the screenshot and the diff to Allure.
+ * A missing baseline fails the check too, with the screenshot saved for review.
+ * Settings come from selenium.properties (visual.*) and can be overridden with system properties of the same name;
+ * -Dvisual.update=true rewrites the baselines from the current screenshots.
+ */
+public final class VisualCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(VisualCheck.class);
+
+    private static final Properties SETTINGS = SeleniumSettings.all();
+    private static final boolean ENABLED = Boolean.parseBoolean(SETTINGS.getProperty("visual.check", "true"));
+    private static final boolean UPDATE = Boolean.parseBoolean(SETTINGS.getProperty("visual.update", "false"));
+    private static final VisualBaselines BASELINES = new VisualBaselines(
+            Path.of(SETTINGS.getProperty("visual.baseline.dir", "src/test/resources/visual")),
+            Path.of(SETTINGS.getProperty("visual.dir", "target/visual")),
+            Integer.parseInt(SETTINGS.getProperty("visual.tolerance", "8")),
+            Double.parseDouble(SETTINGS.getProperty("visual.maxDiffRatio", "0.001")),
+            Boolean.parseBoolean(SETTINGS.getProperty("visual.alwaysDiff", "false")),
+            new PixelDiff(Runtime.getRuntime().availableProcessors()));
+
+    private VisualCheck() {
+    }
+
+    /**
+     * Fail the current test when the page no longer looks like baseline {@code name}
+     *
+     * @param ignored locators of elements whose area is not compared (counters, rotating banners)
+     */
+    public static void assertVisual(WebDriver driver, String name, By... ignored) {
+        if (!ENABLED || !(driver instanceof TakesScreenshot camera)) {
+            return;
+        }
+        String browser = Browser.parameter(Reporter.getCurrentTestResult());
+        if (browser != null) {
+            name = name + "-" + browser;
+        }
+        long start = System.nanoTime();
+        byte[] png = camera.getScreenshotAs(OutputType.BYTES);
+        long captured = System.nanoTime();
+        Pixels actual = Pixels.decode(png);
+        long decoded = System.nanoTime();
+        List<Region> regions = regions(driver, actual, ignored);
+
+        if (UPDATE) {
+            log.info("Visual baseline '{}' updated: {}", name, BASELINES.update(name, actual));
+            return;
+        }
+        VisualBaselines.Comparison comparison = BASELINES.compare(name, actual, regions);
+        String timing = String.format("compare %.1f ms (capture %.1f ms, decode %.1f ms)", comparison.millis(),
+                (captured - start) / 1e6, (decoded - captured) / 1e6);
+        Reporter.log("[visual] " + name + ": " + comparison.describe() + ", " + timing);
+        log.info("Visual check '{}': {}, {}", name, comparison.describe(), timing);
+        if (!comparison.passed()) {
+            for (Path file : comparison.files()) {
+                attach(name, file);
+            }
+            if (comparison.status() == VisualBaselines.Status.NO_BASELINE) {
+                throw new AssertionError("Visual check '" + name + "' has no baseline; review "
+                        + comparison.files().get(0) + " and run with -Dvisual.update=true to accept it");
+            }
+            throw new AssertionError("Visual check '" + name + "' failed: " + comparison.describe()
+                    + ", see " + comparison.files());
+        }
+    }
+
+    /**
+     * Element rectangles are in CSS pixels; screenshots are in device pixels of the viewport
+     */
+    private static List<Region> regions(WebDriver driver, Pixels screenshot, By... ignored) {
+        if (ignored.length == 0) {
+            return List.of();
+        }
+        List<WebElement> elements = new ArrayList<>();
+        for (By locator : ignored) {
+            elements.addAll(driver.findElements(locator));
+        }
+        if (elements.isEmpty()) {
+            return List.of();
+        }
+        Number viewportWidth = (Number) ((JavascriptExecutor) driver).executeScript("return window.innerWidth");
+        double scale = (double) screenshot.width() / viewportWidth.doubleValue();
+        List<Region> regions = new ArrayList<>(elements.size());
+        for (WebElement element : elements) {
+            Rectangle rect = element.getRect();
+            regions.add(new Region((int) Math.floor(rect.getX() * scale), (int) Math.floor(rect.getY() * scale),
+                    (int) Math.ceil(rect.getWidth() * scale) + 1, (int) Math.ceil(rect.getHeight() * scale) + 1));
+        }
+        return regions;
+    }
+
+    private static void attach(String name, Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            Allure.addAttachment("Visual " + name + ": " + file.getFileName(), "image/png", in, "png");
+        } catch (IOException e) {
+            log.warn("Could not attach {}: {}", file, e.getMessage());
+        }
+    }
+}
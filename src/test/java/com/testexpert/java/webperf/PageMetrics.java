@@ -0,0 +1,89 @@
+package com.testexpert.java.webperf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Browser-side timings for one step of an E2E test (a navigation or a key action), in milliseconds
+ * Navigation timing and LCP are only present when the step loaded a new document; the other values cover the
+ * entries recorded since the previous step on the same document. CLS is the unitless layout shift score.
+ */
+public record PageMetrics(String step, String url, double captureMillis, Double ttfb, Double domContentLoaded,
+                          Double load, Double lcp, double cls, long longTasks, double longTaskMillis, long resources,
+                          long resourceBytes, double slowestResource) {
+
+    /**
+     * Names accepted by {@link #value(String)} and by perf.budget.* settings
+     */
+    public static final String[] METRICS = {"ttfb", "domContentLoaded", "load", "lcp", "cls", "longTasks",
+            "longTaskMillis", "resources", "resourceBytes", "slowestResource"};
+
+    /**
+     * Convert the map returned by the collector script; WebDriver hands back numbers as Long or Double
+     */
+    public static PageMetrics from(String step, double captureMillis, Map<String, Object> raw) {
+        Map<?, ?> navigation = (Map<?, ?>) raw.get("navigation");
+        return new PageMetrics(step, (String) raw.get("url"), captureMillis,
+                optional(navigation, "ttfb"), optional(navigation, "domContentLoaded"), optional(navigation, "load"),
+                optional(raw, "lcp"), number(raw, "cls"), (long) number(raw, "longTasks"),
+                number(raw, "longTaskMillis"), (long) number(raw, "resources"), (long) number(raw, "resourceBytes"),
+                number(raw, "slowestResource"));
+    }
+
+    /**
+     * Metric by name, or null when it was not measured for this step
+     *
+     * @throws IllegalArgumentException for a name not in {@link #METRICS}
+     */
+    public Double value(String metric) {
+        return switch (metric) {
+            case "ttfb" -> ttfb;
+            case "domContentLoaded" -> domContentLoaded;
+            case "load" -> load;
+            case "lcp" -> lcp;
+            case "cls" -> cls;
+            case "longTasks" -> (double) longTasks;
+            case "longTaskMillis" -> longTaskMillis;
+            case "resources" -> (double) resources;
+            case "resourceBytes" -> (double) resourceBytes;
+            case "slowestResource" -> slowestResource;
+            default -> throw new IllegalArgumentException("Unknown page metric: " + metric);
+        };
+    }
+
+    /**
+     * Step, URL and capture cost followed by every measured metric, in a stable order for the results file
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("step", step);
+        map.put("url", url);
+        map.put("captureMillis", captureMillis);
+        putIfMeasured(map, "ttfb", ttfb);
+        putIfMeasured(map, "domContentLoaded", domContentLoaded);
+        putIfMeasured(map, "load", load);
+        putIfMeasured(map, "lcp", lcp);
+        map.put("cls", cls);
+        map.put("longTasks", longTasks);
+        map.put("longTaskMillis", longTaskMillis);
+        map.put("resources", resources);
+        map.put("resourceBytes", resourceBytes);
+        map.put("slowestResource", slowestResource);
+        return map;
+    }
+
+    private static void putIfMeasured(Map<String, Object> map, String metric, Double value) {
+        if (value != null) {
+            map.put(metric, value);
+        }
+    }
+
+    private static Double optional(Map<?, ?> raw, String key) {
+        return raw == null || !(raw.get(key) instanceof Number number) ? null : number.doubleValue();
+    }
+
+    private static double number(Map<?, ?> raw, String key) {
+        Double value = optional(raw, key);
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,107 @@
+package com.testexpert.java.webperf;
+
+import com.testexpert.java.utils.SeleniumSettings;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads Navigation Timing, Resource Timing, Long Tasks, LCP and layout shift entries from the browser after a step
+ * Page objects call {@link #capture} after navigations and key actions; the metrics are attached to the running
+ * TestNG result, and {@link PagePerformanceListener} writes them out and applies the budgets. One async script
+ * round trip per step; set perf.collect=false in selenium.properties (or as a system property) to turn it off.
+ */
+public final class PagePerformance {
+
+    static final String ATTRIBUTE = "pagePerformance";
+
+    private static final Logger log = LoggerFactory.getLogger(PagePerformance.class);
+
+    /**
+     * Buffered observers pick up entries the page recorded before the script ran. A mark kept on window limits each
+     * step to entries since the previous capture; a new document starts without it and reports its navigation.
+     */
+    private static final String SCRIPT = """
+            const done = arguments[arguments.length - 1];
+            const since = window.__pagePerformanceMark || 0;
+            const supported = PerformanceObserver.supportedEntryTypes || [];
+            const entries = {'largest-contentful-paint': [], 'layout-shift': [], 'longtask': []};
+            const observers = Object.keys(entries).filter(type => supported.includes(type)).map(type => {
+              const observer = new PerformanceObserver(list => entries[type].push(...list.getEntries()));
+              observer.observe({type: type, buffered: true});
+              return [type, observer];
+            });
+            setTimeout(() => {
+              for (const [type, observer] of observers) {
+                entries[type].push(...observer.takeRecords());
+                observer.disconnect();
+              }
+              window.__pagePerformanceMark = performance.now();
+              const recent = entry => entry.startTime >= since;
+              const nav = since === 0 ? performance.getEntriesByType('navigation')[0] : undefined;
+              const resources = performance.getEntriesByType('resource').filter(recent);
+              const longTasks = entries['longtask'].filter(recent);
+              const lcp = entries['largest-contentful-paint'];
+              const shifts = entries['layout-shift'].filter(entry => recent(entry) && !entry.hadRecentInput);
+              done({
+                url: location.href,
+                navigation: nav ? {
+                  ttfb: nav.responseStart - nav.startTime,
+                  domContentLoaded: nav.domContentLoadedEventEnd - nav.startTime,
+                  load: nav.loadEventEnd > 0 ? nav.loadEventEnd - nav.startTime : null
+                } : null,
+                lcp: since === 0 && lcp.length ? lcp[lcp.length - 1].startTime : null,
+                cls: shifts.reduce((sum, entry) => sum + entry.value, 0),
+                longTasks: longTasks.length,
+                longTaskMillis: longTasks.reduce((sum, task) => sum + task.duration, 0),
+                resources: resources.length,
+                resourceBytes: resources.reduce((sum, resource) => sum + (resource.transferSize || 0), 0),
+                slowestResource: resources.reduce((max, resource) => Math.max(max, resource.duration), 0)
+              });
+            }, 0);
+            """;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(SeleniumSettings.get("perf.collect", "true"));
+
+    private PagePerformance() {
+    }
+
+    /**
+     * Record the browser's metrics for {@code step} against the current test; never fails the test itself
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String step) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (!ENABLED || result == null || !(driver instanceof JavascriptExecutor executor)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Map<String, Object> raw = (Map<String, Object>) executor.executeAsyncScript(SCRIPT);
+            steps(result).add(PageMetrics.from(step, (System.nanoTime() - start) / 1e6, raw));
+        } catch (WebDriverException | ClassCastException e) {
+            log.warn("Page performance capture failed for {}: {}", step, e.getMessage());
+        }
+    }
+
+    /**
+     * Steps captured so far for {@code result}, in order
+     */
+    @SuppressWarnings("unchecked")
+    static synchronized List<PageMetrics> steps(ITestResult result) {
+        Object steps = result.getAttribute(ATTRIBUTE);
+        if (steps == null) {
+            steps = new ArrayList<PageMetrics>();
+            result.setAttribute(ATTRIBUTE, steps);
+        }
+        return (List<PageMetrics>) steps;
+    }
+}
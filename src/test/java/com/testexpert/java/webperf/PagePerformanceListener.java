@@ -0,0 +1,90 @@
+package com.testexpert.java.webperf;
+
+import com.testexpert.java.e2e.base.Browser;
+import com.testexpert.java.utils.SeleniumSettings;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the page metrics captured during each test to perf.dir (default target/page-performance), one JSON file
+ * per test and browser, and fails an otherwise passing test whose steps exceed a perf.budget.* limit
+ * The failure is set in afterInvocation, before TestNG notifies the test listeners, so reports and the screenshot
+ * listener see it as an ordinary failure.
+ */
+public class PagePerformanceListener implements IInvokedMethodListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PagePerformanceListener.class);
+
+    private final PerformanceBudget budget;
+    private final Path directory;
+    private final Set<String> written = ConcurrentHashMap.newKeySet();
+    private final Json json = new Json();
+
+    public PagePerformanceListener() {
+        this(SeleniumSettings.all());
+    }
+
+    PagePerformanceListener(Properties settings) {
+        this.budget = PerformanceBudget.from(settings);
+        this.directory = Path.of(settings.getProperty("perf.dir", "target/page-performance"));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getAttribute(PagePerformance.ATTRIBUTE) == null) {
+            return;
+        }
+        List<PageMetrics> steps = PagePerformance.steps(result);
+        List<String> violations = new ArrayList<>();
+        for (PageMetrics step : steps) {
+            violations.addAll(budget.violations(step));
+        }
+        if (!violations.isEmpty() && result.getStatus() == ITestResult.SUCCESS) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Page performance budget exceeded:\n  "
+                    + String.join("\n  ", violations)));
+        }
+        write(result, steps, violations);
+    }
+
+    private void write(ITestResult result, List<PageMetrics> steps, List<String> violations) {
+        String test = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+        String browser = Browser.parameter(result);
+        String prefix = browser == null ? test : test + "-" + browser;
+        String name = prefix;
+        for (int invocation = 2; !written.add(name); invocation++) {
+            name = prefix + "-" + invocation;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("test", test);
+        if (browser != null) {
+            report.put("browser", browser);
+        }
+        report.put("status", result.getStatus() == ITestResult.SUCCESS ? "passed" : "failed");
+        report.put("budgets", budget.limits());
+        report.put("steps", steps.stream().map(PageMetrics::toMap).toList());
+        report.put("violations", violations);
+        Path file = directory.resolve(name + ".json");
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, json.toJson(report));
+        } catch (IOException e) {
+            log.warn("Could not write page performance results {}: {}", file, e.getMessage());
+        }
+    }
+}
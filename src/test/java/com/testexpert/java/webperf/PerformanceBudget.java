@@ -0,0 +1,61 @@
+package com.testexpert.java.webperf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Upper limits on page metrics, e.g. {@code perf.budget.lcp=1500} for an LCP under 1.5 s
+ * Metrics a step did not measure (LCP after a client-side route change, say) never violate a budget.
+ */
+public final class PerformanceBudget {
+
+    static final String PREFIX = "perf.budget.";
+
+    private final Map<String, Double> limits;
+
+    public PerformanceBudget(Map<String, Double> limits) {
+        for (String metric : limits.keySet()) {
+            if (!Arrays.asList(PageMetrics.METRICS).contains(metric)) {
+                throw new IllegalArgumentException("Unknown page metric in budget: " + metric);
+            }
+        }
+        this.limits = new TreeMap<>(limits);
+    }
+
+    /**
+     * Budgets from {@code perf.budget.<metric>} keys; an empty value disables that budget
+     */
+    public static PerformanceBudget from(Properties settings) {
+        Map<String, Double> limits = new TreeMap<>();
+        for (String key : settings.stringPropertyNames()) {
+            String value = settings.getProperty(key).trim();
+            if (key.startsWith(PREFIX) && !value.isEmpty()) {
+                limits.put(key.substring(PREFIX.length()), Double.parseDouble(value));
+            }
+        }
+        return new PerformanceBudget(limits);
+    }
+
+    public Map<String, Double> limits() {
+        return limits;
+    }
+
+    /**
+     * One message per metric over its limit, empty when the step is within budget
+     */
+    public List<String> violations(PageMetrics metrics) {
+        List<String> violations = new ArrayList<>();
+        limits.forEach((metric, limit) -> {
+            Double value = metrics.value(metric);
+            if (value != null && value > limit) {
+                violations.add(String.format("%s: %s %.3f exceeds budget %.3f (%s)",
+                        metrics.step(), metric, value, limit, metrics.url()));
+            }
+        });
+        return violations;
+    }
+}